@@ -8,12 +8,7 @@
  */
 package org.openhab.binding.astro.handler;
 
-import static org.quartz.JobBuilder.newJob;
-import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
-import static org.quartz.TriggerBuilder.newTrigger;
-import static org.quartz.impl.matchers.GroupMatcher.jobGroupEquals;
-
-import java.util.Date;
+import java.util.Calendar;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -30,19 +25,11 @@ import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.astro.internal.config.AstroChannelConfig;
 import org.openhab.binding.astro.internal.config.AstroThingConfig;
-import org.openhab.binding.astro.internal.job.AbstractBaseJob;
 import org.openhab.binding.astro.internal.job.AbstractDailyJob;
+import org.openhab.binding.astro.internal.job.AstroScheduler;
 import org.openhab.binding.astro.internal.job.PositionalJob;
 import org.openhab.binding.astro.internal.model.Planet;
 import org.openhab.binding.astro.internal.util.PropertyUtils;
-import org.quartz.CronScheduleBuilder;
-import org.quartz.JobDataMap;
-import org.quartz.JobDetail;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.impl.StdSchedulerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,14 +40,15 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class AstroThingHandler extends BaseThingHandler {
     private static final Logger logger = LoggerFactory.getLogger(AstroThingHandler.class);
-    private Scheduler quartzScheduler;
+    private final AstroScheduler astroScheduler;
     private ScheduledFuture<?> schedulerFuture;
     private int linkedPositionalChannels = 0;
     protected AstroThingConfig thingConfig;
     private Object schedulerLock = new Object();
 
-    public AstroThingHandler(Thing thing) {
+    public AstroThingHandler(Thing thing, AstroScheduler astroScheduler) {
         super(thing);
+        this.astroScheduler = astroScheduler;
     }
 
     /**
@@ -114,7 +102,6 @@ public abstract class AstroThingHandler extends BaseThingHandler {
             schedulerFuture = null;
         }
         stopJobs();
-        quartzScheduler = null;
         logger.debug("Thing {} disposed", getThing().getUID());
     }
 
@@ -183,55 +170,29 @@ public abstract class AstroThingHandler extends BaseThingHandler {
             public void run() {
                 stopJobs();
 
-                try {
-                    synchronized (schedulerLock) {
-                        if (quartzScheduler == null) {
-                            quartzScheduler = StdSchedulerFactory.getDefaultScheduler();
-                        }
-
-                        if (getThing().getStatus() == ThingStatus.ONLINE) {
-                            String thingUid = getThing().getUID().toString();
-                            String typeId = getThing().getThingTypeUID().getId();
-                            JobDataMap jobDataMap = new JobDataMap();
-                            jobDataMap.put(AbstractBaseJob.KEY_THING_UID, thingUid);
-                            jobDataMap.put(AbstractBaseJob.KEY_JOB_NAME, "job-daily");
-
-                            // dailyJob
-                            Trigger trigger = newTrigger().withIdentity("trigger-daily-" + typeId, thingUid)
-                                    .withSchedule(CronScheduleBuilder.cronSchedule("0 0 0 * * ?")).build();
-                            JobDetail jobDetail = newJob(getDailyJobClass())
-                                    .withIdentity("job-daily-" + typeId, thingUid).usingJobData(jobDataMap).build();
-                            quartzScheduler.scheduleJob(jobDetail, trigger);
-                            logger.info("Scheduled astro job-daily-{} at midnight for thing {}", typeId, thingUid);
-
-                            // startupJob
-                            trigger = newTrigger().withIdentity("trigger-daily-startup-" + typeId, thingUid).startNow()
-                                    .build();
-                            jobDetail = newJob(getDailyJobClass()).withIdentity("job-daily-startup-" + typeId, thingUid)
-                                    .usingJobData(jobDataMap).build();
-                            quartzScheduler.scheduleJob(jobDetail, trigger);
-
-                            if (isPositionalChannelLinked()) {
-                                // positional intervalJob
-                                jobDataMap = new JobDataMap();
-                                jobDataMap.put(AbstractBaseJob.KEY_THING_UID, thingUid);
-                                jobDataMap.put(AbstractBaseJob.KEY_JOB_NAME, "job-positional");
-
-                                Date start = new Date(System.currentTimeMillis() + (thingConfig.getInterval()) * 1000);
-                                trigger = newTrigger().withIdentity("trigger-positional", thingUid).startAt(start)
-                                        .withSchedule(simpleSchedule().repeatForever()
-                                                .withIntervalInSeconds(thingConfig.getInterval()))
-                                        .build();
-                                jobDetail = newJob(PositionalJob.class).withIdentity("job-positional", thingUid)
-                                        .usingJobData(jobDataMap).build();
-                                quartzScheduler.scheduleJob(jobDetail, trigger);
-                                logger.info("Scheduled astro job-positional with interval of {} seconds for thing {}",
-                                        thingConfig.getInterval(), thingUid);
-                            }
+                synchronized (schedulerLock) {
+                    if (getThing().getStatus() == ThingStatus.ONLINE) {
+                        String thingUid = getThing().getUID().toString();
+                        String typeId = getThing().getThingTypeUID().getId();
+
+                        // dailyJob
+                        astroScheduler.scheduleDaily(thingUid, "daily-" + typeId, createDailyJob(thingUid));
+                        logger.info("Scheduled astro job-daily-{} at midnight for thing {}", typeId, thingUid);
+
+                        // startupJob
+                        astroScheduler.schedule(thingUid, "daily-startup-" + typeId, Calendar.getInstance(),
+                                createDailyJob(thingUid));
+
+                        if (isPositionalChannelLinked()) {
+                            // positional intervalJob
+                            Calendar start = Calendar.getInstance();
+                            start.add(Calendar.SECOND, thingConfig.getInterval());
+                            astroScheduler.scheduleRepeating(thingUid, "positional", start, thingConfig.getInterval(),
+                                    new PositionalJob(thingUid));
+                            logger.info("Scheduled astro job-positional with interval of {} seconds for thing {}",
+                                    thingConfig.getInterval(), thingUid);
                         }
                     }
-                } catch (SchedulerException ex) {
-                    logger.error(ex.getMessage(), ex);
                 }
             }
         }, 2000, TimeUnit.MILLISECONDS);
@@ -243,17 +204,7 @@ public abstract class AstroThingHandler extends BaseThingHandler {
     private void stopJobs() {
         logger.debug("Stopping jobs for thing {}", getThing().getUID());
         synchronized (schedulerLock) {
-            if (quartzScheduler != null) {
-                try {
-                    String thingUid = getThing().getUID().toString();
-                    for (JobKey jobKey : quartzScheduler.getJobKeys(jobGroupEquals(thingUid))) {
-                        logger.debug("Deleting astro {} for thing '{}'", jobKey.getName(), thingUid);
-                        quartzScheduler.deleteJob(jobKey);
-                    }
-                } catch (SchedulerException ex) {
-                    logger.error(ex.getMessage(), ex);
-                }
-            }
+            astroScheduler.removeJobs(getThing().getUID().toString());
         }
     }
 
@@ -314,8 +265,8 @@ public abstract class AstroThingHandler extends BaseThingHandler {
     /**
      * Returns the scheduler for the astro jobs.
      */
-    public Scheduler getScheduler() {
-        return quartzScheduler;
+    public AstroScheduler getScheduler() {
+        return astroScheduler;
     }
 
     /**
@@ -339,7 +290,7 @@ public abstract class AstroThingHandler extends BaseThingHandler {
     protected abstract String[] getPositionalChannelIds();
 
     /**
-     * Returns the class for the daily calculation job.
+     * Creates the daily calculation job.
      */
-    protected abstract Class<? extends AbstractDailyJob> getDailyJobClass();
+    protected abstract AbstractDailyJob createDailyJob(String thingUid);
 }
@@ -15,8 +15,10 @@ import java.util.Set;
 
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
-import org.openhab.binding.astro.internal.calc.MoonCalc;
+import org.openhab.binding.astro.internal.calc.EphemerisCache;
+import org.openhab.binding.astro.internal.calc.MoonEphemeris;
 import org.openhab.binding.astro.internal.job.AbstractDailyJob;
+import org.openhab.binding.astro.internal.job.AstroScheduler;
 import org.openhab.binding.astro.internal.job.DailyJobMoon;
 import org.openhab.binding.astro.internal.model.Moon;
 import org.openhab.binding.astro.internal.model.Planet;
@@ -33,11 +35,11 @@ public class MoonHandler extends AstroThingHandler {
 
     private String[] positionalChannelIds = new String[] { "phase#name", "phase#age", "phase#illumination",
             "position#azimuth", "position#elevation", "zodiac#sign" };
-    private MoonCalc moonCalc = new MoonCalc();
+    private MoonEphemeris moonEphemeris;
     private Moon moon;
 
-    public MoonHandler(Thing thing) {
-        super(thing);
+    public MoonHandler(Thing thing, AstroScheduler astroScheduler) {
+        super(thing, astroScheduler);
     }
 
     /**
@@ -45,7 +47,7 @@ public class MoonHandler extends AstroThingHandler {
      */
     @Override
     public void publishDailyInfo() {
-        moon = moonCalc.getMoonInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude());
+        moon = getMoonEphemeris(Calendar.getInstance()).createMoon();
         publishPositionalInfo();
     }
 
@@ -54,10 +56,22 @@ public class MoonHandler extends AstroThingHandler {
      */
     @Override
     public void publishPositionalInfo() {
-        moonCalc.setPositionalInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(), moon);
+        Calendar now = Calendar.getInstance();
+        getMoonEphemeris(now).setPositionalInfo(now, moon);
         publishPlanet();
     }
 
+    /**
+     * Returns the shared moon ephemeris of the current day for the location of the thing.
+     */
+    private MoonEphemeris getMoonEphemeris(Calendar calendar) {
+        if (moonEphemeris == null || !moonEphemeris.isValidFor(calendar)) {
+            moonEphemeris = EphemerisCache.getMoonEphemeris(calendar, thingConfig.getLatitude(),
+                    thingConfig.getLongitude());
+        }
+        return moonEphemeris;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -73,6 +87,7 @@ public class MoonHandler extends AstroThingHandler {
     public void dispose() {
         super.dispose();
         moon = null;
+        moonEphemeris = null;
     }
 
     /**
@@ -87,8 +102,8 @@ public class MoonHandler extends AstroThingHandler {
      * {@inheritDoc}
      */
     @Override
-    protected Class<? extends AbstractDailyJob> getDailyJobClass() {
-        return DailyJobMoon.class;
+    protected AbstractDailyJob createDailyJob(String thingUid) {
+        return new DailyJobMoon(thingUid);
     }
 
 }
@@ -15,8 +15,11 @@ import java.util.Set;
 
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.openhab.binding.astro.internal.calc.EphemerisCache;
 import org.openhab.binding.astro.internal.calc.SunCalc;
+import org.openhab.binding.astro.internal.calc.SunEphemeris;
 import org.openhab.binding.astro.internal.job.AbstractDailyJob;
+import org.openhab.binding.astro.internal.job.AstroScheduler;
 import org.openhab.binding.astro.internal.job.DailyJobSun;
 import org.openhab.binding.astro.internal.model.Planet;
 import org.openhab.binding.astro.internal.model.Sun;
@@ -34,10 +37,11 @@ public class SunHandler extends AstroThingHandler {
     private String[] positionalChannelIds = new String[] { "position#azimuth", "position#elevation", "radiation#direct",
             "radiation#diffuse", "radiation#total" };
     private SunCalc sunCalc = new SunCalc();
+    private SunEphemeris sunEphemeris;
     private Sun sun;
 
-    public SunHandler(Thing thing) {
-        super(thing);
+    public SunHandler(Thing thing, AstroScheduler astroScheduler) {
+        super(thing, astroScheduler);
     }
 
     /**
@@ -45,8 +49,9 @@ public class SunHandler extends AstroThingHandler {
      */
     @Override
     public void publishDailyInfo() {
-        sun = sunCalc.getSunInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(),
-                thingConfig.getAltitude());
+        Calendar now = Calendar.getInstance();
+        sun = getSunEphemeris(now).createSun();
+        sunCalc.setTimeDependentInfo(now, thingConfig.getLatitude(), sun);
         publishPositionalInfo();
     }
 
@@ -55,11 +60,22 @@ public class SunHandler extends AstroThingHandler {
      */
     @Override
     public void publishPositionalInfo() {
-        sunCalc.setPositionalInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(),
-                thingConfig.getAltitude(), sun);
+        Calendar now = Calendar.getInstance();
+        getSunEphemeris(now).setPositionalInfo(now, thingConfig.getAltitude(), sun);
         publishPlanet();
     }
 
+    /**
+     * Returns the shared sun ephemeris of the current day for the location of the thing.
+     */
+    private SunEphemeris getSunEphemeris(Calendar calendar) {
+        if (sunEphemeris == null || !sunEphemeris.isValidFor(calendar)) {
+            sunEphemeris = EphemerisCache.getSunEphemeris(calendar, thingConfig.getLatitude(),
+                    thingConfig.getLongitude(), thingConfig.getAltitude());
+        }
+        return sunEphemeris;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -75,6 +91,7 @@ public class SunHandler extends AstroThingHandler {
     public void dispose() {
         super.dispose();
         sun = null;
+        sunEphemeris = null;
     }
 
     /**
@@ -89,8 +106,8 @@ public class SunHandler extends AstroThingHandler {
      * {@inheritDoc}
      */
     @Override
-    protected Class<? extends AbstractDailyJob> getDailyJobClass() {
-        return DailyJobSun.class;
+    protected AbstractDailyJob createDailyJob(String thingUid) {
+        return new DailyJobSun(thingUid);
     }
 
 }
@@ -18,9 +18,11 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
+import org.osgi.service.component.ComponentContext;
 import org.openhab.binding.astro.handler.AstroThingHandler;
 import org.openhab.binding.astro.handler.MoonHandler;
 import org.openhab.binding.astro.handler.SunHandler;
+import org.openhab.binding.astro.internal.job.AstroScheduler;
 
 import com.google.common.collect.Sets;
 
@@ -33,6 +35,7 @@ public class AstroHandlerFactory extends BaseThingHandlerFactory {
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = Sets.union(SunHandler.SUPPORTED_THING_TYPES,
             MoonHandler.SUPPORTED_THING_TYPES);
     private static final Map<String, AstroThingHandler> astroThingHandlers = new HashMap<String, AstroThingHandler>();
+    private final AstroScheduler astroScheduler = new AstroScheduler();
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -45,9 +48,9 @@ public class AstroHandlerFactory extends BaseThingHandlerFactory {
 
         AstroThingHandler thingHandler = null;
         if (thingTypeUID.equals(THING_TYPE_SUN)) {
-            thingHandler = new SunHandler(thing);
+            thingHandler = new SunHandler(thing, astroScheduler);
         } else if (thingTypeUID.equals(THING_TYPE_MOON)) {
-            thingHandler = new MoonHandler(thing);
+            thingHandler = new MoonHandler(thing, astroScheduler);
         }
         if (thingHandler != null) {
             astroThingHandlers.put(thing.getUID().toString(), thingHandler);
@@ -61,6 +64,12 @@ public class AstroHandlerFactory extends BaseThingHandlerFactory {
         astroThingHandlers.remove(thing.getUID().toString());
     }
 
+    @Override
+    protected void deactivate(ComponentContext componentContext) {
+        super.deactivate(componentContext);
+        astroScheduler.dispose();
+    }
+
     public static AstroThingHandler getHandler(String thingUid) {
         return astroThingHandlers.get(thingUid);
     }
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.util.Calendar;
+
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
+
+/**
+ * Baseclass for the precalculated astro data of one day at one location.
+ *
+ * @author agent - Initial contribution
+ */
+public abstract class Ephemeris {
+    private final long start;
+    private final long end;
+
+    public Ephemeris(Calendar calendar) {
+        Calendar midnight = DateTimeUtils.truncateToMidnight(calendar);
+        start = midnight.getTimeInMillis();
+        midnight.add(Calendar.DAY_OF_MONTH, 1);
+        end = midnight.getTimeInMillis();
+    }
+
+    /**
+     * Returns true, if the calendar is within the day of the ephemeris.
+     */
+    public boolean isValidFor(Calendar calendar) {
+        long millis = calendar.getTimeInMillis();
+        return millis >= start && millis < end;
+    }
+
+    /**
+     * Returns the start of the day in milliseconds.
+     */
+    protected long getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the end of the day in milliseconds.
+     */
+    protected long getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the ephemerides of the current day per location. All things at the same location share one calculation,
+ * which is done once a day or after the location has changed.
+ *
+ * @author agent - Initial contribution
+ */
+public class EphemerisCache {
+    private static final Logger logger = LoggerFactory.getLogger(EphemerisCache.class);
+    private static final Map<String, SunEphemeris> sunEphemerides = new HashMap<String, SunEphemeris>();
+    private static final Map<String, MoonEphemeris> moonEphemerides = new HashMap<String, MoonEphemeris>();
+
+    /**
+     * Returns the sun ephemeris for the day and location, calculates it if not already cached.
+     */
+    public static synchronized SunEphemeris getSunEphemeris(Calendar calendar, double latitude, double longitude,
+            Integer altitude) {
+        String key = latitude + "," + longitude + "," + altitude;
+        SunEphemeris ephemeris = sunEphemerides.get(key);
+        if (ephemeris == null || !ephemeris.isValidFor(calendar)) {
+            removeOutdated(sunEphemerides, calendar);
+            logger.debug("Calculating sun ephemeris for location {}", key);
+            ephemeris = new SunEphemeris(calendar, latitude, longitude, altitude);
+            sunEphemerides.put(key, ephemeris);
+        }
+        return ephemeris;
+    }
+
+    /**
+     * Returns the moon ephemeris for the day and location, calculates it if not already cached.
+     */
+    public static synchronized MoonEphemeris getMoonEphemeris(Calendar calendar, double latitude, double longitude) {
+        String key = latitude + "," + longitude;
+        MoonEphemeris ephemeris = moonEphemerides.get(key);
+        if (ephemeris == null || !ephemeris.isValidFor(calendar)) {
+            removeOutdated(moonEphemerides, calendar);
+            logger.debug("Calculating moon ephemeris for location {}", key);
+            ephemeris = new MoonEphemeris(calendar, latitude, longitude);
+            moonEphemerides.put(key, ephemeris);
+        }
+        return ephemeris;
+    }
+
+    /**
+     * Removes all ephemerides which are not valid for the calendar anymore.
+     */
+    private static void removeOutdated(Map<String, ? extends Ephemeris> ephemerides, Calendar calendar) {
+        for (Iterator<? extends Ephemeris> it = ephemerides.values().iterator(); it.hasNext();) {
+            if (!it.next().isValidFor(calendar)) {
+                it.remove();
+            }
+        }
+    }
+}
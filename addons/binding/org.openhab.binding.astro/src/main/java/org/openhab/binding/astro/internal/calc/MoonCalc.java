@@ -103,8 +103,17 @@ public class MoonCalc {
      * Calculates the moon illumination and distance.
      */
     public void setPositionalInfo(Calendar calendar, double latitude, double longitude, Moon moon) {
+        setPositionalInfo(calendar, latitude, longitude, moon, getParentNewMoon(calendar));
+    }
+
+    /**
+     * Calculates the moon illumination and distance with an already calculated julian date of the last new moon
+     * before the end of the day.
+     */
+    public void setPositionalInfo(Calendar calendar, double latitude, double longitude, Moon moon,
+            double parentNewMoon) {
         double julianDate = DateTimeUtils.dateToJulianDate(calendar);
-        setMoonPhase(calendar, moon);
+        setMoonPhase(calendar, moon, parentNewMoon);
         setAzimuthElevationZodiac(julianDate, latitude, longitude, moon);
 
         MoonDistance distance = moon.getDistance();
@@ -115,10 +124,9 @@ public class MoonCalc {
     /**
      * Calculates the age and the current phase.
      */
-    private void setMoonPhase(Calendar calendar, Moon moon) {
+    private void setMoonPhase(Calendar calendar, Moon moon, double parentNewMoon) {
         MoonPhase phase = moon.getPhase();
         double julianDateEndOfDay = DateTimeUtils.endOfDayDateToJulianDate(calendar);
-        double parentNewMoon = getPreviousPhase(calendar, julianDateEndOfDay, NEW_MOON);
         double age = Math.abs(parentNewMoon - julianDateEndOfDay);
         phase.setAge((int) age);
         phase.setIllumination(getIllumination(DateTimeUtils.dateToJulianDate(calendar)));
@@ -140,6 +148,13 @@ public class MoonCalc {
         }
     }
 
+    /**
+     * Returns the julian date of the last new moon before the end of the day.
+     */
+    public double getParentNewMoon(Calendar calendar) {
+        return getPreviousPhase(calendar, DateTimeUtils.endOfDayDateToJulianDate(calendar), NEW_MOON);
+    }
+
     /**
      * Calculates moonrise and moonset.
      */
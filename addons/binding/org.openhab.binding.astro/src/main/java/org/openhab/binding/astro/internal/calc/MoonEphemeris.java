@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.util.Calendar;
+
+import org.openhab.binding.astro.internal.model.Moon;
+import org.openhab.binding.astro.internal.model.MoonPhase;
+
+/**
+ * Holds the moon data of one day at one location and the last new moon before the end of the day, which is needed
+ * for every positional update. The ephemeris is shared by all things at the location and is not changed after it
+ * has been calculated, each thing gets its own {@link Moon}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MoonEphemeris extends Ephemeris {
+    private final MoonCalc moonCalc = new MoonCalc();
+    private final Moon moon;
+    private final double parentNewMoon;
+    private final double latitude;
+    private final double longitude;
+
+    public MoonEphemeris(Calendar calendar, double latitude, double longitude) {
+        super(calendar);
+        this.latitude = latitude;
+        this.longitude = longitude;
+        moon = moonCalc.getMoonInfo(calendar, latitude, longitude);
+        parentNewMoon = moonCalc.getParentNewMoon(calendar);
+    }
+
+    /**
+     * Returns a new moon with the data of the day, the rise, set, eclipses, apogee and perigee are shared and must
+     * not be changed. The phase, distance, position and zodiac belong to the returned moon only.
+     */
+    public Moon createMoon() {
+        Moon result = new Moon();
+        result.setRise(moon.getRise());
+        result.setSet(moon.getSet());
+        result.setEclipse(moon.getEclipse());
+        result.setApogee(moon.getApogee());
+        result.setPerigee(moon.getPerigee());
+
+        MoonPhase phase = result.getPhase();
+        phase.setNew(moon.getPhase().getNew());
+        phase.setFirstQuarter(moon.getPhase().getFirstQuarter());
+        phase.setFull(moon.getPhase().getFull());
+        phase.setThirdQuarter(moon.getPhase().getThirdQuarter());
+        return result;
+    }
+
+    /**
+     * Calculates the positional moon data for the calendar, which must be within the day of the ephemeris.
+     */
+    public void setPositionalInfo(Calendar calendar, Moon moon) {
+        moonCalc.setPositionalInfo(calendar, latitude, longitude, moon, parentNewMoon);
+    }
+}
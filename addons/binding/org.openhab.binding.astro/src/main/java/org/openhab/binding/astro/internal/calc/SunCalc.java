@@ -51,8 +51,6 @@ public class SunCalc {
     private static final double H2 = -12.0 * DEG2RAD; // astronomical twilight
                                                       // angle
     private static final double H3 = -18.0 * DEG2RAD; // darkness angle
-    private static final double MINUTES_PER_DAY = 60 * 24;
-    private static final int CURVE_TIME_INTERVAL = 20; // 20 minutes
     private static final double JD_ONE_MINUTE_FRACTION = 1.0 / 60 / 24;
 
     /**
@@ -110,19 +108,12 @@ public class SunCalc {
     }
 
     /**
-     * Returns true, if the sun is up all day (no rise and set).
+     * Returns true, if the sun is up all day (no rise and set). This is the case, if the elevation of the sun at its
+     * lower culmination is still above the sun angle.
      */
-    private boolean isSunUpAllDay(Calendar calendar, double latitude, double longitude, Integer altitude) {
-        Calendar cal = DateTimeUtils.truncateToMidnight(calendar);
-        Sun sun = new Sun();
-        for (int minutes = 0; minutes <= MINUTES_PER_DAY; minutes += CURVE_TIME_INTERVAL) {
-            setPositionalInfo(cal, latitude, longitude, altitude, sun);
-            if (sun.getPosition().getElevation() < SUN_ANGLE) {
-                return false;
-            }
-            cal.add(Calendar.MINUTE, CURVE_TIME_INTERVAL);
-        }
-        return true;
+    private boolean isSunUpAllDay(double phi, double d) {
+        double lowerCulmination = Math.asin(Math.sin(phi) * Math.sin(d) - Math.cos(phi) * Math.cos(d));
+        return lowerCulmination >= H0;
     }
 
     /**
@@ -179,7 +170,7 @@ public class SunCalc {
         sun.setNauticDawn(new Range(DateTimeUtils.toCalendar(jnau2), DateTimeUtils.toCalendar(Jciv2)));
         sun.setNauticDusk(new Range(DateTimeUtils.toCalendar(jnau), DateTimeUtils.toCalendar(jastro)));
 
-        boolean isSunUpAllDay = isSunUpAllDay(calendar, latitude, longitude, altitude);
+        boolean isSunUpAllDay = isSunUpAllDay(phi, d);
 
         // daylight
         Range daylightRange = new Range();
@@ -235,6 +226,15 @@ public class SunCalc {
         double total = mc.getEclipse(calendar, MoonCalc.ECLIPSE_TYPE_SUN, j, MoonCalc.ECLIPSE_MODE_TOTAL);
         eclipse.setTotal(DateTimeUtils.toCalendar(total));
 
+        setTimeDependentInfo(calendar, latitude, sun);
+
+        return sun;
+    }
+
+    /**
+     * Sets the zodiac, the season and the current phase of the sun, which may change during the day.
+     */
+    public void setTimeDependentInfo(Calendar calendar, double latitude, Sun sun) {
         SunZodiacCalc zodiacCalc = new SunZodiacCalc();
         sun.setZodiac(zodiacCalc.getZodiac(calendar));
 
@@ -245,13 +245,11 @@ public class SunCalc {
         for (Entry<SunPhaseName, Range> rangeEntry : sun.getAllRanges().entrySet()) {
             SunPhaseName entryPhase = rangeEntry.getKey();
             if (entryPhase != SunPhaseName.MORNING_NIGHT && entryPhase != SunPhaseName.EVENING_NIGHT) {
-                if (rangeEntry.getValue().matches(Calendar.getInstance())) {
+                if (rangeEntry.getValue().matches(calendar)) {
                     sun.getPhase().setName(entryPhase);
                 }
             }
         }
-
-        return sun;
     }
 
     /**
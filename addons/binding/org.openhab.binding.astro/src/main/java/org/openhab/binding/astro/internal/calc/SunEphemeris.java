@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.util.Calendar;
+
+import org.openhab.binding.astro.internal.model.Position;
+import org.openhab.binding.astro.internal.model.Sun;
+
+/**
+ * Holds the sun data of one day at one location and a table with the sun position in one minute steps. Positional
+ * updates are interpolated from the table instead of being calculated every time. The ephemeris is shared by all
+ * things at the location and is not changed after it has been calculated, each thing gets its own {@link Sun}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SunEphemeris extends Ephemeris {
+    private static final long POSITION_TABLE_INTERVAL = 60 * 1000;
+
+    private final SunCalc sunCalc = new SunCalc();
+    private final Sun sun;
+    private final double[] azimuths;
+    private final double[] elevations;
+
+    public SunEphemeris(Calendar calendar, double latitude, double longitude, Integer altitude) {
+        super(calendar);
+        sun = sunCalc.getSunInfo(calendar, latitude, longitude, altitude);
+
+        int samples = (int) ((getEnd() - getStart()) / POSITION_TABLE_INTERVAL) + 1;
+        azimuths = new double[samples];
+        elevations = new double[samples];
+
+        Calendar cal = (Calendar) calendar.clone();
+        Sun sample = new Sun();
+        for (int i = 0; i < samples; i++) {
+            cal.setTimeInMillis(getStart() + i * POSITION_TABLE_INTERVAL);
+            sunCalc.setPositionalInfo(cal, latitude, longitude, altitude, sample);
+            azimuths[i] = sample.getPosition().getAzimuth();
+            elevations[i] = sample.getPosition().getElevation();
+        }
+    }
+
+    /**
+     * Returns a new sun with the data of the day, the rise, set, phase ranges and eclipses are shared and must not
+     * be changed. The position, radiation, zodiac, season and phase belong to the returned sun only.
+     */
+    public Sun createSun() {
+        Sun result = new Sun();
+        result.setRise(sun.getRise());
+        result.setSet(sun.getSet());
+        result.getAllRanges().putAll(sun.getAllRanges());
+        result.setEclipse(sun.getEclipse());
+        return result;
+    }
+
+    /**
+     * Sets the interpolated sun position (azimuth, elevation) and the radiation for the calendar, which must be within
+     * the day of the ephemeris.
+     */
+    public void setPositionalInfo(Calendar calendar, Integer altitude, Sun sun) {
+        long offset = calendar.getTimeInMillis() - getStart();
+        int index = (int) (offset / POSITION_TABLE_INTERVAL);
+        double fraction = (double) (offset % POSITION_TABLE_INTERVAL) / POSITION_TABLE_INTERVAL;
+
+        double elevation = elevations[index] + (elevations[index + 1] - elevations[index]) * fraction;
+
+        // the azimuth wraps around at north
+        double azimuthDelta = azimuths[index + 1] - azimuths[index];
+        if (azimuthDelta > 180) {
+            azimuthDelta -= 360;
+        } else if (azimuthDelta < -180) {
+            azimuthDelta += 360;
+        }
+        double azimuth = azimuths[index] + azimuthDelta * fraction;
+        if (azimuth < 0) {
+            azimuth += 360;
+        } else if (azimuth >= 360) {
+            azimuth -= 360;
+        }
+
+        Position position = sun.getPosition();
+        position.setAzimuth(azimuth);
+        position.setElevation(elevation);
+
+        sunCalc.setRadiationInfo(calendar, elevation, altitude, sun);
+    }
+}
@@ -9,12 +9,9 @@
 package org.openhab.binding.astro.internal.job;
 
 import static org.openhab.binding.astro.AstroBindingConstants.*;
-import static org.quartz.JobBuilder.newJob;
-import static org.quartz.TriggerBuilder.newTrigger;
 
 import java.util.Calendar;
 
-import org.apache.commons.lang.time.DateFormatUtils;
 import org.openhab.binding.astro.handler.AstroThingHandler;
 import org.openhab.binding.astro.internal.AstroHandlerFactory;
 import org.openhab.binding.astro.internal.config.AstroChannelConfig;
@@ -22,9 +19,6 @@ import org.openhab.binding.astro.internal.model.Planet;
 import org.openhab.binding.astro.internal.model.Range;
 import org.openhab.binding.astro.internal.model.SunPhaseName;
 import org.openhab.binding.astro.internal.util.DateTimeUtils;
-import org.quartz.JobDataMap;
-import org.quartz.JobDetail;
-import org.quartz.Trigger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,16 +30,21 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractDailyJob extends AbstractBaseJob {
     private static final Logger logger = LoggerFactory.getLogger(AbstractDailyJob.class);
 
+    public AbstractDailyJob(String thingUid) {
+        super(thingUid);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    protected void executeJob(String thingUid, JobDataMap jobDataMap) {
+    protected void executeJob(String thingUid) {
         AstroThingHandler handler = AstroHandlerFactory.getHandler(thingUid);
         if (handler != null) {
             handler.publishDailyInfo();
             schedulePlanetEvents(thingUid, handler, handler.getPlanet());
-            logger.info("Scheduled astro event-jobs for thing {}", thingUid);
+            logger.info("Scheduled astro event-jobs for thing {}, {} jobs pending", thingUid,
+                    handler.getScheduler().getPendingJobCount(thingUid));
         }
     }
 
@@ -61,50 +60,31 @@ public abstract class AbstractDailyJob extends AbstractBaseJob {
 
     protected void scheduleEvent(String thingUid, AstroThingHandler astroHandler, Calendar eventAt, String event,
             String channelId) {
-        JobDataMap jobDataMap = new JobDataMap();
-        jobDataMap.put(KEY_THING_UID, thingUid);
-        jobDataMap.put(EventJob.KEY_EVENT, event);
-        jobDataMap.put(KEY_CHANNEL_ID, channelId);
-
         AstroChannelConfig config = astroHandler.getThing().getChannel(channelId).getConfiguration()
                 .as(AstroChannelConfig.class);
         eventAt = DateTimeUtils.applyConfig(eventAt, config);
-        schedule(astroHandler, EventJob.class, jobDataMap, "event-" + event.toLowerCase() + "-" + channelId, eventAt);
+        schedule(astroHandler, new EventJob(thingUid, channelId, event),
+                "event-" + event.toLowerCase() + "-" + channelId, eventAt);
     }
 
     protected void schedulePublishPlanet(String thingUid, AstroThingHandler astroHandler, String jobKey,
             Calendar eventAt) {
-        JobDataMap jobDataMap = new JobDataMap();
-        jobDataMap.put(KEY_THING_UID, thingUid);
-
-        schedule(astroHandler, PublishPlanetJob.class, jobDataMap, "publish-" + jobKey, eventAt);
+        schedule(astroHandler, new PublishPlanetJob(thingUid), "publish-" + jobKey, eventAt);
     }
 
     protected void scheduleSunPhase(String thingUid, AstroThingHandler astroHandler, SunPhaseName phaseName,
             Calendar eventAt) {
-        JobDataMap jobDataMap = new JobDataMap();
-        jobDataMap.put(KEY_THING_UID, thingUid);
-        jobDataMap.put(KEY_PHASE_NAME, phaseName);
-
-        schedule(astroHandler, SunPhaseJob.class, jobDataMap, "sunPhase-" + phaseName.toString().toLowerCase(),
+        schedule(astroHandler, new SunPhaseJob(thingUid, phaseName), "sunPhase-" + phaseName.toString().toLowerCase(),
                 eventAt);
     }
 
-    private void schedule(AstroThingHandler astroHandler, Class<? extends AbstractBaseJob> clazz, JobDataMap jobDataMap,
-            String jobKey, Calendar eventAt) {
+    private void schedule(AstroThingHandler astroHandler, AbstractBaseJob job, String jobKey, Calendar eventAt) {
         try {
             Calendar today = Calendar.getInstance();
             if (eventAt != null && DateTimeUtils.isSameDay(eventAt, today)
                     && DateTimeUtils.isTimeGreaterEquals(eventAt, today)) {
-                jobDataMap.put(KEY_JOB_NAME, "job-" + jobKey);
-                String thingUid = jobDataMap.getString(KEY_THING_UID);
-                Trigger trigger = newTrigger().withIdentity("trigger-" + jobKey, thingUid).startAt(eventAt.getTime())
-                        .build();
-                JobDetail jobDetail = newJob(clazz).withIdentity("job-" + jobKey, thingUid).usingJobData(jobDataMap)
-                        .build();
-                astroHandler.getScheduler().scheduleJob(jobDetail, trigger);
-                logger.debug("Scheduled astro job-{} for thing {} at {}", jobKey, thingUid,
-                        DateFormatUtils.ISO_DATETIME_FORMAT.format(eventAt));
+                String thingUid = astroHandler.getThing().getUID().toString();
+                astroHandler.getScheduler().schedule(thingUid, jobKey, eventAt, job);
             }
         } catch (Exception ex) {
             logger.error(ex.getMessage(), ex);
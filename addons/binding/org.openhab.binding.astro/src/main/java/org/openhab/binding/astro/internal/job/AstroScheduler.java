@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.astro.internal.job;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduler for the jobs of all astro things. All upcoming jobs are kept in one time ordered queue and only the next
+ * due job is scheduled in the threadpool.
+ *
+ * @author agent - Initial contribution
+ */
+public class AstroScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(AstroScheduler.class);
+    private static final String THREADPOOL_NAME = "astro";
+
+    private final ScheduledExecutorService executor = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final PriorityQueue<ScheduledJob> queue = new PriorityQueue<ScheduledJob>();
+    private final Map<String, ScheduledJob> jobsByKey = new HashMap<String, ScheduledJob>();
+    private ScheduledFuture<?> nextRun;
+    private long nextRunTime;
+    private long sequence;
+
+    /**
+     * Schedules a job once at the specified time. An already scheduled job with the same name for the thing is
+     * replaced.
+     */
+    public synchronized void schedule(String thingUid, String jobName, Calendar at, Runnable job) {
+        add(new ScheduledJob(thingUid, jobName, at.getTimeInMillis(), 0, false, job));
+    }
+
+    /**
+     * Schedules a job at the specified time and repeats it with the interval.
+     */
+    public synchronized void scheduleRepeating(String thingUid, String jobName, Calendar at, int intervalSeconds,
+            Runnable job) {
+        add(new ScheduledJob(thingUid, jobName, at.getTimeInMillis(), intervalSeconds * 1000L, false, job));
+    }
+
+    /**
+     * Schedules a job at every midnight.
+     */
+    public synchronized void scheduleDaily(String thingUid, String jobName, Runnable job) {
+        add(new ScheduledJob(thingUid, jobName, getNextMidnight(), 0, true, job));
+    }
+
+    /**
+     * Removes all scheduled jobs of the thing.
+     */
+    public synchronized void removeJobs(String thingUid) {
+        for (Iterator<ScheduledJob> it = jobsByKey.values().iterator(); it.hasNext();) {
+            ScheduledJob job = it.next();
+            if (job.thingUid.equals(thingUid)) {
+                logger.debug("Deleting astro job-{} for thing '{}'", job.jobName, thingUid);
+                queue.remove(job);
+                it.remove();
+            }
+        }
+        reschedule();
+    }
+
+    /**
+     * Returns the number of pending jobs of all things.
+     */
+    public synchronized int getPendingJobCount() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of pending jobs of the thing.
+     */
+    public synchronized int getPendingJobCount(String thingUid) {
+        int count = 0;
+        for (ScheduledJob job : queue) {
+            if (job.thingUid.equals(thingUid)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes all jobs and stops the scheduler.
+     */
+    public synchronized void dispose() {
+        queue.clear();
+        jobsByKey.clear();
+        if (nextRun != null) {
+            nextRun.cancel(false);
+            nextRun = null;
+        }
+    }
+
+    private void add(ScheduledJob job) {
+        ScheduledJob replaced = jobsByKey.put(job.getKey(), job);
+        if (replaced != null) {
+            queue.remove(replaced);
+        }
+        job.sequence = sequence++;
+        queue.add(job);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Scheduled astro job-{} for thing {} at {}", job.jobName, job.thingUid,
+                    DateFormatUtils.ISO_DATETIME_FORMAT.format(job.time));
+        }
+        reschedule();
+    }
+
+    /**
+     * Schedules the execution of the due jobs at the time of the first job in the queue.
+     */
+    private void reschedule() {
+        ScheduledJob first = queue.peek();
+        if (first == null) {
+            if (nextRun != null) {
+                nextRun.cancel(false);
+                nextRun = null;
+            }
+            return;
+        }
+        if (nextRun != null && !nextRun.isDone() && nextRunTime == first.time) {
+            return;
+        }
+        if (nextRun != null) {
+            nextRun.cancel(false);
+        }
+        nextRunTime = first.time;
+        long delay = Math.max(0, first.time - System.currentTimeMillis());
+        nextRun = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                runDueJobs();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Removes all due jobs from the queue, schedules the repetitions and executes them.
+     */
+    private void runDueJobs() {
+        List<ScheduledJob> dueJobs = new ArrayList<ScheduledJob>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            while (!queue.isEmpty() && queue.peek().time <= now) {
+                ScheduledJob job = queue.poll();
+                jobsByKey.remove(job.getKey());
+                dueJobs.add(job);
+
+                ScheduledJob repetition = job.getRepetition(now);
+                if (repetition != null) {
+                    repetition.sequence = sequence++;
+                    jobsByKey.put(repetition.getKey(), repetition);
+                    queue.add(repetition);
+                }
+            }
+            nextRun = null;
+            reschedule();
+        }
+
+        for (ScheduledJob job : dueJobs) {
+            try {
+                logger.debug("Starting astro job-{} for thing {}", job.jobName, job.thingUid);
+                job.job.run();
+            } catch (Exception ex) {
+                logger.error("Astro job-{} for thing {} failed: {}", job.jobName, job.thingUid, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the next midnight in milliseconds.
+     */
+    private static long getNextMidnight() {
+        Calendar midnight = DateTimeUtils.truncateToMidnight(Calendar.getInstance());
+        midnight.add(Calendar.DAY_OF_MONTH, 1);
+        return midnight.getTimeInMillis();
+    }
+
+    /**
+     * A job in the queue, ordered by time and the order of scheduling.
+     */
+    private static class ScheduledJob implements Comparable<ScheduledJob> {
+        private final String thingUid;
+        private final String jobName;
+        private final long time;
+        private final long interval;
+        private final boolean daily;
+        private final Runnable job;
+        private long sequence;
+
+        public ScheduledJob(String thingUid, String jobName, long time, long interval, boolean daily, Runnable job) {
+            this.thingUid = thingUid;
+            this.jobName = jobName;
+            this.time = time;
+            this.interval = interval;
+            this.daily = daily;
+            this.job = job;
+        }
+
+        public String getKey() {
+            return thingUid + "#" + jobName;
+        }
+
+        /**
+         * Returns the next execution of a repeating job after the specified time, null if the job runs only once.
+         */
+        public ScheduledJob getRepetition(long now) {
+            if (daily) {
+                return new ScheduledJob(thingUid, jobName, getNextMidnight(), 0, true, job);
+            } else if (interval > 0) {
+                long next = time + interval;
+                if (next <= now) {
+                    next = now + interval;
+                }
+                return new ScheduledJob(thingUid, jobName, next, interval, false, job);
+            }
+            return null;
+        }
+
+        @Override
+        public int compareTo(ScheduledJob other) {
+            if (time != other.time) {
+                return time < other.time ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+}
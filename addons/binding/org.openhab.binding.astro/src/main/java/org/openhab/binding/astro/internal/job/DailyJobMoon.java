@@ -23,6 +23,10 @@ import org.openhab.binding.astro.internal.model.Planet;
  */
 public class DailyJobMoon extends AbstractDailyJob {
 
+    public DailyJobMoon(String thingUid) {
+        super(thingUid);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -23,6 +23,10 @@ import org.openhab.binding.astro.internal.model.SunPhaseName;
  */
 public class DailyJobSun extends AbstractDailyJob {
 
+    public DailyJobSun(String thingUid) {
+        super(thingUid);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -10,7 +10,6 @@ package org.openhab.binding.astro.internal.job;
 
 import org.openhab.binding.astro.handler.AstroThingHandler;
 import org.openhab.binding.astro.internal.AstroHandlerFactory;
-import org.quartz.JobDataMap;
 
 /**
  * Calculates and publishes astro positional data.
@@ -19,8 +18,12 @@ import org.quartz.JobDataMap;
  */
 public class PositionalJob extends AbstractBaseJob {
 
+    public PositionalJob(String thingUid) {
+        super(thingUid);
+    }
+
     @Override
-    protected void executeJob(String thingUid, JobDataMap jobDataMap) {
+    protected void executeJob(String thingUid) {
         AstroThingHandler astroHandler = AstroHandlerFactory.getHandler(thingUid);
         if (astroHandler != null) {
             astroHandler.publishPositionalInfo();
@@ -10,7 +10,6 @@ package org.openhab.binding.astro.internal.job;
 
 import org.openhab.binding.astro.handler.AstroThingHandler;
 import org.openhab.binding.astro.internal.AstroHandlerFactory;
-import org.quartz.JobDataMap;
 
 /**
  * Simple job that publishes the daily info for a planet.
@@ -19,11 +18,15 @@ import org.quartz.JobDataMap;
  */
 public class PublishPlanetJob extends AbstractBaseJob {
 
+    public PublishPlanetJob(String thingUid) {
+        super(thingUid);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    protected void executeJob(String thingUid, JobDataMap jobDataMap) {
+    protected void executeJob(String thingUid) {
         AstroThingHandler astroHandler = AstroHandlerFactory.getHandler(thingUid);
         if (astroHandler != null) {
             astroHandler.publishDailyInfo();
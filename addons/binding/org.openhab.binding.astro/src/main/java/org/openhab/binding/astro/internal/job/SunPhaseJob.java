@@ -15,7 +15,6 @@ import org.openhab.binding.astro.handler.AstroThingHandler;
 import org.openhab.binding.astro.internal.AstroHandlerFactory;
 import org.openhab.binding.astro.internal.model.Sun;
 import org.openhab.binding.astro.internal.model.SunPhaseName;
-import org.quartz.JobDataMap;
 
 /**
  * Job to publish the current sun phase.
@@ -23,16 +22,21 @@ import org.quartz.JobDataMap;
  * @author Gerhard Riegler - Initial contribution
  */
 public class SunPhaseJob extends AbstractBaseJob {
+    private final SunPhaseName phaseName;
+
+    public SunPhaseJob(String thingUid, SunPhaseName phaseName) {
+        super(thingUid);
+        this.phaseName = phaseName;
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    protected void executeJob(String thingUid, JobDataMap jobDataMap) {
+    protected void executeJob(String thingUid) {
         AstroThingHandler astroHandler = AstroHandlerFactory.getHandler(thingUid);
         Channel phaseNameChannel = astroHandler.getThing().getChannel(CHANNEL_ID_SUN_PHASE_NAME);
         if (astroHandler != null && phaseNameChannel != null) {
-            SunPhaseName phaseName = (SunPhaseName) jobDataMap.get(KEY_PHASE_NAME);
             ((Sun) astroHandler.getPlanet()).getPhase().setName(phaseName);
             astroHandler.publishChannelIfLinked(phaseNameChannel.getUID());
         }
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.atlona.internal.net;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The single I/O thread shared by all {@link SocketChannelSession}s. The thread waits on a {@link Selector} for any
+ * session to become readable or writable and calls back {@link SocketChannelSession#handleRead()} and
+ * {@link SocketChannelSession#handleWrite()}. The thread is started by the first session acquiring the selector and
+ * stopped when the last session has released it.
+ *
+ * @author agent
+ */
+class SessionSelector implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(SessionSelector.class);
+
+    /**
+     * The shared instance - null if no session is connected
+     */
+    private static SessionSelector _instance;
+
+    /**
+     * The number of sessions that have acquired the {@link #_instance}
+     */
+    private static int _references;
+
+    /**
+     * The selector all session channels are registered with
+     */
+    private final Selector _selector;
+
+    /**
+     * Changes to the registrations that must be executed on the I/O thread
+     */
+    private final Queue<Runnable> _pendingChanges = new ConcurrentLinkedQueue<Runnable>();
+
+    /**
+     * Whether the I/O thread should keep running
+     */
+    private volatile boolean _isRunning = true;
+
+    /**
+     * Creates the selector
+     *
+     * @throws IOException if the selector cannot be opened
+     */
+    private SessionSelector() throws IOException {
+        _selector = Selector.open();
+    }
+
+    /**
+     * Returns the shared selector, starting its I/O thread if needed. Every call must be matched by a call to
+     * {@link #release()}.
+     *
+     * @return the non-null shared selector
+     * @throws IOException if the selector cannot be opened
+     */
+    static synchronized SessionSelector acquire() throws IOException {
+        if (_instance == null) {
+            _instance = new SessionSelector();
+            final Thread thread = new Thread(_instance, "Atlona I/O");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        _references++;
+        return _instance;
+    }
+
+    /**
+     * Releases the shared selector and stops its I/O thread if no session uses it anymore
+     */
+    static synchronized void release() {
+        if (_references > 0 && --_references == 0 && _instance != null) {
+            _instance._isRunning = false;
+            _instance._selector.wakeup();
+            _instance = null;
+        }
+    }
+
+    /**
+     * Registers the channel of the session for reading
+     *
+     * @param channel a non-null, non-blocking, connected channel
+     * @param session the non-null session to call back
+     */
+    void register(final SocketChannel channel, final SocketChannelSession session) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    session.setSelectionKey(channel.register(_selector, SelectionKey.OP_READ, session));
+                } catch (ClosedChannelException e) {
+                    // session was disconnected before registration
+                }
+            }
+        });
+    }
+
+    /**
+     * Turns on/off waiting for the channel to become writable
+     *
+     * @param key the possibly null key of the channel
+     * @param write true to wait for the channel to become writable, false otherwise
+     */
+    void setWriteInterest(final SelectionKey key, final boolean write) {
+        if (key == null) {
+            return;
+        }
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                if (key.isValid()) {
+                    key.interestOps(write ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes the change on the I/O thread, waking up the selector
+     *
+     * @param change a non-null change
+     */
+    private void execute(Runnable change) {
+        _pendingChanges.add(change);
+        _selector.wakeup();
+    }
+
+    /**
+     * Runs the I/O loop until the last session has released the selector
+     */
+    @Override
+    public void run() {
+        while (_isRunning) {
+            try {
+                Runnable change;
+                while ((change = _pendingChanges.poll()) != null) {
+                    change.run();
+                }
+
+                _selector.select();
+
+                final Iterator<SelectionKey> it = _selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    final SelectionKey key = it.next();
+                    it.remove();
+
+                    final SocketChannelSession session = (SocketChannelSession) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            session.handleRead();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            session.handleWrite();
+                        }
+                    } catch (CancelledKeyException e) {
+                        // session was disconnected by another thread
+                    } catch (Exception e) {
+                        session.handleException(e);
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Exception in the Atlona I/O thread: {}", e.getMessage(), e);
+            }
+        }
+
+        try {
+            _selector.close();
+        } catch (IOException e) {
+            // ignore - we are shutting down
+        }
+    }
+}
@@ -11,16 +11,19 @@ package org.openhab.binding.atlona.internal.net;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
-import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,7 +31,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Represents a restartable socket connection to the underlying telnet session. Commands can be sent via
  * {@link #sendCommand(String)} and responses will be received on any {@link SocketSessionListener}. This implementation
- * of {@link SocketSession} communicates using a {@link SocketChannel} connection.
+ * of {@link SocketSession} communicates using a non-blocking {@link SocketChannel} connection. All sessions share the
+ * single I/O thread of the {@link SessionSelector}, which reads the responses and calls the listeners - so listeners
+ * must not block.
  *
  * @author Tim Roberts
  */
@@ -51,22 +56,37 @@ public class SocketChannelSession implements SocketSession {
     private final AtomicReference<SocketChannel> _socketChannel = new AtomicReference<SocketChannel>();
 
     /**
-     * The {@link ResponseReader} that will be used to read from {@link #_readBuffer}
+     * The key of the {@link #_socketChannel} in the {@link SessionSelector}. Will be null if not registered yet
      */
-    private final ResponseReader _responseReader = new ResponseReader();
+    private volatile SelectionKey _selectionKey;
 
     /**
-     * The responses read from the {@link #_responseReader}
+     * The shared {@link SessionSelector}. Will be null if not connected
      */
-    private final BlockingQueue<Object> _responses = new ArrayBlockingQueue<Object>(50);
+    private SessionSelector _selector;
 
     /**
-     * The dispatcher of responses from {@link #_responses}
+     * The buffer the {@link SessionSelector} reads into (only accessed from the I/O thread)
      */
-    private final Dispatcher _dispatcher = new Dispatcher();
+    private final ByteBuffer _readBuffer = ByteBuffer.allocate(1024);
 
     /**
-     * The {@link SocketSessionListener} that the {@link #_dispatcher} will call
+     * The response being read (only accessed from the I/O thread)
+     */
+    private final StringBuilder _response = new StringBuilder(100);
+
+    /**
+     * The data waiting to be written once the {@link #_socketChannel} becomes writable
+     */
+    private final LinkedList<ByteBuffer> _writeQueue = new LinkedList<ByteBuffer>();
+
+    /**
+     * The commands waiting for their response (see {@link #sendCommand(String, Pattern)})
+     */
+    private final List<ResponseFuture> _pendingResponses = new CopyOnWriteArrayList<ResponseFuture>();
+
+    /**
+     * The {@link SocketSessionListener} that the {@link SessionSelector} will call
      */
     private List<SocketSessionListener> _listeners = new CopyOnWriteArrayList<SocketSessionListener>();
 
@@ -114,34 +134,40 @@ public class SocketChannelSession implements SocketSession {
         channel.configureBlocking(true);
 
         _logger.debug("Connecting to {}:{}", _host, _port);
-        channel.connect(new InetSocketAddress(_host, _port));
-
-        _logger.debug("Waiting for connect");
-        while (!channel.finishConnect()) {
-            try {
-                Thread.sleep(250);
-            } catch (InterruptedException e) {
-            }
+        try {
+            channel.connect(new InetSocketAddress(_host, _port));
+            channel.configureBlocking(false);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
         }
 
-        _socketChannel.set(channel);
-        new Thread(_dispatcher).start();
-        new Thread(_responseReader).start();
+        synchronized (this) {
+            _socketChannel.set(channel);
+            _selector = SessionSelector.acquire();
+            _selector.register(channel, this);
+        }
     }
 
     @Override
     public void disconnect() throws IOException {
-        if (isConnected()) {
+        final SocketChannel channel;
+        synchronized (this) {
+            channel = _socketChannel.getAndSet(null);
+            if (channel == null) {
+                return;
+            }
             _logger.debug("Disconnecting from {}:{}", _host, _port);
 
-            final SocketChannel channel = _socketChannel.getAndSet(null);
-            channel.close();
-
-            _dispatcher.stopRunning();
-            _responseReader.stopRunning();
-
-            _responses.clear();
+            _selectionKey = null;
+            _selector = null;
+            SessionSelector.release();
         }
+        synchronized (_writeQueue) {
+            _writeQueue.clear();
+        }
+        failPendingResponses(new IOException("Session was disconnected"));
+        channel.close();
     }
 
     @Override
@@ -151,7 +177,7 @@ public class SocketChannelSession implements SocketSession {
     }
 
     @Override
-    public synchronized void sendCommand(String command) throws IOException {
+    public void sendCommand(String command) throws IOException {
         if (command == null) {
             throw new IllegalArgumentException("command cannot be null");
         }
@@ -160,220 +186,303 @@ public class SocketChannelSession implements SocketSession {
             throw new IOException("Cannot send message - disconnected");
         }
 
-        ByteBuffer toSend = ByteBuffer.wrap((command + "\r\n").getBytes());
+        final ByteBuffer toSend = ByteBuffer.wrap((command + "\r\n").getBytes());
 
         final SocketChannel channel = _socketChannel.get();
         if (channel == null) {
             _logger.debug("Cannot send command '{}' - socket channel was closed", command);
-        } else {
-            _logger.debug("Sending Command: '{}'", command);
-            channel.write(toSend);
+            return;
+        }
+
+        _logger.debug("Sending Command: '{}'", command);
+        synchronized (_writeQueue) {
+            if (_writeQueue.isEmpty()) {
+                channel.write(toSend);
+                if (!toSend.hasRemaining()) {
+                    return;
+                }
+            }
+            // channel is not writable right now - let the I/O thread write it
+            _writeQueue.add(toSend);
+        }
+        final SessionSelector selector = _selector;
+        if (selector != null) {
+            selector.setWriteInterest(_selectionKey, true);
         }
     }
 
+    @Override
+    public Future<String> sendCommand(String command, Pattern responsePattern) throws IOException {
+        if (responsePattern == null) {
+            throw new IllegalArgumentException("responsePattern cannot be null");
+        }
+        final ResponseFuture future = new ResponseFuture(responsePattern);
+        _pendingResponses.add(future);
+        try {
+            sendCommand(command);
+        } catch (IOException | RuntimeException e) {
+            _pendingResponses.remove(future);
+            throw e;
+        }
+        return future;
+    }
+
     /**
-     * This is the runnable that will read from the socket and add messages to the responses queue (to be processed by
-     * the dispatcher)
-     *
-     * @author Tim Roberts
+     * Called by the {@link SessionSelector} once the {@link SelectionKey} has been registered
      *
+     * @param key the non-null {@link SelectionKey}
      */
-    private class ResponseReader implements Runnable {
-
-        /**
-         * Whether the reader is currently running
-         */
-        private final AtomicBoolean _isRunning = new AtomicBoolean(false);
+    void setSelectionKey(SelectionKey key) {
+        _selectionKey = key;
+        synchronized (_writeQueue) {
+            if (!_writeQueue.isEmpty() && _selector != null) {
+                _selector.setWriteInterest(key, true);
+            }
+        }
+    }
 
-        /**
-         * Locking to allow proper shutdown of the reader
-         */
-        private final CountDownLatch _running = new CountDownLatch(1);
+    /**
+     * Called by the {@link SessionSelector} when the channel is readable. Reads all available data and dispatches
+     * every complete response to the listeners. A 'response' is anything that ends with a carriage-return/newline
+     * combo. Additionally, the special "Login: " and "Password: " prompts are treated as responses for purposes of
+     * logging in.
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    void handleRead() throws IOException {
+        final SocketChannel channel = _socketChannel.get();
+        if (channel == null) {
+            return;
+        }
 
-        /**
-         * Stops the reader. Will wait 5 seconds for the runnable to stop
-         */
-        public void stopRunning() {
-            if (_isRunning.getAndSet(false)) {
-                try {
-                    if (!_running.await(5, TimeUnit.SECONDS)) {
-                        _logger.warn("Waited too long for response reader to finish");
+        int bytesRead;
+        while ((bytesRead = channel.read(_readBuffer)) > 0) {
+            _readBuffer.flip();
+            while (_readBuffer.hasRemaining()) {
+                final char ch = (char) _readBuffer.get();
+                _response.append(ch);
+                if (ch == '\n' || ch == ' ') {
+                    final String str = _response.toString();
+                    if (str.endsWith("\r\n") || str.endsWith("Login: ") || str.endsWith("Password: ")) {
+                        _response.setLength(0);
+                        dispatch(str.substring(0, str.length() - 2));
                     }
-                } catch (InterruptedException e) {
-                    // Do nothing
                 }
             }
+            _readBuffer.clear();
         }
 
-        /**
-         * Runs the logic to read from the socket until {@link #_isRunning} is false. A 'response' is anything that ends
-         * with a carriage-return/newline combo. Additionally, the special "Login: " and "Password: " prompts are
-         * treated as responses for purposes of logging in.
-         */
-        @Override
-        public void run() {
-            final StringBuilder sb = new StringBuilder(100);
-            final ByteBuffer readBuffer = ByteBuffer.allocate(1024);
-
-            _isRunning.set(true);
-            _responses.clear();
-
-            while (_isRunning.get()) {
-                try {
-                    // if reader is null, sleep and try again
-                    if (readBuffer == null) {
-                        Thread.sleep(250);
-                        continue;
-                    }
+        if (bytesRead == -1) {
+            handleException(new IOException("server closed connection"));
+        }
+    }
 
-                    final SocketChannel channel = _socketChannel.get();
-                    if (channel == null) {
-                        // socket was closed
-                        _isRunning.set(false);
-                        break;
-                    }
+    /**
+     * Called by the {@link SessionSelector} when the channel is writable. Writes the queued data and stops waiting for
+     * the channel to become writable once everything has been written.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    void handleWrite() throws IOException {
+        final SocketChannel channel = _socketChannel.get();
+        if (channel == null) {
+            return;
+        }
 
-                    int bytesRead = channel.read(readBuffer);
-                    if (bytesRead == -1) {
-                        _responses.put(new IOException("server closed connection"));
-                        _isRunning.set(false);
-                        break;
-                    } else if (bytesRead == 0) {
-                        readBuffer.clear();
-                        continue;
-                    }
+        synchronized (_writeQueue) {
+            while (!_writeQueue.isEmpty()) {
+                final ByteBuffer toSend = _writeQueue.peek();
+                channel.write(toSend);
+                if (toSend.hasRemaining()) {
+                    return;
+                }
+                _writeQueue.poll();
+            }
+        }
+        final SessionSelector selector = _selector;
+        if (selector != null) {
+            selector.setWriteInterest(_selectionKey, false);
+        }
+    }
 
-                    readBuffer.flip();
-                    while (readBuffer.hasRemaining()) {
-                        final char ch = (char) readBuffer.get();
-                        sb.append(ch);
-                        if (ch == '\n' || ch == ' ') {
-                            final String str = sb.toString();
-                            if (str.endsWith("\r\n") || str.endsWith("Login: ") || str.endsWith("Password: ")) {
-                                sb.setLength(0);
-                                final String response = str.substring(0, str.length() - 2);
-                                _responses.put(response);
-                            }
-                        }
-                    }
+    /**
+     * Called by the {@link SessionSelector} when reading or writing failed. Disconnects the session and dispatches the
+     * exception to the listeners.
+     *
+     * @param e the non-null exception
+     */
+    void handleException(Exception e) {
+        try {
+            disconnect();
+        } catch (IOException e1) {
+            // ignore - we are already failing
+        }
 
-                    readBuffer.flip();
-
-                } catch (InterruptedException e) {
-                    // Do nothing - probably shutting down
-                } catch (AsynchronousCloseException e) {
-                    // socket was definitely closed by another thread
-                } catch (IOException e) {
-                    try {
-                        _isRunning.set(false);
-                        _responses.put(e);
-                    } catch (InterruptedException e1) {
-                        // Do nothing - probably shutting down
-                    }
-                }
+        _logger.debug("Dispatching exception: {}", e.getMessage());
+        for (SocketSessionListener listener : _listeners) {
+            try {
+                listener.responseException(e);
+            } catch (Exception e1) {
+                _logger.warn("Exception occurred processing the exception '{}': {}", e, e1);
             }
+        }
+    }
 
-            _running.countDown();
+    /**
+     * Dispatches the response to the listeners and completes the first pending command waiting for it
+     *
+     * @param response a non-null, possibly empty response
+     */
+    private void dispatch(String response) {
+        _logger.debug("Dispatching response: {}", response);
+        for (SocketSessionListener listener : _listeners) {
+            try {
+                listener.responseReceived(response);
+            } catch (Exception e) {
+                _logger.warn("Exception occurred processing the response '{}': {}", response, e);
+            }
+        }
+
+        for (ResponseFuture future : _pendingResponses) {
+            if (future.isDone()) {
+                // cancelled by the caller (probably timed out)
+                _pendingResponses.remove(future);
+            } else if (future.complete(response)) {
+                _pendingResponses.remove(future);
+                break;
+            }
         }
     }
 
     /**
-     * The dispatcher runnable is responsible for reading the response queue and dispatching it to the current callable.
-     * Since the dispatcher is ONLY started when a callable is set, responses may pile up in the queue and be dispatched
-     * when a callable is set. Unlike the socket reader, this can be assigned to another thread (no state outside of the
-     * class).
+     * Fails all commands waiting for their response
      *
-     * @author Tim Roberts
+     * @param e the non-null exception
      */
-    private class Dispatcher implements Runnable {
+    private void failPendingResponses(Exception e) {
+        for (ResponseFuture future : _pendingResponses) {
+            future.fail(e);
+        }
+        _pendingResponses.clear();
+    }
 
+    /**
+     * The {@link Future} of a command waiting for its response. It is completed by the first response matching the
+     * pattern.
+     *
+     * @author agent
+     */
+    private static class ResponseFuture implements Future<String> {
         /**
-         * Whether the dispatcher is running or not
+         * The pattern the response must match
          */
-        private final AtomicBoolean _isRunning = new AtomicBoolean(false);
+        private final Pattern _pattern;
 
         /**
-         * Locking to allow proper shutdown of the reader
+         * Released once the future is done
          */
-        private final CountDownLatch _running = new CountDownLatch(1);
+        private final CountDownLatch _done = new CountDownLatch(1);
 
         /**
-         * Whether the dispatcher is currently processing a message
+         * The response (if completed)
          */
-        private final AtomicReference<Thread> _processingThread = new AtomicReference<Thread>();
+        private volatile String _response;
 
         /**
-         * Stops the reader. Will wait 5 seconds for the runnable to stop (should stop within 1 second based on the poll
-         * timeout below)
+         * The exception (if failed)
          */
-        public void stopRunning() {
-            if (_isRunning.getAndSet(false)) {
-                // only wait if stopRunning didn't get called as part of processing a message
-                // (which would happen if we are processing an exception that forced a session close)
-                final Thread processingThread = _processingThread.get();
-                if (processingThread != null && Thread.currentThread() != processingThread) {
-                    try {
-                        if (!_running.await(5, TimeUnit.SECONDS)) {
-                            _logger.warn("Waited too long for dispatcher to finish");
-                        }
-                    } catch (InterruptedException e) {
-                        // do nothing
-                    }
-                }
+        private volatile Exception _exception;
+
+        /**
+         * Whether the future has been cancelled
+         */
+        private volatile boolean _cancelled;
+
+        /**
+         * Creates the future from the pattern
+         *
+         * @param pattern a non-null pattern
+         */
+        ResponseFuture(Pattern pattern) {
+            _pattern = pattern;
+        }
+
+        /**
+         * Completes the future if the response matches the pattern
+         *
+         * @param response a non-null response
+         * @return true if the response matched, false otherwise
+         */
+        boolean complete(String response) {
+            if (isDone() || !_pattern.matcher(response).matches()) {
+                return false;
             }
+            _response = response;
+            _done.countDown();
+            return true;
         }
 
         /**
-         * Runs the logic to dispatch any responses to the current listeners until {@link #_isRunning} is false.
+         * Fails the future with the exception
+         *
+         * @param e a non-null exception
          */
+        void fail(Exception e) {
+            if (!isDone()) {
+                _exception = e;
+                _done.countDown();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (isDone()) {
+                return false;
+            }
+            _cancelled = true;
+            _done.countDown();
+            return true;
+        }
+
         @Override
-        public void run() {
-            _processingThread.set(Thread.currentThread());
+        public boolean isCancelled() {
+            return _cancelled;
+        }
 
-            _isRunning.set(true);
-            while (_isRunning.get()) {
-                try {
+        @Override
+        public boolean isDone() {
+            return _done.getCount() == 0;
+        }
 
-                    // if no listeners, we don't want to start dispatching yet.
-                    if (_listeners.size() == 0) {
-                        Thread.sleep(250);
-                        continue;
-                    }
+        @Override
+        public String get() throws InterruptedException, ExecutionException {
+            _done.await();
+            return getResult();
+        }
 
-                    final Object response = _responses.poll(1, TimeUnit.SECONDS);
-
-                    if (response != null) {
-                        if (response instanceof String) {
-                            try {
-                                _logger.debug("Dispatching response: {}", response);
-                                final SocketSessionListener[] listeners = _listeners
-                                        .toArray(new SocketSessionListener[0]);
-                                for (SocketSessionListener listener : listeners) {
-                                    listener.responseReceived((String) response);
-                                }
-                            } catch (Exception e) {
-                                _logger.warn("Exception occurred processing the response '{}': {}", response, e);
-                            }
-                        } else if (response instanceof Exception) {
-                            _logger.debug("Dispatching exception: {}", response);
-                            final SocketSessionListener[] listeners = _listeners.toArray(new SocketSessionListener[0]);
-                            for (SocketSessionListener listener : listeners) {
-                                listener.responseException((Exception) response);
-                            }
-                        } else {
-                            _logger.warn("Unknown response class: {}", response);
-                        }
-                    }
-                } catch (InterruptedException e) {
-                    // Do nothing
-                } catch (Exception e) {
-                    _logger.debug("Uncaught exception {}", e.getMessage(), e);
-                    break;
-                }
+        @Override
+        public String get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            if (!_done.await(timeout, unit)) {
+                throw new TimeoutException("No response matching '" + _pattern + "' received in time");
+            }
+            return getResult();
+        }
+
+        /**
+         * Returns the response or throws the failure
+         *
+         * @return the response
+         * @throws ExecutionException if the future failed
+         */
+        private String getResult() throws ExecutionException {
+            if (_cancelled) {
+                throw new CancellationException();
+            }
+            if (_exception != null) {
+                throw new ExecutionException(_exception);
             }
-            _isRunning.set(false);
-            _processingThread.set(null);
-            _running.countDown();
+            return _response;
         }
     }
 }
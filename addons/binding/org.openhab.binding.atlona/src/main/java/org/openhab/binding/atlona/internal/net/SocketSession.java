@@ -9,6 +9,8 @@
 package org.openhab.binding.atlona.internal.net;
 
 import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 
 /**
  * This is a socket session interface that defines the contract for a socket session. A socket session will initiate
@@ -41,18 +43,15 @@ public interface SocketSession {
 
     /**
      * Will attempt to connect to the {@link #_host} on port {@link #_port}. If we are current connected, will
-     * {@link #disconnect()} first. Once connected, the {@link #_writer} and {@link #_reader} will be created, the
-     * {@link #_dispatcher} and {@link #_responseReader} will be started.
+     * {@link #disconnect()} first. Once connected, responses will be read and dispatched to the listeners.
      *
      * @throws java.io.IOException if an exception occurs during the connection attempt
      */
     void connect() throws IOException;
 
     /**
-     * Disconnects from the {@link #_host} if we are {@link #isConnected()}. The {@link #_writer}, {@link #_reader} and
-     * {@link #_client}
-     * will be closed and set to null. The {@link #_dispatcher} and {@link #_responseReader} will be stopped, the
-     * {@link #_listeners} will be nulled and the {@link #_responses} will be cleared.
+     * Disconnects from the {@link #_host} if we are {@link #isConnected()}. The socket will be closed, any unsent
+     * commands will be discarded and any commands waiting for their response will fail.
      *
      * @throws java.io.IOException if an exception occurs during the disconnect attempt
      */
@@ -73,4 +72,15 @@ public interface SocketSession {
      */
     void sendCommand(String command) throws IOException;
 
+    /**
+     * Sends the specified command to the underlying socket and returns a {@link Future} that will be completed with the
+     * first response matching the pattern. The response is still dispatched to all listeners.
+     *
+     * @param command a non-null, non-empty command
+     * @param responsePattern a non-null pattern the response must match
+     * @return a non-null {@link Future} for the response
+     * @throws java.io.IOException an exception that occurred while sending
+     */
+    Future<String> sendCommand(String command, Pattern responsePattern) throws IOException;
+
 }
\ No newline at end of file
@@ -11,7 +11,10 @@ package org.openhab.binding.atlona.internal.pro3;
 import java.io.IOException;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -135,6 +138,12 @@ class AtlonaPro3PortocolHandler {
     // The following isn't part of the atlona protocol and is generated by us
     private final static String CMD_PING = "ping";
     private final static String RSP_PING = "Command FAILED: (ping)";
+    private final Pattern _pingPattern = Pattern.compile(Pattern.quote(RSP_PING));
+
+    /**
+     * The time (in seconds) to wait for the response to a ping
+     */
+    private final static int PING_TIMEOUT = 5;
 
     /**
      * Constructs the protocol handler from given parameters
@@ -306,10 +315,25 @@ class AtlonaPro3PortocolHandler {
     }
 
     /**
-     * Pings the server with an (invalid) ping command to keep the connection alive
+     * Pings the server with an (invalid) ping command to keep the connection alive. If the server doesn't respond to
+     * the ping in time, the thing will be put into {@link ThingStatus#OFFLINE}.
      */
     void ping() {
-        sendCommand(CMD_PING);
+        try {
+            final Future<String> response = _session.sendCommand(CMD_PING, _pingPattern);
+            try {
+                response.get(PING_TIMEOUT, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                response.cancel(false);
+                _callback.statusChanged(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                        "Atlona didn't respond to a ping within " + PING_TIMEOUT + " seconds");
+            }
+        } catch (IOException | ExecutionException e) {
+            _callback.statusChanged(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                    "Exception occurred pinging Atlona: " + e);
+        } catch (InterruptedException e) {
+            // shutting down
+        }
     }
 
     /**
@@ -1149,19 +1173,17 @@ class AtlonaPro3PortocolHandler {
 
         @Override
         public void responseReceived(String response) {
-            try {
-                _responses.put(response);
-            } catch (InterruptedException e) {
+            // never block the I/O thread shared by all sessions
+            if (!_responses.offer(response)) {
+                logger.debug("Discarding login response (too many unprocessed): '{}'", response);
             }
         }
 
         @Override
         public void responseException(Exception e) {
-            try {
-                _responses.put(e);
-            } catch (InterruptedException e1) {
+            if (!_responses.offer(e)) {
+                logger.debug("Discarding login exception (too many unprocessed): {}", e.getMessage());
             }
-
         }
 
     }
@@ -108,6 +108,8 @@ public class FeedHandlerTest extends OSGiTest {
     class FeedServiceMock extends HttpServlet {
         def feedContent;
         def httpStatus;
+        def requestCount = 0;
+        def notModifiedCount = 0;
 
         public FeedServiceMock(def feedContentFile) {
             super()
@@ -118,6 +120,15 @@ public class FeedHandlerTest extends OSGiTest {
 
         @Override
         protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException{
+            requestCount++
+            //The entity tag changes with the content, so conditional requests for unchanged content get HTTP 304
+            def eTag = "\"${feedContent.hashCode()}\""
+            if (httpStatus == HttpStatus.OK_200 && eTag == request.getHeader("If-None-Match")) {
+                notModifiedCount++
+                response.setStatus(HttpStatus.NOT_MODIFIED_304)
+                return
+            }
+            response.setHeader("ETag", eTag)
             ServletOutputStream outputStream = response.getOutputStream()
             outputStream.println(feedContent)
             //Recommended RSS MIME type - http://www.rssboard.org/rss-mime-type-application.txt
@@ -307,6 +318,34 @@ public class FeedHandlerTest extends OSGiTest {
         testIfItemStateIsUpdated(commandReceived,contentChanged);
     }
 
+    @Test
+    public void 'assert that unchanged content is requested conditionally and not downloaded again' () {
+        initializeDefaultFeedHandler()
+
+        waitForAssert({
+            assertThat feedThing.getStatus(),is(equalTo(ThingStatus.ONLINE))
+            assertThat currentItemState, is(notNullValue())
+        },  DEFAULT_MAX_WAIT_TIME)
+
+        String firstItemState = currentItemState
+        int requestCount = servlet.requestCount
+
+        //Refresh commands within this time are served from the cache without a request to the server
+        feedThing.handler.handleCommand(channelUID,RefreshType.REFRESH)
+        assertThat servlet.requestCount,is(equalTo(requestCount))
+
+        sleep(FeedBindingConstants.MINIMUM_REFRESH_TIME)
+
+        feedThing.handler.handleCommand(channelUID,RefreshType.REFRESH)
+
+        waitForAssert({
+            assertThat "Request for unchanged content is not conditional", servlet.notModifiedCount, is(equalTo(1))
+        },DEFAULT_MAX_WAIT_TIME)
+        assertThat servlet.requestCount,is(equalTo(requestCount + 1))
+        assertThat feedThing.getStatus(),is(equalTo(ThingStatus.ONLINE))
+        assertThat currentItemState,is(equalTo(firstItemState))
+    }
+
     @Test
     public void 'assert that thing\'s status is updated when HTTP 500 error code is received' () {
         testIfThingStatusIsUpdated(HttpStatus.INTERNAL_SERVER_ERROR_500)
@@ -10,13 +10,9 @@ package org.openhab.binding.feed.handler;
 
 import static org.openhab.binding.feed.FeedBindingConstants.*;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLConnection;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -37,13 +33,14 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
+import org.openhab.binding.feed.internal.FeedContent;
+import org.openhab.binding.feed.internal.FeedFetchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.FeedException;
-import com.rometools.rome.io.SyndFeedInput;
 
 /**
  * The {@link FeedHandler } is responsible for handling commands, which are
@@ -59,10 +56,13 @@ public class FeedHandler extends BaseThingHandler {
     private BigDecimal refreshTime;
     private ScheduledFuture<?> refreshTask;
     private SyndFeed currentFeedState;
+    private long currentContentHash;
     private long lastRefreshTime;
+    private final FeedFetchService fetchService;
 
-    public FeedHandler(Thing thing) {
+    public FeedHandler(Thing thing, FeedFetchService fetchService) {
         super(thing);
+        this.fetchService = fetchService;
         currentFeedState = null;
     }
 
@@ -111,8 +111,8 @@ public class FeedHandler extends BaseThingHandler {
     }
 
     private void refreshFeedState() {
-        SyndFeed feed = fetchFeedData(urlString);
-        boolean feedUpdated = updateFeedIfChanged(feed);
+        FeedContent content = fetchFeedData(urlString);
+        boolean feedUpdated = updateFeedIfChanged(content);
 
         if (feedUpdated) {
             List<Channel> channels = getThing().getChannels();
@@ -179,16 +179,16 @@ public class FeedHandler extends BaseThingHandler {
 
     /**
      * This method updates the {@link #currentFeedState}, only if there are changes on the server, since the last check.
-     * It compares the content on the server with the local
+     * It compares the hash of the content on the server with the hash of the local
      * stored {@link #currentFeedState} in the {@link FeedHandler}.
      *
      * @return <code>true</code> if new content is available on the server since the last update or <code>false</code>
      *         otherwise
      */
-    private synchronized boolean updateFeedIfChanged(SyndFeed newFeedState) {
-        // SyndFeed class has implementation of equals ()
-        if (newFeedState != null && !newFeedState.equals(currentFeedState)) {
-            currentFeedState = newFeedState;
+    private synchronized boolean updateFeedIfChanged(FeedContent newContent) {
+        if (newContent != null && (currentFeedState == null || newContent.getHash() != currentContentHash)) {
+            currentFeedState = newContent.getFeed();
+            currentContentHash = newContent.getHash();
             logger.debug("New content available!");
             return true;
         }
@@ -204,21 +204,13 @@ public class FeedHandler extends BaseThingHandler {
      * {@link ThingStatusDetail#COMMUNICATION_ERROR} and adequate message.
      *
      * @param urlString - URL of the Feed
-     * @return {@link SyndFeed} instance with the feed data, if the connection attempt was successful and
+     * @return {@link FeedContent} instance with the feed data, if the connection attempt was successful and
      *         <code>null</code> otherwise
      */
-    private SyndFeed fetchFeedData(String urlString) {
-        SyndFeed feed = null;
+    private FeedContent fetchFeedData(String urlString) {
+        FeedContent content = null;
         try {
-            URL url = new URL(urlString);
-
-            URLConnection connection = url.openConnection();
-
-            BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-
-            SyndFeedInput input = new SyndFeedInput();
-            feed = input.build(in);
-            in.close();
+            content = fetchService.fetch(urlString);
 
             if (this.thing.getStatus() != ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
@@ -241,7 +233,7 @@ public class FeedHandler extends BaseThingHandler {
             return null;
         }
 
-        return feed;
+        return content;
 
     }
 
@@ -270,8 +262,8 @@ public class FeedHandler extends BaseThingHandler {
         if (command instanceof RefreshType) {
             // safeguard for multiple REFRESH commands for different channels in a row
             if (isMinimumRefreshTimeExceeded()) {
-                SyndFeed feed = fetchFeedData(urlString);
-                updateFeedIfChanged(feed);
+                FeedContent content = fetchFeedData(urlString);
+                updateFeedIfChanged(content);
             }
             publishChannelIfLinked(channelUID);
         } else {
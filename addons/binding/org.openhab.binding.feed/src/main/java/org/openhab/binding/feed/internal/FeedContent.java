@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.feed.internal;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+
+/**
+ * The {@link FeedContent} holds a parsed feed together with the hash of the downloaded document.
+ *
+ * @author agent - Initial contribution
+ */
+public class FeedContent {
+
+    private final SyndFeed feed;
+    private final long hash;
+
+    public FeedContent(SyndFeed feed, long hash) {
+        this.feed = feed;
+        this.hash = hash;
+    }
+
+    /**
+     * Returns the parsed feed.
+     */
+    public SyndFeed getFeed() {
+        return feed;
+    }
+
+    /**
+     * Returns the hash of the downloaded document. Equal hashes mean unchanged content.
+     */
+    public long getHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.feed.internal;
+
+import static org.openhab.binding.feed.FeedBindingConstants.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.XmlReader;
+
+/**
+ * The {@link FeedFetchService} downloads and parses feeds for all feed things. Feeds are cached per URL, so things
+ * pointing to the same URL share one download. Requests are conditional ({@code If-None-Match},
+ * {@code If-Modified-Since}), so an unchanged feed costs only a 304 response, and the document is parsed only if its
+ * content hash has changed.
+ *
+ * @author agent - Initial contribution
+ */
+public class FeedFetchService {
+
+    private Logger logger = LoggerFactory.getLogger(FeedFetchService.class);
+
+    /**
+     * Cache entries, which have not been requested for this time in milliseconds, are removed.
+     */
+    private static final long UNUSED_ENTRY_TIMEOUT = 24 * 60 * 60 * 1000;
+
+    /**
+     * Timeouts in milliseconds for connecting to the server and for reading the response. The fetch holds the lock
+     * of the cache entry, so a server which does not answer must not block the things sharing the URL forever.
+     */
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 30000;
+
+    private final Map<String, CachedFeed> cache = new HashMap<String, CachedFeed>();
+
+    /**
+     * Returns the content of the feed. If the feed has been fetched by any thing within the
+     * {@link org.openhab.binding.feed.FeedBindingConstants#MINIMUM_REFRESH_TIME}, the cached content is returned
+     * without a request to the server.
+     *
+     * @param urlString - URL of the Feed
+     * @return the {@link FeedContent} of the feed
+     * @throws IOException if the URL is not valid or the server can not be accessed
+     * @throws FeedException if the feed content is not valid
+     */
+    public FeedContent fetch(String urlString) throws IOException, FeedException {
+        CachedFeed cachedFeed = getCachedFeed(urlString);
+        synchronized (cachedFeed) {
+            long now = System.currentTimeMillis();
+            cachedFeed.lastAccessTime = now;
+            if (cachedFeed.content != null && now - cachedFeed.fetchTime < MINIMUM_REFRESH_TIME) {
+                logger.trace("Using cached content of feed {}", urlString);
+                return cachedFeed.content;
+            }
+
+            URL url = new URL(urlString);
+            URLConnection connection = url.openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT);
+            connection.setReadTimeout(READ_TIMEOUT);
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            if (connection instanceof HttpURLConnection && cachedFeed.content != null) {
+                if (cachedFeed.eTag != null) {
+                    connection.setRequestProperty("If-None-Match", cachedFeed.eTag);
+                }
+                if (cachedFeed.lastModified > 0) {
+                    connection.setIfModifiedSince(cachedFeed.lastModified);
+                }
+            }
+
+            if (connection instanceof HttpURLConnection
+                    && ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                logger.debug("Feed {} has not been modified", urlString);
+                cachedFeed.fetchTime = now;
+                return cachedFeed.content;
+            }
+
+            byte[] data = readContent(connection);
+            long hash = getHash(data);
+            cachedFeed.eTag = connection.getHeaderField("ETag");
+            cachedFeed.lastModified = connection.getLastModified();
+
+            if (cachedFeed.content == null || cachedFeed.content.getHash() != hash) {
+                SyndFeedInput input = new SyndFeedInput();
+                SyndFeed feed = input.build(new XmlReader(new ByteArrayInputStream(data)));
+                cachedFeed.content = new FeedContent(feed, hash);
+            } else {
+                logger.debug("Content of feed {} has not changed", urlString);
+            }
+            cachedFeed.fetchTime = now;
+            return cachedFeed.content;
+        }
+    }
+
+    /**
+     * Returns the cache entry for the URL and removes entries, which have not been used for a long time.
+     */
+    private synchronized CachedFeed getCachedFeed(String urlString) {
+        long now = System.currentTimeMillis();
+        for (Iterator<CachedFeed> it = cache.values().iterator(); it.hasNext();) {
+            if (now - it.next().lastAccessTime > UNUSED_ENTRY_TIMEOUT) {
+                it.remove();
+            }
+        }
+
+        String key = String.valueOf(urlString);
+        CachedFeed cachedFeed = cache.get(key);
+        if (cachedFeed == null) {
+            cachedFeed = new CachedFeed();
+            cachedFeed.lastAccessTime = now;
+            cache.put(key, cachedFeed);
+        }
+        return cachedFeed;
+    }
+
+    /**
+     * Reads the whole response and unzips it, if it is gzip encoded.
+     */
+    private byte[] readContent(URLConnection connection) throws IOException {
+        InputStream in = connection.getInputStream();
+        try {
+            if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+                in = new GZIPInputStream(in);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Returns a cheap hash of the content, used to detect changes without parsing the feed.
+     */
+    private long getHash(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (crc.getValue() << 32) ^ data.length;
+    }
+
+    /**
+     * Cached state of a feed URL.
+     */
+    private static class CachedFeed {
+        private FeedContent content;
+        private String eTag;
+        private long lastModified;
+        private long fetchTime;
+        private long lastAccessTime;
+    }
+}
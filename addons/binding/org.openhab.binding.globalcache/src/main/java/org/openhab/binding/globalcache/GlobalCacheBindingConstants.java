@@ -27,6 +27,10 @@ public class GlobalCacheBindingConstants {
     // Maximum number of GC devices supported by the binding
     public final static int MAX_GC_DEVICES = 10;
 
+    // Maximum number of commands sent to a device before its reply is received. The replies carry no
+    // reference to the command, so they are matched with the commands in the order these were sent.
+    public final static int MAX_IN_FLIGHT_COMMANDS = 1;
+
     /*
      * GlobalCache thing definitions
      */
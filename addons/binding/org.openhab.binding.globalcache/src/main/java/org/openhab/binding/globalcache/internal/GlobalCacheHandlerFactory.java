@@ -15,6 +15,7 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.openhab.binding.globalcache.handler.GlobalCacheHandler;
+import org.openhab.binding.globalcache.internal.connection.GlobalCacheTransport;
 
 /**
  * The {@link GlobalCacheHandlerFactory} is responsible for creating thing handlers.
@@ -23,6 +24,9 @@ import org.openhab.binding.globalcache.handler.GlobalCacheHandler;
  */
 public class GlobalCacheHandlerFactory extends BaseThingHandlerFactory {
 
+    // Shared by all thing handlers
+    private final GlobalCacheTransport transport = new GlobalCacheTransport();
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -34,7 +38,7 @@ public class GlobalCacheHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID)) {
-            return new GlobalCacheHandler(thing);
+            return new GlobalCacheHandler(thing, transport);
         }
 
         return null;
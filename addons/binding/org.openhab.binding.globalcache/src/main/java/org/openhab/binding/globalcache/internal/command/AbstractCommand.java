@@ -17,6 +17,7 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
 import org.openhab.binding.globalcache.handler.GlobalCacheHandler;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,10 +29,11 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractCommand implements CommandInterface {
     private final Logger logger = LoggerFactory.getLogger(AbstractCommand.class);
 
-    private LinkedBlockingQueue<RequestMessage> requestQueue;
+    private DeviceConnection connection;
 
     private final int RESPONSE_QUEUE_MAX_DEPTH = 1;
-    private final int RESPONSE_QUEUE_TIMEOUT = 3000;
+    // Time the command waits for the reply of the device, including the time the request waits in the queue
+    public static final int RESPONSE_QUEUE_TIMEOUT = 3000;
 
     protected Thing thing;
 
@@ -62,9 +64,9 @@ public abstract class AbstractCommand implements CommandInterface {
      *
      * @author Mark Hilbush - Initial contribution
      */
-    public AbstractCommand(Thing t, LinkedBlockingQueue<RequestMessage> q, String n, CommandType c) {
+    public AbstractCommand(Thing t, DeviceConnection d, String n, CommandType c) {
         thing = t;
-        requestQueue = q;
+        connection = d;
         commandName = n;
         commandType = c;
         setQuiet(false);
@@ -153,8 +155,8 @@ public abstract class AbstractCommand implements CommandInterface {
     }
 
     public void execute() {
-        if (requestQueue == null) {
-            createGenericError("Execute method was called with a null requestQueue");
+        if (connection == null) {
+            createGenericError("Execute method was called with a null connection");
             return;
         }
 
@@ -183,23 +185,25 @@ public abstract class AbstractCommand implements CommandInterface {
     }
 
     /*
-     * Place a request message onto the request queue, then wait on the response queue for the
-     * response message. The CommandHandler private class in GlobalCacheHandler.java
-     * is responsible for the actual device interaction.
+     * Place a request message onto the request queue of the device, then wait on the response queue for the
+     * response message. The GlobalCacheTransport class is responsible for the actual device interaction.
      */
     private boolean sendCommand() {
-        // Create a response queue. The command processor will use this queue to return the device's reply.
+        // Create a response queue. The transport will use this queue to return the device's reply.
         LinkedBlockingQueue<ResponseMessage> responseQueue = new LinkedBlockingQueue<ResponseMessage>(
                 RESPONSE_QUEUE_MAX_DEPTH);
 
         // Create the request message
         RequestMessage requestMsg = new RequestMessage(commandName, commandType, deviceCommand, responseQueue);
 
-        try {
-            // Put the request message on the request queue
-            requestQueue.put(requestMsg);
-            logger.trace("Put request on queue (depth={}), sent command '{}'", requestQueue.size(), deviceCommand);
+        // Put the request message on the request queue of the device
+        if (!connection.submit(requestMsg)) {
+            createGenericError("Request queue of device is full");
+            return false;
+        }
+        logger.trace("Put request on queue (depth={}), sent command '{}'", connection.getQueueDepth(), deviceCommand);
 
+        try {
             // Wait on the response queue for the response message
             ResponseMessage responseMsg = responseQueue.poll(RESPONSE_QUEUE_TIMEOUT, TimeUnit.MILLISECONDS);
 
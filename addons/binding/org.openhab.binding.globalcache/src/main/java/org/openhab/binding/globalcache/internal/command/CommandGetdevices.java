@@ -8,10 +8,9 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
-import java.util.concurrent.LinkedBlockingQueue;
-
 import org.eclipse.smarthome.core.thing.Thing;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,8 +23,8 @@ public class CommandGetdevices extends AbstractCommand {
 
     private final Logger logger = LoggerFactory.getLogger(CommandGetdevices.class);
 
-    public CommandGetdevices(Thing thing, LinkedBlockingQueue<RequestMessage> requestQueue) {
-        super(thing, requestQueue, "getdevices", CommandType.COMMAND);
+    public CommandGetdevices(Thing thing, DeviceConnection connection) {
+        super(thing, connection, "getdevices", CommandType.COMMAND);
         deviceCommand = "getdevices";
     }
 
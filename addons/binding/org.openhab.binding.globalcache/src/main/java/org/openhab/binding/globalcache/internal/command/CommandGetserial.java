@@ -8,12 +8,12 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.smarthome.core.thing.Thing;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,8 +31,8 @@ public class CommandGetserial extends AbstractCommand {
     private String flow;
     private String parity;
 
-    public CommandGetserial(Thing thing, LinkedBlockingQueue<RequestMessage> requestQueue, String mod, String con) {
-        super(thing, requestQueue, "get_SERIAL", CommandType.COMMAND);
+    public CommandGetserial(Thing thing, DeviceConnection connection, String mod, String con) {
+        super(thing, connection, "get_SERIAL", CommandType.COMMAND);
 
         deviceCommand = "get_SERIAL," + mod + ":" + con;
     }
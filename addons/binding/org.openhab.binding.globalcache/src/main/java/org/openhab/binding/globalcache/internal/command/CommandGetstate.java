@@ -8,13 +8,13 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,8 +30,8 @@ public class CommandGetstate extends AbstractCommand {
 
     private OnOffType state;
 
-    public CommandGetstate(Thing thing, LinkedBlockingQueue<RequestMessage> requestQueue, String mod, String con) {
-        super(thing, requestQueue, "getstate", CommandType.COMMAND);
+    public CommandGetstate(Thing thing, DeviceConnection connection, String mod, String con) {
+        super(thing, connection, "getstate", CommandType.COMMAND);
         deviceCommand = "getstate," + mod + ":" + con;
     }
 
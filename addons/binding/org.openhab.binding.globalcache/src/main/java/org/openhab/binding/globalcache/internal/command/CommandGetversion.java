@@ -8,10 +8,9 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
-import java.util.concurrent.LinkedBlockingQueue;
-
 import org.eclipse.smarthome.core.thing.Thing;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,8 +26,8 @@ public class CommandGetversion extends AbstractCommand {
 
     private String version;
 
-    public CommandGetversion(Thing thing, LinkedBlockingQueue<RequestMessage> requestQueue) {
-        super(thing, requestQueue, "getversion", CommandType.COMMAND);
+    public CommandGetversion(Thing thing, DeviceConnection connection) {
+        super(thing, connection, "getversion", CommandType.COMMAND);
         deviceCommand = "getversion";
     }
 
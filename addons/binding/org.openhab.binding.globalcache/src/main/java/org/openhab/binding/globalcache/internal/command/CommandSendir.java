@@ -8,11 +8,10 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
-import java.util.concurrent.LinkedBlockingQueue;
-
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,9 +28,9 @@ public class CommandSendir extends AbstractCommand {
     private String rcvCounter;
     Command command;
 
-    public CommandSendir(Thing thing, Command command, LinkedBlockingQueue<RequestMessage> queue, String mod,
+    public CommandSendir(Thing thing, Command command, DeviceConnection connection, String mod,
             String con, String code, int sendCounter) {
-        super(thing, queue, "sendir", CommandType.COMMAND);
+        super(thing, connection, "sendir", CommandType.COMMAND);
 
         this.command = command;
         deviceCommand = "sendir," + mod + ":" + con + "," + String.valueOf(sendCounter) + "," + code;
@@ -8,11 +8,10 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
-import java.util.concurrent.LinkedBlockingQueue;
-
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,9 +25,9 @@ public class CommandSendserial extends AbstractCommand {
 
     private Command command;
 
-    public CommandSendserial(Thing thing, Command command, LinkedBlockingQueue<RequestMessage> queue, String mod,
+    public CommandSendserial(Thing thing, Command command, DeviceConnection connection, String mod,
             String con, String code) {
-        super(thing, queue, "sendserial", CommandType.SERIAL1);
+        super(thing, connection, "sendserial", CommandType.SERIAL1);
         // Check to see if this is for the second serial port on a GC-100-12
         if (isGC_100_12() && mod.equals("2")) {
             setCommandType(CommandType.SERIAL2);
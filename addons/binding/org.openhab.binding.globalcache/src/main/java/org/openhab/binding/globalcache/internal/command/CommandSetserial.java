@@ -8,12 +8,12 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.smarthome.core.thing.Thing;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,9 +31,9 @@ public class CommandSetserial extends AbstractCommand {
     private String flow;
     private String parity;
 
-    public CommandSetserial(Thing thing, LinkedBlockingQueue<RequestMessage> requestQueue, String mod, String con,
+    public CommandSetserial(Thing thing, DeviceConnection connection, String mod, String con,
             String baud, String flowcontrol, String parity) {
-        super(thing, requestQueue, "set_SERIAL", CommandType.COMMAND);
+        super(thing, connection, "set_SERIAL", CommandType.COMMAND);
 
         deviceCommand = "set_SERIAL," + mod + ":" + con + "," + baud + "," + flowcontrol + "," + parity;
     }
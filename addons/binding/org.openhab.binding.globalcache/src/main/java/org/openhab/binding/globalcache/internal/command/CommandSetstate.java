@@ -8,7 +8,6 @@
  */
 package org.openhab.binding.globalcache.internal.command;
 
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,6 +15,7 @@ import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.connection.DeviceConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,9 +31,9 @@ public class CommandSetstate extends AbstractCommand {
     private Command command;
     private OnOffType state;
 
-    public CommandSetstate(Thing thing, Command command, LinkedBlockingQueue<RequestMessage> queue, String mod,
+    public CommandSetstate(Thing thing, Command command, DeviceConnection connection, String mod,
             String con) {
-        super(thing, queue, "setstate", CommandType.COMMAND);
+        super(thing, connection, "setstate", CommandType.COMMAND);
 
         this.command = command;
         if (command instanceof OnOffType) {
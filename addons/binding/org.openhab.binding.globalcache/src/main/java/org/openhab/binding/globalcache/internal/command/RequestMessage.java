@@ -23,6 +23,7 @@ public class RequestMessage {
     private String deviceCommand;
     private CommandType commandType;
     private String commandName;
+    private long createTime;
 
     public RequestMessage(String commandName, CommandType commandType, String deviceCommand,
             LinkedBlockingQueue<ResponseMessage> rcvQueue) {
@@ -30,6 +31,7 @@ public class RequestMessage {
         this.commandType = commandType;
         this.deviceCommand = deviceCommand;
         this.rcvQueue = rcvQueue;
+        this.createTime = System.currentTimeMillis();
     }
 
     public String getDeviceCommand() {
@@ -60,6 +62,13 @@ public class RequestMessage {
         return commandType == CommandType.SERIAL2;
     }
 
+    /*
+     * Time the request was created, used to expire requests nobody waits for anymore and to measure latency
+     */
+    public long getCreateTime() {
+        return createTime;
+    }
+
     public LinkedBlockingQueue<ResponseMessage> getReceiveQueue() {
         return rcvQueue;
     }
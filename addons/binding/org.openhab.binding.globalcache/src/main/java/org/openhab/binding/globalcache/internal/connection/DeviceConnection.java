@@ -0,0 +1,634 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.globalcache.internal.connection;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.command.AbstractCommand;
+import org.openhab.binding.globalcache.internal.command.RequestMessage;
+import org.openhab.binding.globalcache.internal.command.ResponseMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link DeviceConnection} class is responsible for the connections to the command port and the serial
+ * port(s) of one GlobalCache device. Requests are queued per device and written by the thread of the
+ * {@link GlobalCacheTransport}. The device doesn't tag its replies, but replies to the commands on the command
+ * port in the order it received them, so replies are matched with the requests in the order they were sent.
+ * A request whose reply is late is failed, but stays pending until its reply arrives, so the late reply isn't
+ * matched with the next request. Late requests don't count against the in-flight limit.
+ *
+ * Except for submitting requests, asking for a connect or disconnect, and the metrics, all methods are called
+ * on the transport thread.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceConnection {
+    private final Logger logger = LoggerFactory.getLogger(DeviceConnection.class);
+
+    /*
+     * Informs the thing handler about the state of the connection. Called on the transport thread.
+     */
+    public interface ConnectionListener {
+        void connectionEstablished();
+
+        /*
+         * @param errorMessage reason of the loss, or null if the disconnect was requested
+         */
+        void connectionLost(String errorMessage);
+    }
+
+    private enum State {
+        DISCONNECTED,
+        CONNECTING,
+        CONNECTED
+    }
+
+    private final String COMMAND_NAME = "command";
+    private final String SERIAL1_NAME = "serial-1";
+    private final String SERIAL2_NAME = "serial-2";
+
+    private final int COMMAND_PORT = 4998;
+    private final int SERIAL1_PORT = 4999;
+    private final int SERIAL2_PORT = 5000;
+
+    private final int CONNECT_TIMEOUT = 1500;
+    private final int REPLY_TIMEOUT = 2500;
+
+    // Without a reply for this long, the device has lost a reply and later replies can't be matched any more
+    private final int LOST_REPLY_TIMEOUT = 2 * REPLY_TIMEOUT;
+
+    // Requests the command gave up waiting for aren't sent
+    private final int QUEUE_TIMEOUT = AbstractCommand.RESPONSE_QUEUE_TIMEOUT;
+    private final int REQUEST_QUEUE_MAX_DEPTH = 10;
+
+    private final int READ_BUFFER_SIZE = 512;
+    private final String SERIAL_CHARSET = "ISO-8859-1";
+
+    private final GlobalCacheTransport transport;
+    private final String name;
+    private final String ipAddress;
+    private final InetAddress ifAddress;
+    private final int maxInFlight;
+    private final ConnectionListener listener;
+
+    private final Port commandPort;
+    private final Port serial1Port;
+    private final Port serial2Port;
+    private final List<Port> ports = new ArrayList<Port>();
+
+    private final LinkedBlockingQueue<RequestMessage> requestQueue = new LinkedBlockingQueue<RequestMessage>(
+            REQUEST_QUEUE_MAX_DEPTH);
+    private final ArrayDeque<PendingReply> pendingReplies = new ArrayDeque<PendingReply>();
+    private int lateReplies = 0;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final StringBuilder replyLine = new StringBuilder();
+
+    private volatile State state = State.DISCONNECTED;
+    private volatile boolean connectRequested = false;
+    private volatile boolean disconnectRequested = false;
+    private long connectStartTime;
+
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /*
+     * @param name name of the device, used for logging
+     * @param ifAddress address of the local network interface to use
+     * @param serialPorts number of serial ports of the device (0, 1 or 2)
+     * @param maxInFlight maximum number of commands sent to the device without having received their reply
+     */
+    public DeviceConnection(GlobalCacheTransport transport, String name, String ipAddress, InetAddress ifAddress,
+            int serialPorts, int maxInFlight, ConnectionListener listener) {
+        this.transport = transport;
+        this.name = name;
+        this.ipAddress = ipAddress;
+        this.ifAddress = ifAddress;
+        this.maxInFlight = Math.max(maxInFlight, 1);
+        this.listener = listener;
+
+        commandPort = new Port(COMMAND_NAME, COMMAND_PORT);
+        ports.add(commandPort);
+        serial1Port = serialPorts >= 1 ? new Port(SERIAL1_NAME, SERIAL1_PORT) : null;
+        if (serial1Port != null) {
+            ports.add(serial1Port);
+        }
+        serial2Port = serialPorts >= 2 ? new Port(SERIAL2_NAME, SERIAL2_PORT) : null;
+        if (serial2Port != null) {
+            ports.add(serial2Port);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getIP() {
+        return ipAddress;
+    }
+
+    public boolean isConnected() {
+        return state == State.CONNECTED;
+    }
+
+    /*
+     * Queue a request for the device. The reply is placed on the receive queue of the request.
+     *
+     * @return false if the request queue of the device is full
+     */
+    public boolean submit(RequestMessage request) {
+        if (!requestQueue.offer(request)) {
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        transport.wakeup();
+        return true;
+    }
+
+    /*
+     * Ask the transport to connect to the device, if it's not connected.
+     */
+    public void connect() {
+        connectRequested = true;
+        transport.wakeup();
+    }
+
+    /*
+     * Ask the transport to close the connections to the device. Pending requests fail.
+     */
+    public void disconnect() {
+        disconnectRequested = true;
+        transport.wakeup();
+    }
+
+    /*
+     * Metrics
+     */
+    public int getQueueDepth() {
+        return requestQueue.size();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getAverageLatency() {
+        long completed = completedCount.get();
+        return completed == 0 ? 0 : totalLatency.get() / completed;
+    }
+
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queue=%d, completed=%d, failed=%d, rejected=%d, latency avg=%dms max=%dms",
+                getQueueDepth(), getCompletedCount(), getFailedCount(), getRejectedCount(), getAverageLatency(),
+                getMaxLatency());
+    }
+
+    /*
+     * Called by the transport on each cycle, and after each wakeup.
+     */
+    void process(Selector selector, long now) {
+        if (disconnectRequested) {
+            disconnectRequested = false;
+            if (state != State.DISCONNECTED) {
+                closeConnection(null);
+            }
+        }
+
+        switch (state) {
+            case DISCONNECTED:
+                if (connectRequested || !requestQueue.isEmpty()) {
+                    startConnect(selector, now);
+                }
+                break;
+
+            case CONNECTING:
+                if (now - connectStartTime > CONNECT_TIMEOUT) {
+                    logger.debug("Timed out connecting to thing {} at IP {}", name, ipAddress);
+                    closeConnection("Timed out connecting to device");
+                }
+                break;
+
+            case CONNECTED:
+                PendingReply oldest = pendingReplies.peek();
+                if (oldest != null && now - oldest.sendTime > LOST_REPLY_TIMEOUT) {
+                    logger.debug("Lost reply from thing {} at IP {}, reconnecting", name, ipAddress);
+                    closeConnection("No reply from device");
+                    break;
+                }
+                failLateReplies(now);
+                dispatchRequests(now);
+                break;
+        }
+    }
+
+    /*
+     * Called by the transport when a connection is ready for I/O.
+     */
+    void handleKey(SelectionKey key) {
+        Port port = getPort(key.channel());
+        if (port == null || !key.isValid()) {
+            return;
+        }
+
+        try {
+            if (key.isConnectable()) {
+                port.channel.finishConnect();
+                port.connected = true;
+                key.interestOps(SelectionKey.OP_READ);
+                logger.info("Got a connection to {} port for thing {} at {}", port.name, name, ipAddress);
+                checkConnected();
+            }
+            if (key.isValid() && key.isReadable()) {
+                read(port);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(port);
+            }
+        } catch (IOException e) {
+            if (state == State.CONNECTING) {
+                logger.debug("Error connecting to {} port for thing {} at IP {}, exception={}", port.name, name,
+                        ipAddress, e.getMessage());
+            } else {
+                logger.error("Comm error for thing {} at {}: {}", name, ipAddress, e.getMessage());
+            }
+            closeConnection(e.getMessage());
+        }
+    }
+
+    /*
+     * Called by the transport when the device was unregistered.
+     */
+    void shutdown() {
+        close("Connection to device closed");
+        failQueuedRequests();
+    }
+
+    private void startConnect(Selector selector, long now) {
+        logger.debug("Connecting to thing {} at IP {}", name, ipAddress);
+        connectRequested = false;
+        connectStartTime = now;
+        state = State.CONNECTING;
+
+        try {
+            for (Port port : ports) {
+                port.channel = SocketChannel.open();
+                port.channel.configureBlocking(false);
+                port.channel.bind(new InetSocketAddress(ifAddress, 0));
+                port.connected = port.channel.connect(new InetSocketAddress(ipAddress, port.number));
+                port.key = port.channel.register(selector,
+                        port.connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.debug("Error connecting to thing {} at IP {}, exception={}", name, ipAddress, e.getMessage());
+            closeConnection(e.getMessage());
+            return;
+        }
+        checkConnected();
+    }
+
+    private void checkConnected() {
+        for (Port port : ports) {
+            if (!port.connected) {
+                return;
+            }
+        }
+        state = State.CONNECTED;
+        listener.connectionEstablished();
+    }
+
+    /*
+     * Close the connections and inform the listener.
+     */
+    private void closeConnection(String errorMessage) {
+        close(errorMessage == null ? "Connection to device closed" : errorMessage);
+        failQueuedRequests();
+        listener.connectionLost(errorMessage);
+    }
+
+    /*
+     * Requests waiting for the connection can't be sent.
+     */
+    private void failQueuedRequests() {
+        RequestMessage request;
+        while ((request = requestQueue.poll()) != null) {
+            fail(request, "No connection to device");
+        }
+    }
+
+    private void close(String errorMessage) {
+        for (Port port : ports) {
+            if (port.channel != null) {
+                logger.debug("Disconnecting from {} port for thing {} at IP {}", port.name, name, ipAddress);
+                try {
+                    port.channel.close();
+                } catch (IOException e) {
+                    logger.debug("Error closing {} port for thing {} at IP {}: exception={}", port.name, name,
+                            ipAddress, e.getMessage());
+                }
+            }
+            // Commands being written are failed with the pending replies
+            if (port.writeRequest != null && port.writeRequest.isSerial()) {
+                fail(port.writeRequest, errorMessage);
+            }
+            port.reset();
+        }
+
+        PendingReply pending;
+        while ((pending = pendingReplies.poll()) != null) {
+            if (!pending.late) {
+                fail(pending.request, errorMessage);
+            }
+        }
+        lateReplies = 0;
+        readBuffer.clear();
+        replyLine.setLength(0);
+        state = State.DISCONNECTED;
+    }
+
+    /*
+     * Fail the requests whose reply is late. They stay pending, as the device may still reply to them.
+     */
+    private void failLateReplies(long now) {
+        for (PendingReply pending : pendingReplies) {
+            if (now - pending.sendTime <= REPLY_TIMEOUT) {
+                break;
+            }
+            if (!pending.late) {
+                pending.late = true;
+                lateReplies++;
+                logger.debug("Timed out waiting for reply to '{}' from thing {} at IP {}",
+                        pending.request.getCommandName(), name, ipAddress);
+                fail(pending.request, "Timed out waiting for reply from device");
+            }
+        }
+    }
+
+    /*
+     * Write the requests at the head of the queue, as long as the in-flight limit allows it. Requests are written
+     * in the order they were queued.
+     */
+    private void dispatchRequests(long now) {
+        RequestMessage request;
+        while ((request = requestQueue.peek()) != null) {
+            if (now - request.getCreateTime() > QUEUE_TIMEOUT) {
+                requestQueue.poll();
+                fail(request, "Timed out waiting in request queue");
+                continue;
+            }
+
+            Port port = getPort(request.getCommandType());
+            if (port == null) {
+                requestQueue.poll();
+                fail(request, "Device has no " + request.getCommandType() + " port");
+                continue;
+            }
+
+            if (port.isWriting() || (!request.isSerial() && pendingReplies.size() - lateReplies >= maxInFlight)) {
+                break;
+            }
+
+            requestQueue.poll();
+            write(port, request, now);
+            if (state != State.CONNECTED) {
+                break;
+            }
+        }
+    }
+
+    private void write(Port port, RequestMessage request, long now) {
+        logger.trace("Transport writing command to thing {}", name);
+
+        byte[] deviceCommand;
+        if (request.isSerial()) {
+            try {
+                deviceCommand = URLDecoder.decode(request.getDeviceCommand(), SERIAL_CHARSET).getBytes(SERIAL_CHARSET);
+            } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                fail(request, e.getMessage());
+                return;
+            }
+            logger.debug("Decoded deviceCommand byte array: {}", getAsHexString(deviceCommand));
+        } else {
+            deviceCommand = (request.getDeviceCommand() + '\r').getBytes();
+            pendingReplies.add(new PendingReply(request, now));
+        }
+
+        port.writeBuffer = ByteBuffer.wrap(deviceCommand);
+        port.writeRequest = request;
+        try {
+            flush(port);
+        } catch (IOException e) {
+            logger.error("Comm error for thing {} at {}: {}", name, ipAddress, e.getMessage());
+            closeConnection(e.getMessage());
+        }
+    }
+
+    private void flush(Port port) throws IOException {
+        if (!port.isWriting()) {
+            port.key.interestOps(SelectionKey.OP_READ);
+            return;
+        }
+
+        port.channel.write(port.writeBuffer);
+        if (port.writeBuffer.hasRemaining()) {
+            port.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            return;
+        }
+
+        RequestMessage request = port.writeRequest;
+        port.writeBuffer = null;
+        port.writeRequest = null;
+        port.key.interestOps(SelectionKey.OP_READ);
+
+        // Nothing to wait for if it's a serial command, as the device won't reply to serial commands
+        if (request.isSerial()) {
+            complete(request, "successful");
+        }
+    }
+
+    /*
+     * Read replies from the command port and remove the CR at the end of the line. Data received on the
+     * serial ports is discarded.
+     */
+    private void read(Port port) throws IOException {
+        readBuffer.clear();
+        int count = port.channel.read(readBuffer);
+        if (count < 0) {
+            throw new IOException("Connection closed by device");
+        }
+
+        if (port != commandPort) {
+            logger.trace("Discarding {} bytes received on {} port of thing {}", count, port.name, name);
+            return;
+        }
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            char c = (char) (readBuffer.get() & 0xff);
+            if (c == '\r' || c == '\n') {
+                String reply = replyLine.toString().trim();
+                replyLine.setLength(0);
+                if (!reply.isEmpty()) {
+                    handleReply(reply);
+                }
+            } else {
+                replyLine.append(c);
+            }
+        }
+    }
+
+    private void handleReply(String reply) {
+        PendingReply pending = pendingReplies.poll();
+        if (pending == null) {
+            logger.debug("Ignoring unsolicited reply from thing {} at {}: {}", name, ipAddress, reply);
+            return;
+        }
+        if (pending.late) {
+            lateReplies--;
+            logger.debug("Ignoring late reply from thing {} at {}: {}", name, ipAddress, reply);
+            return;
+        }
+        complete(pending.request, reply);
+    }
+
+    private void complete(RequestMessage request, String deviceReply) {
+        long latency = System.currentTimeMillis() - request.getCreateTime();
+        logger.debug("Transaction '{}' for thing {} at {} took {} ms", request.getCommandName(), name, ipAddress,
+                latency);
+
+        completedCount.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        if (latency > maxLatency.get()) {
+            maxLatency.set(latency);
+        }
+        reply(request, deviceReply);
+    }
+
+    private void fail(RequestMessage request, String errorMessage) {
+        failedCount.incrementAndGet();
+        reply(request, "ERROR: " + errorMessage);
+    }
+
+    private void reply(RequestMessage request, String deviceReply) {
+        logger.trace("Transport for thing {} queuing response message: {}", name, deviceReply);
+        // The command may have given up waiting already
+        request.getReceiveQueue().offer(new ResponseMessage(deviceReply));
+    }
+
+    private Port getPort(CommandType commandType) {
+        if (commandType == CommandType.SERIAL1) {
+            return serial1Port;
+        } else if (commandType == CommandType.SERIAL2) {
+            return serial2Port;
+        } else {
+            return commandPort;
+        }
+    }
+
+    private Port getPort(Channel channel) {
+        for (Port port : ports) {
+            if (port.channel == channel) {
+                return port;
+            }
+        }
+        return null;
+    }
+
+    private String getAsHexString(byte[] b) {
+        StringBuffer sb = new StringBuffer();
+
+        for (int j = 0; j < b.length; j++) {
+            String s = String.format("%02x ", b[j] & 0xff);
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    /*
+     * A command sent on the command port, waiting for its reply.
+     */
+    private static class PendingReply {
+        private final RequestMessage request;
+        private final long sendTime;
+
+        // The request was failed, its reply is discarded
+        private boolean late;
+
+        PendingReply(RequestMessage request, long sendTime) {
+            this.request = request;
+            this.sendTime = sendTime;
+        }
+    }
+
+    /*
+     * The {@link Port} class stores the state of one of the connections to the device. The command connection
+     * is used to send all but the serial strings to the device. The serial connections are used exclusively to
+     * send serial messages, and are applicable only to iTach SL, iTach Flex and GC-100 devices.
+     */
+    private static class Port {
+        private final String name;
+        private final int number;
+
+        private SocketChannel channel;
+        private SelectionKey key;
+        private boolean connected;
+
+        // Request being written to the port
+        private ByteBuffer writeBuffer;
+        private RequestMessage writeRequest;
+
+        Port(String name, int number) {
+            this.name = name;
+            this.number = number;
+        }
+
+        boolean isWriting() {
+            return writeBuffer != null;
+        }
+
+        void reset() {
+            channel = null;
+            key = null;
+            connected = false;
+            writeBuffer = null;
+            writeRequest = null;
+        }
+    }
+}
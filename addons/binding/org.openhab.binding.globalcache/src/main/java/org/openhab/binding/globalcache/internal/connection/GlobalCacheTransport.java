@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.globalcache.internal.connection;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link GlobalCacheTransport} class is responsible for the network I/O of all GlobalCache devices. A single
+ * thread multiplexes the connections of all registered devices using a selector, writes the queued requests of
+ * the devices and reads the replies. The thread is started when the first device is registered, and ends when
+ * the last device is unregistered.
+ *
+ * @author agent - Initial contribution
+ */
+public class GlobalCacheTransport implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(GlobalCacheTransport.class);
+
+    // Granularity of the connect and reply timeouts
+    private final int SELECT_TIMEOUT = 250;
+
+    private final List<DeviceConnection> devices = new CopyOnWriteArrayList<DeviceConnection>();
+    private final Queue<DeviceConnection> removedDevices = new ConcurrentLinkedQueue<DeviceConnection>();
+
+    private volatile Selector selector;
+    private Thread thread;
+
+    /*
+     * Add a device to the transport. The device connects as soon as it has a request to send, or is asked to
+     * connect.
+     */
+    public synchronized void register(DeviceConnection device) {
+        if (thread == null) {
+            try {
+                selector = Selector.open();
+            } catch (IOException e) {
+                logger.error("Transport failed to open selector: {}", e.getMessage());
+                return;
+            }
+            thread = new Thread(this, "ESH-globalcache-transport");
+            thread.setDaemon(true);
+            thread.start();
+            logger.debug("Transport thread started");
+        }
+        devices.add(device);
+        wakeup();
+    }
+
+    /*
+     * Remove a device from the transport. Its connections are closed and its pending requests fail.
+     */
+    public synchronized void unregister(DeviceConnection device) {
+        if (devices.remove(device)) {
+            removedDevices.add(device);
+            wakeup();
+        }
+    }
+
+    /*
+     * Wake up the transport thread, so that newly queued requests are sent right away.
+     */
+    void wakeup() {
+        Selector s = selector;
+        if (s != null) {
+            s.wakeup();
+        }
+    }
+
+    @Override
+    public void run() {
+        Selector s = selector;
+        while (true) {
+            try {
+                s.select(SELECT_TIMEOUT);
+            } catch (IOException e) {
+                logger.warn("Transport got exception waiting on selector: {}", e.getMessage());
+            }
+
+            Iterator<SelectionKey> keys = s.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                DeviceConnection device = (DeviceConnection) key.attachment();
+                try {
+                    device.handleKey(key);
+                } catch (RuntimeException e) {
+                    logger.warn("Transport got unexpected exception handling I/O of thing {}: {}", device.getName(),
+                            e.getMessage(), e);
+                }
+            }
+
+            DeviceConnection removed;
+            while ((removed = removedDevices.poll()) != null) {
+                removed.shutdown();
+            }
+
+            long now = System.currentTimeMillis();
+            for (DeviceConnection device : devices) {
+                try {
+                    device.process(s, now);
+                } catch (RuntimeException e) {
+                    logger.warn("Transport got unexpected exception processing thing {}: {}", device.getName(),
+                            e.getMessage(), e);
+                }
+            }
+
+            synchronized (this) {
+                if (devices.isEmpty() && removedDevices.isEmpty()) {
+                    thread = null;
+                    selector = null;
+                    break;
+                }
+            }
+        }
+
+        try {
+            s.close();
+        } catch (IOException e) {
+            logger.debug("Transport got exception closing selector: {}", e.getMessage());
+        }
+        logger.debug("Transport thread stopped");
+    }
+}
@@ -11,14 +11,15 @@ package org.openhab.binding.lutron.handler;
 import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.config.discovery.DiscoveryService;
@@ -33,7 +34,9 @@ import org.openhab.binding.lutron.config.IPBridgeConfig;
 import org.openhab.binding.lutron.internal.discovery.LutronDeviceDiscoveryService;
 import org.openhab.binding.lutron.internal.net.TelnetSession;
 import org.openhab.binding.lutron.internal.net.TelnetSessionListener;
+import org.openhab.binding.lutron.internal.protocol.LatencyHistogram;
 import org.openhab.binding.lutron.internal.protocol.LutronCommand;
+import org.openhab.binding.lutron.internal.protocol.LutronCommandQueue;
 import org.openhab.binding.lutron.internal.protocol.LutronCommandType;
 import org.openhab.binding.lutron.internal.protocol.LutronOperation;
 import org.osgi.framework.ServiceRegistration;
@@ -46,8 +49,6 @@ import org.slf4j.LoggerFactory;
  * @author Allan Tong - Initial contribution
  */
 public class IPBridgeHandler extends BaseBridgeHandler {
-    private static final Pattern STATUS_REGEX = Pattern.compile("~(OUTPUT|DEVICE|SYSTEM),([^,]+),(.*)");
-
     private static final String DB_UPDATE_DATE_FORMAT = "MM/dd/yyyy HH:mm:ss";
 
     private static final Integer MONITOR_PROMPT = 12;
@@ -57,6 +58,13 @@ public class IPBridgeHandler extends BaseBridgeHandler {
 
     private static final int MAX_LOGIN_ATTEMPTS = 2;
 
+    private static final int SEND_QUEUE_CAPACITY = 100;
+    private static final int SEND_QUEUE_TIMEOUT_SECONDS = 1;
+    private static final int MAX_COMMANDS_PER_WRITE = 10;
+
+    // Acknowledgements arriving later than this are not counted in the latency histogram
+    private static final long ACK_TIMEOUT_MILLIS = 10000;
+
     private static final String DEFAULT_USER = "lutron";
     private static final String DEFAULT_PASSWORD = "integration";
 
@@ -65,13 +73,19 @@ public class IPBridgeHandler extends BaseBridgeHandler {
     private IPBridgeConfig config;
 
     private TelnetSession session;
-    private BlockingQueue<LutronCommand> sendQueue = new LinkedBlockingQueue<>();
+    private LutronCommandQueue sendQueue = new LutronCommandQueue(SEND_QUEUE_CAPACITY);
+
+    // Time (System.nanoTime) an output level was last sent, by integration ID, until the ~OUTPUT response arrives
+    private ConcurrentMap<Integer, Long> pendingAcks = new ConcurrentHashMap<>();
+    private LatencyHistogram ackLatency = new LatencyHistogram();
 
     private ScheduledFuture<?> messageSender;
     private ScheduledFuture<?> keepAlive;
     private ScheduledFuture<?> keepAliveReconnect;
 
-    private Date lastDbUpdateDate;
+    private ConcurrentMap<Integer, LutronHandler> handlersByIntegrationId = new ConcurrentHashMap<>();
+
+    private volatile Date lastDbUpdateDate;
     private ServiceRegistration<DiscoveryService> discoveryServiceRegistration;
 
     public IPBridgeHandler(Bridge bridge) {
@@ -95,6 +109,13 @@ public class IPBridgeHandler extends BaseBridgeHandler {
         return this.config;
     }
 
+    /**
+     * Returns the time the device database was last updated, as last reported by the bridge, or null if not known yet.
+     */
+    public Date getDbUpdateDate() {
+        return this.lastDbUpdateDate;
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
     }
@@ -190,24 +211,38 @@ public class IPBridgeHandler extends BaseBridgeHandler {
     private void sendCommands() {
         try {
             while (true) {
-                LutronCommand command = this.sendQueue.take();
+                // Write everything that queued up while the previous write was in progress in one go
+                List<LutronCommand> commands = this.sendQueue.take(MAX_COMMANDS_PER_WRITE);
+                List<String> lines = new ArrayList<>(commands.size());
 
-                this.logger.debug("Sending command " + command.toString());
+                for (LutronCommand command : commands) {
+                    this.logger.debug("Sending command " + command.toString());
+                    lines.add(command.toString());
+                }
 
                 try {
-                    this.session.writeLine(command.toString());
+                    this.session.writeLines(lines);
                 } catch (IOException e) {
                     this.logger.error("Communication error, will try to reconnect", e);
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
 
-                    // Requeue command
-                    this.sendQueue.add(command);
+                    // Requeue commands
+                    this.sendQueue.requeue(commands);
 
                     reconnect();
 
                     // reconnect() will start a new thread; terminate this one
                     break;
                 }
+
+                long sent = System.nanoTime();
+
+                for (LutronCommand command : commands) {
+                    if (command.getOperation() == LutronOperation.EXECUTE
+                            && command.getType() == LutronCommandType.OUTPUT) {
+                        this.pendingAcks.put(command.getIntegrationId(), sent);
+                    }
+                }
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -231,6 +266,8 @@ public class IPBridgeHandler extends BaseBridgeHandler {
             this.messageSender.cancel(true);
         }
 
+        this.pendingAcks.clear();
+
         try {
             this.session.close();
         } catch (IOException e) {
@@ -268,15 +305,55 @@ public class IPBridgeHandler extends BaseBridgeHandler {
     }
 
     void sendCommand(LutronCommand command) {
-        this.sendQueue.add(command);
+        try {
+            // Blocks the caller briefly if the bridge cannot keep up
+            if (!this.sendQueue.offer(command, SEND_QUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                this.logger.warn("Send queue full, dropping command {}", command);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void recordAck(int integrationId) {
+        Long sent = this.pendingAcks.remove(integrationId);
+
+        if (sent != null) {
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+
+            if (latency <= ACK_TIMEOUT_MILLIS) {
+                this.ackLatency.record(latency);
+            }
+        }
+    }
+
+    void registerHandler(LutronHandler handler) {
+        this.handlersByIntegrationId.put(handler.getIntegrationId(), handler);
+    }
+
+    void unregisterHandler(LutronHandler handler) {
+        for (Map.Entry<Integer, LutronHandler> entry : this.handlersByIntegrationId.entrySet()) {
+            if (entry.getValue() == handler) {
+                this.handlersByIntegrationId.remove(entry.getKey(), handler);
+            }
+        }
     }
 
     private LutronHandler findThingHandler(int integrationId) {
+        LutronHandler handler = this.handlersByIntegrationId.get(integrationId);
+
+        if (handler != null) {
+            return handler;
+        }
+
+        // Handler may have been initialized before this bridge handler existed
         for (Thing thing : getThing().getThings()) {
             if (thing.getHandler() instanceof LutronHandler) {
-                LutronHandler handler = (LutronHandler) thing.getHandler();
+                handler = (LutronHandler) thing.getHandler();
 
                 if (handler.getIntegrationId() == integrationId) {
+                    this.handlersByIntegrationId.put(integrationId, handler);
+
                     return handler;
                 }
             }
@@ -299,40 +376,109 @@ public class IPBridgeHandler extends BaseBridgeHandler {
                 this.keepAliveReconnect.cancel(true);
             }
 
-            Matcher matcher = STATUS_REGEX.matcher(line);
+            int start = line.indexOf('~');
+            int typeEnd = start < 0 ? -1 : line.indexOf(',', start);
+            int idEnd = typeEnd < 0 ? -1 : line.indexOf(',', typeEnd + 1);
+            LutronCommandType type = idEnd < 0 ? null : parseType(line, start + 1, typeEnd);
 
-            if (matcher.find()) {
-                LutronCommandType type = LutronCommandType.valueOf(matcher.group(1));
+            if (type == null || idEnd == typeEnd + 1) {
+                this.logger.info("Ignoring message " + line);
 
-                if (type == LutronCommandType.SYSTEM) {
-                    // SYSTEM messages are assumed to be a response to the SYSTEM_DBEXPORTDATETIME
-                    // query. The response returns the last time the device database was updated.
-                    setDbUpdateDate(matcher.group(2), matcher.group(3));
+                continue;
+            }
 
-                    continue;
-                }
+            if (type == LutronCommandType.SYSTEM) {
+                // SYSTEM messages are assumed to be a response to the SYSTEM_DBEXPORTDATETIME
+                // query. The response returns the last time the device database was updated.
+                setDbUpdateDate(line.substring(typeEnd + 1, idEnd), line.substring(idEnd + 1));
 
-                Integer integrationId = new Integer(matcher.group(2));
-                LutronHandler handler = findThingHandler(integrationId);
+                continue;
+            }
 
-                if (handler != null) {
-                    String paramString = matcher.group(3);
+            int integrationId = parseInt(line, typeEnd + 1, idEnd);
 
-                    try {
-                        handler.handleUpdate(type, paramString.split(","));
-                    } catch (Exception e) {
-                        this.logger.error("Error processing update", e);
-                    }
-                } else {
-                    this.logger.info("No thing configured for integration ID " + integrationId);
+            if (integrationId < 0) {
+                this.logger.info("Ignoring message " + line);
+
+                continue;
+            }
+
+            if (type == LutronCommandType.OUTPUT) {
+                recordAck(integrationId);
+            }
+
+            LutronHandler handler = findThingHandler(integrationId);
+
+            if (handler != null) {
+                try {
+                    handler.handleUpdate(type, splitParameters(line, idEnd + 1));
+                } catch (Exception e) {
+                    this.logger.error("Error processing update", e);
                 }
             } else {
-                this.logger.info("Ignoring message " + line);
+                this.logger.info("No thing configured for integration ID " + integrationId);
+            }
+        }
+    }
+
+    /**
+     * Returns the type of a status message, or null if the type is not OUTPUT, DEVICE or SYSTEM.
+     */
+    private static LutronCommandType parseType(String line, int start, int end) {
+        if (end - start == 6 && line.regionMatches(start, "OUTPUT", 0, 6)) {
+            return LutronCommandType.OUTPUT;
+        } else if (end - start == 6 && line.regionMatches(start, "DEVICE", 0, 6)) {
+            return LutronCommandType.DEVICE;
+        } else if (end - start == 6 && line.regionMatches(start, "SYSTEM", 0, 6)) {
+            return LutronCommandType.SYSTEM;
+        }
+
+        return null;
+    }
+
+    /**
+     * Parses a non-negative decimal number without allocating a substring, returns -1 if it is not a number.
+     */
+    private static int parseInt(String line, int start, int end) {
+        if (start >= end || end - start > 9) {
+            return -1;
+        }
+
+        int value = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return -1;
             }
+
+            value = value * 10 + (c - '0');
         }
+
+        return value;
+    }
+
+    /**
+     * Splits the comma separated parameters starting at the given index.
+     */
+    private static String[] splitParameters(String line, int start) {
+        List<String> parameters = new ArrayList<>(4);
+        int end;
+
+        while ((end = line.indexOf(',', start)) >= 0) {
+            parameters.add(line.substring(start, end));
+            start = end + 1;
+        }
+
+        parameters.add(line.substring(start));
+
+        return parameters.toArray(new String[parameters.size()]);
     }
 
     private void sendKeepAlive() {
+        this.logger.debug("Send queue: {}, output acknowledgement latency: {}", this.sendQueue, this.ackLatency);
+
         // Reconnect if no response is received within 30 seconds.
         this.keepAliveReconnect = this.scheduler.schedule(new Runnable() {
             @Override
@@ -349,9 +495,10 @@ public class IPBridgeHandler extends BaseBridgeHandler {
             Date date = new SimpleDateFormat(DB_UPDATE_DATE_FORMAT).parse(dateString + " " + timeString);
 
             if (this.lastDbUpdateDate == null || date.after(this.lastDbUpdateDate)) {
-                scanForDevices();
-
+                // Set before scanning, discovery uses it to tell whether its last results are still valid
                 this.lastDbUpdateDate = date;
+
+                scanForDevices();
             }
         } catch (ParseException e) {
             logger.error("Failed to parse DB update date {} {}", dateString, timeString);
@@ -42,6 +42,29 @@ public abstract class LutronHandler extends BaseThingHandler {
         return bridge == null ? null : (IPBridgeHandler) bridge.getHandler();
     }
 
+    /**
+     * Registers this handler with the bridge, so status updates for its integration ID are routed to it. Call once the
+     * integration ID is known.
+     */
+    protected void registerWithBridge() {
+        IPBridgeHandler bridgeHandler = getBridgeHandler();
+
+        if (bridgeHandler != null) {
+            bridgeHandler.registerHandler(this);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        IPBridgeHandler bridgeHandler = getBridgeHandler();
+
+        if (bridgeHandler != null) {
+            bridgeHandler.unregisterHandler(this);
+        }
+
+        super.dispose();
+    }
+
     private void sendCommand(LutronCommand command) {
         IPBridgeHandler bridgeHandler = getBridgeHandler();
 
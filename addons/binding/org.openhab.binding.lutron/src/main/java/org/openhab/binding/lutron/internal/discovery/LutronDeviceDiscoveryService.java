@@ -11,10 +11,13 @@ package org.openhab.binding.lutron.internal.discovery;
 import static org.openhab.binding.lutron.LutronBindingConstants.*;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -25,21 +28,21 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.lutron.handler.IPBridgeHandler;
 import org.openhab.binding.lutron.internal.LutronHandlerFactory;
-import org.openhab.binding.lutron.internal.discovery.project.Area;
 import org.openhab.binding.lutron.internal.discovery.project.Device;
-import org.openhab.binding.lutron.internal.discovery.project.DeviceGroup;
-import org.openhab.binding.lutron.internal.discovery.project.DeviceNode;
 import org.openhab.binding.lutron.internal.discovery.project.DeviceType;
 import org.openhab.binding.lutron.internal.discovery.project.Output;
 import org.openhab.binding.lutron.internal.discovery.project.OutputType;
-import org.openhab.binding.lutron.internal.discovery.project.Project;
 import org.openhab.binding.lutron.internal.xml.DbXmlInfoReader;
+import org.openhab.binding.lutron.internal.xml.DbXmlInfoReader.DbXmlInfoListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link LutronDeviceDiscoveryService} finds all devices paired with a Lutron bridge.
  *
+ * The results are kept together with the time the bridge reported its device database was last
+ * updated. A scan of an unchanged database reports the kept results without reading the database again.
+ *
  * @author Allan Tong - Initial contribution
  */
 public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
@@ -51,6 +54,9 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
 
     private ScheduledFuture<?> scanTask;
 
+    private Date cachedDbUpdateDate;
+    private List<DiscoveryResult> cachedResults;
+
     public LutronDeviceDiscoveryService(IPBridgeHandler bridgeHandler) throws IllegalArgumentException {
         super(LutronHandlerFactory.DISCOVERABLE_DEVICE_TYPES_UIDS, 10);
 
@@ -78,55 +84,41 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
     }
 
     private void readDeviceDatabase() throws IOException {
-        String address = "http://" + this.bridgeHandler.getIPBridgeConfig().getIpAddress() + "/DbXmlInfo.xml";
-        URL dbXmlInfoUrl = new URL(address);
-
-        Project project = this.dbXmlInfoReader.readFromXML(dbXmlInfoUrl);
-
-        if (project != null) {
-            Stack<String> locationContext = new Stack<>();
-
-            for (Area area : project.getAreas()) {
-                processArea(area, locationContext);
-            }
-        } else {
-            logger.info("Could not read project file at {}", address);
-        }
-    }
+        Date dbUpdateDate = this.bridgeHandler.getDbUpdateDate();
 
-    private void processArea(Area area, Stack<String> context) {
-        context.push(area.getName());
+        if (dbUpdateDate != null && dbUpdateDate.equals(this.cachedDbUpdateDate)) {
+            logger.debug("Device database unchanged since {}, reporting {} known devices", dbUpdateDate,
+                    this.cachedResults.size());
 
-        for (DeviceNode deviceNode : area.getDeviceNodes()) {
-            if (deviceNode instanceof DeviceGroup) {
-                processDeviceGroup((DeviceGroup) deviceNode, context);
-            } else if (deviceNode instanceof Device) {
-                processDevice((Device) deviceNode, context);
+            for (DiscoveryResult result : this.cachedResults) {
+                thingDiscovered(result);
             }
-        }
-
-        for (Output output : area.getOutputs()) {
-            processOutput(output, context);
-        }
 
-        for (Area subarea : area.getAreas()) {
-            processArea(subarea, context);
+            return;
         }
 
-        context.pop();
-    }
+        String address = "http://" + this.bridgeHandler.getIPBridgeConfig().getIpAddress() + "/DbXmlInfo.xml";
+        final List<DiscoveryResult> results = new ArrayList<>();
 
-    private void processDeviceGroup(DeviceGroup deviceGroup, Stack<String> context) {
-        context.push(deviceGroup.getName());
+        try (InputStream input = new URL(address).openStream()) {
+            this.dbXmlInfoReader.read(input, new DbXmlInfoListener() {
+                @Override
+                public void deviceFound(Device device, List<String> location) {
+                    processDevice(device, location, results);
+                }
 
-        for (Device device : deviceGroup.getDevices()) {
-            processDevice(device, context);
+                @Override
+                public void outputFound(Output output, List<String> location) {
+                    processOutput(output, location, results);
+                }
+            });
         }
 
-        context.pop();
+        this.cachedDbUpdateDate = dbUpdateDate;
+        this.cachedResults = results;
     }
 
-    private void processDevice(Device device, Stack<String> context) {
+    private void processDevice(Device device, List<String> context, List<DiscoveryResult> results) {
         DeviceType type = device.getDeviceType();
 
         if (type != null) {
@@ -134,12 +126,12 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
 
             switch (type) {
                 case MOTION_SENSOR:
-                    notifyDiscovery(THING_TYPE_OCCUPANCYSENSOR, device.getIntegrationId(), label);
+                    notifyDiscovery(THING_TYPE_OCCUPANCYSENSOR, device.getIntegrationId(), label, results);
                     break;
 
                 case SEETOUCH_KEYPAD:
                 case HYBRID_SEETOUCH_KEYPAD:
-                    notifyDiscovery(THING_TYPE_KEYPAD, device.getIntegrationId(), label);
+                    notifyDiscovery(THING_TYPE_KEYPAD, device.getIntegrationId(), label, results);
                     break;
 
                 case MAIN_REPEATER:
@@ -151,7 +143,7 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
         }
     }
 
-    private void processOutput(Output output, Stack<String> context) {
+    private void processOutput(Output output, List<String> context, List<DiscoveryResult> results) {
         OutputType type = output.getOutputType();
 
         if (type != null) {
@@ -160,11 +152,11 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
             switch (type) {
                 case INC:
                 case MLV:
-                    notifyDiscovery(THING_TYPE_DIMMER, output.getIntegrationId(), label);
+                    notifyDiscovery(THING_TYPE_DIMMER, output.getIntegrationId(), label, results);
                     break;
 
                 case NON_DIM:
-                    notifyDiscovery(THING_TYPE_SWITCH, output.getIntegrationId(), label);
+                    notifyDiscovery(THING_TYPE_SWITCH, output.getIntegrationId(), label, results);
                     break;
             }
         } else {
@@ -172,7 +164,8 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
         }
     }
 
-    private void notifyDiscovery(ThingTypeUID thingTypeUID, Integer integrationId, String label) {
+    private void notifyDiscovery(ThingTypeUID thingTypeUID, Integer integrationId, String label,
+            List<DiscoveryResult> results) {
         if (integrationId == null) {
             logger.info("Discovered {} with no integration ID", label);
 
@@ -190,11 +183,12 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
                 .withProperties(properties).withRepresentationProperty(INTEGRATION_ID).build();
 
         thingDiscovered(result);
+        results.add(result);
 
         logger.debug("Discovered {}", uid);
     }
 
-    private String generateLabel(Stack<String> context, String deviceName) {
+    private String generateLabel(List<String> context, String deviceName) {
         return String.join(" ", context) + " " + deviceName;
     }
 }
@@ -218,4 +218,22 @@ public class TelnetSession implements Closeable {
             throw new IOException("Could not write to stream");
         }
     }
+
+    /**
+     * Writes several lines with a single write to the stream.
+     */
+    public void writeLines(List<String> lines) throws IOException {
+        StringBuilder builder = new StringBuilder();
+
+        for (String line : lines) {
+            builder.append(line).append("\r\n");
+        }
+
+        this.outstream.print(builder);
+        this.outstream.flush();
+
+        if (this.outstream.checkError()) {
+            throw new IOException("Could not write to stream");
+        }
+    }
 }
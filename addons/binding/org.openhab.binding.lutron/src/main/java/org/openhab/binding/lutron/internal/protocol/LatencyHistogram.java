@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.lutron.internal.protocol;
+
+/**
+ * Histogram of the time between sending a command and receiving its acknowledgement.
+ *
+ * @author agent - Initial contribution
+ */
+public class LatencyHistogram {
+    // Upper bounds (inclusive, in milliseconds) of all buckets but the last one
+    private static final long[] BUCKET_LIMITS = { 10, 25, 50, 100, 250, 500, 1000, 2500 };
+
+    private final long[] counts = new long[BUCKET_LIMITS.length + 1];
+
+    private long count;
+    private long total;
+    private long max;
+
+    public synchronized void record(long millis) {
+        int bucket = 0;
+
+        while (bucket < BUCKET_LIMITS.length && millis > BUCKET_LIMITS[bucket]) {
+            bucket++;
+        }
+
+        this.counts[bucket]++;
+        this.count++;
+        this.total += millis;
+        this.max = Math.max(this.max, millis);
+    }
+
+    public synchronized long getCount() {
+        return this.count;
+    }
+
+    public synchronized long getAverage() {
+        return this.count == 0 ? 0 : this.total / this.count;
+    }
+
+    public synchronized long getMax() {
+        return this.max;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder().append("count = ").append(this.count).append(", average = ")
+                .append(getAverage()).append("ms, max = ").append(this.max).append("ms");
+
+        for (int i = 0; i < this.counts.length; i++) {
+            builder.append(i == 0 ? ", buckets: " : ", ");
+            builder.append(i < BUCKET_LIMITS.length ? "<=" + BUCKET_LIMITS[i] : ">" + BUCKET_LIMITS[i - 1]);
+            builder.append("ms: ").append(this.counts[i]);
+        }
+
+        return builder.toString();
+    }
+}
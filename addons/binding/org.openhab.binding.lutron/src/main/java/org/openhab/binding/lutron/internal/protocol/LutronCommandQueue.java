@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.lutron.internal.protocol;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue of commands waiting to be sent to a Lutron integration access point.
+ *
+ * A command setting an output replaces a pending command for the same output and action, so only the latest level
+ * is sent. A query replaces an identical pending query. All other commands (e.g. button presses) are always queued.
+ * The replacing command keeps the position of the replaced one.
+ *
+ * @author agent - Initial contribution
+ */
+public class LutronCommandQueue {
+    private final int capacity;
+
+    // Insertion ordered; replacing the value of an existing key keeps its position.
+    private final Map<Object, LutronCommand> commands = new LinkedHashMap<>();
+
+    private long coalescedCount;
+
+    public LutronCommandQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than 0: " + capacity);
+        }
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Queues the command, waiting up to the given time for space to become available if the queue is full.
+     *
+     * @return true if the command was queued or replaced a pending command, false if the queue stayed full
+     */
+    public synchronized boolean offer(LutronCommand command, long timeout, TimeUnit unit) throws InterruptedException {
+        Object key = coalescingKey(command);
+
+        if (this.commands.containsKey(key)) {
+            this.commands.put(key, command);
+            this.coalescedCount++;
+
+            return true;
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (this.commands.size() >= this.capacity) {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                return false;
+            }
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        this.commands.put(key, command);
+        notifyAll();
+
+        return true;
+    }
+
+    /**
+     * Removes up to the given number of commands in queue order, waiting for a command if the queue is empty.
+     */
+    public synchronized List<LutronCommand> take(int maxCommands) throws InterruptedException {
+        while (this.commands.isEmpty()) {
+            wait();
+        }
+
+        List<LutronCommand> taken = new ArrayList<>(Math.min(maxCommands, this.commands.size()));
+        Iterator<LutronCommand> iterator = this.commands.values().iterator();
+
+        while (iterator.hasNext() && taken.size() < maxCommands) {
+            taken.add(iterator.next());
+            iterator.remove();
+        }
+
+        notifyAll();
+
+        return taken;
+    }
+
+    /**
+     * Puts commands that could not be sent back at the head of the queue. A command that has been replaced by a newer
+     * pending command in the meantime is discarded. Requeued commands are not limited by the capacity.
+     */
+    public synchronized void requeue(List<LutronCommand> failed) {
+        Map<Object, LutronCommand> pending = new LinkedHashMap<>(this.commands);
+
+        this.commands.clear();
+
+        for (LutronCommand command : failed) {
+            Object key = coalescingKey(command);
+
+            if (!pending.containsKey(key)) {
+                this.commands.put(key, command);
+            }
+        }
+
+        this.commands.putAll(pending);
+        notifyAll();
+    }
+
+    public synchronized void clear() {
+        this.commands.clear();
+        notifyAll();
+    }
+
+    public synchronized int size() {
+        return this.commands.size();
+    }
+
+    /**
+     * Returns the number of commands that replaced a pending command instead of being queued.
+     */
+    public synchronized long getCoalescedCount() {
+        return this.coalescedCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "queued = " + this.commands.size() + "/" + this.capacity + ", coalesced = " + this.coalescedCount;
+    }
+
+    private static Object coalescingKey(LutronCommand command) {
+        Object[] parameters = command.getParameters();
+
+        if (command.getOperation() == LutronOperation.EXECUTE && command.getType() == LutronCommandType.OUTPUT
+                && parameters != null && parameters.length > 0) {
+            return "#OUTPUT," + command.getIntegrationId() + "," + parameters[0];
+        }
+
+        if (command.getOperation() == LutronOperation.QUERY) {
+            return command.toString();
+        }
+
+        // Never coalesced
+        return new Object();
+    }
+}
@@ -8,77 +8,121 @@
  */
 package org.openhab.binding.lutron.internal.xml;
 
-import org.eclipse.smarthome.config.xml.util.XmlDocumentReader;
-import org.openhab.binding.lutron.internal.discovery.project.Area;
-import org.openhab.binding.lutron.internal.discovery.project.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Stack;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.openhab.binding.lutron.internal.discovery.project.Device;
-import org.openhab.binding.lutron.internal.discovery.project.DeviceGroup;
 import org.openhab.binding.lutron.internal.discovery.project.Output;
-import org.openhab.binding.lutron.internal.discovery.project.Project;
-
-import com.thoughtworks.xstream.XStream;
 
 /**
- * The {@link DbXmlInfoReader} reads Lutron XML project files and converts them to {@link Project}
- * objects describing the device things contained within the Lutron system.
+ * The {@link DbXmlInfoReader} reads Lutron XML project files and reports the device things contained
+ * within the Lutron system to a {@link DbXmlInfoListener} while the file is being read. The file is
+ * streamed, so the project is never held in memory as a whole.
  *
  * @author Allan Tong - Initial contribution
  */
-public class DbXmlInfoReader extends XmlDocumentReader<Project> {
+public class DbXmlInfoReader {
+
+    /**
+     * Receives the devices and outputs in the order they appear in the project file.
+     */
+    public interface DbXmlInfoListener {
+        /**
+         * @param location names of the enclosing areas and device groups, outermost first
+         */
+        void deviceFound(Device device, List<String> location);
+
+        /**
+         * @param location names of the enclosing areas, outermost first
+         */
+        void outputFound(Output output, List<String> location);
+    }
+
+    private final XMLInputFactory factory;
 
     public DbXmlInfoReader() {
-        super.setClassLoader(Project.class.getClassLoader());
+        this.factory = XMLInputFactory.newInstance();
+
+        // The project file needs neither; don't let it reach out to other resources.
+        this.factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     }
 
-    @Override
-    public void registerConverters(XStream xstream) {
+    public void read(InputStream input, DbXmlInfoListener listener) throws IOException {
+        XMLStreamReader reader = null;
+
+        try {
+            reader = this.factory.createXMLStreamReader(input);
+
+            readProject(reader, listener);
+        } catch (XMLStreamException e) {
+            throw new IOException("Error reading project file: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // Nothing left to read
+                }
+            }
+        }
     }
 
-    @Override
-    public void registerAliases(XStream xstream) {
-        xstream.alias("Project", Project.class);
-        xstream.aliasField("AppVer", Project.class, "appVersion");
-        xstream.aliasField("XMLVer", Project.class, "xmlVersion");
-        xstream.aliasField("Areas", Project.class, "areas");
-
-        xstream.alias("Area", Area.class);
-        xstream.aliasField("Name", Area.class, "name");
-        xstream.useAttributeFor(Area.class, "name");
-        xstream.aliasField("DeviceGroups", Area.class, "deviceNodes");
-        xstream.aliasField("Outputs", Area.class, "outputs");
-        xstream.aliasField("Areas", Area.class, "areas");
-
-        xstream.alias("DeviceGroup", DeviceGroup.class);
-        xstream.aliasField("Name", DeviceGroup.class, "name");
-        xstream.useAttributeFor(DeviceGroup.class, "name");
-        xstream.aliasField("Devices", DeviceGroup.class, "devices");
-
-        xstream.alias("Device", Device.class);
-        xstream.aliasField("Name", Device.class, "name");
-        xstream.useAttributeFor(Device.class, "name");
-        xstream.aliasField("IntegrationID", Device.class, "integrationId");
-        xstream.useAttributeFor(Device.class, "integrationId");
-        xstream.aliasField("DeviceType", Device.class, "type");
-        xstream.useAttributeFor(Device.class, "type");
-        xstream.aliasField("Components", Device.class, "components");
-
-        xstream.alias("Component", Component.class);
-        xstream.aliasField("ComponentNumber", Component.class, "componentNumber");
-        xstream.useAttributeFor(Component.class, "componentNumber");
-        xstream.aliasField("ComponentType", Component.class, "type");
-        xstream.useAttributeFor(Component.class, "type");
-
-        xstream.alias("Output", Output.class);
-        xstream.aliasField("Name", Output.class, "name");
-        xstream.useAttributeFor(Output.class, "name");
-        xstream.aliasField("IntegrationID", Output.class, "integrationId");
-        xstream.useAttributeFor(Output.class, "integrationId");
-        xstream.aliasField("OutputType", Output.class, "type");
-        xstream.useAttributeFor(Output.class, "type");
+    private void readProject(XMLStreamReader reader, DbXmlInfoListener listener) throws XMLStreamException {
+        Stack<String> location = new Stack<>();
+        int areaDepth = 0;
 
         // This reader is only interested in device thing information and does not read
         // everything contained in DbXmlInfo. Ignoring unknown elements also makes the
         // binding more tolerant of potential future changes to the XML schema.
-        xstream.ignoreUnknownElements();
+        while (reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String element = reader.getLocalName();
+
+                if ("Area".equals(element)) {
+                    location.push(reader.getAttributeValue(null, "Name"));
+                    areaDepth++;
+                } else if (areaDepth == 0) {
+                    // Devices and outputs are only of interest inside an area
+                    continue;
+                } else if ("DeviceGroup".equals(element)) {
+                    location.push(reader.getAttributeValue(null, "Name"));
+                } else if ("Device".equals(element)) {
+                    listener.deviceFound(new Device(reader.getAttributeValue(null, "Name"),
+                            parseIntegrationId(reader), reader.getAttributeValue(null, "DeviceType")), location);
+                } else if ("Output".equals(element)) {
+                    listener.outputFound(new Output(reader.getAttributeValue(null, "Name"),
+                            parseIntegrationId(reader), reader.getAttributeValue(null, "OutputType")), location);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String element = reader.getLocalName();
+
+                if ("Area".equals(element)) {
+                    location.pop();
+                    areaDepth--;
+                } else if (areaDepth > 0 && "DeviceGroup".equals(element)) {
+                    location.pop();
+                }
+            }
+        }
+    }
+
+    private Integer parseIntegrationId(XMLStreamReader reader) {
+        String value = reader.getAttributeValue(null, "IntegrationID");
+
+        try {
+            return value != null ? Integer.valueOf(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
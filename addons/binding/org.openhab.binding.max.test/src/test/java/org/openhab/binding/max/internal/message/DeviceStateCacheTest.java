@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.message;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link DeviceStateCache} with the device blocks of
+ * {@link L_Message}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceStateCacheTest {
+
+    private static final long REPUBLISH_INTERVAL = 5 * 60 * 1000;
+
+    private final String rawData = "L:CwsNowkSGE0kALAACwjB1gkSGGAiAAAABg519gkSEAYEM28JAAALC+miCRIYACIAAAAMDhXMCRIYBCIAAACtCwjDSQkSGGQqAGMACwe25wkSGGQkAAAA";
+
+    // device 08C1D6 with a set temperature of 20.0 instead of 17.0
+    private final String rawDataChanged = "L:CwsNowkSGE0kALAACwjB1gkSGGAoAAAABg519gkSEAYEM28JAAALC+miCRIYACIAAAAMDhXMCRIYBCIAAACtCwjDSQkSGGQqAGMACwe25wkSGGQkAAAA";
+
+    private L_Message message = null;
+    private L_Message messageChanged = null;
+    private DeviceStateCache cache = null;
+
+    @Before
+    public void Before() {
+        message = new L_Message(rawData);
+        messageChanged = new L_Message(rawDataChanged);
+        cache = new DeviceStateCache(REPUBLISH_INTERVAL);
+    }
+
+    @Test
+    public void getDeviceBlocksTest() {
+        List<byte[]> blocks = message.getDeviceBlocks();
+
+        assertEquals(8, blocks.size());
+        assertEquals("0B0DA3", DeviceStateCache.getRfAddress(blocks.get(0)));
+        assertEquals("08C1D6", DeviceStateCache.getRfAddress(blocks.get(1)));
+        assertEquals("07B6E7", DeviceStateCache.getRfAddress(blocks.get(7)));
+    }
+
+    @Test
+    public void newDevicesAreDueTest() {
+        assertEquals(8, getDueDevices(message, 0).size());
+    }
+
+    @Test
+    public void unchangedDevicesAreNotDueTest() {
+        publish(message, 0);
+
+        assertTrue(getDueDevices(message, 1000).isEmpty());
+        for (byte[] block : message.getDeviceBlocks()) {
+            assertTrue(cache.isUnchanged(DeviceStateCache.getRfAddress(block), block));
+        }
+    }
+
+    @Test
+    public void changedDeviceIsDueTest() {
+        publish(message, 0);
+
+        List<String> due = getDueDevices(messageChanged, 1000);
+        assertEquals(1, due.size());
+        assertEquals("08C1D6", due.get(0));
+
+        byte[] changed = messageChanged.getDeviceBlocks().get(1);
+        assertFalse(cache.isUnchanged("08C1D6", changed));
+
+        publish(messageChanged, 1000);
+        assertTrue(getDueDevices(messageChanged, 2000).isEmpty());
+        assertEquals(1, getDueDevices(message, 2000).size());
+    }
+
+    @Test
+    public void unchangedDevicesAreDueAfterIntervalTest() {
+        publish(message, 0);
+
+        assertTrue(getDueDevices(message, REPUBLISH_INTERVAL - 1).isEmpty());
+        assertEquals(8, getDueDevices(message, REPUBLISH_INTERVAL).size());
+
+        // the data is still unchanged, so the devices need not be decoded again
+        for (byte[] block : message.getDeviceBlocks()) {
+            assertTrue(cache.isUnchanged(DeviceStateCache.getRfAddress(block), block));
+        }
+    }
+
+    @Test
+    public void removedDeviceIsDueTest() {
+        publish(message, 0);
+
+        cache.remove("08C1D6");
+
+        List<String> due = getDueDevices(message, 1000);
+        assertEquals(1, due.size());
+        assertEquals("08C1D6", due.get(0));
+        assertFalse(cache.isUnchanged("08C1D6", message.getDeviceBlocks().get(1)));
+    }
+
+    @Test
+    public void forcedDeviceIsDueTest() {
+        publish(message, 0);
+
+        cache.forcePublish("08C1D6");
+
+        List<String> due = getDueDevices(message, 1000);
+        assertEquals(1, due.size());
+        assertEquals("08C1D6", due.get(0));
+
+        // the data is still unchanged, so the device need not be decoded again
+        assertTrue(cache.isUnchanged("08C1D6", message.getDeviceBlocks().get(1)));
+
+        publish(message, 1000);
+        assertTrue(getDueDevices(message, 2000).isEmpty());
+    }
+
+    @Test
+    public void forcingUnknownDeviceIsIgnoredTest() {
+        cache.forcePublish("08C1D6");
+
+        assertEquals(8, getDueDevices(message, 0).size());
+        assertFalse(cache.isUnchanged("08C1D6", message.getDeviceBlocks().get(1)));
+    }
+
+    @Test
+    public void clearedDevicesAreDueTest() {
+        publish(message, 0);
+
+        cache.clear();
+
+        assertEquals(8, getDueDevices(message, 1000).size());
+    }
+
+    private void publish(L_Message lMessage, long now) {
+        for (byte[] block : lMessage.getDeviceBlocks()) {
+            cache.setPublished(DeviceStateCache.getRfAddress(block), block, now);
+        }
+    }
+
+    private List<String> getDueDevices(L_Message lMessage, long now) {
+        List<String> due = new ArrayList<String>();
+        for (byte[] block : lMessage.getDeviceBlocks()) {
+            String rfAddress = DeviceStateCache.getRfAddress(block);
+            if (cache.isPublishDue(rfAddress, block, now)) {
+                due.add(rfAddress);
+            }
+        }
+        return due;
+    }
+}
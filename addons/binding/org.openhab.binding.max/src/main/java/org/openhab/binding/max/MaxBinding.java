@@ -67,6 +67,12 @@ public class MaxBinding {
     public final static String PROPERTY_NTP_SERVER1 = "ntpServer1";
     public final static String PROPERTY_NTP_SERVER2 = "ntpServer2";
 
+    // Command queue statistics properties of the Cube
+    public final static String PROPERTY_SENT_COMMANDS = "sentCommands";
+    public final static String PROPERTY_AVERAGE_QUEUE_WAIT = "averageQueueWait";
+    public final static String PROPERTY_MAX_QUEUE_WAIT = "maxQueueWait";
+    public final static String PROPERTY_DEFERRED_COMMANDS = "deferredCommands";
+
     // Thermostat settings properties
     public final static String PROPERTY_THERMO_COMFORT_TEMP = "comfortTemp";
     public final static String PROPERTY_THERMO_ECO_TEMP = "ecoTemp";
@@ -13,18 +13,24 @@ import static org.openhab.binding.max.MaxBinding.*;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
 import java.net.ConnectException;
 import java.net.Socket;
-import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +70,7 @@ import org.openhab.binding.max.internal.device.RoomInformation;
 import org.openhab.binding.max.internal.device.ThermostatModeType;
 import org.openhab.binding.max.internal.exceptions.UnprocessableMessageException;
 import org.openhab.binding.max.internal.message.C_Message;
+import org.openhab.binding.max.internal.message.DeviceStateCache;
 import org.openhab.binding.max.internal.message.F_Message;
 import org.openhab.binding.max.internal.message.H_Message;
 import org.openhab.binding.max.internal.message.L_Message;
@@ -101,8 +108,27 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     /** timeout on network connection **/
     private static final int NETWORK_TIMEOUT = 10000;
 
-    private ArrayList<Device> devices = new ArrayList<Device>();
-    private ArrayList<RoomInformation> rooms;
+    /** timeout on the response of the inclusion mode **/
+    private static final int INCLUSION_TIMEOUT = 80000;
+
+    /**
+     * The devices and configurations are changed by the thread receiving the
+     * messages of the Cube, but read by the handlers and commands as well.
+     */
+    private List<Device> devices = new CopyOnWriteArrayList<Device>();
+    private Map<String, Device> devicesBySerialNumber = new ConcurrentHashMap<String, Device>();
+    private Map<String, Device> devicesByRfAddress = new ConcurrentHashMap<String, Device>();
+
+    /**
+     * Devices with unchanged L message data are published again after this
+     * time in milliseconds, as the device handlers check the age of the actual
+     * temperature on publication.
+     */
+    private static final long UNCHANGED_DEVICE_PUBLISH_INTERVAL = 5 * 60 * 1000;
+
+    /** L message data of the devices at their last publication, by RF address */
+    private DeviceStateCache deviceStates = new DeviceStateCache(UNCHANGED_DEVICE_PUBLISH_INTERVAL);
+    private volatile ArrayList<RoomInformation> rooms;
     private HashSet<String> lastActiveDevices = new HashSet<String>();
 
     /** MAX! Thermostat default off temperature */
@@ -111,13 +137,28 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     /** MAX! Thermostat default on temperature */
     private static final DecimalType DEFAULT_ON_TEMPERATURE = new DecimalType(30.5);
 
-    private ArrayList<DeviceConfiguration> configurations = new ArrayList<DeviceConfiguration>();
+    private List<DeviceConfiguration> configurations = new CopyOnWriteArrayList<DeviceConfiguration>();
+    private Map<String, DeviceConfiguration> configurationsBySerialNumber = new ConcurrentHashMap<>();
 
     /** maximum queue size that we're allowing */
     private static final int MAX_COMMANDS = 50;
-    private ArrayBlockingQueue<SendCommand> commandQueue = new ArrayBlockingQueue<SendCommand>(MAX_COMMANDS);
+    private final LinkedList<SendCommand> commandQueue = new LinkedList<SendCommand>();
+
+    /** duty cycle in percent from which on commands are deferred */
+    private static final int DUTY_CYCLE_LIMIT = 90;
 
-    private SendCommand lastCommandId = null;
+    /** time in seconds commands are deferred if the Cube can not send them */
+    private static final int DEFER_DELAY = 60;
+
+    /** time until which commands are deferred */
+    private long deferUntil = 0;
+    private volatile boolean commandDiscarded = false;
+
+    /** command statistics */
+    private long sentCommandCount = 0;
+    private long totalQueueWaitTime = 0;
+    private long maxQueueWaitTime = 0;
+    private long deferCount = 0;
 
     private String ipAddress;
     private int port;
@@ -148,19 +189,42 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     private BufferedReader reader = null;
     private OutputStreamWriter writer = null;
 
+    /**
+     * reader thread of the connection in exclusive mode, which processes all
+     * messages of the Cube including the ones it sends unsolicited
+     */
+    private volatile Thread readerThread = null;
+    private final Object responseLock = new Object();
+
+    /**
+     * lock for the commands sent to this Cube. The handler itself is not used, as
+     * the reader thread needs its lock for status updates while a command waits
+     * for the response.
+     */
+    private final Object commandLock = new Object();
+    private String expectedResponse = null;
+    private boolean responseReceived = false;
+    private volatile long lastLMessageTime = 0;
+
     private boolean previousOnline = false;
 
+    /** all listeners, they are informed about added, removed and reconfigured devices */
     private Set<DeviceStatusListener> deviceStatusListeners = new CopyOnWriteArraySet<>();
 
+    /** listeners for the state changes of a single device, by serial number */
+    private Map<String, Set<DeviceStatusListener>> deviceStatusListenersBySerialNumber = new ConcurrentHashMap<>();
+
+    /** listeners for the state changes of all devices */
+    private Set<DeviceStatusListener> allDevicesStatusListeners = new CopyOnWriteArraySet<>();
+
     private ScheduledFuture<?> pollingJob;
     private Runnable pollingRunnable = new Runnable() {
         @Override
         public void run() {
-            refreshData();
+            refreshData(false);
         }
     };
     private ScheduledFuture<?> sendCommandJob;
-    private long sendCommandInterval = 5;
     private Runnable sendCommandRunnable = new Runnable() {
         @Override
         public void run() {
@@ -172,7 +236,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command instanceof RefreshType) {
             logger.debug("Refresh command received.");
-            refreshData();
+            refreshData(true);
         } else {
             logger.warn("No bridge commands defined. Cannot process '{}'.", command.toString());
         }
@@ -287,16 +351,10 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         if (previousOnline && socket != null) {
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.CONFIGURATION_PENDING, "Inclusion");
             logger.info("Start MAX! inclusion mode for 60 seconds");
-            try {
-                socket.setSoTimeout((80000));
-                if (!sendCubeCommand(new N_Command())) {
-                    logger.debug("Error during Inclusion mode");
-                }
-                logger.info("End MAX! inclusion mode");
-                socket.setSoTimeout((NETWORK_TIMEOUT));
-            } catch (SocketException e) {
-                logger.debug("Timeout during MAX! inclusion mode");
+            if (!sendCubeCommand(new N_Command(), INCLUSION_TIMEOUT)) {
+                logger.debug("Error during Inclusion mode");
             }
+            logger.info("End MAX! inclusion mode");
         } else {
             logger.warn("Need to be online to start inclusion mode");
         }
@@ -306,9 +364,10 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         if (pollingJob == null || pollingJob.isCancelled()) {
             pollingJob = scheduler.scheduleWithFixedDelay(pollingRunnable, 0, refreshInterval, TimeUnit.SECONDS);
         }
-        if (sendCommandJob == null || sendCommandJob.isCancelled()) {
-            sendCommandJob = scheduler.scheduleWithFixedDelay(sendCommandRunnable, 0, sendCommandInterval,
-                    TimeUnit.SECONDS);
+        synchronized (commandQueue) {
+            if (!commandQueue.isEmpty()) {
+                scheduleSendCommands(0);
+            }
         }
     }
 
@@ -320,35 +379,74 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             pollingJob.cancel(true);
             pollingJob = null;
         }
-        if (sendCommandJob != null && !sendCommandJob.isCancelled()) {
-            sendCommandJob.cancel(true);
+        synchronized (commandQueue) {
+            if (sendCommandJob != null && !sendCommandJob.isCancelled()) {
+                sendCommandJob.cancel(true);
+            }
             sendCommandJob = null;
         }
     }
 
     /**
-     * Takes a command from the command queue and send it to
-     * {@link executeCommand} for execution.
+     * Schedules the sending of the queued commands, if it is not already scheduled or running. Must be called with
+     * the lock on the command queue.
      *
+     * @param delay delay in milliseconds
+     */
+    private void scheduleSendCommands(long delay) {
+        if (sendCommandJob == null) {
+            sendCommandJob = scheduler.schedule(sendCommandRunnable, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Takes the commands from the command queue and sends them to the MAX! Cube
+     * as long as commands are queued. Pending temperature and mode commands for
+     * the same device are sent in one S command. Sending is deferred while the
+     * Cube's duty cycle limit is reached or its memory slots are used up.
      */
-    private synchronized void sendCommands() {
+    private void sendCommands() {
+        while (true) {
+            SendCommand sendCommand;
+            SendCommand mergedCommand;
+            synchronized (commandQueue) {
+                long deferTime = deferUntil - System.currentTimeMillis();
+                if (deferTime > 0) {
+                    logger.debug("Sending of {} commands to MAX! Cube at IP {} deferred for {}s.", commandQueue.size(),
+                            ipAddress, deferTime / 1000);
+                    sendCommandJob = null;
+                    scheduleSendCommands(deferTime);
+                    return;
+                }
+                sendCommand = commandQueue.poll();
+                if (sendCommand == null) {
+                    sendCommandJob = null;
+                    return;
+                }
+                mergedCommand = pollMergeableCommand(sendCommand);
+                updateQueueStatistics(sendCommand);
+            }
 
-        SendCommand sendCommand = commandQueue.poll();
-        if (sendCommand != null) {
             CubeCommand cmd = sendCommand.getCubeCommand();
             if (cmd == null) {
-                cmd = getCommand(sendCommand);
+                cmd = getCommand(sendCommand, mergedCommand);
             }
             if (cmd != null) {
                 // Actual sending of the data to the Max! Cube Lan Gateway
                 logger.debug("Command {} ({}:{}) sent to MAX! Cube at IP: {}", sendCommand.getId(),
                         sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
 
-                if (sendCubeCommand(cmd)) {
-                    logger.trace("Command {} ({}:{}) completed for MAX! Cube at IP: {}", sendCommand.getId(),
+                commandDiscarded = false;
+                if (!sendCubeCommand(cmd)) {
+                    logger.warn("Error sending command {} ({}:{}) to MAX! Cube at IP: {}", sendCommand.getId(),
                             sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
+                } else if (commandDiscarded) {
+                    logger.debug("Command {} ({}:{}) discarded by MAX! Cube at IP: {}, queued again",
+                            sendCommand.getId(), sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
+                    requeueCommand(mergedCommand);
+                    requeueCommand(sendCommand);
                 } else {
-                    logger.warn("Error sending command {} ({}:{}) to MAX! Cube at IP: {}", sendCommand.getId(),
+                    logger.trace("Command {} ({}:{}) completed for MAX! Cube at IP: {}", sendCommand.getId(),
                             sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
                 }
             }
@@ -356,39 +454,115 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * initiates read data from the MAX! Cube bridge
+     * Removes the queued command, which sets the other of temperature and mode of
+     * the same device, so both are sent in one S command.
+     */
+    private SendCommand pollMergeableCommand(SendCommand sendCommand) {
+        if (sendCommand.getChannelUID() == null) {
+            return null;
+        }
+        String channelId = sendCommand.getChannelUID().getId();
+        String otherChannelId;
+        if (channelId.equals(CHANNEL_SETTEMP)) {
+            otherChannelId = CHANNEL_MODE;
+        } else if (channelId.equals(CHANNEL_MODE)) {
+            otherChannelId = CHANNEL_SETTEMP;
+        } else {
+            return null;
+        }
+        for (Iterator<SendCommand> it = commandQueue.iterator(); it.hasNext();) {
+            SendCommand queued = it.next();
+            if (queued.getChannelUID() != null && queued.getChannelUID().getId().equals(otherChannelId)
+                    && queued.getDeviceSerial().equals(sendCommand.getDeviceSerial())) {
+                it.remove();
+                logger.debug("Command {} ({}) merged with command {} ({})", queued.getId(), queued.getKey(),
+                        sendCommand.getId(), sendCommand.getKey());
+                return queued;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts a command discarded by the Cube in front of the queue, unless it has
+     * been superseded by a newer command in the meantime.
+     */
+    private void requeueCommand(SendCommand sendCommand) {
+        if (sendCommand == null) {
+            return;
+        }
+        synchronized (commandQueue) {
+            if (getQueuedCommand(sendCommand.getKey()) == null) {
+                commandQueue.addFirst(sendCommand);
+                scheduleSendCommands(0);
+            }
+        }
+    }
+
+    private void updateQueueStatistics(SendCommand sendCommand) {
+        long waitTime = System.currentTimeMillis() - sendCommand.getQueueTime();
+        sentCommandCount++;
+        totalQueueWaitTime += waitTime;
+        maxQueueWaitTime = Math.max(maxQueueWaitTime, waitTime);
+        logger.debug("Command {} waited {}ms in queue. Queued: {}, average wait: {}ms, max wait: {}ms, deferred: {}",
+                sendCommand.getId(), waitTime, commandQueue.size(), totalQueueWaitTime / sentCommandCount,
+                maxQueueWaitTime, deferCount);
+    }
+
+    /**
+     * Publishes the command statistics as properties of the Cube. The
+     * properties are only updated with the refresh, not with every command.
+     */
+    private void updateQueueStatisticsProperties() {
+        Map<String, String> statistics = new HashMap<String, String>();
+        synchronized (commandQueue) {
+            statistics.put(PROPERTY_SENT_COMMANDS, Long.toString(sentCommandCount));
+            statistics.put(PROPERTY_AVERAGE_QUEUE_WAIT,
+                    Long.toString(sentCommandCount == 0 ? 0 : totalQueueWaitTime / sentCommandCount));
+            statistics.put(PROPERTY_MAX_QUEUE_WAIT, Long.toString(maxQueueWaitTime));
+            statistics.put(PROPERTY_DEFERRED_COMMANDS, Long.toString(deferCount));
+        }
+        Map<String, String> properties = editProperties();
+        if (!properties.entrySet().containsAll(statistics.entrySet())) {
+            properties.putAll(statistics);
+            updateProperties(properties);
+        }
+    }
+
+    /**
+     * Defers the sending of commands, if the Cube has reached its duty cycle
+     * limit, has no free memory slots or discarded the last command.
+     */
+    private void checkDutyCycle(boolean discarded) {
+        if (discarded || dutyCycle >= DUTY_CYCLE_LIMIT || freeMemorySlots == 0) {
+            synchronized (commandQueue) {
+                deferUntil = System.currentTimeMillis() + DEFER_DELAY * 1000L;
+                deferCount++;
+            }
+            logger.debug("MAX! Cube at IP {} busy, commands deferred for {}s. Duty Cycle: {}, Free Memory Slots: {}",
+                    ipAddress, DEFER_DELAY, dutyCycle, freeMemorySlots);
+        }
+    }
+
+    /**
+     * initiates read data from the MAX! Cube bridge. In exclusive mode the
+     * Cube is only polled if no L message has been received within the refresh
+     * interval, unless the refresh is forced.
+     *
+     * @param force poll the Cube in any case, e.g. for a REFRESH command
      */
-    private void refreshData() {
+    private void refreshData(boolean force) {
 
         try {
+            updateQueueStatisticsProperties();
+            if (!force && exclusive && isConnected()
+                    && System.currentTimeMillis() - lastLMessageTime < refreshInterval * 1000) {
+                logger.trace("L message received within refresh interval, skipping poll of MAX! Cube {}", ipAddress);
+                return;
+            }
             if (sendCubeCommand(new L_Command())) {
                 updateStatus(ThingStatus.ONLINE);
                 previousOnline = true;
-                for (Device di : devices) {
-                    if (lastActiveDevices != null && lastActiveDevices.contains(di.getSerialNumber())) {
-                        for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                            try {
-                                deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
-                            } catch (Exception e) {
-                                logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                                unregisterDeviceStatusListener(deviceStatusListener);
-                            }
-                        }
-                    }
-                    // New device, not seen before, pass to Discovery
-                    else {
-                        for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                            try {
-                                deviceStatusListener.onDeviceAdded(getThing(), di);
-                                di.setUpdated(true);
-                                deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
-                            } catch (Exception e) {
-                                logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                            }
-                            lastActiveDevices.add(di.getSerialNumber());
-                        }
-                    }
-                }
             } else if (previousOnline) {
                 onConnectionLost();
             }
@@ -398,6 +572,108 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Passes the state of the changed devices to their listeners. Devices not
+     * seen before are passed to all listeners, e.g. for discovery.
+     *
+     * @param changedDevices the devices, which changed with the last L message
+     */
+    private void updateDeviceStates(List<Device> changedDevices) {
+        for (Device di : changedDevices) {
+            if (lastActiveDevices != null && lastActiveDevices.contains(di.getSerialNumber())) {
+                for (DeviceStatusListener deviceStatusListener : getDeviceStatusListeners(di)) {
+                    try {
+                        deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                        unregisterDeviceStatusListener(deviceStatusListener);
+                    }
+                }
+            }
+            // New device, not seen before, pass to Discovery
+            else {
+                for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
+                    try {
+                        deviceStatusListener.onDeviceAdded(getThing(), di);
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                    }
+                    lastActiveDevices.add(di.getSerialNumber());
+                }
+                di.setUpdated(true);
+                for (DeviceStatusListener deviceStatusListener : getDeviceStatusListeners(di)) {
+                    try {
+                        deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                    }
+                }
+                if (!lastActiveDevices.contains(di.getSerialNumber())) {
+                    // no listener yet, publish again with the next L message
+                    deviceStates.remove(di.getRFAddress().toUpperCase());
+                }
+            }
+        }
+    }
+
+    private List<DeviceStatusListener> getDeviceStatusListeners(Device device) {
+        List<DeviceStatusListener> listeners = new ArrayList<DeviceStatusListener>(allDevicesStatusListeners);
+        Set<DeviceStatusListener> deviceListeners = deviceStatusListenersBySerialNumber
+                .get(device.getSerialNumber().toUpperCase());
+        if (deviceListeners != null) {
+            listeners.addAll(deviceListeners);
+        }
+        return listeners;
+    }
+
+    /**
+     * Updates the devices with the data of the L message. The data of a device
+     * is only decoded, if it differs from the data of its last publication.
+     *
+     * @param message the L message
+     * @return the devices, which have changed
+     */
+    private List<Device> updateDevices(L_Message message) {
+        List<Device> changedDevices = new ArrayList<Device>();
+        long now = System.currentTimeMillis();
+        for (byte[] block : message.getDeviceBlocks()) {
+            if (block.length < 3) {
+                continue;
+            }
+            String rfAddress = DeviceStateCache.getRfAddress(block);
+            Device device = devicesByRfAddress.get(rfAddress);
+            if (device != null && !deviceStates.isPublishDue(rfAddress, block, now)) {
+                continue;
+            }
+
+            if (device == null) {
+                device = Device.create(block, configurations);
+                if (device == null) {
+                    continue;
+                }
+                addDevice(device);
+            } else if (!deviceStates.isUnchanged(rfAddress, block)) {
+                Device.update(block, configurations, device);
+            }
+            deviceStates.setPublished(rfAddress, block, now);
+            changedDevices.add(device);
+        }
+        return changedDevices;
+    }
+
+    private void addDevice(Device device) {
+        devices.add(device);
+        devicesBySerialNumber.put(device.getSerialNumber().toUpperCase(), device);
+        devicesByRfAddress.put(device.getRFAddress().toUpperCase(), device);
+    }
+
+    private void removeDevice(Device device) {
+        devices.remove(device);
+        devicesBySerialNumber.remove(device.getSerialNumber().toUpperCase());
+        devicesByRfAddress.remove(device.getRFAddress().toUpperCase());
+        deviceStates.remove(device.getRFAddress().toUpperCase());
+    }
+
     public void onConnectionLost() {
         logger.debug("Bridge connection lost. Updating thing status to OFFLINE.");
         previousOnline = false;
@@ -416,13 +692,46 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         updateStatus(ThingStatus.ONLINE);
     }
 
+    /**
+     * Registers a listener for the state changes of all devices.
+     */
     public boolean registerDeviceStatusListener(DeviceStatusListener deviceStatusListener) {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
         boolean result = deviceStatusListeners.add(deviceStatusListener);
         if (result) {
-            // onUpdate();
+            allDevicesStatusListeners.add(deviceStatusListener);
+            // publish all devices with the next L message
+            deviceStates.clear();
+        }
+        return result;
+    }
+
+    /**
+     * Registers a listener for the state changes of a single device.
+     *
+     * @param serialNumber serial number of the device
+     * @param deviceStatusListener the listener
+     */
+    public boolean registerDeviceStatusListener(String serialNumber, DeviceStatusListener deviceStatusListener) {
+        if (serialNumber == null || deviceStatusListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null serialNumber or deviceStatusListener.");
+        }
+        boolean result = deviceStatusListeners.add(deviceStatusListener);
+        if (result) {
+            String key = serialNumber.toUpperCase();
+            Set<DeviceStatusListener> listeners = deviceStatusListenersBySerialNumber.get(key);
+            if (listeners == null) {
+                listeners = new CopyOnWriteArraySet<>();
+                deviceStatusListenersBySerialNumber.put(key, listeners);
+            }
+            listeners.add(deviceStatusListener);
+            // publish the device with the next L message
+            Device device = devicesBySerialNumber.get(key);
+            if (device != null) {
+                deviceStates.remove(device.getRFAddress().toUpperCase());
+            }
         }
         return result;
     }
@@ -433,13 +742,31 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         }
         boolean result = deviceStatusListeners.remove(deviceStatusListener);
         if (result) {
+            allDevicesStatusListeners.remove(deviceStatusListener);
+            for (Set<DeviceStatusListener> listeners : deviceStatusListenersBySerialNumber.values()) {
+                listeners.remove(deviceStatusListener);
+            }
             clearDeviceList();
         }
         return result;
     }
 
+    /**
+     * Publishes the state of the device with the next L message, even if it
+     * has not changed since its last publication.
+     *
+     * @param serialNumber serial number of the device
+     */
+    public void forceDevicePublish(String serialNumber) {
+        Device device = getDevice(serialNumber);
+        if (device != null) {
+            deviceStates.forcePublish(device.getRFAddress().toUpperCase());
+        }
+    }
+
     public void clearDeviceList() {
         lastActiveDevices.clear();
+        deviceStates.clear();
     }
 
     /**
@@ -449,68 +776,127 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      * @param {@link CubeCommand}
      * @return boolean success
      */
-    private synchronized boolean sendCubeCommand(CubeCommand command) {
-        synchronized (MaxCubeBridgeHandler.class) {
-            boolean sendSuccess = false;
-            try {
-                if (socket == null || socket.isClosed()) {
-                    this.socketConnect();
-                }
-
-                if (maxRequestsPerConnection > 0 && requestCount >= maxRequestsPerConnection) {
-                    logger.debug("maxRequestsPerConnection reached, reconnecting.");
-                    socket.close();
-                    this.socketConnect();
-                } else {
+    private boolean sendCubeCommand(CubeCommand command) {
+        return sendCubeCommand(command, NETWORK_TIMEOUT);
+    }
 
-                    if (requestCount == 0) {
-                        logger.debug("Connect to MAX! Cube");
-                        readliness("L:");
+    /**
+     * Connects to the Max! Cube Lan gateway and send a command to Cube
+     * and process the message. Only the commands to the same Cube are
+     * serialized.
+     *
+     * @param {@link CubeCommand}
+     * @param timeout time in milliseconds to wait for the response
+     * @return boolean success
+     */
+    private boolean sendCubeCommand(CubeCommand command, int timeout) {
+        synchronized (commandLock) {
+            return executeCubeCommand(command, timeout);
+        }
+    }
 
-                    }
-                    if (!(requestCount == 0 && command instanceof L_Command)) {
+    private boolean executeCubeCommand(CubeCommand command, int timeout) {
+        boolean sendSuccess = false;
+        try {
+            if (socket == null || socket.isClosed()) {
+                this.socketConnect();
+            } else if (maxRequestsPerConnection > 0 && requestCount >= maxRequestsPerConnection) {
+                logger.debug("maxRequestsPerConnection reached, reconnecting.");
+                socketClose();
+                this.socketConnect();
+            }
 
-                        logger.debug("Sending request #{} to MAX! Cube", this.requestCount);
-                        if (writer == null) {
-                            logger.warn("Can't write to MAX! Cube");
-                            this.socketConnect();
-                        }
+            if (requestCount == 0) {
+                logger.debug("Connect to MAX! Cube");
+                waitForResponse("L:", timeout);
+            }
+            if (!(requestCount == 0 && command instanceof L_Command)) {
 
-                        writer.write(command.getCommandString());
-                        logger.trace("Write string to Max! Cube {}: {}", ipAddress, command.getCommandString());
-                        writer.flush();
-                        if (command.getReturnStrings() != null) {
-                            readliness(command.getReturnStrings());
-                        } else {
-                            socketClose();
-                        }
-                    }
+                logger.debug("Sending request #{} to MAX! Cube", this.requestCount);
+                String returnStrings = command.getReturnStrings();
+                if (exclusive) {
+                    expectResponse(returnStrings);
+                }
+                writer.write(command.getCommandString());
+                logger.trace("Write string to Max! Cube {}: {}", ipAddress, command.getCommandString());
+                writer.flush();
+                if (returnStrings != null) {
+                    waitForResponse(returnStrings, timeout);
+                } else {
+                    socketClose();
                 }
+            }
 
-                requestCount++;
-                sendSuccess = true;
+            requestCount++;
+            sendSuccess = true;
 
-                if (!exclusive) {
-                    socketClose();
+            if (!exclusive) {
+                socketClose();
+            }
+        } catch (ConnectException e) {
+            logger.debug("Connection timed out on {} port {}", ipAddress, port);
+            sendSuccess = false;
+            socketClose(); // reconnect on next execution
+        } catch (UnknownHostException e) {
+            logger.debug("Host error occurred during execution: {}", e.getMessage());
+            sendSuccess = false;
+            socketClose(); // reconnect on next execution
+        } catch (IOException e) {
+            logger.debug("IO error occurred during execution: {}", e.getMessage());
+            sendSuccess = false;
+            socketClose(); // reconnect on next execution
+        } catch (Exception e) {
+            logger.debug("Exception occurred during execution: {}", e.getMessage(), e);
+            sendSuccess = false;
+            socketClose(); // reconnect on next execution
+        }
+        return sendSuccess;
+    }
+
+    /**
+     * Registers the response expected by the reader thread. Must be called
+     * before the command is written, as the response may be received before
+     * {@link #waitForResponse(String, int)} is called.
+     */
+    private void expectResponse(String terminator) {
+        synchronized (responseLock) {
+            expectedResponse = terminator;
+            responseReceived = false;
+        }
+    }
+
+    /**
+     * Waits until the response is received. In exclusive mode the lines are
+     * processed by the reader thread, otherwise they are read here.
+     *
+     * @param terminator String with ending messagetype e.g. L:
+     * @param timeout time in milliseconds to wait for the response
+     * @throws IOException if the connection is closed or the response times out
+     */
+    private void waitForResponse(String terminator, int timeout) throws IOException {
+        if (!exclusive) {
+            socket.setSoTimeout(timeout);
+            readliness(terminator);
+            return;
+        }
+        synchronized (responseLock) {
+            long end = System.currentTimeMillis() + timeout;
+            try {
+                while (!responseReceived) {
+                    if (readerThread == null) {
+                        throw new IOException("Connection closed while waiting for " + terminator);
+                    }
+                    long remaining = end - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new SocketTimeoutException("No " + terminator + " response received");
+                    }
+                    responseLock.wait(remaining);
                 }
-            } catch (ConnectException e) {
-                logger.debug("Connection timed out on {} port {}", ipAddress, port);
-                sendSuccess = false;
-                socketClose(); // reconnect on next execution
-            } catch (UnknownHostException e) {
-                logger.debug("Host error occurred during execution: {}", e.getMessage());
-                sendSuccess = false;
-                socketClose(); // reconnect on next execution
-            } catch (IOException e) {
-                logger.debug("IO error occurred during execution: {}", e.getMessage());
-                sendSuccess = false;
-                socketClose(); // reconnect on next execution
-            } catch (Exception e) {
-                logger.debug("Exception occurred during execution: {}", e.getMessage(), e);
-                sendSuccess = false;
-                socketClose(); // reconnect on next execution
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("Interrupted while waiting for " + terminator);
+            } finally {
+                expectedResponse = null;
             }
-            return sendSuccess;
         }
     }
 
@@ -528,28 +914,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         while (cont) {
             String raw = reader.readLine();
             if (raw != null) {
-                logger.trace("message block: '{}'", raw);
-                try {
-                    this.messageProcessor.addReceivedLine(raw);
-                    if (this.messageProcessor.isMessageAvailable()) {
-                        Message message = this.messageProcessor.pull();
-                        processMessage(message);
-
-                    }
-                } catch (UnprocessableMessageException e) {
-                    if (raw.contentEquals("M:")) {
-                        logger.info("No Rooms information found. Configure your MAX! Cube: {}", ipAddress);
-                        this.messageProcessor.reset();
-                    } else {
-                        logger.info("Message could not be processed: '{}' from MAX! Cube lan gateway: {}:", raw,
-                                ipAddress);
-                        this.messageProcessor.reset();
-                    }
-                } catch (Exception e) {
-                    logger.info("Error while handling message block: '{}' from MAX! Cube lan gateway: {}:", raw,
-                            ipAddress, e.getMessage(), e);
-                    this.messageProcessor.reset();
-                }
+                processLine(raw);
                 if (terminator == null || raw.startsWith(terminator)) {
                     cont = false;
                 }
@@ -559,6 +924,35 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Processes a line received from the Cube.
+     *
+     * @param raw the received line
+     */
+    private void processLine(String raw) {
+        logger.trace("message block: '{}'", raw);
+        try {
+            this.messageProcessor.addReceivedLine(raw);
+            if (this.messageProcessor.isMessageAvailable()) {
+                Message message = this.messageProcessor.pull();
+                processMessage(message);
+
+            }
+        } catch (UnprocessableMessageException e) {
+            if (raw.contentEquals("M:")) {
+                logger.info("No Rooms information found. Configure your MAX! Cube: {}", ipAddress);
+                this.messageProcessor.reset();
+            } else {
+                logger.info("Message could not be processed: '{}' from MAX! Cube lan gateway: {}:", raw, ipAddress);
+                this.messageProcessor.reset();
+            }
+        } catch (Exception e) {
+            logger.info("Error while handling message block: '{}' from MAX! Cube lan gateway: {}:", raw, ipAddress,
+                    e.getMessage(), e);
+            this.messageProcessor.reset();
+        }
+    }
+
     /**
      * Processes the message
      *
@@ -577,6 +971,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                     dutyCycle = dutyCycleMsg;
                     updateCubeState();
                 }
+                checkDutyCycle(false);
                 if (!propertiesSet) {
                     setProperties((H_Message) message);
                     queueCommand(new SendCommand("Cube(" + getThing().getUID().getId() + ")", new F_Command(),
@@ -593,20 +988,14 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                 }
                 setProperties(msg);
                 for (DeviceInformation di : msg.devices) {
-                    DeviceConfiguration c = null;
-                    for (DeviceConfiguration conf : configurations) {
-                        if (conf.getSerialNumber().equalsIgnoreCase(di.getSerialNumber())) {
-                            c = conf;
-                            break;
-                        }
-                    }
+                    DeviceConfiguration c = configurationsBySerialNumber.get(di.getSerialNumber().toUpperCase());
 
                     if (c != null) {
                         configurations.remove(c);
                     }
 
                     c = DeviceConfiguration.create(di);
-                    configurations.add(c);
+                    addConfiguration(c);
                     c.setRoomId(di.getRoomId());
                     String roomName = "";
                     for (RoomInformation room : msg.rooms) {
@@ -617,16 +1006,11 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                     c.setRoomName(roomName);
                 }
             } else if (message.getType() == MessageType.C) {
-                DeviceConfiguration c = null;
-                for (DeviceConfiguration conf : configurations) {
-                    if (conf.getSerialNumber().equalsIgnoreCase(((C_Message) message).getSerialNumber())) {
-                        c = conf;
-                        break;
-                    }
-                }
+                DeviceConfiguration c = configurationsBySerialNumber
+                        .get(((C_Message) message).getSerialNumber().toUpperCase());
 
                 if (c == null) {
-                    configurations.add(DeviceConfiguration.create(message));
+                    addConfiguration(DeviceConfiguration.create(message));
                 } else {
                     c.setValues((C_Message) message);
                     Device di = getDevice(((C_Message) message).getSerialNumber());
@@ -651,13 +1035,17 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                     }
                 }
             } else if (message.getType() == MessageType.L) {
-                ((L_Message) message).updateDevices(devices, configurations);
-                logger.trace("{} devices found.", devices.size());
+                List<Device> changedDevices = updateDevices((L_Message) message);
+                logger.trace("{} devices found, {} changed.", devices.size(), changedDevices.size());
+                lastLMessageTime = System.currentTimeMillis();
+                updateDeviceStates(changedDevices);
             } else if (message.getType() == MessageType.S) {
                 dutyCycle = ((S_Message) message).getDutyCycle();
                 freeMemorySlots = ((S_Message) message).getFreeMemorySlots();
                 updateCubeState();
-                if (((S_Message) message).isCommandDiscarded()) {
+                commandDiscarded = ((S_Message) message).isCommandDiscarded();
+                checkDutyCycle(commandDiscarded);
+                if (commandDiscarded) {
                     logger.warn("Last Send Command discarded. Duty Cycle: {}, Free Memory Slots: {}", dutyCycle,
                             freeMemorySlots);
                 } else {
@@ -744,13 +1132,9 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         logger.debug("NTP properties updated");
     }
 
-    private Device getDevice(String serialNumber, ArrayList<Device> devices) {
-        for (Device device : devices) {
-            if (device.getSerialNumber().toUpperCase().equals(serialNumber)) {
-                return device;
-            }
-        }
-        return null;
+    private void addConfiguration(DeviceConfiguration configuration) {
+        configurations.add(configuration);
+        configurationsBySerialNumber.put(configuration.getSerialNumber().toUpperCase(), configuration);
     }
 
     /**
@@ -762,40 +1146,52 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      */
 
     public Device getDevice(String serialNumber) {
-        return getDevice(serialNumber, devices);
+        return serialNumber == null ? null : devicesBySerialNumber.get(serialNumber.toUpperCase());
     }
 
     /**
      * Takes the device command and puts it on the command queue to be processed
      * by the MAX! Cube Lan Gateway. Note that if multiple commands for the same
      * item-channel combination are send prior that they are processed by the
-     * Max! Cube, they will be removed from the queue as they would not be
-     * meaningful. This will improve the behavior when using sliders in the GUI.
+     * Max! Cube, only the last one is kept at the position of the first one in
+     * the queue, as the others would not be meaningful. This will improve the
+     * behavior when using sliders in the GUI.
      *
      * @param SendCommand
      *            the SendCommand containing the serial number of the device as
      *            String the channelUID used to send the command and the the
      *            command data
      */
-    public synchronized void queueCommand(SendCommand sendCommand) {
-
-        if (commandQueue.offer(sendCommand)) {
-            if (lastCommandId != null) {
-                if (lastCommandId.getKey().equals(sendCommand.getKey())) {
-                    if (commandQueue.remove(lastCommandId)) {
-                        logger.debug("Removed Command id {} ({}) from queue. Superceeded by {}", lastCommandId.getId(),
-                                lastCommandId.getKey(), sendCommand.getId());
-                    }
-                }
+    public void queueCommand(SendCommand sendCommand) {
+        synchronized (commandQueue) {
+            SendCommand queued = sendCommand.getChannelUID() != null ? getQueuedCommand(sendCommand.getKey())
+                    : commandQueue.peekLast();
+            if (queued != null && queued.getKey().equals(sendCommand.getKey())) {
+                sendCommand.setQueueTime(queued.getQueueTime());
+                commandQueue.set(commandQueue.indexOf(queued), sendCommand);
+                logger.debug("Removed Command id {} ({}) from queue. Superceeded by {}", queued.getId(),
+                        queued.getKey(), sendCommand.getId());
+            } else if (commandQueue.size() < MAX_COMMANDS) {
+                sendCommand.setQueueTime(System.currentTimeMillis());
+                commandQueue.add(sendCommand);
+            } else {
+                logger.debug("Command queued full dropping command id {} ({}).", sendCommand.getId(),
+                        sendCommand.getKey());
+                return;
             }
-            lastCommandId = sendCommand;
             logger.debug("Command queued id {} ({}:{}).", sendCommand.getId(), sendCommand.getKey(),
                     sendCommand.getCommandText());
-
-        } else {
-            logger.debug("Command queued full dropping command id {} ({}).", sendCommand.getId(), sendCommand.getKey());
+            scheduleSendCommands(0);
         }
+    }
 
+    private SendCommand getQueuedCommand(String key) {
+        for (SendCommand queued : commandQueue) {
+            if (queued.getKey().equals(key)) {
+                return queued;
+            }
+        }
+        return null;
     }
 
     /**
@@ -805,61 +1201,70 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      *            the SendCommand containing the serial number of the device as
      *            String the channelUID used to send the command and the the
      *            command data
+     * @param mergedCommand
+     *            an optional second command for the same device, which sets
+     *            the other of temperature and mode
      */
-    private CubeCommand getCommand(SendCommand sendCommand) {
+    private CubeCommand getCommand(SendCommand sendCommand, SendCommand mergedCommand) {
 
         String serialNumber = sendCommand.getDeviceSerial();
-        ChannelUID channelUID = sendCommand.getChannelUID();
-        Command command = sendCommand.getCommand();
 
         // send command to MAX! Cube LAN Gateway
-        HeatingThermostat device = (HeatingThermostat) getDevice(serialNumber, devices);
+        HeatingThermostat device = (HeatingThermostat) getDevice(serialNumber);
 
         if (device == null) {
             logger.debug("Cannot send command to device with serial number {}, device not listed.", serialNumber);
             return null;
         }
 
-        String rfAddress = device.getRFAddress();
-        S_Command cmd = null;
+        Command temperatureCommand = null;
+        Command modeCommand = null;
+        for (SendCommand command : new SendCommand[] { sendCommand, mergedCommand }) {
+            if (command != null && command.getChannelUID().getId().equals(CHANNEL_SETTEMP)) {
+                temperatureCommand = command.getCommand();
+            } else if (command != null && command.getChannelUID().getId().equals(CHANNEL_MODE)) {
+                modeCommand = command.getCommand();
+            }
+        }
 
-        // Temperature setting
-        if (channelUID.getId().equals(CHANNEL_SETTEMP)) {
-
-            if (command instanceof DecimalType || command instanceof OnOffType) {
-                DecimalType decimalType = DEFAULT_OFF_TEMPERATURE;
-                if (command instanceof DecimalType) {
-                    decimalType = (DecimalType) command;
-                } else if (command instanceof OnOffType) {
-                    decimalType = OnOffType.ON.equals(command) ? DEFAULT_ON_TEMPERATURE : DEFAULT_OFF_TEMPERATURE;
-                }
+        ThermostatModeType mode = device.getMode();
+        Double setTemp = null;
+
+        // Mode setting
+        if (modeCommand instanceof StringType) {
+            String commandContent = modeCommand.toString().trim().toUpperCase();
+            if (commandContent.contentEquals(ThermostatModeType.AUTOMATIC.toString())) {
+                mode = ThermostatModeType.AUTOMATIC;
+                setTemp = 0D;
+            } else if (commandContent.contentEquals(ThermostatModeType.BOOST.toString())) {
+                mode = ThermostatModeType.BOOST;
+                setTemp = Double.parseDouble(device.getTemperatureSetpoint().toString());
+            } else if (commandContent.contentEquals(ThermostatModeType.MANUAL.toString())) {
+                mode = ThermostatModeType.MANUAL;
+                setTemp = Double.parseDouble(device.getTemperatureSetpoint().toString());
+                logger.debug("updates to MANUAL mode with temperature '{}'", setTemp);
+            } else {
+                logger.debug("Only updates to AUTOMATIC & BOOST & MANUAL supported, received value :'{}'",
+                        commandContent);
+            }
+        }
 
-                cmd = new S_Command(rfAddress, device.getRoomId(), device.getMode(), decimalType.doubleValue());
-            }
-            // Mode setting
-        } else if (channelUID.getId().equals(CHANNEL_MODE)) {
-            if (command instanceof StringType) {
-                String commandContent = command.toString().trim().toUpperCase();
-                ThermostatModeType commandThermoType = null;
-                Double setTemp = Double.parseDouble(device.getTemperatureSetpoint().toString());
-                if (commandContent.contentEquals(ThermostatModeType.AUTOMATIC.toString())) {
-                    commandThermoType = ThermostatModeType.AUTOMATIC;
-                    cmd = new S_Command(rfAddress, device.getRoomId(), commandThermoType, 0D);
-                } else if (commandContent.contentEquals(ThermostatModeType.BOOST.toString())) {
-                    commandThermoType = ThermostatModeType.BOOST;
-                    cmd = new S_Command(rfAddress, device.getRoomId(), commandThermoType, setTemp);
-                } else if (commandContent.contentEquals(ThermostatModeType.MANUAL.toString())) {
-                    commandThermoType = ThermostatModeType.MANUAL;
-                    cmd = new S_Command(rfAddress, device.getRoomId(), commandThermoType, setTemp);
-                    logger.debug("updates to MANUAL mode with temperature '{}'", setTemp);
-                } else {
-                    logger.debug("Only updates to AUTOMATIC & BOOST & MANUAL supported, received value :'{}'",
-                            commandContent);
-                    return null;
-                }
+        // Temperature setting
+        if (temperatureCommand instanceof DecimalType || temperatureCommand instanceof OnOffType) {
+            DecimalType decimalType = DEFAULT_OFF_TEMPERATURE;
+            if (temperatureCommand instanceof DecimalType) {
+                decimalType = (DecimalType) temperatureCommand;
+            } else if (temperatureCommand instanceof OnOffType) {
+                decimalType = OnOffType.ON.equals(temperatureCommand) ? DEFAULT_ON_TEMPERATURE
+                        : DEFAULT_OFF_TEMPERATURE;
             }
+            setTemp = decimalType.doubleValue();
+        }
+
+        if (setTemp == null) {
+            return null;
         }
-        return cmd;
+        return new S_Command(device.getRFAddress(), device.getRoomId(), mode, setTemp);
     }
 
     /**
@@ -870,7 +1275,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     public void sendDeviceAndRoomNameUpdate(String comment) {
         if (devices.size() > 0) {
             SendCommand sendCommand = new SendCommand("Cube(" + getThing().getUID().getId() + ")",
-                    new M_Command(devices, rooms), comment);
+                    new M_Command(new ArrayList<Device>(devices), rooms), comment);
             queueCommand(sendCommand);
         } else {
             logger.debug("No devices to build room & device update message. Try later");
@@ -888,7 +1293,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             SendCommand sendCommand = new SendCommand(maxDeviceSerial, new T_Command(device.getRFAddress(), true),
                     "Delete device " + maxDeviceSerial + " from Cube!");
             queueCommand(sendCommand);
-            devices.remove(device);
+            removeDevice(device);
             sendDeviceAndRoomNameUpdate("Remove name entry for " + maxDeviceSerial);
             sendCommand = new SendCommand(maxDeviceSerial, new Q_Command(), "Reload Data");
             queueCommand(sendCommand);
@@ -918,6 +1323,14 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
         writer = new OutputStreamWriter(socket.getOutputStream());
         requestCount = 0;
+        if (exclusive) {
+            // the reader thread waits for messages of the Cube without timeout
+            socket.setSoTimeout(0);
+            socket.setKeepAlive(true);
+            expectResponse("L:");
+            readerThread = new CubeReader(socket, reader);
+            readerThread.start();
+        }
         return true;
     }
 
@@ -927,6 +1340,64 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         } catch (Exception e) {
         }
         socket = null;
+        readerThread = null;
+        synchronized (responseLock) {
+            responseLock.notifyAll();
+        }
+    }
+
+    private boolean isConnected() {
+        Socket connection = socket;
+        return connection != null && !connection.isClosed() && (!exclusive || readerThread != null);
+    }
+
+    /**
+     * Reads and processes all messages of the Cube, while the connection is open
+     * in exclusive mode.
+     */
+    private class CubeReader extends Thread {
+        private final Socket readerSocket;
+        private final BufferedReader lineReader;
+
+        public CubeReader(Socket readerSocket, BufferedReader lineReader) {
+            super("MAX! Cube reader " + ipAddress);
+            setDaemon(true);
+            this.readerSocket = readerSocket;
+            this.lineReader = lineReader;
+        }
+
+        @Override
+        public void run() {
+            logger.debug("Reader for MAX! Cube {} started", ipAddress);
+            try {
+                String raw;
+                while ((raw = lineReader.readLine()) != null) {
+                    processLine(raw);
+                    synchronized (responseLock) {
+                        if (expectedResponse != null && raw.startsWith(expectedResponse)) {
+                            responseReceived = true;
+                            responseLock.notifyAll();
+                        }
+                    }
+                }
+                logger.debug("Connection closed by MAX! Cube {}", ipAddress);
+            } catch (IOException e) {
+                if (!readerSocket.isClosed()) {
+                    logger.debug("Reading from MAX! Cube {} failed: {}", ipAddress, e.getMessage());
+                }
+            }
+            try {
+                readerSocket.close();
+            } catch (IOException e) {
+            }
+            synchronized (responseLock) {
+                if (readerThread == this) {
+                    readerThread = null;
+                }
+                responseLock.notifyAll();
+            }
+            logger.debug("Reader for MAX! Cube {} stopped", ipAddress);
+        }
     }
 
     private void updateCubeState() {
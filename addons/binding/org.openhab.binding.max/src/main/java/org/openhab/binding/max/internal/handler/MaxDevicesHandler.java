@@ -155,7 +155,7 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
     @Override
     public void thingUpdated(Thing thing) {
         configSet = false;
-        forceRefresh = true;
+        setForceRefresh();
         super.thingUpdated(thing);
     }
 
@@ -329,7 +329,11 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
             ThingHandler handler = bridge.getHandler();
             if (handler instanceof MaxCubeBridgeHandler) {
                 this.bridgeHandler = (MaxCubeBridgeHandler) handler;
-                this.bridgeHandler.registerDeviceStatusListener(this);
+                if (maxDeviceSerial != null) {
+                    this.bridgeHandler.registerDeviceStatusListener(maxDeviceSerial, this);
+                } else {
+                    this.bridgeHandler.registerDeviceStatusListener(this);
+                }
                 forceRefresh = true;
             } else {
                 logger.debug("No available bridge handler found for {} bridge {} .", maxDeviceSerial, bridge.getUID());
@@ -350,7 +354,7 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
             return;
         }
         if (command instanceof RefreshType) {
-            forceRefresh = true;
+            setForceRefresh();
             maxCubeBridge.handleCommand(channelUID, command);
             return;
         }
@@ -525,10 +529,16 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
     }
 
     /**
-     * Set the forceRefresh flag to ensure update when next data is coming
+     * Set the forceRefresh flag to ensure update when next data is coming, and
+     * have the bridge publish the device with the next data even if it has not
+     * changed
      */
     public void setForceRefresh() {
         forceRefresh = true;
+        MaxCubeBridgeHandler maxCubeBridge = bridgeHandler;
+        if (maxCubeBridge != null && maxDeviceSerial != null) {
+            maxCubeBridge.forceDevicePublish(maxDeviceSerial);
+        }
     }
 
     /**
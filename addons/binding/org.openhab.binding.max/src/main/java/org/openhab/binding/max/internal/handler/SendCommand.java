@@ -29,6 +29,7 @@ public final class SendCommand {
     private String serialNumber;
     private String key;
     private String commandText;
+    private long queueTime;
 
     public SendCommand(String serialNumber, ChannelUID channelUID, Command command) {
         commandId += 1;
@@ -133,6 +134,20 @@ public final class SendCommand {
         key = getKey(serialNumber, channelUID);
     }
 
+    /**
+     * @return the time the command was put on the queue in milliseconds
+     */
+    public long getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * @param queueTime the time the command was put on the queue in milliseconds
+     */
+    public void setQueueTime(long queueTime) {
+        this.queueTime = queueTime;
+    }
+
     /**
      * @return the commandText
      */
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.message;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openhab.binding.max.internal.Utils;
+
+/**
+ * The {@link DeviceStateCache} keeps the L message data of the devices at
+ * their last publication, so only devices whose data has changed need to be
+ * decoded and published.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceStateCache {
+
+    private final Map<String, DeviceState> states = new ConcurrentHashMap<String, DeviceState>();
+    private final long republishInterval;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param republishInterval time in milliseconds after which a device with
+     *            unchanged data is due for publication again
+     */
+    public DeviceStateCache(long republishInterval) {
+        this.republishInterval = republishInterval;
+    }
+
+    /**
+     * Returns the RF address of an L message device block.
+     *
+     * @param block the device block, starting with the RF address
+     * @return the RF address in upper case hex
+     */
+    public static String getRfAddress(byte[] block) {
+        return Utils.toHex(block[0] & 0xFF, block[1] & 0xFF, block[2] & 0xFF);
+    }
+
+    /**
+     * Returns true, if the data equals the data of the last publication of
+     * the device.
+     */
+    public boolean isUnchanged(String rfAddress, byte[] data) {
+        DeviceState state = states.get(rfAddress);
+        return state != null && Arrays.equals(state.data, data);
+    }
+
+    /**
+     * Returns true, if the device has to be published, because its data has
+     * changed or it has not been published for the republish interval.
+     */
+    public boolean isPublishDue(String rfAddress, byte[] data, long now) {
+        DeviceState state = states.get(rfAddress);
+        return state == null || state.forced || !Arrays.equals(state.data, data)
+                || now - state.publishTime >= republishInterval;
+    }
+
+    /**
+     * Records the data of the device at its publication.
+     */
+    public void setPublished(String rfAddress, byte[] data, long now) {
+        states.put(rfAddress, new DeviceState(data, now));
+    }
+
+    /**
+     * Makes the device due for publication with the next L message, even if
+     * its data has not changed. The data is kept, so it need not be decoded
+     * again.
+     */
+    public void forcePublish(String rfAddress) {
+        DeviceState state = states.get(rfAddress);
+        if (state != null) {
+            state.forced = true;
+        }
+    }
+
+    /**
+     * Forgets the device, so it is published with the next L message.
+     */
+    public void remove(String rfAddress) {
+        states.remove(rfAddress);
+    }
+
+    /**
+     * Forgets all devices, so they are published with the next L message.
+     */
+    public void clear() {
+        states.clear();
+    }
+
+    /**
+     * L message data of a device at its last publication.
+     */
+    private static class DeviceState {
+        private final byte[] data;
+        private final long publishTime;
+        private volatile boolean forced = false;
+
+        public DeviceState(byte[] data, long publishTime) {
+            this.data = data;
+            this.publishTime = publishTime;
+        }
+    }
+}
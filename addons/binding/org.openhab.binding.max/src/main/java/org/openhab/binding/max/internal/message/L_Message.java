@@ -51,6 +51,26 @@ public final class L_Message extends Message {
         return devices;
     }
 
+    /**
+     * Returns the raw data blocks of the devices contained in the message.
+     *
+     * @return list of the device data blocks, starting with the RF address
+     */
+    public List<byte[]> getDeviceBlocks() {
+
+        List<byte[]> blocks = new ArrayList<byte[]>();
+
+        byte[] decodedRawMessage = Base64.decodeBase64(getPayload().getBytes());
+
+        MaxTokenizer tokenizer = new MaxTokenizer(decodedRawMessage);
+
+        while (tokenizer.hasMoreElements()) {
+            blocks.add(tokenizer.nextElement());
+        }
+
+        return blocks;
+    }
+
     public Collection<? extends Device> updateDevices(List<Device> devices, List<DeviceConfiguration> configurations) {
 
         byte[] decodedRawMessage = Base64.decodeBase64(getPayload().getBytes());
@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.messages.RFXComMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComMessageFactory;
+import org.openhab.binding.rfxcom.internal.messages.RFXComTransmitterMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComTransmitterMessage.Response;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Test for the {@link RFXComTransmitQueue}
+ *
+ * @author agent
+ * @since 2.1.0
+ */
+public class RFXComTransmitQueueTest {
+    private static final String LIGHTING2_MESSAGE = "0B11000600109B520B000080";
+    private static final String SECURITY1_MESSAGE = "0820004DD3DC540089";
+
+    private TestTransmitter transmitter;
+    private TestScheduler scheduler;
+    private RFXComTransmitQueue queue;
+
+    @Before
+    public void setUp() {
+        transmitter = new TestTransmitter();
+        scheduler = new TestScheduler();
+        queue = new RFXComTransmitQueue(transmitter, scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testMessagesAreTransmittedInOrder() throws RFXComException {
+        queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+        queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+        queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+
+        assertEquals("Transmitted messages", 3, transmitter.transmitted.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Seq Number", i + 1, transmitter.getSeqNbr(i));
+        }
+    }
+
+    @Test
+    public void testInFlightLimit() throws RFXComException {
+        for (int i = 0; i < 6; i++) {
+            queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+        }
+
+        assertEquals("Transmitted messages", 4, transmitter.transmitted.size());
+        assertEquals("In flight", 4, queue.getInFlightCount());
+        assertEquals("Queue depth", 2, queue.getQueueDepth());
+
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(0), Response.ACK));
+
+        assertEquals("Transmitted messages", 5, transmitter.transmitted.size());
+        assertEquals("In flight", 4, queue.getInFlightCount());
+        assertEquals("Queue depth", 1, queue.getQueueDepth());
+    }
+
+    @Test
+    public void testSecurityMessagesAreTransmittedFirst() throws RFXComException {
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+        }
+        queue.enqueue(createMessage(SECURITY1_MESSAGE));
+
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(0), Response.ACK));
+
+        assertEquals("Transmitted messages", 5, transmitter.transmitted.size());
+        assertEquals("Packet type", 0x20, transmitter.transmitted.get(4)[1]);
+        assertEquals("Queue depth", 1, queue.getQueueDepth());
+    }
+
+    @Test
+    public void testAckCompletesMessage() throws Exception {
+        ListenableFuture<Response> future = queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+        assertFalse("Done before response", future.isDone());
+
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(0), Response.ACK));
+
+        assertEquals("Response", Response.ACK, future.get());
+        assertEquals("In flight", 0, queue.getInFlightCount());
+        assertTrue("Timeout cancelled", scheduler.futures.get(0).isCancelled());
+    }
+
+    @Test
+    public void testUnknownResponseIsIgnored() throws Exception {
+        ListenableFuture<Response> future = queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(0) + 1, Response.ACK));
+
+        assertFalse("Done after unknown response", future.isDone());
+        assertEquals("In flight", 1, queue.getInFlightCount());
+    }
+
+    @Test
+    public void testNakIsRetried() throws Exception {
+        ListenableFuture<Response> future = queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+
+        // the message is transmitted once and retried twice
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Transmitted messages", i + 1, transmitter.transmitted.size());
+            assertFalse("Done before last attempt", future.isDone());
+            queue.responseReceived(createResponse(transmitter.getSeqNbr(i), Response.NAK));
+        }
+
+        assertEquals("Transmitted messages", 3, transmitter.transmitted.size());
+        assertEquals("Response", Response.NAK, future.get());
+        assertEquals("In flight", 0, queue.getInFlightCount());
+    }
+
+    @Test
+    public void testRetryIsTransmittedBeforeQueuedMessages() throws RFXComException {
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+        }
+        byte[] first = transmitter.messages.get(0);
+
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(0), Response.NAK));
+
+        assertEquals("Transmitted messages", 5, transmitter.transmitted.size());
+        assertSame("Retried message", first, transmitter.messages.get(4));
+        assertEquals("Queue depth", 1, queue.getQueueDepth());
+    }
+
+    @Test
+    public void testTimeoutFailsMessageAndTransmitsNext() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+        }
+        ListenableFuture<Response> future = queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+
+        scheduler.jobs.get(0).run();
+
+        assertEquals("Communication errors", 1, transmitter.errors.size());
+        assertEquals("Transmitted messages", 5, transmitter.transmitted.size());
+        assertEquals("In flight", 4, queue.getInFlightCount());
+
+        // a response after the timeout is ignored
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(0), Response.ACK));
+        assertEquals("In flight", 4, queue.getInFlightCount());
+
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(1), Response.ACK));
+        assertEquals("Transmitted messages", 6, transmitter.transmitted.size());
+
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(5), Response.ACK));
+        assertEquals("Response", Response.ACK, future.get());
+    }
+
+    @Test
+    public void testTimedOutMessageFails() throws Exception {
+        ListenableFuture<Response> future = queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+
+        scheduler.jobs.get(0).run();
+
+        try {
+            future.get();
+            fail("Timed out message did not fail");
+        } catch (ExecutionException e) {
+            assertTrue("Cause", e.getCause() instanceof RFXComException);
+        }
+        assertEquals("In flight", 0, queue.getInFlightCount());
+    }
+
+    @Test
+    public void testTransmitErrorFailsMessage() throws Exception {
+        transmitter.failure = new IOException("Port closed");
+        ListenableFuture<Response> future = queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+
+        assertTrue("Done after failure", future.isDone());
+        assertEquals("Communication errors", 1, transmitter.errors.size());
+        assertEquals("In flight", 0, queue.getInFlightCount());
+
+        transmitter.failure = null;
+        ListenableFuture<Response> next = queue.enqueue(createMessage(LIGHTING2_MESSAGE));
+        queue.responseReceived(createResponse(transmitter.getSeqNbr(0), Response.ACK));
+        assertEquals("Response", Response.ACK, next.get());
+    }
+
+    @Test
+    public void testClearFailsAllMessages() throws Exception {
+        List<ListenableFuture<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(queue.enqueue(createMessage(LIGHTING2_MESSAGE)));
+        }
+
+        queue.clear();
+
+        for (ListenableFuture<Response> future : futures) {
+            assertTrue("Done after clear", future.isDone());
+        }
+        assertEquals("In flight", 0, queue.getInFlightCount());
+        assertEquals("Queue depth", 0, queue.getQueueDepth());
+    }
+
+    private RFXComMessage createMessage(String hexMessage) throws RFXComException {
+        return RFXComMessageFactory.createMessage(DatatypeConverter.parseHexBinary(hexMessage));
+    }
+
+    private RFXComTransmitterMessage createResponse(int seqNbr, Response response) throws RFXComException {
+        String hexMessage = String.format("040201%02X%02X", seqNbr & 0xFF, response.toByte());
+        return (RFXComTransmitterMessage) RFXComMessageFactory
+                .createMessage(DatatypeConverter.parseHexBinary(hexMessage));
+    }
+
+    /**
+     * Records the transmitted data, a copy is kept because the queue reuses the data of a message for its retries.
+     */
+    private static class TestTransmitter implements RFXComTransmitQueue.Transmitter {
+        private final List<byte[]> transmitted = new ArrayList<>();
+        private final List<byte[]> messages = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private IOException failure;
+
+        @Override
+        public void transmit(byte[] data) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            transmitted.add(data.clone());
+            messages.add(data);
+        }
+
+        @Override
+        public void communicationError(String reason) {
+            errors.add(reason);
+        }
+
+        private int getSeqNbr(int index) {
+            return transmitted.get(index)[3] & 0xFF;
+        }
+    }
+
+    /**
+     * Keeps the scheduled timeout jobs, so the tests can run them instead of waiting for the timeout.
+     */
+    private static class TestScheduler extends ScheduledThreadPoolExecutor {
+        private final List<Runnable> jobs = new ArrayList<>();
+        private final List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+        public TestScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            ScheduledFuture<?> future = super.schedule(command, 1, TimeUnit.DAYS);
+            jobs.add(command);
+            futures.add(future);
+            return future;
+        }
+    }
+}
@@ -9,10 +9,14 @@
 package org.openhab.binding.rfxcom.handler;
 
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -24,6 +28,7 @@ import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.rfxcom.RFXComBindingConstants;
 import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.RFXComTransmitQueue;
 import org.openhab.binding.rfxcom.internal.config.RFXComBridgeConfiguration;
 import org.openhab.binding.rfxcom.internal.connector.RFXComConnectorInterface;
 import org.openhab.binding.rfxcom.internal.connector.RFXComEventListener;
@@ -33,6 +38,7 @@ import org.openhab.binding.rfxcom.internal.connector.RFXComTcpConnector;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage.Commands;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage.SubType;
@@ -40,9 +46,12 @@ import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage.Trans
 import org.openhab.binding.rfxcom.internal.messages.RFXComMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComMessageFactory;
 import org.openhab.binding.rfxcom.internal.messages.RFXComTransmitterMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComTransmitterMessage.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import gnu.io.NoSuchPortException;
 
 /**
@@ -61,15 +70,25 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
     private List<DeviceMessageListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
-    private static final int timeout = 5000;
-    private static byte seqNbr = 0;
-    private static RFXComTransmitterMessage responseMessage = null;
-    private Object notifierObject = new Object();
+    /**
+     * Listeners of known devices, indexed by packet type and device id. Received messages are dispatched directly to
+     * the listeners of the device, only messages of unknown devices are passed to the
+     * {@link #deviceStatusListeners}, e.g. for discovery.
+     */
+    private Map<String, List<DeviceMessageListener>> deviceListeners = new ConcurrentHashMap<>();
+
+    private final Map<PacketType, AtomicLong> receivedMessageCounters = new EnumMap<>(PacketType.class);
+
+    private RFXComTransmitQueue transmitQueue;
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
 
     public RFXComBridgeHandler(Bridge br) {
         super(br);
+        for (PacketType packetType : PacketType.values()) {
+            receivedMessageCounters.put(packetType, new AtomicLong());
+        }
+        transmitQueue = new RFXComTransmitQueue(new Transmitter(), scheduler);
     }
 
     @Override
@@ -84,6 +103,8 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
             unregisterDeviceStatusListener(deviceStatusListener);
         }
+        deviceListeners.clear();
+        transmitQueue.clear();
 
         if (connector != null) {
             connector.removeEventListener(eventListener);
@@ -119,26 +140,6 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         }
     }
 
-    private static synchronized byte getSeqNumber() {
-        return seqNbr;
-    }
-
-    private static synchronized byte getNextSeqNumber() {
-        if (++seqNbr == 0) {
-            seqNbr = 1;
-        }
-
-        return seqNbr;
-    }
-
-    private static synchronized RFXComTransmitterMessage getResponseMessage() {
-        return responseMessage;
-    }
-
-    private static synchronized void setResponseMessage(RFXComTransmitterMessage respMessage) {
-        responseMessage = respMessage;
-    }
-
     private void connect() {
         logger.debug("Connecting to RFXCOM transceiver");
 
@@ -158,6 +159,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
             }
 
             if (connector != null) {
+                transmitQueue.clear();
                 connector.disconnect();
                 connector.connect(configuration);
 
@@ -317,48 +319,37 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         throw new IllegalArgumentException("");
     }
 
-    public synchronized void sendMessage(RFXComMessage msg) throws RFXComException {
-
-        ((RFXComBaseMessage) msg).seqNbr = getNextSeqNumber();
-        byte[] data = msg.decodeMessage();
+    /**
+     * Queues the message for transmission to the transceiver. The method does not wait for the transmission.
+     *
+     * @param msg message to transmit
+     * @return future, which is completed with the response of the transceiver
+     * @throws RFXComException if the message can not be encoded
+     */
+    public ListenableFuture<Response> sendMessage(RFXComMessage msg) throws RFXComException {
+        return transmitQueue.enqueue(msg);
+    }
 
-        logger.debug("Transmitting message '{}'", msg);
-        logger.trace("Transmitting data: {}", DatatypeConverter.printHexBinary(data));
+    /**
+     * Returns the transmit queue of the bridge, e.g. for its statistics.
+     */
+    public RFXComTransmitQueue getTransmitQueue() {
+        return transmitQueue;
+    }
 
-        setResponseMessage(null);
+    private class Transmitter implements RFXComTransmitQueue.Transmitter {
 
-        try {
+        @Override
+        public void transmit(byte[] data) throws IOException {
+            if (connector == null) {
+                throw new IOException("Not connected");
+            }
             connector.sendMessage(data);
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
-            throw new RFXComException("Send failed, reason: " + e.getMessage(), e);
         }
 
-        try {
-
-            RFXComTransmitterMessage resp = null;
-            synchronized (notifierObject) {
-                notifierObject.wait(timeout);
-                resp = getResponseMessage();
-            }
-
-            if (resp != null) {
-                switch (resp.response) {
-                    case ACK:
-                    case ACK_DELAYED:
-                        logger.debug("Command successfully transmitted, '{}' received", resp.response);
-                        break;
-
-                    case NAK:
-                    case NAK_INVALID_AC_ADDRESS:
-                }
-            } else {
-                logger.warn("No response received from transceiver");
-                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
-            }
-
-        } catch (InterruptedException ie) {
-            logger.error("No acknowledge received from RFXCOM controller, timeout {}ms ", timeout);
+        @Override
+        public void communicationError(String reason) {
+            logger.debug("Communication with RFXCOM transceiver failed: {}", reason);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
         }
     }
@@ -378,22 +369,21 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
                                 msg.transceiverType, msg.hardwareVersion1, msg.hardwareVersion2, msg.firmwareVersion);
                     }
                 } else if (message instanceof RFXComTransmitterMessage) {
-                    RFXComTransmitterMessage resp = (RFXComTransmitterMessage) message;
-
-                    byte seqNbr = getSeqNumber();
-                    if (resp.seqNbr == seqNbr) {
-                        logger.debug("Transmitter response received: {}", message.toString());
-                        setResponseMessage(resp);
-                        synchronized (notifierObject) {
-                            notifierObject.notify();
-                        }
-                    } else {
-                        logger.warn("Sequence number '{}' does not match, expecting number '{}'", resp.seqNbr, seqNbr);
-                    }
-
+                    logger.debug("Transmitter response received: {}", message);
+                    transmitQueue.responseReceived((RFXComTransmitterMessage) message);
                 } else {
+                    PacketType packetType = ((RFXComBaseMessage) message).packetType;
+                    receivedMessageCounters.get(packetType).incrementAndGet();
+
+                    String deviceId = message.getDeviceId();
+                    List<DeviceMessageListener> listeners = deviceListeners.get(getDeviceKey(packetType, deviceId));
+                    if (listeners == null || listeners.isEmpty()) {
+                        logger.trace("No handler for {} device '{}', passing message to the generic listeners",
+                                packetType, deviceId);
+                        listeners = deviceStatusListeners;
+                    }
 
-                    for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
+                    for (DeviceMessageListener deviceStatusListener : listeners) {
                         try {
                             deviceStatusListener.onDeviceMessageReceived(getThing().getUID(), message);
                         } catch (Exception e) {
@@ -433,4 +423,67 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         return deviceStatusListeners.remove(deviceStatusListener);
     }
 
+    /**
+     * Registers a listener for the messages of a single device. The messages of the device are no longer passed to
+     * the generic device status listeners.
+     *
+     * @param packetType packet type of the device
+     * @param deviceId id of the device
+     * @param deviceListener listener to register
+     * @return true if the listener was added
+     */
+    public synchronized boolean registerDeviceListener(PacketType packetType, String deviceId,
+            DeviceMessageListener deviceListener) {
+        if (packetType == null || deviceId == null || deviceListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null packetType, deviceId or listener.");
+        }
+        String key = getDeviceKey(packetType, deviceId);
+        List<DeviceMessageListener> listeners = deviceListeners.get(key);
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+            deviceListeners.put(key, listeners);
+        }
+        return listeners.contains(deviceListener) ? false : listeners.add(deviceListener);
+    }
+
+    /**
+     * Unregisters a listener, which was registered for the messages of a single device.
+     *
+     * @param packetType packet type of the device
+     * @param deviceId id of the device
+     * @param deviceListener listener to unregister
+     * @return true if the listener was removed
+     */
+    public synchronized boolean unregisterDeviceListener(PacketType packetType, String deviceId,
+            DeviceMessageListener deviceListener) {
+        if (packetType == null || deviceId == null || deviceListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null packetType, deviceId or listener.");
+        }
+        String key = getDeviceKey(packetType, deviceId);
+        List<DeviceMessageListener> listeners = deviceListeners.get(key);
+        if (listeners == null) {
+            return false;
+        }
+        boolean removed = listeners.remove(deviceListener);
+        if (listeners.isEmpty()) {
+            deviceListeners.remove(key);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of device messages of the packet type, which have been received since the bridge was
+     * created.
+     *
+     * @param packetType packet type
+     * @return number of received messages
+     */
+    public long getReceivedMessageCount(PacketType packetType) {
+        return receivedMessageCounters.get(packetType).get();
+    }
+
+    private static String getDeviceKey(PacketType packetType, String deviceId) {
+        return packetType.name() + ":" + deviceId;
+    }
+
 }
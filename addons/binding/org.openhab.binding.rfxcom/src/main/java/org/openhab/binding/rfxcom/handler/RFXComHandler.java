@@ -11,6 +11,7 @@ package org.openhab.binding.rfxcom.handler;
 import static org.openhab.binding.rfxcom.RFXComBindingConstants.*;
 
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.concurrent.ScheduledFuture;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -20,6 +21,7 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingStatusInfo;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
@@ -55,6 +57,9 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
 
     private RFXComDeviceConfiguration config;
 
+    private PacketType registeredPacketType;
+    private String registeredDeviceId;
+
     public RFXComHandler(Thing thing) {
         super(thing);
     }
@@ -126,8 +131,9 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
                     "RFXCOM device missing deviceId or subType");
         } else if (thingHandler != null && bridgeStatus != null) {
 
+            unregisterDeviceListener();
             bridgeHandler = (RFXComBridgeHandler) thingHandler;
-            bridgeHandler.registerDeviceStatusListener(this);
+            registerDeviceListener();
 
             if (bridgeStatus == ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
@@ -147,128 +153,147 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
     @Override
     public void dispose() {
         logger.debug("Thing {} disposed.", getThing().getUID());
-        if (bridgeHandler != null) {
-            bridgeHandler.unregisterDeviceStatusListener(this);
-        }
+        unregisterDeviceListener();
         bridgeHandler = null;
         super.dispose();
     }
 
+    /**
+     * Registers the handler at the bridge for the messages of the configured device.
+     */
+    private void registerDeviceListener() {
+        ThingTypeUID thingTypeUID = getThing().getThingTypeUID();
+        for (Entry<PacketType, ThingTypeUID> entry : packetTypeThingMap.entrySet()) {
+            if (entry.getValue().equals(thingTypeUID)) {
+                registeredPacketType = entry.getKey();
+                registeredDeviceId = config.deviceId;
+                bridgeHandler.registerDeviceListener(registeredPacketType, registeredDeviceId, this);
+                return;
+            }
+        }
+        logger.warn("No RFXCOM packet type found for thing type {}", thingTypeUID);
+    }
+
+    private void unregisterDeviceListener() {
+        if (bridgeHandler != null && registeredPacketType != null) {
+            bridgeHandler.unregisterDeviceListener(registeredPacketType, registeredDeviceId, this);
+        }
+        registeredPacketType = null;
+        registeredDeviceId = null;
+    }
+
+    /**
+     * Called by the bridge for the messages of the device, the bridge dispatches only messages with the packet type
+     * and device id of this thing.
+     */
     @Override
     public void onDeviceMessageReceived(ThingUID bridge, RFXComMessage message) {
         try {
-            String id = message.getDeviceId();
-            if (config.deviceId.equals(id)) {
-                RFXComBaseMessage msg = (RFXComBaseMessage) message;
-                String receivedId = packetTypeThingMap.get(msg.packetType).getId();
-                logger.debug("Received message from bridge: {} message: {}", bridge, message);
-
-                if (receivedId.equals(getThing().getThingTypeUID().getId())) {
-                    updateStatus(ThingStatus.ONLINE);
-
-                    List<RFXComValueSelector> supportedValueSelectors = msg.getSupportedInputValueSelectors();
-
-                    if (supportedValueSelectors != null) {
-                        for (RFXComValueSelector valueSelector : supportedValueSelectors) {
-                            switch (valueSelector) {
-                                case BATTERY_LEVEL:
-                                    updateState(CHANNEL_BATTERY_LEVEL, convertBatteryLevelToSystemWideLevel(
-                                            message.convertToState(valueSelector)));
-                                    break;
-                                case CHILL_FACTOR:
-                                    updateState(CHANNEL_CHILL_FACTOR, message.convertToState(valueSelector));
-                                    break;
-                                case COMMAND:
-                                    updateState(CHANNEL_COMMAND, message.convertToState(valueSelector));
-                                    break;
-                                case CONTACT:
-                                    updateState(CHANNEL_CONTACT, message.convertToState(valueSelector));
-                                    break;
-                                case DIMMING_LEVEL:
-                                    updateState(CHANNEL_DIMMING_LEVEL, message.convertToState(valueSelector));
-                                    break;
-                                case FORECAST:
-                                    updateState(CHANNEL_FORECAST, message.convertToState(valueSelector));
-                                    break;
-                                case GUST:
-                                    updateState(CHANNEL_GUST, message.convertToState(valueSelector));
-                                    break;
-                                case HUMIDITY:
-                                    updateState(CHANNEL_HUMIDITY, message.convertToState(valueSelector));
-                                    break;
-                                case HUMIDITY_STATUS:
-                                    updateState(CHANNEL_HUMIDITY_STATUS, message.convertToState(valueSelector));
-                                    break;
-                                case INSTANT_AMPS:
-                                    updateState(CHANNEL_INSTANT_AMPS, message.convertToState(valueSelector));
-                                    break;
-                                case INSTANT_POWER:
-                                    updateState(CHANNEL_INSTANT_POWER, message.convertToState(valueSelector));
-                                    break;
-                                case LOW_BATTERY:
-                                    updateState(CHANNEL_BATTERY_LEVEL,
-                                            isLowBattery(message.convertToState(valueSelector)));
-                                    break;
-
-                                case MOOD:
-                                    updateState(CHANNEL_MOOD, message.convertToState(valueSelector));
-                                    break;
-                                case MOTION:
-                                    updateState(CHANNEL_MOTION, message.convertToState(valueSelector));
-                                    break;
-                                case PRESSURE:
-                                    updateState(CHANNEL_PRESSURE, message.convertToState(valueSelector));
-                                    break;
-                                case RAIN_RATE:
-                                    updateState(CHANNEL_RAIN_RATE, message.convertToState(valueSelector));
-                                    break;
-                                case RAIN_TOTAL:
-                                    updateState(CHANNEL_RAIN_TOTAL, message.convertToState(valueSelector));
-                                    break;
-                                case RAW_MESSAGE:
-                                    updateState(CHANNEL_RAW_MESSAGE, message.convertToState(valueSelector));
-                                    break;
-                                case RAW_PAYLOAD:
-                                    updateState(CHANNEL_RAW_PAYLOAD, message.convertToState(valueSelector));
-                                    break;
-                                case SET_POINT:
-                                    updateState(CHANNEL_SET_POINT, message.convertToState(valueSelector));
-                                    break;
-                                case SHUTTER:
-                                    updateState(CHANNEL_SHUTTER, message.convertToState(valueSelector));
-                                    break;
-                                case SIGNAL_LEVEL:
-                                    updateState(CHANNEL_SIGNAL_LEVEL,
-                                            convertSignalLevelToSystemWideLevel(message.convertToState(valueSelector)));
-                                    break;
-                                case STATUS:
-                                    updateState(CHANNEL_STATUS, message.convertToState(valueSelector));
-                                    break;
-                                case TEMPERATURE:
-                                    updateState(CHANNEL_TEMPERATURE, message.convertToState(valueSelector));
-                                    break;
-                                case TOTAL_AMP_HOUR:
-                                    updateState(CHANNEL_TOTAL_AMP_HOUR, message.convertToState(valueSelector));
-                                    break;
-                                case TOTAL_USAGE:
-                                    updateState(CHANNEL_TOTAL_USAGE, message.convertToState(valueSelector));
-                                    break;
-                                case VOLTAGE:
-                                    updateState(CHANNEL_VOLTAGE, message.convertToState(valueSelector));
-                                    break;
-                                case WIND_DIRECTION:
-                                    updateState(CHANNEL_WIND_DIRECTION, message.convertToState(valueSelector));
-                                    break;
-                                case WIND_SPEED:
-                                    updateState(CHANNEL_WIND_SPEED, message.convertToState(valueSelector));
-                                    break;
-                                default:
-                                    logger.debug("Unsupported value selector '{}'", valueSelector);
-                                    break;
-                            }
-                        }
+            RFXComBaseMessage msg = (RFXComBaseMessage) message;
+            logger.debug("Received message from bridge: {} message: {}", bridge, message);
+
+            updateStatus(ThingStatus.ONLINE);
+
+            List<RFXComValueSelector> supportedValueSelectors = msg.getSupportedInputValueSelectors();
+
+            if (supportedValueSelectors != null) {
+                for (RFXComValueSelector valueSelector : supportedValueSelectors) {
+                    switch (valueSelector) {
+                        case BATTERY_LEVEL:
+                            updateState(CHANNEL_BATTERY_LEVEL, convertBatteryLevelToSystemWideLevel(
+                                    message.convertToState(valueSelector)));
+                            break;
+                        case CHILL_FACTOR:
+                            updateState(CHANNEL_CHILL_FACTOR, message.convertToState(valueSelector));
+                            break;
+                        case COMMAND:
+                            updateState(CHANNEL_COMMAND, message.convertToState(valueSelector));
+                            break;
+                        case CONTACT:
+                            updateState(CHANNEL_CONTACT, message.convertToState(valueSelector));
+                            break;
+                        case DIMMING_LEVEL:
+                            updateState(CHANNEL_DIMMING_LEVEL, message.convertToState(valueSelector));
+                            break;
+                        case FORECAST:
+                            updateState(CHANNEL_FORECAST, message.convertToState(valueSelector));
+                            break;
+                        case GUST:
+                            updateState(CHANNEL_GUST, message.convertToState(valueSelector));
+                            break;
+                        case HUMIDITY:
+                            updateState(CHANNEL_HUMIDITY, message.convertToState(valueSelector));
+                            break;
+                        case HUMIDITY_STATUS:
+                            updateState(CHANNEL_HUMIDITY_STATUS, message.convertToState(valueSelector));
+                            break;
+                        case INSTANT_AMPS:
+                            updateState(CHANNEL_INSTANT_AMPS, message.convertToState(valueSelector));
+                            break;
+                        case INSTANT_POWER:
+                            updateState(CHANNEL_INSTANT_POWER, message.convertToState(valueSelector));
+                            break;
+                        case LOW_BATTERY:
+                            updateState(CHANNEL_BATTERY_LEVEL,
+                                    isLowBattery(message.convertToState(valueSelector)));
+                            break;
+
+                        case MOOD:
+                            updateState(CHANNEL_MOOD, message.convertToState(valueSelector));
+                            break;
+                        case MOTION:
+                            updateState(CHANNEL_MOTION, message.convertToState(valueSelector));
+                            break;
+                        case PRESSURE:
+                            updateState(CHANNEL_PRESSURE, message.convertToState(valueSelector));
+                            break;
+                        case RAIN_RATE:
+                            updateState(CHANNEL_RAIN_RATE, message.convertToState(valueSelector));
+                            break;
+                        case RAIN_TOTAL:
+                            updateState(CHANNEL_RAIN_TOTAL, message.convertToState(valueSelector));
+                            break;
+                        case RAW_MESSAGE:
+                            updateState(CHANNEL_RAW_MESSAGE, message.convertToState(valueSelector));
+                            break;
+                        case RAW_PAYLOAD:
+                            updateState(CHANNEL_RAW_PAYLOAD, message.convertToState(valueSelector));
+                            break;
+                        case SET_POINT:
+                            updateState(CHANNEL_SET_POINT, message.convertToState(valueSelector));
+                            break;
+                        case SHUTTER:
+                            updateState(CHANNEL_SHUTTER, message.convertToState(valueSelector));
+                            break;
+                        case SIGNAL_LEVEL:
+                            updateState(CHANNEL_SIGNAL_LEVEL,
+                                    convertSignalLevelToSystemWideLevel(message.convertToState(valueSelector)));
+                            break;
+                        case STATUS:
+                            updateState(CHANNEL_STATUS, message.convertToState(valueSelector));
+                            break;
+                        case TEMPERATURE:
+                            updateState(CHANNEL_TEMPERATURE, message.convertToState(valueSelector));
+                            break;
+                        case TOTAL_AMP_HOUR:
+                            updateState(CHANNEL_TOTAL_AMP_HOUR, message.convertToState(valueSelector));
+                            break;
+                        case TOTAL_USAGE:
+                            updateState(CHANNEL_TOTAL_USAGE, message.convertToState(valueSelector));
+                            break;
+                        case VOLTAGE:
+                            updateState(CHANNEL_VOLTAGE, message.convertToState(valueSelector));
+                            break;
+                        case WIND_DIRECTION:
+                            updateState(CHANNEL_WIND_DIRECTION, message.convertToState(valueSelector));
+                            break;
+                        case WIND_SPEED:
+                            updateState(CHANNEL_WIND_SPEED, message.convertToState(valueSelector));
+                            break;
+                        default:
+                            logger.debug("Unsupported value selector '{}'", valueSelector);
+                            break;
                     }
-
                 }
             }
         } catch (Exception e) {
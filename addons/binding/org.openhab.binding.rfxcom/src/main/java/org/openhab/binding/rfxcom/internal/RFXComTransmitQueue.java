@@ -0,0 +1,349 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+import org.openhab.binding.rfxcom.internal.messages.RFXComMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComTransmitterMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComTransmitterMessage.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * The {@link RFXComTransmitQueue} transmits messages to the RFXCOM transceiver without blocking the caller. Up to
+ * {@link #MAX_IN_FLIGHT} messages are transmitted before their response has been received, the responses are
+ * correlated to the messages by their sequence number. Messages of security devices are transmitted before all other
+ * queued messages and messages, which the transceiver did not acknowledge with a NAK, are transmitted again.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComTransmitQueue {
+
+    /**
+     * Interface to the transceiver connection.
+     */
+    public interface Transmitter {
+
+        /**
+         * Sends the data to the transceiver.
+         */
+        void transmit(byte[] data) throws IOException;
+
+        /**
+         * Called when the transceiver could not be accessed or did not respond in time.
+         */
+        void communicationError(String reason);
+    }
+
+    private static final int MAX_IN_FLIGHT = 4;
+    private static final int MAX_RETRIES = 2;
+    private static final int RESPONSE_TIMEOUT = 5000;
+
+    private Logger logger = LoggerFactory.getLogger(RFXComTransmitQueue.class);
+
+    private final Transmitter transmitter;
+    private final ScheduledExecutorService scheduler;
+
+    private final LinkedList<Transmission> priorityQueue = new LinkedList<>();
+    private final LinkedList<Transmission> queue = new LinkedList<>();
+    private final Map<Byte, Transmission> inFlight = new HashMap<>();
+    private byte seqNbr = 0;
+    private boolean transmitting;
+
+    private long transmittedCount;
+    private long retryCount;
+    private long timeoutCount;
+    private long ackLatencyTotal;
+    private long ackLatencyMax;
+    private long ackCount;
+
+    public RFXComTransmitQueue(Transmitter transmitter, ScheduledExecutorService scheduler) {
+        this.transmitter = transmitter;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues the message for transmission.
+     *
+     * @param msg message to transmit
+     * @return future, which is completed with the response of the transceiver
+     * @throws RFXComException if the message can not be encoded
+     */
+    public ListenableFuture<Response> enqueue(RFXComMessage msg) throws RFXComException {
+        Transmission transmission = new Transmission(msg, msg.decodeMessage());
+        PacketType packetType = ((RFXComBaseMessage) msg).packetType;
+
+        synchronized (this) {
+            if (packetType == PacketType.SECURITY1 || packetType == PacketType.SECURITY2) {
+                priorityQueue.add(transmission);
+            } else {
+                queue.add(transmission);
+            }
+            logger.trace("Queued message '{}', queue depth {}", msg, getQueueDepth());
+        }
+        transmitNext();
+        return transmission.future;
+    }
+
+    /**
+     * Completes the transmission with the sequence number of the response.
+     *
+     * @param resp response of the transceiver
+     */
+    public void responseReceived(RFXComTransmitterMessage resp) {
+        Transmission transmission;
+        synchronized (this) {
+            transmission = inFlight.remove(resp.seqNbr);
+            if (transmission == null) {
+                logger.warn("Sequence number '{}' does not match any transmitted message", resp.seqNbr);
+                return;
+            }
+            transmission.timeoutJob.cancel(false);
+
+            long latency = System.currentTimeMillis() - transmission.transmitTime;
+            ackLatencyTotal += latency;
+            ackLatencyMax = Math.max(ackLatencyMax, latency);
+            ackCount++;
+
+            if (resp.response == Response.NAK && transmission.attempts <= MAX_RETRIES) {
+                logger.debug("Transmitter response '{}' received, transmitting message again", resp.response);
+                retryCount++;
+                priorityQueue.addFirst(transmission);
+                transmission = null;
+            }
+        }
+
+        if (transmission != null) {
+            switch (resp.response) {
+                case ACK:
+                case ACK_DELAYED:
+                    logger.debug("Command successfully transmitted, '{}' received", resp.response);
+                    break;
+                case NAK:
+                case NAK_INVALID_AC_ADDRESS:
+                    logger.warn("Command transmission failed, '{}' received", resp.response);
+                    break;
+            }
+            transmission.future.set(resp.response);
+        }
+        transmitNext();
+    }
+
+    /**
+     * Fails all queued and transmitted messages.
+     */
+    public void clear() {
+        List<Transmission> failed = new ArrayList<>();
+        synchronized (this) {
+            for (Transmission transmission : inFlight.values()) {
+                transmission.timeoutJob.cancel(false);
+                failed.add(transmission);
+            }
+            failed.addAll(priorityQueue);
+            failed.addAll(queue);
+            inFlight.clear();
+            priorityQueue.clear();
+            queue.clear();
+        }
+
+        for (Transmission transmission : failed) {
+            transmission.future.setException(new RFXComException("Transmission cancelled"));
+        }
+    }
+
+    /**
+     * Returns the number of messages waiting for transmission.
+     */
+    public synchronized int getQueueDepth() {
+        return priorityQueue.size() + queue.size();
+    }
+
+    /**
+     * Returns the number of transmitted messages waiting for their response.
+     */
+    public synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns the average time in milliseconds between the transmission of a message and its response.
+     */
+    public synchronized long getAverageAckLatency() {
+        return ackCount == 0 ? 0 : ackLatencyTotal / ackCount;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds between the transmission of a message and its response.
+     */
+    public synchronized long getMaxAckLatency() {
+        return ackLatencyMax;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "queue depth = " + getQueueDepth() + ", in flight = " + inFlight.size() + ", transmitted = "
+                + transmittedCount + ", retries = " + retryCount + ", timeouts = " + timeoutCount
+                + ", average ack latency = " + getAverageAckLatency() + "ms, max ack latency = " + ackLatencyMax
+                + "ms";
+    }
+
+    /**
+     * Transmits queued messages until the maximum number of messages is in flight. Only one thread transmits at a
+     * time, so the transceiver receives the messages in sequence order. The transmission itself is done outside of
+     * the queue lock, so responses and new messages are not blocked by the I/O; messages queued meanwhile are
+     * transmitted by the thread which is already transmitting.
+     */
+    private void transmitNext() {
+        synchronized (this) {
+            if (transmitting) {
+                return;
+            }
+            transmitting = true;
+        }
+
+        IOException error;
+        try {
+            error = transmitQueued();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                transmitting = false;
+            }
+            throw e;
+        }
+
+        if (error != null) {
+            transmitter.communicationError("Send failed, reason: " + error.getMessage());
+        }
+    }
+
+    /**
+     * Transmits messages until none is left or the maximum number of messages is in flight and resets the
+     * transmitting flag before returning.
+     *
+     * @return the error, which stopped the transmission, or null
+     */
+    private IOException transmitQueued() {
+        while (true) {
+            Transmission transmission = null;
+            byte seq;
+            synchronized (this) {
+                if (inFlight.size() < MAX_IN_FLIGHT) {
+                    transmission = priorityQueue.poll();
+                    if (transmission == null) {
+                        transmission = queue.poll();
+                    }
+                }
+                if (transmission == null) {
+                    transmitting = false;
+                    return null;
+                }
+
+                seq = getNextSeqNumber();
+                ((RFXComBaseMessage) transmission.msg).seqNbr = seq;
+                transmission.data[3] = seq;
+                transmission.attempts++;
+                transmission.transmitTime = System.currentTimeMillis();
+                transmission.timeoutJob = scheduler.schedule(new TimeoutJob(seq, transmission), RESPONSE_TIMEOUT,
+                        TimeUnit.MILLISECONDS);
+                inFlight.put(seq, transmission);
+                transmittedCount++;
+            }
+
+            logger.debug("Transmitting message '{}'", transmission.msg);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Transmitting data: {}", DatatypeConverter.printHexBinary(transmission.data));
+            }
+            try {
+                transmitter.transmit(transmission.data);
+            } catch (IOException e) {
+                synchronized (this) {
+                    if (inFlight.get(seq) == transmission) {
+                        inFlight.remove(seq);
+                    }
+                    transmitting = false;
+                }
+                transmission.timeoutJob.cancel(false);
+                transmission.future.setException(new RFXComException("Send failed, reason: " + e.getMessage(), e));
+                return e;
+            }
+        }
+    }
+
+    private byte getNextSeqNumber() {
+        do {
+            if (++seqNbr == 0) {
+                seqNbr = 1;
+            }
+        } while (inFlight.containsKey(seqNbr));
+
+        return seqNbr;
+    }
+
+    /**
+     * Fails the transmission, if its response has not been received in time.
+     */
+    private class TimeoutJob implements Runnable {
+        private final byte seq;
+        private final Transmission transmission;
+
+        public TimeoutJob(byte seq, Transmission transmission) {
+            this.seq = seq;
+            this.transmission = transmission;
+        }
+
+        @Override
+        public void run() {
+            synchronized (RFXComTransmitQueue.this) {
+                if (inFlight.get(seq) != transmission) {
+                    return;
+                }
+                inFlight.remove(seq);
+                timeoutCount++;
+            }
+            logger.warn("No response received from transceiver, timeout {}ms", RESPONSE_TIMEOUT);
+            transmission.future.setException(new RFXComException("No response received from transceiver"));
+            transmitter.communicationError("No response received from transceiver");
+            transmitNext();
+        }
+    }
+
+    /**
+     * A queued or transmitted message.
+     */
+    private static class Transmission {
+        private final RFXComMessage msg;
+        private final byte[] data;
+        private final SettableFuture<Response> future = SettableFuture.create();
+        private int attempts;
+        private long transmitTime;
+        private ScheduledFuture<?> timeoutJob;
+
+        public Transmission(RFXComMessage msg, byte[] data) {
+            this.msg = msg;
+            this.data = data;
+        }
+    }
+}
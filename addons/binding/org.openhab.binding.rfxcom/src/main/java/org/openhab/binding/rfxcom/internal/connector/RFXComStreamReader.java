@@ -28,6 +28,9 @@ public class RFXComStreamReader extends Thread {
 
     private static final Logger logger = LoggerFactory.getLogger(RFXComStreamReader.class);
 
+    private static final int READ_BUFFER_SIZE = 256;
+    private static final int IDLE_SLEEP = 10;
+
     private boolean interrupted = false;
     private RFXComBaseConnector connector;
     private InputStream in;
@@ -49,67 +52,49 @@ public class RFXComStreamReader extends Thread {
 
     @Override
     public void run() {
-        final int dataBufferMaxLen = Byte.MAX_VALUE;
-
-        byte[] dataBuffer = new byte[dataBufferMaxLen];
+        byte[] readBuffer = new byte[READ_BUFFER_SIZE];
 
-        int msgLen = 0;
+        // frame, which is currently received, null while waiting for the length byte of the next frame
+        byte[] frame = null;
         int index = 0;
-        boolean start_found = false;
 
         logger.debug("Data listener started");
 
         try {
-
-            byte[] tmpData = new byte[20];
-            int len = -1;
-
             while (interrupted != true) {
+                int len = in.read(readBuffer);
 
-                if ((len = in.read(tmpData)) > 0) {
-
-                    byte[] logData = Arrays.copyOf(tmpData, len);
-                    logger.trace("Received data (len={}): {}", len, DatatypeConverter.printHexBinary(logData));
+                if (len > 0) {
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("Received data (len={}): {}", len,
+                                DatatypeConverter.printHexBinary(Arrays.copyOf(readBuffer, len)));
+                    }
 
                     for (int i = 0; i < len; i++) {
+                        byte data = readBuffer[i];
+
+                        if (frame == null) {
+                            // first byte of a frame is the number of the following bytes
+                            if (data > 0) {
+                                frame = new byte[data + 1];
+                                frame[0] = data;
+                                index = 1;
+                            }
+                        } else {
+                            frame[index++] = data;
 
-                        if (index > dataBufferMaxLen) {
-                            // too many bytes received, try to find new
-                            // start
-                            start_found = false;
-                        }
-
-                        if (start_found == false && tmpData[i] > 0) {
-
-                            start_found = true;
-                            index = 0;
-                            dataBuffer[index++] = tmpData[i];
-                            msgLen = tmpData[i] + 1;
-
-                        } else if (start_found) {
-
-                            dataBuffer[index++] = tmpData[i];
-
-                            if (index == msgLen) {
-
+                            if (index == frame.length) {
                                 // whole message received, send an event
-
-                                byte[] msg = new byte[msgLen];
-
-                                for (int j = 0; j < msgLen; j++) {
-                                    msg[j] = dataBuffer[j];
-                                }
-
-                                connector.sendMsgToListeners(msg);
-
-                                // find new start
-                                start_found = false;
+                                connector.sendMsgToListeners(frame);
+                                frame = null;
                             }
                         }
                     }
                 } else {
+                    // the streams block until data is available or their read timeout expires, so this is only a
+                    // short pause to not spin on streams, which return immediately
                     try {
-                        Thread.sleep(100);
+                        Thread.sleep(IDLE_SLEEP);
                     } catch (InterruptedException e) {
                     }
                 }
@@ -8,71 +8,12 @@
  */
 package org.openhab.binding.rfxcom.internal.messages;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 
 public class RFXComMessageFactory {
 
-    @SuppressWarnings("serial")
-    private static final Map<PacketType, Class<? extends RFXComMessage>> messageClasses = Collections
-            .unmodifiableMap(new HashMap<PacketType, Class<? extends RFXComMessage>>() {
-                {
-                    put(PacketType.INTERFACE_CONTROL, RFXComControlMessage.class);
-                    put(PacketType.INTERFACE_MESSAGE, RFXComInterfaceMessage.class);
-                    put(PacketType.TRANSMITTER_MESSAGE, RFXComTransmitterMessage.class);
-                    put(PacketType.UNDECODED_RF_MESSAGE, RFXComUndecodedRFMessage.class);
-                    put(PacketType.LIGHTING1, RFXComLighting1Message.class);
-                    put(PacketType.LIGHTING2, RFXComLighting2Message.class);
-                    // put(PacketType.LIGHTING3, RFXComLighting3Message.class);
-                    put(PacketType.LIGHTING4, RFXComLighting4Message.class);
-                    put(PacketType.LIGHTING5, RFXComLighting5Message.class);
-                    put(PacketType.LIGHTING6, RFXComLighting6Message.class);
-                    // put(PacketType.CHIME, RFXComChimeMessage.class);
-                    // put(PacketType.FAN, RFXComFanMessage.class);
-                    put(PacketType.CURTAIN1, RFXComCurtain1Message.class);
-                    put(PacketType.BLINDS1, RFXComBlinds1Message.class);
-                    put(PacketType.RFY, RFXComRfyMessage.class);
-                    // put(PacketType.HOME_CONFORT, RFXComHomeConfort.class);
-                    put(PacketType.SECURITY1, RFXComSecurity1Message.class);
-                    // put(PacketType.SECURITY2, RFXComSecurity2Message.class);
-                    // put(PacketType.CAMERA1, RFXComCamera1Message.class);
-                    // put(PacketType.REMOTE_CONTROL, RFXComRemoteControlMessage.class);
-                    put(PacketType.THERMOSTAT1, RFXComThermostat1Message.class);
-                    // put(PacketType.THERMOSTAT2, RFXComThermostat2Message.class);
-                    // put(PacketType.THERMOSTAT3, RFXComThermostat3Message.class);
-                    // put(PacketType.RADIATOR1, RFXComRadiator1Message.class);
-                    // put(PacketType.BBQ1, RFXComBBQMessage.class);
-                    put(PacketType.TEMPERATURE_RAIN, RFXComTemperatureRainMessage.class);
-                    put(PacketType.TEMPERATURE, RFXComTemperatureMessage.class);
-                    put(PacketType.HUMIDITY, RFXComHumidityMessage.class);
-                    put(PacketType.TEMPERATURE_HUMIDITY, RFXComTemperatureHumidityMessage.class);
-                    // put(PacketType.BAROMETRIC, RFXComBarometricMessage.class);
-                    put(PacketType.TEMPERATURE_HUMIDITY_BAROMETRIC, RFXComTemperatureHumidityBarometricMessage.class);
-                    put(PacketType.RAIN, RFXComRainMessage.class);
-                    put(PacketType.WIND, RFXComWindMessage.class);
-                    // put(PacketType.UV, RFXComUVMessage.class);
-                    put(PacketType.DATE_TIME, RFXComDateTimeMessage.class);
-                    // put(PacketType.CURRENT, RFXComCurrentMessage.class);
-                    put(PacketType.ENERGY, RFXComEnergyMessage.class);
-                    put(PacketType.CURRENT_ENERGY, RFXComCurrentEnergyMessage.class);
-                    // put(PacketType.POWER, RFXComPowerMessage.class);
-                    // put(PacketType.WEIGHT, RFXComWeightMessage.class);
-                    // put(PacketType.GAS, RFXComGasMessage.class);
-                    // put(PacketType.WATER, RFXComWaterMessage.class);
-                    // put(PacketType.RFXSENSOR, RFXComRFXSensorMessage.class);
-                    // put(PacketType.RFXMETER, RFXComRFXMeterMessage.class);
-                    // put(PacketType.FS20, RFXComFS20Message.class);
-                    // put(PacketType.IO_LINES, RFXComIOLinesMessage.class);
-                }
-            });
-
     /**
      * Command to reset RFXCOM controller.
      *
@@ -101,40 +42,141 @@ public class RFXComMessageFactory {
     public final static byte[] CMD_START_RECEIVER = new byte[] { 0x0D, 0x00, 0x00, 0x03, 0x07, 0x00, 0x00, 0x00, 0x00,
             0x00, 0x00, 0x00, 0x00, 0x00 };
 
+    /**
+     * Creates an empty message of the packet type, e.g. for transmitting a command.
+     *
+     * @param packetType packet type of the message
+     * @return new message
+     * @throws RFXComMessageNotImplementedException if the packet type is not supported
+     */
     public static RFXComMessage createMessage(PacketType packetType) throws RFXComException {
-
-        try {
-            Class<? extends RFXComMessage> cl = messageClasses.get(packetType);
-            if (cl == null) {
+        switch (packetType) {
+            case INTERFACE_CONTROL:
+                return new RFXComControlMessage();
+            case INTERFACE_MESSAGE:
+                return new RFXComInterfaceMessage();
+            case TRANSMITTER_MESSAGE:
+                return new RFXComTransmitterMessage();
+            case UNDECODED_RF_MESSAGE:
+                return new RFXComUndecodedRFMessage();
+            case LIGHTING1:
+                return new RFXComLighting1Message();
+            case LIGHTING2:
+                return new RFXComLighting2Message();
+            case LIGHTING4:
+                return new RFXComLighting4Message();
+            case LIGHTING5:
+                return new RFXComLighting5Message();
+            case LIGHTING6:
+                return new RFXComLighting6Message();
+            case CURTAIN1:
+                return new RFXComCurtain1Message();
+            case BLINDS1:
+                return new RFXComBlinds1Message();
+            case RFY:
+                return new RFXComRfyMessage();
+            case SECURITY1:
+                return new RFXComSecurity1Message();
+            case THERMOSTAT1:
+                return new RFXComThermostat1Message();
+            case TEMPERATURE_RAIN:
+                return new RFXComTemperatureRainMessage();
+            case TEMPERATURE:
+                return new RFXComTemperatureMessage();
+            case HUMIDITY:
+                return new RFXComHumidityMessage();
+            case TEMPERATURE_HUMIDITY:
+                return new RFXComTemperatureHumidityMessage();
+            case TEMPERATURE_HUMIDITY_BAROMETRIC:
+                return new RFXComTemperatureHumidityBarometricMessage();
+            case RAIN:
+                return new RFXComRainMessage();
+            case WIND:
+                return new RFXComWindMessage();
+            case DATE_TIME:
+                return new RFXComDateTimeMessage();
+            case ENERGY:
+                return new RFXComEnergyMessage();
+            case CURRENT_ENERGY:
+                return new RFXComCurrentEnergyMessage();
+            default:
                 throw new RFXComMessageNotImplementedException("Message " + packetType + " not implemented");
-            }
-            return cl.newInstance();
-        } catch (IllegalAccessException | InstantiationException e) {
-            throw new RFXComException(e);
         }
     }
 
+    /**
+     * Creates a message from the received packet.
+     *
+     * @param packet received packet, including the length byte
+     * @return decoded message
+     * @throws RFXComMessageNotImplementedException if the packet type is not supported
+     * @throws RFXComException if the packet can not be decoded
+     */
     public static RFXComMessage createMessage(byte[] packet) throws RFXComException {
         PacketType packetType = PacketType.fromByte(packet[1]);
 
         try {
-            Class<? extends RFXComMessage> cl = messageClasses.get(packetType);
-            if (cl == null) {
-                throw new RFXComMessageNotImplementedException("Message " + packetType + " not implemented");
-            }
-            Constructor<?> c = cl.getConstructor(byte[].class);
-            return (RFXComMessage) c.newInstance(packet);
-        } catch (InvocationTargetException e) {
-            if (e.getCause() instanceof RFXComException) {
-                throw (RFXComException) e.getCause();
-            } else {
-                throw new RFXComException(e);
-            }
-        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException e) {
+            return decodeMessage(packetType, packet);
+        } catch (RuntimeException e) {
             throw new RFXComException(e);
         }
     }
 
+    private static RFXComMessage decodeMessage(PacketType packetType, byte[] packet) throws RFXComException {
+        switch (packetType) {
+            case INTERFACE_CONTROL:
+                return new RFXComControlMessage(packet);
+            case INTERFACE_MESSAGE:
+                return new RFXComInterfaceMessage(packet);
+            case TRANSMITTER_MESSAGE:
+                return new RFXComTransmitterMessage(packet);
+            case UNDECODED_RF_MESSAGE:
+                return new RFXComUndecodedRFMessage(packet);
+            case LIGHTING1:
+                return new RFXComLighting1Message(packet);
+            case LIGHTING2:
+                return new RFXComLighting2Message(packet);
+            case LIGHTING4:
+                return new RFXComLighting4Message(packet);
+            case LIGHTING5:
+                return new RFXComLighting5Message(packet);
+            case LIGHTING6:
+                return new RFXComLighting6Message(packet);
+            case CURTAIN1:
+                return new RFXComCurtain1Message(packet);
+            case BLINDS1:
+                return new RFXComBlinds1Message(packet);
+            case RFY:
+                return new RFXComRfyMessage(packet);
+            case SECURITY1:
+                return new RFXComSecurity1Message(packet);
+            case THERMOSTAT1:
+                return new RFXComThermostat1Message(packet);
+            case TEMPERATURE_RAIN:
+                return new RFXComTemperatureRainMessage(packet);
+            case TEMPERATURE:
+                return new RFXComTemperatureMessage(packet);
+            case HUMIDITY:
+                return new RFXComHumidityMessage(packet);
+            case TEMPERATURE_HUMIDITY:
+                return new RFXComTemperatureHumidityMessage(packet);
+            case TEMPERATURE_HUMIDITY_BAROMETRIC:
+                return new RFXComTemperatureHumidityBarometricMessage(packet);
+            case RAIN:
+                return new RFXComRainMessage(packet);
+            case WIND:
+                return new RFXComWindMessage(packet);
+            case DATE_TIME:
+                return new RFXComDateTimeMessage(packet);
+            case ENERGY:
+                return new RFXComEnergyMessage(packet);
+            case CURRENT_ENERGY:
+                return new RFXComCurrentEnergyMessage(packet);
+            default:
+                throw new RFXComMessageNotImplementedException("Message " + packetType + " not implemented");
+        }
+    }
+
     public static PacketType convertPacketType(String packetType) throws IllegalArgumentException {
 
         for (PacketType p : PacketType.values()) {
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.russound.internal.net;
+
+/**
+ * Statistics about the responses dispatched to a single {@link SocketSessionListener}. The latency is the time the
+ * listener took to process a response.
+ *
+ * @author agent
+ */
+public class DispatchStatistics {
+    /**
+     * The number of responses dispatched to the listener
+     */
+    private long _count;
+
+    /**
+     * The total time (in nanoseconds) the listener took to process the responses
+     */
+    private long _totalLatency;
+
+    /**
+     * The maximum time (in nanoseconds) the listener took to process a single response
+     */
+    private long _maxLatency;
+
+    /**
+     * Records a response dispatched to the listener
+     *
+     * @param latency the time (in nanoseconds) the listener took to process the response
+     */
+    synchronized void record(long latency) {
+        _count++;
+        _totalLatency += latency;
+        if (latency > _maxLatency) {
+            _maxLatency = latency;
+        }
+    }
+
+    /**
+     * Returns the number of responses dispatched to the listener
+     *
+     * @return the number of responses
+     */
+    public synchronized long getCount() {
+        return _count;
+    }
+
+    /**
+     * Returns the average time (in microseconds) the listener took to process a response
+     *
+     * @return the average latency in microseconds
+     */
+    public synchronized long getAverageLatency() {
+        return _count == 0 ? 0 : _totalLatency / _count / 1000;
+    }
+
+    /**
+     * Returns the maximum time (in microseconds) the listener took to process a response
+     *
+     * @return the maximum latency in microseconds
+     */
+    public synchronized long getMaxLatency() {
+        return _maxLatency / 1000;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "count = " + _count + ", average latency = " + getAverageLatency() + "us, max latency = "
+                + getMaxLatency() + "us";
+    }
+}
@@ -13,9 +13,12 @@ import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousCloseException;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +32,9 @@ import org.slf4j.LoggerFactory;
  * Represents a restartable socket connection to the underlying telnet session. Commands can be sent via
  * {@link #sendCommand(String)} and responses will be received on any {@link SocketSessionListener}. This implementation
  * of {@link SocketSession} communicates using a {@link SocketChannel} connection.
+ * <p>
+ * The address of a response (like "C[1].Z[2]" in 'N C[1].Z[2].volume="10"') is parsed once and the response is only
+ * dispatched to the listeners added for that address and to the listeners added without an address.
  *
  * @author Tim Roberts
  */
@@ -66,10 +72,20 @@ public class SocketChannelSession implements SocketSession {
     private final Dispatcher _dispatcher = new Dispatcher();
 
     /**
-     * The {@link SocketSessionListener} that the {@link #_dispatcher} will call
+     * The {@link SocketSessionListener} that the {@link #_dispatcher} will call for all responses
      */
     private List<SocketSessionListener> _listeners = new CopyOnWriteArrayList<SocketSessionListener>();
 
+    /**
+     * The {@link SocketSessionListener} that the {@link #_dispatcher} will call for the responses of an address
+     */
+    private final Map<String, List<SocketSessionListener>> _addressListeners = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link DispatchStatistics} of each {@link SocketSessionListener}
+     */
+    private final Map<SocketSessionListener, DispatchStatistics> _statistics = new ConcurrentHashMap<>();
+
     /**
      * Creates the socket session from the given host and port
      *
@@ -101,6 +117,42 @@ public class SocketChannelSession implements SocketSession {
             throw new IllegalArgumentException("listener cannot be null");
         }
         _listeners.add(listener);
+        _statistics.put(listener, new DispatchStatistics());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.openhab.binding.russound.internal.net.SocketSession#addListener(java.lang.String,
+     * org.openhab.binding.russound.internal.net.SocketSessionListener)
+     */
+    @Override
+    public synchronized void addListener(String address, SocketSessionListener listener) {
+        if (address == null || address.trim().length() == 0) {
+            throw new IllegalArgumentException("address cannot be null or empty");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null");
+        }
+        List<SocketSessionListener> listeners = _addressListeners.get(address);
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<SocketSessionListener>();
+            _addressListeners.put(address, listeners);
+        }
+        listeners.add(listener);
+        _statistics.put(listener, new DispatchStatistics());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * org.openhab.binding.russound.internal.net.SocketSession#getDispatchStatistics(org.openhab.binding.russound.
+     * internal.net.SocketSessionListener)
+     */
+    @Override
+    public DispatchStatistics getDispatchStatistics(SocketSessionListener listener) {
+        return _statistics.get(listener);
     }
 
     /*
@@ -109,8 +161,10 @@ public class SocketChannelSession implements SocketSession {
      * @see org.openhab.binding.russound.internal.net.SocketSession#clearListeners()
      */
     @Override
-    public void clearListeners() {
+    public synchronized void clearListeners() {
         _listeners.clear();
+        _addressListeners.clear();
+        _statistics.clear();
     }
 
     /*
@@ -121,8 +175,92 @@ public class SocketChannelSession implements SocketSession {
      * SocketSessionListener)
      */
     @Override
-    public boolean removeListener(SocketSessionListener listener) {
-        return _listeners.remove(listener);
+    public synchronized boolean removeListener(SocketSessionListener listener) {
+        boolean removed = _listeners.remove(listener);
+        for (List<SocketSessionListener> listeners : _addressListeners.values()) {
+            removed |= listeners.remove(listener);
+        }
+        final DispatchStatistics statistics = _statistics.remove(listener);
+        if (removed && statistics != null) {
+            _logger.debug("Removed listener {}: {}", listener, statistics);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the address of the response. The address is the part between the response type and the last '.' before
+     * the key name (like "C[1].Z[2]" in 'N C[1].Z[2].volume="10"'). Responses without an address (like 'S VERSION="1"'
+     * or 'E ...') return null.
+     *
+     * @param response a non-null response
+     * @return the address or null if the response has no address
+     */
+    private static String getAddress(String response) {
+        if (response.length() < 3 || response.charAt(1) != ' ') {
+            return null;
+        }
+        final char type = response.charAt(0);
+        if (type != 'S' && type != 'N') {
+            return null;
+        }
+        int end = response.indexOf('=', 2);
+        if (end < 0) {
+            end = response.length();
+        }
+        final int dot = response.lastIndexOf('.', end);
+        if (dot <= 2) {
+            return null;
+        }
+        return response.substring(2, dot);
+    }
+
+    /**
+     * Returns the listeners of the response - the listeners added for its address and the listeners added without an
+     * address.
+     *
+     * @param response a non-null response
+     * @return a non-null, possibly empty list of listeners
+     */
+    private List<SocketSessionListener> getListeners(String response) {
+        final String address = getAddress(response);
+        final List<SocketSessionListener> addressListeners = address == null ? null : _addressListeners.get(address);
+        if (addressListeners == null || addressListeners.isEmpty()) {
+            return _listeners;
+        }
+        final List<SocketSessionListener> listeners = new ArrayList<SocketSessionListener>(_listeners);
+        listeners.addAll(addressListeners);
+        return listeners;
+    }
+
+    /**
+     * Returns all listeners, whether added with or without an address
+     *
+     * @return a non-null, possibly empty list of listeners
+     */
+    private List<SocketSessionListener> getAllListeners() {
+        final List<SocketSessionListener> listeners = new ArrayList<SocketSessionListener>(_listeners);
+        for (List<SocketSessionListener> addressListeners : _addressListeners.values()) {
+            listeners.addAll(addressListeners);
+        }
+        return listeners;
+    }
+
+    /**
+     * Calls the listener with the response and records the time it took in the listener's {@link DispatchStatistics}
+     *
+     * @param listener a non-null listener
+     * @param response a non-null response
+     */
+    private void dispatch(SocketSessionListener listener, String response) {
+        final long start = System.nanoTime();
+        try {
+            listener.responseReceived(response);
+        } finally {
+            final DispatchStatistics statistics = _statistics.get(listener);
+            if (statistics != null) {
+                statistics.record(System.nanoTime() - start);
+            }
+        }
     }
 
     /*
@@ -214,6 +352,45 @@ public class SocketChannelSession implements SocketSession {
         }
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.openhab.binding.russound.internal.net.SocketSession#sendCommands(java.util.List)
+     */
+    @Override
+    public synchronized void sendCommands(List<String> commands) throws IOException {
+        if (commands == null) {
+            throw new IllegalArgumentException("commands cannot be null");
+        }
+
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        if (!isConnected()) {
+            throw new IOException("Cannot send messages - disconnected");
+        }
+
+        final StringBuilder sb = new StringBuilder(commands.size() * 32);
+        for (String command : commands) {
+            if (command == null) {
+                throw new IllegalArgumentException("command cannot be null");
+            }
+            sb.append(command).append("\r\n");
+        }
+        ByteBuffer toSend = ByteBuffer.wrap(sb.toString().getBytes());
+
+        final SocketChannel channel = _socketChannel.get();
+        if (channel == null) {
+            _logger.debug("Cannot send {} commands - socket channel was closed", commands.size());
+        } else {
+            _logger.debug("Sending {} Commands: {}", commands.size(), commands);
+            while (toSend.hasRemaining()) {
+                channel.write(toSend);
+            }
+        }
+    }
+
     /**
      * This is the runnable that will read from the socket and add messages to the responses queue (to be processed by
      * the dispatcher)
@@ -373,10 +550,8 @@ public class SocketChannelSession implements SocketSession {
             _isRunning.set(true);
             while (_isRunning.get()) {
                 try {
-                    final SocketSessionListener[] listeners = _listeners.toArray(new SocketSessionListener[0]);
-
                     // if no listeners, we don't want to start dispatching yet.
-                    if (listeners.length == 0) {
+                    if (_statistics.isEmpty()) {
                         Thread.sleep(250);
                         continue;
                     }
@@ -389,8 +564,8 @@ public class SocketChannelSession implements SocketSession {
                                 _logger.debug("Dispatching response: {}", response);
                                 try {
                                     _isProcessing.set(true);
-                                    for (SocketSessionListener listener : listeners) {
-                                        listener.responseReceived((String) response);
+                                    for (SocketSessionListener listener : getListeners((String) response)) {
+                                        dispatch(listener, (String) response);
                                     }
                                 } finally {
                                     _isProcessing.set(false);
@@ -402,7 +577,7 @@ public class SocketChannelSession implements SocketSession {
                             _logger.debug("Dispatching exception: {}", response);
                             try {
                                 _isProcessing.set(true);
-                                for (SocketSessionListener listener : listeners) {
+                                for (SocketSessionListener listener : getAllListeners()) {
                                     listener.responseException((Exception) response);
                                 }
                             } finally {
@@ -9,6 +9,7 @@
 package org.openhab.binding.russound.internal.net;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * This is a socket session interface that defines the contract for a socket session. A socket session will initiate
@@ -26,11 +27,28 @@ public interface SocketSession {
      */
     void addListener(SocketSessionListener listener);
 
+    /**
+     * Adds a {@link SocketSessionListener} that will only receive the responses for the specified address (like
+     * "C[1].Z[2]" or "S[3]") and all exceptions
+     *
+     * @param address a non-null, non-empty address
+     * @param listener a non-null {@link SocketSessionListener} to use
+     */
+    void addListener(String address, SocketSessionListener listener);
+
     /**
      * Clears all listeners
      */
     void clearListeners();
 
+    /**
+     * Returns the statistics of the responses dispatched to the {@link SocketSessionListener}
+     *
+     * @param listener a non-null {@link SocketSessionListener}
+     * @return the {@link DispatchStatistics} or null if the listener has not been added
+     */
+    DispatchStatistics getDispatchStatistics(SocketSessionListener listener);
+
     /**
      * Removes a {@link SocketSessionListener} from this session
      *
@@ -73,4 +91,12 @@ public interface SocketSession {
      */
     void sendCommand(String command) throws IOException;
 
+    /**
+     * Sends the specified commands to the underlying socket in a single write
+     *
+     * @param commands a non-null list of non-null commands
+     * @throws java.io.IOException an exception that occurred while sending
+     */
+    void sendCommands(List<String> commands) throws IOException;
+
 }
\ No newline at end of file
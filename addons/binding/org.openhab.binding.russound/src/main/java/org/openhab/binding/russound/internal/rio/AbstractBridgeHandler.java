@@ -76,6 +76,21 @@ public abstract class AbstractBridgeHandler<E extends AbstractRioProtocol> exten
         return null;
     }
 
+    /**
+     * Returns the {@link RioRefreshPlanner} shared by all handlers of the connection. The default implementation is
+     * to look in the parent {@link #getBridge()} for the {@link RioRefreshPlanner}, the system handler owns it.
+     *
+     * @return a {@link RioRefreshPlanner} or null if none exists
+     */
+    @SuppressWarnings("rawtypes")
+    public RioRefreshPlanner getRefreshPlanner() {
+        final Bridge bridge = getBridge();
+        if (bridge != null && bridge.getHandler() instanceof AbstractBridgeHandler) {
+            return ((AbstractBridgeHandler) bridge.getHandler()).getRefreshPlanner();
+        }
+        return null;
+    }
+
     /**
      * Overrides the base to initialize or dispose the handler based on the parent bridge status changing. If offline,
      * {@link #dispose()} will be called instead. We then try to reinitialize ourselves when the bridge goes back online
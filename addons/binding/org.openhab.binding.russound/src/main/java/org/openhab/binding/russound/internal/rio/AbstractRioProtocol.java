@@ -35,6 +35,11 @@ public abstract class AbstractRioProtocol implements SocketSessionListener {
      */
     private final RioHandlerCallback _callback;
 
+    /**
+     * The {@link RioRefreshPlanner} used to refresh keys - may be null to send the GET commands directly
+     */
+    private final RioRefreshPlanner _refreshPlanner;
+
     /**
      * Constructs the protocol handler from given parameters and will add this handler as a
      * {@link SocketSessionListener} to the specified {@link SocketSession} via
@@ -44,6 +49,33 @@ public abstract class AbstractRioProtocol implements SocketSessionListener {
      * @param callback a non-null {@link RioHandlerCallback} to update state and status
      */
     protected AbstractRioProtocol(SocketSession session, RioHandlerCallback callback) {
+        this(session, null, null, callback);
+    }
+
+    /**
+     * Constructs the protocol handler from given parameters and will add this handler as a
+     * {@link SocketSessionListener} for the responses of the address to the specified {@link SocketSession} via
+     * {@link SocketSession#addListener(String, SocketSessionListener)}
+     *
+     * @param session a non-null {@link SocketSession} (may be connected or disconnected)
+     * @param address the address (like "C[1].Z[2]") of the responses to receive or null to receive all responses
+     * @param callback a non-null {@link RioHandlerCallback} to update state and status
+     */
+    protected AbstractRioProtocol(SocketSession session, String address, RioHandlerCallback callback) {
+        this(session, address, null, callback);
+    }
+
+    /**
+     * Constructs the protocol handler like {@link #AbstractRioProtocol(SocketSession, String, RioHandlerCallback)}
+     * and will use the {@link RioRefreshPlanner} for refreshes via {@link #refreshKey(String)}
+     *
+     * @param session a non-null {@link SocketSession} (may be connected or disconnected)
+     * @param address the address (like "C[1].Z[2]") of the responses to receive or null to receive all responses
+     * @param refreshPlanner a possibly null {@link RioRefreshPlanner}
+     * @param callback a non-null {@link RioHandlerCallback} to update state and status
+     */
+    protected AbstractRioProtocol(SocketSession session, String address, RioRefreshPlanner refreshPlanner,
+            RioHandlerCallback callback) {
 
         if (session == null) {
             throw new IllegalArgumentException("session cannot be null");
@@ -54,8 +86,13 @@ public abstract class AbstractRioProtocol implements SocketSessionListener {
         }
 
         _session = session;
-        _session.addListener(this);
+        if (address == null) {
+            _session.addListener(this);
+        } else {
+            _session.addListener(address, this);
+        }
         _callback = callback;
+        _refreshPlanner = refreshPlanner;
     }
 
     /**
@@ -75,6 +112,33 @@ public abstract class AbstractRioProtocol implements SocketSessionListener {
         }
     }
 
+    /**
+     * Refreshes the key (like "C[1].Z[2].volume") via the {@link RioRefreshPlanner} or, if there is none, by sending
+     * the GET command directly
+     *
+     * @param key a non-null, non-empty key
+     */
+    protected void refreshKey(String key) {
+        if (_refreshPlanner == null) {
+            sendCommand("GET " + key);
+        } else {
+            _refreshPlanner.refresh(key, this);
+        }
+    }
+
+    /**
+     * Turns on/off watching the address (like "C[1].Z[2]") and lets the {@link RioRefreshPlanner} know about it
+     *
+     * @param address a non-null, non-empty address
+     * @param watch true to turn on, false to turn off
+     */
+    protected void watchAddress(String address, boolean watch) {
+        if (_refreshPlanner != null) {
+            _refreshPlanner.setWatched(address, watch);
+        }
+        sendCommand("WATCH " + address + " " + (watch ? "ON" : "OFF"));
+    }
+
     /**
      * Updates the state via the {@link RioHandlerCallback#stateChanged(String, State)}
      *
@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.russound.internal.rio;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.russound.internal.net.SocketSession;
+import org.openhab.binding.russound.internal.net.SocketSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plans the refreshes (GET commands) of all protocol handlers sharing a {@link SocketSession}. Refresh requests are
+ * queued and sent in batches (many GET commands in one write), limited to the configured number of commands per
+ * second. A key that is already queued or waiting for its response is not requested again. A key of an address that
+ * is watched (WATCH ... ON) and whose value has already been notified will not be requested at all - the last
+ * notification is simply passed to the requesting {@link SocketSessionListener} again.
+ *
+ * @author agent
+ */
+public class RioRefreshPlanner implements SocketSessionListener {
+    // logger
+    private final Logger logger = LoggerFactory.getLogger(RioRefreshPlanner.class);
+
+    /**
+     * The interval (in milliseconds) between the writes of the queued commands
+     */
+    private static final int FLUSH_INTERVAL = 100;
+
+    /**
+     * The time (in milliseconds) after which a key without response may be requested again
+     */
+    private static final int RESPONSE_TIMEOUT = 10000;
+
+    /**
+     * The {@link SocketSession} to send the commands to
+     */
+    private final SocketSession _session;
+
+    /**
+     * The scheduler used to write the queued commands
+     */
+    private final ScheduledExecutorService _scheduler;
+
+    /**
+     * The maximum number of commands written per {@link #FLUSH_INTERVAL}
+     */
+    private final int _batchSize;
+
+    /**
+     * The keys waiting to be requested (in order of the requests)
+     */
+    private final Set<String> _queued = new LinkedHashSet<String>();
+
+    /**
+     * The keys that have been requested but not yet answered, with the time of the request
+     */
+    private final Map<String, Long> _outstanding = new HashMap<String, Long>();
+
+    /**
+     * The addresses currently watched
+     */
+    private final Set<String> _watched = new HashSet<String>();
+
+    /**
+     * The last response for each key of a watched address
+     */
+    private final Map<String, String> _watchedResponses = new HashMap<String, String>();
+
+    /**
+     * The job writing the queued commands - will be null if nothing is queued
+     */
+    private ScheduledFuture<?> _flushJob;
+
+    /**
+     * Constructs the planner and adds it as a {@link SocketSessionListener} to the session
+     *
+     * @param session a non-null {@link SocketSession}
+     * @param scheduler a non-null {@link ScheduledExecutorService}
+     * @param commandRate the maximum number of commands per second (> 0)
+     */
+    public RioRefreshPlanner(SocketSession session, ScheduledExecutorService scheduler, int commandRate) {
+        if (session == null) {
+            throw new IllegalArgumentException("session cannot be null");
+        }
+        if (scheduler == null) {
+            throw new IllegalArgumentException("scheduler cannot be null");
+        }
+        if (commandRate < 1) {
+            throw new IllegalArgumentException("commandRate must be greater than 0: " + commandRate);
+        }
+        _session = session;
+        _scheduler = scheduler;
+        _batchSize = Math.max(1, commandRate * FLUSH_INTERVAL / 1000);
+        _session.addListener(this);
+    }
+
+    /**
+     * Requests a refresh of the key (like "C[1].Z[2].volume"). If the key's address is watched and the key has already
+     * been notified, the last notification is passed to the listener. Otherwise a GET command will be queued, unless
+     * the key is already queued or waiting for its response.
+     *
+     * @param key a non-null, non-empty key
+     * @param listener a non-null {@link SocketSessionListener} to pass the last notification to
+     */
+    public void refresh(String key, SocketSessionListener listener) {
+        if (key == null || key.trim().length() == 0) {
+            throw new IllegalArgumentException("key cannot be null or empty");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null");
+        }
+
+        final String response;
+        synchronized (this) {
+            response = _watchedResponses.get(key);
+            if (response == null) {
+                final Long requested = _outstanding.get(key);
+                if (requested != null && System.currentTimeMillis() - requested < RESPONSE_TIMEOUT) {
+                    logger.trace("Refresh of {} is already outstanding", key);
+                    return;
+                }
+                if (_queued.add(key)) {
+                    scheduleFlush();
+                }
+                return;
+            }
+        }
+
+        logger.trace("Refresh of {} answered by the last watch notification", key);
+        listener.responseReceived(response);
+    }
+
+    /**
+     * Records whether the address (like "C[1].Z[2]") is watched. The handler must still send the WATCH command itself.
+     *
+     * @param address a non-null, non-empty address
+     * @param watch true if watched, false otherwise
+     */
+    public synchronized void setWatched(String address, boolean watch) {
+        if (address == null || address.trim().length() == 0) {
+            throw new IllegalArgumentException("address cannot be null or empty");
+        }
+        if (watch) {
+            _watched.add(address);
+        } else {
+            _watched.remove(address);
+            for (Iterator<String> it = _watchedResponses.keySet().iterator(); it.hasNext();) {
+                if (address.equals(getAddress(it.next()))) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys queued or waiting for their response
+     *
+     * @return the number of pending keys
+     */
+    public synchronized int getPendingCount() {
+        return _queued.size() + _outstanding.size();
+    }
+
+    /**
+     * Clears all queued and outstanding keys and all watched addresses (used when the session disconnects)
+     */
+    public synchronized void clear() {
+        _queued.clear();
+        _outstanding.clear();
+        _watched.clear();
+        _watchedResponses.clear();
+        if (_flushJob != null) {
+            _flushJob.cancel(false);
+            _flushJob = null;
+        }
+    }
+
+    /**
+     * Disposes of the planner by clearing it and removing it from the session
+     */
+    public void dispose() {
+        clear();
+        _session.removeListener(this);
+    }
+
+    /**
+     * Implements {@link SocketSessionListener#responseReceived(String)} to complete the outstanding key of the response
+     * and to remember the responses of the watched addresses
+     *
+     * @param response a possibly null, possibly empty response
+     */
+    @Override
+    public void responseReceived(String response) {
+        if (response == null || response.length() < 3 || response.charAt(1) != ' ') {
+            return;
+        }
+        final char type = response.charAt(0);
+        if (type != 'S' && type != 'N') {
+            return;
+        }
+        final int eq = response.indexOf('=', 2);
+        if (eq < 0) {
+            return;
+        }
+        final String key = response.substring(2, eq);
+
+        synchronized (this) {
+            _outstanding.remove(key);
+            if (_watched.contains(getAddress(key))) {
+                _watchedResponses.put(key, response);
+            }
+        }
+    }
+
+    /**
+     * Implements {@link SocketSessionListener#responseException(Exception)} to clear the planner
+     *
+     * @param e the exception
+     */
+    @Override
+    public void responseException(Exception e) {
+        clear();
+    }
+
+    /**
+     * Schedules the writing of the queued keys (if not already scheduled)
+     */
+    private void scheduleFlush() {
+        if (_flushJob == null) {
+            _flushJob = _scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, 0, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes up to {@link #_batchSize} queued keys as GET commands in one write. Cancels the {@link #_flushJob} once the
+     * queue is empty.
+     */
+    private void flush() {
+        final List<String> commands = new ArrayList<String>(_batchSize);
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            for (Iterator<String> it = _queued.iterator(); it.hasNext() && commands.size() < _batchSize;) {
+                final String key = it.next();
+                it.remove();
+                _outstanding.put(key, now);
+                commands.add("GET " + key);
+            }
+
+            for (Iterator<Long> it = _outstanding.values().iterator(); it.hasNext();) {
+                if (now - it.next() >= RESPONSE_TIMEOUT) {
+                    it.remove();
+                }
+            }
+
+            if (_queued.isEmpty() && _flushJob != null) {
+                _flushJob.cancel(false);
+                _flushJob = null;
+            }
+        }
+
+        if (!commands.isEmpty()) {
+            try {
+                _session.sendCommands(commands);
+            } catch (IOException e) {
+                logger.debug("Exception sending refresh commands: {}", e.getMessage());
+                clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the address part of the key ("C[1].Z[2]" for "C[1].Z[2].volume")
+     *
+     * @param key a non-null key
+     * @return the address or an empty string if the key has no address
+     */
+    private static String getAddress(String key) {
+        final int dot = key.lastIndexOf('.');
+        return dot < 0 ? "" : key.substring(0, dot);
+    }
+}
@@ -56,7 +56,7 @@ class RioBankProtocol extends AbstractRioProtocol {
      * @param callback a non-null {@link RioHandlerCallback} to callback
      */
     RioBankProtocol(int bank, int source, SocketSession session, RioHandlerCallback callback) {
-        super(session, callback);
+        super(session, "S[" + source + "].B[" + bank + "]", callback);
         _bank = bank;
         _source = source;
     }
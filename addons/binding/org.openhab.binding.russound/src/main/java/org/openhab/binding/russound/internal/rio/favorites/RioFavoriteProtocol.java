@@ -72,7 +72,8 @@ class RioFavoriteProtocol extends AbstractRioProtocol {
      * @param callback a non-null {@link RioHandlerCallback} to callback
      */
     RioFavoriteProtocol(int favorite, int zone, int controller, SocketSession session, RioHandlerCallback callback) {
-        super(session, callback);
+        super(session, controller <= 0 ? "System.favorite[" + favorite + "]"
+                : "C[" + controller + "].Z[" + zone + "].favorite[" + favorite + "]", callback);
         _favorite = favorite;
         _zone = zone;
         _controller = controller;
@@ -208,22 +208,23 @@ public class RioSourceHandler extends AbstractBridgeHandler<RioSourceProtocol> {
 
         try {
             setProtocolHandler(
-                    new RioSourceProtocol(_source, socketSession, new StatefulHandlerCallback(new RioHandlerCallback() {
-                        @Override
-                        public void statusChanged(ThingStatus status, ThingStatusDetail detail, String msg) {
-                            updateStatus(status, detail, msg);
-                        }
-
-                        @Override
-                        public void stateChanged(String channelId, State state) {
-                            updateState(channelId, state);
-                        }
-
-                        @Override
-                        public void setProperty(String propertyName, String propertyValue) {
-                            getThing().setProperty(propertyName, propertyValue);
-                        }
-                    })));
+                    new RioSourceProtocol(_source, socketSession, getRefreshPlanner(),
+                            new StatefulHandlerCallback(new RioHandlerCallback() {
+                                @Override
+                                public void statusChanged(ThingStatus status, ThingStatusDetail detail, String msg) {
+                                    updateStatus(status, detail, msg);
+                                }
+
+                                @Override
+                                public void stateChanged(String channelId, State state) {
+                                    updateState(channelId, state);
+                                }
+
+                                @Override
+                                public void setProperty(String propertyName, String propertyValue) {
+                                    getThing().setProperty(propertyName, propertyValue);
+                                }
+                            })));
 
             updateStatus(ThingStatus.ONLINE);
             getProtocolHandler().watchSource(true);
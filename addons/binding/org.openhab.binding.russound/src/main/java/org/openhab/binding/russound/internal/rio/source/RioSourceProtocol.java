@@ -24,6 +24,7 @@ import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioRefreshPlanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,11 +85,13 @@ class RioSourceProtocol extends AbstractRioProtocol {
      *
      * @param source the source identifier
      * @param session a non-null {@link SocketSession} (may be connected or disconnected)
+     * @param refreshPlanner a possibly null {@link RioRefreshPlanner} to refresh the source keys
      * @param callback a non-null {@link RioHandlerCallback} to callback
      * @throws Exception exception when starting the {@link HttpClient}
      */
-    RioSourceProtocol(int source, SocketSession session, RioHandlerCallback callback) throws Exception {
-        super(session, callback);
+    RioSourceProtocol(int source, SocketSession session, RioRefreshPlanner refreshPlanner,
+            RioHandlerCallback callback) throws Exception {
+        super(session, "S[" + source + "]", refreshPlanner, callback);
         if (source < 1 || source > 12) {
             throw new IllegalArgumentException("Source must be between 1-12: " + source);
         }
@@ -108,7 +111,7 @@ class RioSourceProtocol extends AbstractRioProtocol {
         if (keyName == null || keyName.trim().length() == 0) {
             throw new IllegalArgumentException("keyName cannot be null or empty");
         }
-        sendCommand("GET S[" + _source + "]." + keyName);
+        refreshKey("S[" + _source + "]." + keyName);
     }
 
     /**
@@ -271,7 +274,7 @@ class RioSourceProtocol extends AbstractRioProtocol {
      * @param watch true to turn on, false to turn off
      */
     void watchSource(boolean watch) {
-        sendCommand("WATCH S[" + _source + "] " + (watch ? "ON" : "OFF"));
+        watchAddress("S[" + _source + "]", watch);
     }
 
     private void handleCoverArt(String url) {
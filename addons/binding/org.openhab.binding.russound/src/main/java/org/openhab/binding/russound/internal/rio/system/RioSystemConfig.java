@@ -30,6 +30,11 @@ public class RioSystemConfig {
      */
     private int retryPolling;
 
+    /**
+     * The maximum number of commands per second sent to refresh keys
+     */
+    private int commandRate = 20;
+
     /**
      * Returns the IP address or host name
      *
@@ -83,4 +88,22 @@ public class RioSystemConfig {
     public void setPing(int ping) {
         this.ping = ping;
     }
+
+    /**
+     * Gets the maximum number of commands per second sent to refresh keys
+     *
+     * @return the maximum number of commands per second (always > 0)
+     */
+    public int getCommandRate() {
+        return commandRate < 1 ? 20 : commandRate;
+    }
+
+    /**
+     * Sets the maximum number of commands per second sent to refresh keys
+     *
+     * @param commandRate the maximum number of commands per second
+     */
+    public void setCommandRate(int commandRate) {
+        this.commandRate = commandRate;
+    }
 }
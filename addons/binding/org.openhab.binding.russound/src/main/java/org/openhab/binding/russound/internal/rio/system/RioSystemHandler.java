@@ -27,6 +27,7 @@ import org.openhab.binding.russound.internal.net.SocketSession;
 import org.openhab.binding.russound.internal.rio.AbstractBridgeHandler;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioRefreshPlanner;
 import org.openhab.binding.russound.internal.rio.StatefulHandlerCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +53,11 @@ public class RioSystemHandler extends AbstractBridgeHandler<RioSystemProtocol> {
      */
     private SocketSession _session;
 
+    /**
+     * The {@link RioRefreshPlanner} for all refreshes on the {@link #_session}. Will be null if not initialized.
+     */
+    private RioRefreshPlanner _refreshPlanner;
+
     /**
      * The retry connection event - will only be created when we are retrying the connection attempt
      */
@@ -81,6 +87,16 @@ public class RioSystemHandler extends AbstractBridgeHandler<RioSystemProtocol> {
         return _session;
     }
 
+    /**
+     * Overrides the base method since we are the source of the {@link RioRefreshPlanner}.
+     *
+     * @return the {@link RioRefreshPlanner} once initialized. Null if not initialized or disposed of
+     */
+    @Override
+    public RioRefreshPlanner getRefreshPlanner() {
+        return _refreshPlanner;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -172,6 +188,7 @@ public class RioSystemHandler extends AbstractBridgeHandler<RioSystemProtocol> {
         }
 
         _session = new SocketChannelSession(config.getIpAddress(), 9621);
+        _refreshPlanner = new RioRefreshPlanner(_session, this.scheduler, config.getCommandRate());
 
         // Try initial connection in a scheduled task
         this.scheduler.schedule(new Runnable() {
@@ -305,6 +322,10 @@ public class RioSystemHandler extends AbstractBridgeHandler<RioSystemProtocol> {
             setProtocolHandler(null);
         }
 
+        if (_refreshPlanner != null) {
+            _refreshPlanner.clear();
+        }
+
         try {
             _session.disconnect();
         } catch (IOException e) {
@@ -312,6 +333,22 @@ public class RioSystemHandler extends AbstractBridgeHandler<RioSystemProtocol> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Disposes of the {@link #_refreshPlanner} after disconnecting, a new one is created on the next
+     * {@link #initialize()}
+     */
+    @Override
+    public void dispose() {
+        super.dispose();
+
+        if (_refreshPlanner != null) {
+            _refreshPlanner.dispose();
+            _refreshPlanner = null;
+        }
+    }
+
     /**
      * Simple gets the {@link RioSystemConfig} from the {@link Thing} and will set the status to offline if not
      * found.
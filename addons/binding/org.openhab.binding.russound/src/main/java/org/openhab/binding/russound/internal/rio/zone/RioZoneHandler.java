@@ -364,7 +364,7 @@ public class RioZoneHandler extends AbstractBridgeHandler<RioZoneProtocol> {
             return;
         }
 
-        setProtocolHandler(new RioZoneProtocol(_zone, _controller, socketSession,
+        setProtocolHandler(new RioZoneProtocol(_zone, _controller, socketSession, getRefreshPlanner(),
                 new StatefulHandlerCallback(new RioHandlerCallback() {
                     @Override
                     public void statusChanged(ThingStatus status, ThingStatusDetail detail, String msg) {
@@ -20,6 +20,7 @@ import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioRefreshPlanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,10 +74,12 @@ class RioZoneProtocol extends AbstractRioProtocol {
      * @param zone the zone identifier
      * @param controller the controller identifier
      * @param session a non-null {@link SocketSession} (may be connected or disconnected)
+     * @param refreshPlanner a possibly null {@link RioRefreshPlanner} to refresh the zone keys
      * @param callback a non-null {@link RioHandlerCallback} to callback
      */
-    RioZoneProtocol(int zone, int controller, SocketSession session, RioHandlerCallback callback) {
-        super(session, callback);
+    RioZoneProtocol(int zone, int controller, SocketSession session, RioRefreshPlanner refreshPlanner,
+            RioHandlerCallback callback) {
+        super(session, "C[" + controller + "].Z[" + zone + "]", refreshPlanner, callback);
 
         if (controller < 1 || controller > 6) {
             throw new IllegalArgumentException("Controller must be between 1-6: " + controller);
@@ -100,7 +103,7 @@ class RioZoneProtocol extends AbstractRioProtocol {
             throw new IllegalArgumentException("keyName cannot be null or empty");
         }
 
-        sendCommand("GET C[" + _controller + "].Z[" + _zone + "]." + keyname);
+        refreshKey("C[" + _controller + "].Z[" + _zone + "]." + keyname);
     }
 
     /**
@@ -228,7 +231,7 @@ class RioZoneProtocol extends AbstractRioProtocol {
      * @param on true to turn on, false to turn off
      */
     void watchZone(boolean watch) {
-        sendCommand("WATCH C[" + _controller + "].Z[" + _zone + "] " + (watch ? "ON" : "OFF"));
+        watchAddress("C[" + _controller + "].Z[" + _zone + "]", watch);
     }
 
     /**
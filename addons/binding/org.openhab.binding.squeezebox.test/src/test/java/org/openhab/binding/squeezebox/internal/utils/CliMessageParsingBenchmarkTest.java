@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.squeezebox.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays a session of player messages, as a Logitech Media Server sends them on its CLI to subscribed
+ * clients, through the parsing the server handler used before {@link CliMessageTokenizer} and through the
+ * tokenizer. Both must extract the same values from every message; the time per message of both is logged.
+ *
+ * @author agent
+ */
+public class CliMessageParsingBenchmarkTest {
+    private final Logger logger = LoggerFactory.getLogger(CliMessageParsingBenchmarkTest.class);
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 1000;
+
+    private static final String[] SESSION = {
+            "00%3A04%3A20%3A12%3A34%3A56 status - 1 subscribe%3A10 tags%3AyagJlN player_name%3AKitchen player_connected%3A1 player_ip%3A192.168.1.21%3A42231 power%3A1 signalstrength%3A0 mode%3Aplay time%3A12.4352929592133 rate%3A1 duration%3A262.4 can_seek%3A1 mixer%20volume%3A45 playlist%20repeat%3A0 playlist%20shuffle%3A0 playlist%20mode%3Aoff seq_no%3A0 playlist_cur_index%3A3 playlist_timestamp%3A1496421234.72811 playlist_tracks%3A12 digital_volume_control%3A1 playlist%20index%3A3 id%3A2431 title%3AMy%20Song%3A%20Live%20at%20the%20Paradiso artist%3AThe%20Band genre%3ARock album%3AGreatest%20Hits%20(Remastered) year%3A1994 artwork_track_id%3A8a2b7c1d coverid%3A8a2b7c1d",
+            "00%3A04%3A20%3A12%3A34%3A56 status - 1 subscribe%3A10 tags%3AyagJlN player_name%3AKitchen player_connected%3A1 player_ip%3A192.168.1.21%3A42231 power%3A1 signalstrength%3A0 mode%3Aplay time%3A22.4512361526489 rate%3A1 duration%3A262.4 can_seek%3A1 mixer%20volume%3A45 playlist%20repeat%3A0 playlist%20shuffle%3A0 playlist%20mode%3Aoff seq_no%3A0 playlist_cur_index%3A3 playlist_timestamp%3A1496421234.72811 playlist_tracks%3A12 digital_volume_control%3A1 playlist%20index%3A3 id%3A2431 title%3AMy%20Song%3A%20Live%20at%20the%20Paradiso artist%3AThe%20Band genre%3ARock album%3AGreatest%20Hits%20(Remastered) year%3A1994 artwork_track_id%3A8a2b7c1d coverid%3A8a2b7c1d",
+            "00%3A04%3A20%3A2a%3A11%3A07 status - 1 subscribe%3A10 tags%3AyagJlN player_name%3ALiving%20Room player_connected%3A1 player_ip%3A192.168.1.22%3A40918 power%3A1 signalstrength%3A72 mode%3Aplay remote%3A1 current_title%3ARadio%20Paradise time%3A1845.79617190361 rate%3A1 mixer%20volume%3A-30 playlist%20repeat%3A0 playlist%20shuffle%3A0 playlist%20mode%3Aoff seq_no%3A0 playlist_cur_index%3A0 playlist_timestamp%3A1496419012.11512 playlist_tracks%3A1 digital_volume_control%3A1 remoteMeta%3AHASH(0x9c71e38) playlist%20index%3A0 id%3A-160441928 title%3ARadio%20Paradise%20-%20DJ-mixed%20modern%20%26%20classic%20rock remote_title%3AIf%20I%20Had%20A%20Heart%20-%20Fever%20Ray genre%3AEclectic year%3A0 artwork_track_id%3A%20",
+            "00%3A04%3A20%3A2a%3A11%3A07 playlist newsong Radio%20Paradise 0",
+            "00%3A04%3A20%3A2a%3A11%3A07 prefset server volume 35",
+            "00%3A04%3A20%3A2a%3A11%3A07 mixer volume %2B5",
+            "00%3A04%3A20%3A2a%3A11%3A07 status - 1 subscribe%3A10 tags%3AyagJlN player_name%3ALiving%20Room player_connected%3A1 player_ip%3A192.168.1.22%3A40918 power%3A1 signalstrength%3A72 mode%3Aplay remote%3A1 current_title%3ARadio%20Paradise time%3A1855.8129620552 rate%3A1 mixer%20volume%3A35 playlist%20repeat%3A0 playlist%20shuffle%3A0 playlist%20mode%3Aoff seq_no%3A0 playlist_cur_index%3A0 playlist_timestamp%3A1496419012.11512 playlist_tracks%3A1 digital_volume_control%3A1 remoteMeta%3AHASH(0x9c71e38) playlist%20index%3A0 id%3A-160441928 title%3ARadio%20Paradise%20-%20DJ-mixed%20modern%20%26%20classic%20rock remote_title%3AIf%20I%20Had%20A%20Heart%20-%20Fever%20Ray genre%3AEclectic year%3A0 artwork_track_id%3A%20",
+            "b8%3A27%3Aeb%3A4c%3A9f%3A01 status - 1 subscribe%3A10 tags%3AyagJlN player_name%3ABedroom player_connected%3A1 player_ip%3A192.168.1.31%3A51877 power%3A0 signalstrength%3A0 mode%3Astop mixer%20volume%3A20 playlist%20repeat%3A2 playlist%20shuffle%3A1 playlist%20mode%3Aoff seq_no%3A0 playlist_cur_index%3A0 playlist_timestamp%3A1496400112.1927 playlist_tracks%3A0 digital_volume_control%3A1",
+            "b8%3A27%3Aeb%3A4c%3A9f%3A01 ir 768910ef 2491.31",
+            "b8%3A27%3Aeb%3A4c%3A9f%3A01 power 1",
+            "b8%3A27%3Aeb%3A4c%3A9f%3A01 prefset server power 1",
+            "b8%3A27%3Aeb%3A4c%3A9f%3A01 playlist pause 0",
+            "b8%3A27%3Aeb%3A4c%3A9f%3A01 status - 1 subscribe%3A10 tags%3AyagJlN player_name%3ABedroom player_connected%3A1 player_ip%3A192.168.1.31%3A51877 power%3A1 signalstrength%3A0 mode%3Aplay time%3A0.512 rate%3A1 duration%3A187.96 can_seek%3A1 mixer%20volume%3A20 playlist%20repeat%3A2 playlist%20shuffle%3A1 playlist%20mode%3Aoff seq_no%3A0 playlist_cur_index%3A0 playlist_timestamp%3A1496421390.2011 playlist_tracks%3A18 digital_volume_control%3A1 playlist%20index%3A0 id%3A977 title%3AClair%20de%20lune%2C%20L.%2032 artist%3AClaude%20Debussy genre%3AClassical album%3ASuite%20bergamasque year%3A2008 artwork_track_id%3A3fe0a6b2 coverid%3A3fe0a6b2",
+            "00%3A04%3A20%3A12%3A34%3A56 playlist pause 1",
+            "00%3A04%3A20%3A12%3A34%3A56 status - 1 subscribe%3A10 tags%3AyagJlN player_name%3AKitchen player_connected%3A1 player_ip%3A192.168.1.21%3A42231 power%3A1 signalstrength%3A0 mode%3Apause time%3A31.0051181316376 rate%3A1 duration%3A262.4 can_seek%3A1 mixer%20volume%3A45 playlist%20repeat%3A0 playlist%20shuffle%3A0 playlist%20mode%3Aoff seq_no%3A0 playlist_cur_index%3A3 playlist_timestamp%3A1496421234.72811 playlist_tracks%3A12 digital_volume_control%3A1 playlist%20index%3A3 id%3A2431 title%3AMy%20Song%3A%20Live%20at%20the%20Paradiso artist%3AThe%20Band genre%3ARock album%3AGreatest%20Hits%20(Remastered) year%3A1994 artwork_track_id%3A8a2b7c1d coverid%3A8a2b7c1d",
+            "00%3A04%3A20%3A12%3A34%3A56 menustatus menu add",
+            "00%3A04%3A20%3A12%3A34%3A56 playlist stop",
+            "00%3A04%3A20%3A12%3A34%3A56 button jump_rew", };
+
+    @Test
+    public void testSessionIsParsedAlike() throws Exception {
+        for (String message : SESSION) {
+            assertEquals(message, parseSplit(message), parseTokenized(message));
+        }
+
+        long splitTime = measure(false);
+        long tokenizedTime = measure(true);
+
+        logger.info("Parsed {} messages {} times: split {} ns, tokenized {} ns per message", SESSION.length, ROUNDS,
+                splitTime / (ROUNDS * SESSION.length), tokenizedTime / (ROUNDS * SESSION.length));
+    }
+
+    private long measure(boolean tokenized) throws Exception {
+        int fields = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            fields += parseSession(tokenized);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            fields += parseSession(tokenized);
+        }
+        long time = System.nanoTime() - start;
+
+        assertTrue(fields > 0);
+        return time;
+    }
+
+    private int parseSession(boolean tokenized) throws Exception {
+        int fields = 0;
+        for (String message : SESSION) {
+            fields += (tokenized ? parseTokenized(message) : parseSplit(message)).size();
+        }
+        return fields;
+    }
+
+    /**
+     * The fields the server handler used to take from a message, by splitting it and checking the prefix of
+     * each part
+     */
+    private Map<String, Object> parseSplit(String message) throws UnsupportedEncodingException {
+        Map<String, Object> fields = new HashMap<String, Object>();
+        String[] messageParts = message.split("\\s");
+        if (messageParts.length < 2) {
+            return fields;
+        }
+        fields.put("mac", decode(messageParts[0]));
+
+        String messageType = messageParts[1];
+        if (messageType.equals("status")) {
+            for (String messagePart : messageParts) {
+                if (messagePart.startsWith("power%3A")) {
+                    fields.put("power", messagePart.substring("power%3A".length()).matches("1"));
+                } else if (messagePart.startsWith("mixer%20volume%3A")) {
+                    fields.put("volume", parseInt(messagePart.substring("mixer%20volume%3A".length())));
+                } else if (messagePart.startsWith("mode%3A")) {
+                    fields.put("mode", messagePart.substring("mode%3A".length()));
+                } else if (messagePart.startsWith("time%3A")) {
+                    fields.put("time", parseInt(messagePart.substring("time%3A".length())));
+                } else if (messagePart.startsWith("playlist_cur_index%3A")) {
+                    fields.put("index", parseInt(messagePart.substring("playlist_cur_index%3A".length())));
+                } else if (messagePart.startsWith("playlist_tracks%3A")) {
+                    fields.put("tracks", parseInt(messagePart.substring("playlist_tracks%3A".length())));
+                } else if (messagePart.startsWith("playlist%20repeat%3A")) {
+                    fields.put("repeat", parseInt(messagePart.substring("playlist%20repeat%3A".length())));
+                } else if (messagePart.startsWith("playlist%20shuffle%3A")) {
+                    fields.put("shuffle", parseInt(messagePart.substring("playlist%20shuffle%3A".length())));
+                } else if (messagePart.startsWith("title%3A")) {
+                    fields.put("title", decode(messagePart.substring("title%3A".length())));
+                } else if (messagePart.startsWith("remote_title%3A")) {
+                    fields.put("remoteTitle", decode(messagePart.substring("remote_title%3A".length())));
+                } else if (messagePart.startsWith("artist%3A")) {
+                    fields.put("artist", decode(messagePart.substring("artist%3A".length())));
+                } else if (messagePart.startsWith("album%3A")) {
+                    fields.put("album", decode(messagePart.substring("album%3A".length())));
+                } else if (messagePart.startsWith("genre%3A")) {
+                    fields.put("genre", decode(messagePart.substring("genre%3A".length())));
+                } else if (messagePart.startsWith("year%3A")) {
+                    fields.put("year", decode(messagePart.substring("year%3A".length())));
+                } else if (messagePart.startsWith("artwork_track_id%3A")) {
+                    fields.put("coverArt", decode(messagePart.substring("artwork_track_id%3A".length())));
+                }
+            }
+        } else if (messageType.equals("playlist") && messageParts.length > 2) {
+            String action = messageParts[2];
+            if (action.equals("newsong")) {
+                fields.put("mode", "play");
+            } else if (action.equals("pause")) {
+                fields.put("mode", messageParts.length > 3 && messageParts[3].equals("0") ? "play" : "pause");
+            } else if (action.equals("stop")) {
+                fields.put("mode", "stop");
+            }
+        } else if (messageType.equals("prefset") && messageParts.length > 4 && messageParts[2].equals("server")) {
+            if (messageParts[3].equals("power")) {
+                fields.put("power", messageParts[4].equals("1"));
+            } else if (messageParts[3].equals("volume")) {
+                fields.put("volume", parseInt(messageParts[4]));
+            }
+        } else if (messageType.equals("ir") && messageParts.length > 2) {
+            fields.put("ir", messageParts[2]);
+        }
+        return fields;
+    }
+
+    /**
+     * The fields the server handler takes from a message with the {@link CliMessageTokenizer}
+     */
+    private Map<String, Object> parseTokenized(String message) {
+        Map<String, Object> fields = new HashMap<String, Object>();
+        CliMessageTokenizer tokenizer = new CliMessageTokenizer(message);
+        if (!tokenizer.next()) {
+            return fields;
+        }
+        String mac = tokenizer.getDecodedToken();
+        if (!tokenizer.next()) {
+            return fields;
+        }
+        fields.put("mac", mac);
+
+        switch (tokenizer.getToken()) {
+            case "status":
+                while (tokenizer.next()) {
+                    String key = tokenizer.getKey();
+                    if (key == null) {
+                        continue;
+                    }
+                    switch (key) {
+                        case "power":
+                            fields.put("power", "1".equals(tokenizer.getValue()));
+                            break;
+                        case "mixer%20volume":
+                            fields.put("volume", tokenizer.getIntValue());
+                            break;
+                        case "mode":
+                            fields.put("mode", tokenizer.getValue());
+                            break;
+                        case "time":
+                            fields.put("time", tokenizer.getIntValue());
+                            break;
+                        case "playlist_cur_index":
+                            fields.put("index", tokenizer.getIntValue());
+                            break;
+                        case "playlist_tracks":
+                            fields.put("tracks", tokenizer.getIntValue());
+                            break;
+                        case "playlist%20repeat":
+                            fields.put("repeat", tokenizer.getIntValue());
+                            break;
+                        case "playlist%20shuffle":
+                            fields.put("shuffle", tokenizer.getIntValue());
+                            break;
+                        case "title":
+                            fields.put("title", tokenizer.getValue());
+                            break;
+                        case "remote_title":
+                            fields.put("remoteTitle", tokenizer.getValue());
+                            break;
+                        case "artist":
+                            fields.put("artist", tokenizer.getValue());
+                            break;
+                        case "album":
+                            fields.put("album", tokenizer.getValue());
+                            break;
+                        case "genre":
+                            fields.put("genre", tokenizer.getValue());
+                            break;
+                        case "year":
+                            fields.put("year", tokenizer.getValue());
+                            break;
+                        case "artwork_track_id":
+                            fields.put("coverArt", tokenizer.getValue());
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                break;
+            case "playlist":
+                if (!tokenizer.next()) {
+                    break;
+                }
+                if (tokenizer.tokenEquals("newsong")) {
+                    fields.put("mode", "play");
+                } else if (tokenizer.tokenEquals("pause")) {
+                    fields.put("mode", tokenizer.next() && tokenizer.tokenEquals("0") ? "play" : "pause");
+                } else if (tokenizer.tokenEquals("stop")) {
+                    fields.put("mode", "stop");
+                }
+                break;
+            case "prefset":
+                if (!tokenizer.next() || !tokenizer.tokenEquals("server") || !tokenizer.next()) {
+                    break;
+                }
+                String function = tokenizer.getToken();
+                if (!tokenizer.next()) {
+                    break;
+                }
+                if (function.equals("power")) {
+                    fields.put("power", tokenizer.tokenEquals("1"));
+                } else if (function.equals("volume")) {
+                    fields.put("volume", tokenizer.getIntValue());
+                }
+                break;
+            case "ir":
+                if (tokenizer.next()) {
+                    fields.put("ir", tokenizer.getToken());
+                }
+                break;
+            default:
+                break;
+        }
+        return fields;
+    }
+
+    private int parseInt(String value) {
+        return (int) Double.parseDouble(value);
+    }
+
+    private String decode(String raw) throws UnsupportedEncodingException {
+        return URLDecoder.decode(raw, "UTF-8");
+    }
+}
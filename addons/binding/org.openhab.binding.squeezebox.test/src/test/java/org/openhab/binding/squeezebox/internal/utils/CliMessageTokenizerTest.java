@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.squeezebox.internal.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link CliMessageTokenizer}
+ *
+ * @author agent
+ */
+public class CliMessageTokenizerTest {
+
+    @Test
+    public void testTokens() {
+        CliMessageTokenizer tokenizer = new CliMessageTokenizer("  00%3A04%3A20%3A12%3A34%3A56 status   - 1 ");
+
+        assertTrue(tokenizer.next());
+        assertEquals("00%3A04%3A20%3A12%3A34%3A56", tokenizer.getToken());
+        assertEquals("00:04:20:12:34:56", tokenizer.getDecodedToken());
+        assertTrue(tokenizer.next());
+        assertTrue(tokenizer.tokenEquals("status"));
+        assertFalse(tokenizer.tokenEquals("stat"));
+        assertFalse(tokenizer.tokenEquals("statuses"));
+        assertTrue(tokenizer.next());
+        assertEquals("-", tokenizer.getToken());
+        assertTrue(tokenizer.next());
+        assertEquals("1", tokenizer.getToken());
+        assertFalse(tokenizer.next());
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    public void testEmptyMessage() {
+        assertFalse(new CliMessageTokenizer("").next());
+        assertFalse(new CliMessageTokenizer("   ").next());
+    }
+
+    @Test
+    public void testKeyValue() {
+        CliMessageTokenizer tokenizer = new CliMessageTokenizer("title%3AMy%20Song%3A%20Live mode%3Aplay playlist");
+
+        assertTrue(tokenizer.next());
+        assertEquals("title", tokenizer.getKey());
+        assertEquals("My Song: Live", tokenizer.getValue());
+        assertTrue(tokenizer.next());
+        assertEquals("mode", tokenizer.getKey());
+        assertEquals("play", tokenizer.getValue());
+        assertTrue(tokenizer.next());
+        assertNull(tokenizer.getKey());
+        assertEquals("playlist", tokenizer.getValue());
+    }
+
+    @Test
+    public void testSeparatorIsLimitedToToken() {
+        CliMessageTokenizer tokenizer = new CliMessageTokenizer("playlist index%3A3 a%3 A%3A");
+
+        assertTrue(tokenizer.next());
+        assertNull(tokenizer.getKey());
+        assertTrue(tokenizer.next());
+        assertEquals("index", tokenizer.getKey());
+        assertEquals(3, tokenizer.getIntValue());
+        assertTrue(tokenizer.next());
+        assertNull(tokenizer.getKey());
+        assertTrue(tokenizer.next());
+        assertEquals("A", tokenizer.getKey());
+        assertEquals("", tokenizer.getValue());
+    }
+
+    @Test
+    public void testIntValue() {
+        CliMessageTokenizer tokenizer = new CliMessageTokenizer(
+                "volume%3A50 time%3A12.75 time%3A-3.5 mixer%20volume%3A%2B7 duration%3A1e2 rate%3A+1");
+
+        assertTrue(tokenizer.next());
+        assertEquals(50, tokenizer.getIntValue());
+        assertTrue(tokenizer.next());
+        assertEquals(12, tokenizer.getIntValue());
+        assertTrue(tokenizer.next());
+        assertEquals(-3, tokenizer.getIntValue());
+        assertTrue(tokenizer.next());
+        assertEquals("mixer%20volume", tokenizer.getKey());
+        assertEquals(7, tokenizer.getIntValue());
+        assertTrue(tokenizer.next());
+        assertEquals(100, tokenizer.getIntValue());
+        assertTrue(tokenizer.next());
+        assertEquals(1, tokenizer.getIntValue());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testInvalidIntValue() {
+        CliMessageTokenizer tokenizer = new CliMessageTokenizer("volume%3Aloud");
+
+        assertTrue(tokenizer.next());
+        tokenizer.getIntValue();
+    }
+}
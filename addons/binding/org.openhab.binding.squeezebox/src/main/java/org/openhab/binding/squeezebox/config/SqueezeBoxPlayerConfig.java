@@ -16,4 +16,8 @@ package org.openhab.binding.squeezebox.config;
  */
 public class SqueezeBoxPlayerConfig {
 	public String mac;
+	/**
+	 * Interval in seconds between updates of the current playing time
+	 */
+	public int timeUpdateInterval = 1;
 }
@@ -92,6 +92,13 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
      */
     private int currentTime = 0;
 
+    /**
+     * Interval in seconds between updates of the current playing time, and
+     * the seconds passed since the last update
+     */
+    private int timeUpdateInterval = 1;
+    private int timeUpdateTicks = 0;
+
     /**
      * Our we playing something right now or not, need to keep current track
      * time
@@ -114,7 +121,9 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
 
     @Override
     public void initialize() {
-        mac = getConfig().as(SqueezeBoxPlayerConfig.class).mac;
+        SqueezeBoxPlayerConfig config = getConfig().as(SqueezeBoxPlayerConfig.class);
+        mac = config.mac;
+        timeUpdateInterval = Math.max(1, config.timeUpdateInterval);
         timeCounter();
         updateBridgeStatus();
     }
@@ -129,6 +138,7 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
         if (bridgeStatus == ThingStatus.ONLINE && getThing().getStatus() != ThingStatus.ONLINE) {
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
             squeezeBoxServerHandler = (SqueezeBoxServerHandler) getBridge().getHandler();
+            squeezeBoxServerHandler.registerPlayerHandler(mac, this);
         } else if (bridgeStatus == ThingStatus.OFFLINE) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.BRIDGE_OFFLINE);
         }
@@ -143,6 +153,7 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
         }
 
         if (squeezeBoxServerHandler != null) {
+            squeezeBoxServerHandler.unregisterPlayerHandler(mac, this);
             squeezeBoxServerHandler.removePlayerCache(mac);
         }
         logger.debug("player thing {} disposed.", getThing().getUID());
@@ -314,9 +325,10 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
 
     @Override
     public void currentPlayingTimeEvent(String mac, int time) {
-        updateChannel(mac, CHANNEL_CURRENT_PLAYING_TIME, new DecimalType(time));
         if (isMe(mac)) {
             currentTime = time;
+            // while playing, the time counter takes care of regular updates
+            updatePlayingTime(time, !playing);
         }
     }
 
@@ -507,7 +519,7 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
             @Override
             public void run() {
                 if (playing) {
-                    updateChannel(mac, CHANNEL_CURRENT_PLAYING_TIME, new DecimalType(currentTime++));
+                    updatePlayingTime(currentTime++, false);
                 }
             }
         };
@@ -515,6 +527,18 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
         timeCounterJob = scheduler.scheduleAtFixedRate(runnable, 0, 1, TimeUnit.SECONDS);
     }
 
+    /**
+     * Updates the current playing time channel once per time update interval,
+     * unless forced
+     */
+    private synchronized void updatePlayingTime(int time, boolean force) {
+        timeUpdateTicks++;
+        if (force || timeUpdateTicks >= timeUpdateInterval) {
+            timeUpdateTicks = 0;
+            updateChannel(mac, CHANNEL_CURRENT_PLAYING_TIME, new DecimalType(time));
+        }
+    }
+
     private boolean isMe(String mac) {
         return mac.equals(this.mac);
     }
@@ -19,26 +19,25 @@ import java.io.UnsupportedEncodingException;
 import java.net.Socket;
 import java.net.URLDecoder;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
-import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
-import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.squeezebox.config.SqueezeBoxServerConfig;
+import org.openhab.binding.squeezebox.internal.utils.CliMessageTokenizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +69,10 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             .synchronizedList(new ArrayList<SqueezeBoxPlayerEventListener>());
     private Map<String, SqueezeBoxPlayer> players = Collections
             .synchronizedMap(new HashMap<String, SqueezeBoxPlayer>());
+    // player handlers by MAC address, so updates go straight to the player they are meant for
+    private Map<String, SqueezeBoxPlayerEventListener> playerHandlers = new ConcurrentHashMap<>();
+    // metadata last forwarded per player, so only changes are forwarded
+    private Map<String, PlayerStatusUpdate> playerMetadata = new ConcurrentHashMap<>();
     // client socket and listener thread
     private Socket clientSocket;
     private SqueezeServerListener listener;
@@ -343,6 +346,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             listener = null;
         }
         players.clear();
+        playerMetadata.clear();
         logger.trace("Squeeze Server connection stopped.");
     }
 
@@ -468,7 +472,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 if (!players.containsKey(macAddress)) {
                     players.put(macAddress, player);
 
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(macAddress, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.playerAdded(player);
@@ -482,270 +486,197 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void handlePlayerUpdate(String message) {
-            String[] messageParts = message.split("\\s");
-            if (messageParts.length < 2) {
+            CliMessageTokenizer tokenizer = new CliMessageTokenizer(message);
+            if (!tokenizer.next()) {
                 logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
                 return;
             }
 
-            final String mac = decode(messageParts[0]);
+            final String mac = tokenizer.getDecodedToken();
+
+            if (!tokenizer.next()) {
+                logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
+                return;
+            }
 
             // get the message type
-            String messageType = messageParts[1];
-
-            if (messageType.equals("status")) {
-                handleStatusMessage(mac, messageParts);
-            } else if (messageType.equals("playlist")) {
-                handlePlaylistMessage(mac, messageParts);
-            } else if (messageType.equals("prefset")) {
-                handlePrefsetMessage(mac, messageParts);
-            } else if (messageType.equals("ir")) {
-                final String ircode = messageParts[2];
-                updatePlayer(new PlayerUpdateEvent() {
-                    @Override
-                    public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                        listener.irCodeChangeEvent(mac, ircode);
+            String messageType = tokenizer.getToken();
+
+            switch (messageType) {
+                case "status":
+                    handleStatusMessage(mac, tokenizer);
+                    break;
+                case "playlist":
+                    handlePlaylistMessage(mac, tokenizer, message);
+                    break;
+                case "prefset":
+                    handlePrefsetMessage(mac, tokenizer);
+                    break;
+                case "ir":
+                    if (tokenizer.next()) {
+                        final String ircode = tokenizer.getToken();
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.irCodeChangeEvent(mac, ircode);
+                            }
+                        });
                     }
-                });
-            } else if (messageType.equals("power")) {
-                // ignore these for now
-                // player.setPowered(messageParts[1].equals("1"));
-            } else if (messageType.equals("play") || messageType.equals("pause") || messageType.equals("stop")) {
-                // ignore these for now
-                // player.setMode(Mode.valueOf(messageType));
-            } else if (messageType.equals("mixer") || messageType.equals("menustatus")
-                    || messageType.equals("button")) {
-                // ignore these for now
-            } else {
-                logger.trace("Unhandled player update message type '{}'.", messageType);
+                    break;
+                case "power":
+                    // ignore these for now
+                    // player.setPowered(messageParts[1].equals("1"));
+                    break;
+                case "play":
+                case "pause":
+                case "stop":
+                    // ignore these for now
+                    // player.setMode(Mode.valueOf(messageType));
+                    break;
+                case "mixer":
+                case "menustatus":
+                case "button":
+                    // ignore these for now
+                    break;
+                default:
+                    logger.trace("Unhandled player update message type '{}'.", messageType);
+                    break;
             }
         }
 
-        private void handleStatusMessage(final String mac, String[] messageParts) {
-            for (String messagePart : messageParts) {
-                // Parameter Power
-                if (messagePart.startsWith("power%3A")) {
-                    String value = messagePart.substring("power%3A".length());
-                    final boolean power = value.matches("1");
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.powerChangeEvent(mac, power);
-                        }
-                    });
-                }
-                // Parameter Volume
-                else if (messagePart.startsWith("mixer%20volume%3A")) {
-                    String value = messagePart.substring("mixer%20volume%3A".length());
-                    final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.volumeChangeEvent(mac, volume);
-                        }
-                    });
-                }
-                // Parameter Mode
-                else if (messagePart.startsWith("mode%3A")) {
-                    final String mode = messagePart.substring("mode%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.modeChangeEvent(mac, mode);
-                        }
-                    });
-                }
-                // Parameter Playing Time
-                else if (messagePart.startsWith("time%3A")) {
-                    String value = messagePart.substring("time%3A".length());
-                    final int time = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlayingTimeEvent(mac, time);
-                        }
-                    });
-                }
-                // Parameter Playing Playlist Index
-                else if (messagePart.startsWith("playlist_cur_index%3A")) {
-                    String value = messagePart.substring("playlist_cur_index%3A".length());
-                    // player.setCurrentPlaylistIndex((int)
-                    // Integer.parseInt(value));
-                    final int index = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistIndexEvent(mac, index);
-                        }
-                    });
-                }
-                // Parameter Playlist Number Tracks
-                else if (messagePart.startsWith("playlist_tracks%3A")) {
-                    String value = messagePart.substring("playlist_tracks%3A".length());
-                    final int track = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.numberPlaylistTracksEvent(mac, track);
-                        }
-                    });
-                }
-                // Parameter Playlist Repeat Mode
-                else if (messagePart.startsWith("playlist%20repeat%3A")) {
-                    String value = messagePart.substring("playlist%20repeat%3A".length());
-                    final int repeat = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistRepeatEvent(mac, repeat);
-                        }
-                    });
-                }
-                // Parameter Playlist Shuffle Mode
-                else if (messagePart.startsWith("playlist%20shuffle%3A")) {
-                    String value = messagePart.substring("playlist%20shuffle%3A".length());
-                    final int shuffle = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistShuffleEvent(mac, shuffle);
-                        }
-                    });
-                }
-                // Parameter Title
-                else if (messagePart.startsWith("title%3A")) {
-                    final String value = messagePart.substring("title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.titleChangeEvent(mac, decode(value));
-                        }
-                    });
+        private void handleStatusMessage(String mac, CliMessageTokenizer tokenizer) {
+            PlayerStatusUpdate update = new PlayerStatusUpdate(mac);
 
+            while (tokenizer.next()) {
+                String key = tokenizer.getKey();
+                if (key == null) {
+                    logger.trace("Unhandled status message type '{}'", tokenizer.getToken());
+                    continue;
                 }
-                // Parameter Remote Title (radio)
-                else if (messagePart.startsWith("remote_title%3A")) {
-                    final String value = messagePart.substring("remote_title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.remoteTitleChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Artist
-                else if (messagePart.startsWith("artist%3A")) {
-                    final String value = messagePart.substring("artist%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.artistChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Album
-                else if (messagePart.startsWith("album%3A")) {
-                    final String value = messagePart.substring("album%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.albumChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Genre
-                else if (messagePart.startsWith("genre%3A")) {
-                    final String value = messagePart.substring("genre%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.genreChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Year
-                else if (messagePart.startsWith("year%3A")) {
-                    final String value = messagePart.substring("year%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.yearChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Artwork
-                else if (messagePart.startsWith("artwork_track_id%3A")) {
-                    String url = messagePart.substring("artwork_track_id%3A".length());
-                    // NOTE: what is returned if not an artwork id? i.e. if a
-                    // space?
-                    if (!url.startsWith(" ")) {
-                        url = "http://" + host + ":" + webport + "/music/" + url + "/cover.jpg";
+
+                try {
+                    switch (key) {
+                        case "power":
+                            update.power = "1".equals(tokenizer.getValue());
+                            break;
+                        case "mixer%20volume":
+                            update.volume = tokenizer.getIntValue();
+                            break;
+                        case "mode":
+                            update.mode = tokenizer.getValue();
+                            break;
+                        case "time":
+                            update.time = tokenizer.getIntValue();
+                            break;
+                        case "playlist_cur_index":
+                            update.playlistIndex = tokenizer.getIntValue();
+                            break;
+                        case "playlist_tracks":
+                            update.playlistTracks = tokenizer.getIntValue();
+                            break;
+                        case "playlist%20repeat":
+                            update.repeat = tokenizer.getIntValue();
+                            break;
+                        case "playlist%20shuffle":
+                            update.shuffle = tokenizer.getIntValue();
+                            break;
+                        case "title":
+                            update.title = tokenizer.getValue();
+                            break;
+                        case "remote_title":
+                            update.remoteTitle = tokenizer.getValue();
+                            break;
+                        case "artist":
+                            update.artist = tokenizer.getValue();
+                            break;
+                        case "album":
+                            update.album = tokenizer.getValue();
+                            break;
+                        case "genre":
+                            update.genre = tokenizer.getValue();
+                            break;
+                        case "year":
+                            update.year = tokenizer.getValue();
+                            break;
+                        case "artwork_track_id":
+                            String url = tokenizer.getValue();
+                            // NOTE: what is returned if not an artwork id? i.e. if a
+                            // space?
+                            if (url != null && !url.startsWith(" ")) {
+                                url = "http://" + host + ":" + webport + "/music/" + url + "/cover.jpg";
+                            }
+                            update.coverArt = url;
+                            break;
+                        default:
+                            // Added to be able to see additional status message types
+                            logger.trace("Unhandled status message type '{}'", tokenizer.getToken());
+                            break;
                     }
-                    final String value = url;
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.coverArtChangeEvent(mac, decode(value));
-                        }
-                    });
-                } else {
-                    // Added to be able to see additional status message types
-                    logger.trace("Unhandled status message type '{}'", messagePart);
+                } catch (NumberFormatException e) {
+                    logger.debug("Invalid value in status message '{}'", tokenizer.getToken());
                 }
             }
+
+            // title, artist, cover art etc. are repeated in every status message
+            PlayerStatusUpdate metadata = playerMetadata.get(mac);
+            if (metadata == null) {
+                metadata = new PlayerStatusUpdate(mac);
+                playerMetadata.put(mac, metadata);
+            }
+            update.removeUnchangedMetadata(metadata);
+
+            // apply all values of the message at once
+            updatePlayer(mac, update);
         }
 
-        private void handlePlaylistMessage(final String mac, String[] messageParts) {
-            String action = messageParts[2];
+        private void handlePlaylistMessage(String mac, CliMessageTokenizer tokenizer, String message) {
+            if (!tokenizer.next()) {
+                return;
+            }
+
             String mode;
-            if (action.equals("newsong")) {
+            if (tokenizer.tokenEquals("newsong")) {
                 mode = "play";
-            } else if (action.equals("pause")) {
-                mode = messageParts[3].equals("0") ? "play" : "pause";
-            } else if (action.equals("stop")) {
+            } else if (tokenizer.tokenEquals("pause")) {
+                mode = tokenizer.next() && tokenizer.tokenEquals("0") ? "play" : "pause";
+            } else if (tokenizer.tokenEquals("stop")) {
                 mode = "stop";
             } else {
                 // Added so that actions (such as delete, index, jump, open) are not treated as "play"
-                logger.trace("Unhandled playlist message type '{}'", Arrays.toString(messageParts));
+                logger.trace("Unhandled playlist message type '{}'", message);
                 return;
             }
-            final String value = mode;
-            updatePlayer(new PlayerUpdateEvent() {
-                @Override
-                public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                    listener.modeChangeEvent(mac, value);
-                }
-            });
+
+            PlayerStatusUpdate update = new PlayerStatusUpdate(mac);
+            update.mode = mode;
+            updatePlayer(mac, update);
         }
 
-        private void handlePrefsetMessage(final String mac, String[] messageParts) {
-            if (messageParts.length < 5) {
+        private void handlePrefsetMessage(String mac, CliMessageTokenizer tokenizer) {
+            // server prefsets
+            if (!tokenizer.next() || !tokenizer.tokenEquals("server") || !tokenizer.next()) {
                 return;
             }
 
-            // server prefsets
-            if (messageParts[2].equals("server")) {
-                String function = messageParts[3];
-                String value = messageParts[4];
+            String function = tokenizer.getToken();
+            if (!tokenizer.next()) {
+                return;
+            }
 
-                if (function.equals("power")) {
-                    final boolean power = value.equals("1");
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.powerChangeEvent(mac, power);
-                        }
-                    });
-                } else if (function.equals("volume")) {
-                    final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.volumeChangeEvent(mac, volume);
-                        }
-                    });
+            PlayerStatusUpdate update = new PlayerStatusUpdate(mac);
+            if (function.equals("power")) {
+                update.power = tokenizer.tokenEquals("1");
+            } else if (function.equals("volume")) {
+                try {
+                    update.volume = tokenizer.getIntValue();
+                } catch (NumberFormatException e) {
+                    logger.debug("Invalid volume in prefset message '{}'", tokenizer.getToken());
+                    return;
                 }
+            } else {
+                return;
             }
+            updatePlayer(mac, update);
         }
     }
 
@@ -761,28 +692,182 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Update Listeners and child Squeeze Player Things
+     * Collects the values of a single message for a player, so that listeners and
+     * child Squeeze Player Things are updated once per message instead of once per value.
+     * Values that are not part of the message are null.
+     */
+    static class PlayerStatusUpdate implements PlayerUpdateEvent {
+        final String mac;
+        Boolean power;
+        Integer volume;
+        String mode;
+        Integer time;
+        Integer playlistIndex;
+        Integer playlistTracks;
+        Integer repeat;
+        Integer shuffle;
+        String title;
+        String remoteTitle;
+        String artist;
+        String album;
+        String genre;
+        String year;
+        String coverArt;
+
+        PlayerStatusUpdate(String mac) {
+            this.mac = mac;
+        }
+
+        /**
+         * Removes the metadata that did not change since it was last forwarded, and
+         * records the metadata that did change in the given last forwarded metadata
+         */
+        void removeUnchangedMetadata(PlayerStatusUpdate last) {
+            if (title != null) {
+                if (title.equals(last.title)) {
+                    title = null;
+                } else {
+                    last.title = title;
+                }
+            }
+            if (remoteTitle != null) {
+                if (remoteTitle.equals(last.remoteTitle)) {
+                    remoteTitle = null;
+                } else {
+                    last.remoteTitle = remoteTitle;
+                }
+            }
+            if (artist != null) {
+                if (artist.equals(last.artist)) {
+                    artist = null;
+                } else {
+                    last.artist = artist;
+                }
+            }
+            if (album != null) {
+                if (album.equals(last.album)) {
+                    album = null;
+                } else {
+                    last.album = album;
+                }
+            }
+            if (genre != null) {
+                if (genre.equals(last.genre)) {
+                    genre = null;
+                } else {
+                    last.genre = genre;
+                }
+            }
+            if (year != null) {
+                if (year.equals(last.year)) {
+                    year = null;
+                } else {
+                    last.year = year;
+                }
+            }
+            if (coverArt != null) {
+                if (coverArt.equals(last.coverArt)) {
+                    coverArt = null;
+                } else {
+                    last.coverArt = coverArt;
+                }
+            }
+        }
+
+        @Override
+        public void updateListener(SqueezeBoxPlayerEventListener listener) {
+            if (power != null) {
+                listener.powerChangeEvent(mac, power);
+            }
+            if (volume != null) {
+                listener.volumeChangeEvent(mac, volume);
+            }
+            if (mode != null) {
+                listener.modeChangeEvent(mac, mode);
+            }
+            if (time != null) {
+                listener.currentPlayingTimeEvent(mac, time);
+            }
+            if (playlistIndex != null) {
+                listener.currentPlaylistIndexEvent(mac, playlistIndex);
+            }
+            if (playlistTracks != null) {
+                listener.numberPlaylistTracksEvent(mac, playlistTracks);
+            }
+            if (repeat != null) {
+                listener.currentPlaylistRepeatEvent(mac, repeat);
+            }
+            if (shuffle != null) {
+                listener.currentPlaylistShuffleEvent(mac, shuffle);
+            }
+            if (title != null) {
+                listener.titleChangeEvent(mac, title);
+            }
+            if (remoteTitle != null) {
+                listener.remoteTitleChangeEvent(mac, remoteTitle);
+            }
+            if (artist != null) {
+                listener.artistChangeEvent(mac, artist);
+            }
+            if (album != null) {
+                listener.albumChangeEvent(mac, album);
+            }
+            if (genre != null) {
+                listener.genreChangeEvent(mac, genre);
+            }
+            if (year != null) {
+                listener.yearChangeEvent(mac, year);
+            }
+            if (coverArt != null) {
+                listener.coverArtChangeEvent(mac, coverArt);
+            }
+        }
+    }
+
+    /**
+     * Update Listeners and the child Squeeze Player Thing with the given mac
      *
+     * @param mac
      * @param event
      */
-    private void updatePlayer(PlayerUpdateEvent event) {
+    private void updatePlayer(String mac, PlayerUpdateEvent event) {
         // update listeners like disco services
-        for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
-            event.updateListener(listener);
+        synchronized (squeezeBoxPlayerListeners) {
+            for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
+                event.updateListener(listener);
+            }
+        }
+        // update our child
+        SqueezeBoxPlayerEventListener handler = playerHandlers.get(mac);
+        if (handler != null && !squeezeBoxPlayerListeners.contains(handler)) {
+            event.updateListener(handler);
         }
-        // update our children
-        Bridge bridge = getThing();
+    }
 
-        if (bridge == null) {
-            return;
+    /**
+     * Adds the handler of the child Squeeze Player Thing with the given mac, which
+     * then receives the updates of that player
+     *
+     * @param mac
+     * @param handler
+     */
+    public void registerPlayerHandler(String mac, SqueezeBoxPlayerEventListener handler) {
+        if (mac != null) {
+            playerHandlers.put(mac, handler);
+            // make sure the new handler gets the current metadata
+            playerMetadata.remove(mac);
         }
+    }
 
-        List<Thing> things = bridge.getThings();
-        for (Thing thing : things) {
-            ThingHandler handler = thing.getHandler();
-            if (handler instanceof SqueezeBoxPlayerEventListener && !squeezeBoxPlayerListeners.contains(handler)) {
-                event.updateListener((SqueezeBoxPlayerEventListener) handler);
-            }
+    /**
+     * Removes the handler of the child Squeeze Player Thing with the given mac
+     *
+     * @param mac
+     * @param handler
+     */
+    public void unregisterPlayerHandler(String mac, SqueezeBoxPlayerEventListener handler) {
+        if (mac != null) {
+            playerHandlers.remove(mac, handler);
         }
     }
 
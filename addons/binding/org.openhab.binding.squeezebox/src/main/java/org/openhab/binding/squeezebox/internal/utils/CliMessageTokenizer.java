@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.squeezebox.internal.utils;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+
+/**
+ * Walks the space separated, URL encoded tokens of a message received from the
+ * CLI of a Squeeze Server in a single pass, without splitting the message.
+ * Tokens are only decoded when their value is asked for, and only if they
+ * contain escapes. Tokens of the form <code>key%3Avalue</code> (key:value) are
+ * split into their raw key and their value.
+ *
+ * @author agent
+ */
+public class CliMessageTokenizer {
+    private static final String SEPARATOR = "%3A";
+
+    private final String message;
+    private int position = 0;
+    private int tokenStart = 0;
+    private int tokenEnd = 0;
+    private int separator = -1;
+
+    public CliMessageTokenizer(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Moves to the next token
+     *
+     * @return false if there are no more tokens
+     */
+    public boolean next() {
+        int length = message.length();
+        while (position < length && Character.isWhitespace(message.charAt(position))) {
+            position++;
+        }
+        if (position >= length) {
+            return false;
+        }
+
+        // look for the first separator while walking the token, the separator contains no whitespace
+        tokenStart = position;
+        separator = -1;
+        while (position < length) {
+            char c = message.charAt(position);
+            if (Character.isWhitespace(c)) {
+                break;
+            }
+            if (c == '%' && separator < 0 && message.startsWith(SEPARATOR, position)) {
+                separator = position;
+            }
+            position++;
+        }
+        tokenEnd = position;
+        return true;
+    }
+
+    /**
+     * @return the current token, as received
+     */
+    public String getToken() {
+        return message.substring(tokenStart, tokenEnd);
+    }
+
+    /**
+     * @return the current token, decoded
+     */
+    public String getDecodedToken() {
+        return decode(tokenStart, tokenEnd);
+    }
+
+    /**
+     * Checks if the current token equals the given string, without copying the token
+     */
+    public boolean tokenEquals(String value) {
+        return tokenEnd - tokenStart == value.length() && message.startsWith(value, tokenStart);
+    }
+
+    /**
+     * @return the raw (still encoded) key of the current key:value token, or null if the token has no key
+     */
+    public String getKey() {
+        return separator < 0 ? null : message.substring(tokenStart, separator);
+    }
+
+    /**
+     * @return the decoded value of the current key:value token, or the decoded token if it has no key
+     */
+    public String getValue() {
+        return decode(valueStart(), tokenEnd);
+    }
+
+    /**
+     * Parses the value of the current key:value token as a number, dropping any fraction,
+     * like <code>(int) Double.parseDouble(value)</code> does
+     *
+     * @throws NumberFormatException if the value is not a number
+     */
+    public int getIntValue() {
+        int start = valueStart();
+        int i = start;
+        boolean negative = false;
+        if (i < tokenEnd && (message.charAt(i) == '-' || message.charAt(i) == '+')) {
+            negative = message.charAt(i) == '-';
+            i++;
+        }
+
+        int digits = 0;
+        long value = 0;
+        for (; i < tokenEnd; i++) {
+            char c = message.charAt(i);
+            if (c >= '0' && c <= '9' && digits < 10) {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && digits > 0) {
+                if (!isDigits(i + 1, tokenEnd)) {
+                    return parseIntSlow(start);
+                }
+                break;
+            } else {
+                // escapes, exponents, overly long values, ...
+                return parseIntSlow(start);
+            }
+        }
+
+        if (digits == 0 || value > Integer.MAX_VALUE) {
+            return parseIntSlow(start);
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    private int valueStart() {
+        return separator < 0 ? tokenStart : separator + SEPARATOR.length();
+    }
+
+    private boolean isDigits(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int parseIntSlow(int start) {
+        String value = decode(start, tokenEnd);
+        if (value == null) {
+            throw new NumberFormatException("Invalid value '" + message.substring(start, tokenEnd) + "'");
+        }
+        return (int) Double.parseDouble(value);
+    }
+
+    private String decode(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (c == '%' || c == '+') {
+                try {
+                    return URLDecoder.decode(message.substring(start, end), "UTF-8");
+                } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        return message.substring(start, end);
+    }
+}
@@ -27,6 +27,7 @@ public class TeslaBindingConstants {
     public static final String USERNAME = "username";
     public static final String PASSWORD = "password";
     public static final String VIN = "vin";
+    public static final String STREAM_UPDATE_INTERVAL = "streamUpdateInterval";
     public static final String VEHICLES = "vehicles";
     public static final String COMMAND_PATH = "command/{cmd}";
     public static final String DATA_REQUEST_PATH = "data_request/{cmd}";
@@ -10,16 +10,13 @@ package org.openhab.binding.tesla.handler;
 
 import static org.openhab.binding.tesla.TeslaBindingConstants.*;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
-import java.net.SocketTimeoutException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
@@ -54,10 +51,12 @@ import org.glassfish.jersey.client.ClientProperties;
 import org.openhab.binding.tesla.TeslaBindingConstants.EventKeys;
 import org.openhab.binding.tesla.internal.TeslaChannelSelectorProxy;
 import org.openhab.binding.tesla.internal.TeslaChannelSelectorProxy.TeslaChannelSelector;
+import org.openhab.binding.tesla.internal.TeslaEventStream;
 import org.openhab.binding.tesla.internal.protocol.ChargeState;
 import org.openhab.binding.tesla.internal.protocol.ClimateState;
 import org.openhab.binding.tesla.internal.protocol.DriveState;
 import org.openhab.binding.tesla.internal.protocol.GUIState;
+import org.openhab.binding.tesla.internal.protocol.StreamEvent;
 import org.openhab.binding.tesla.internal.protocol.TokenRequest;
 import org.openhab.binding.tesla.internal.protocol.Vehicle;
 import org.openhab.binding.tesla.internal.protocol.VehicleState;
@@ -86,6 +85,8 @@ public class TeslaHandler extends BaseThingHandler {
     public static final int EVENT_RECOVERY_INTERVAL = 180000;
     public static final int EVENT_MISSING_WHILE_STATIONARY_INTERVAL = 305000;
     public static final int EVENT_MISSING_WHILE_MOVING_INTERVAL = 3000;
+    public static final int EVENT_STREAM_READ_TIMEOUT = EVENT_MISSING_WHILE_STATIONARY_INTERVAL + 10000;
+    public static final int DEFAULT_STREAM_UPDATE_INTERVAL = 1000;
     public static final int CONNECT_RETRY_INTERVAL = 15000;
     public static final int MAXIMUM_ERRORS_IN_INTERVAL = 2;
     public static final int ERROR_INTERVAL_SECONDS = 15;
@@ -119,6 +120,16 @@ public class TeslaHandler extends BaseThingHandler {
     protected ScheduledFuture<?> fastStateJob;
     protected ScheduledFuture<?> slowStateJob;
     protected QueueChannelThrottler stateThrottler;
+    protected String throttlerAccount;
+    protected TeslaEventStream eventStream;
+
+    // Events received through the event stream
+    protected volatile StreamEvent lastEvent;
+    protected volatile StreamEvent pendingEvent;
+    protected StreamEvent publishedEvent;
+    protected long lastPublishTime = 0;
+    protected long streamUpdateInterval = DEFAULT_STREAM_UPDATE_INTERVAL;
+    private final Object eventLock = new Object();
 
     protected long intervalTimestamp = 0;
     protected int intervalErrors = 0;
@@ -128,6 +139,13 @@ public class TeslaHandler extends BaseThingHandler {
     protected TeslaChannelSelectorProxy teslaChannelSelectorProxy = new TeslaChannelSelectorProxy();
     private JsonParser parser = new JsonParser();
 
+    // The rate limits of the Tesla API apply per account, so vehicles of the same account share a throttler
+    private static final Map<String, QueueChannelThrottler> throttlers = new HashMap<String, QueueChannelThrottler>();
+    private static final Map<String, Integer> throttlerUsers = new HashMap<String, Integer>();
+
+    // Last state sent to the framework per channel, to suppress updates that do not change anything
+    protected Map<String, State> channelStates = new ConcurrentHashMap<String, State>();
+
     public TeslaHandler(Thing thing) {
         super(thing);
     }
@@ -141,6 +159,11 @@ public class TeslaHandler extends BaseThingHandler {
 
         lock = new ReentrantLock();
 
+        Object interval = getConfig().get(STREAM_UPDATE_INTERVAL);
+        if (interval instanceof Number) {
+            streamUpdateInterval = ((Number) interval).longValue();
+        }
+
         lock.lock();
         try {
             if (connectJob == null || connectJob.isCancelled()) {
@@ -153,14 +176,10 @@ public class TeslaHandler extends BaseThingHandler {
                         TimeUnit.MILLISECONDS);
             }
 
-            Map<Object, Rate> channels = new HashMap<Object, Rate>();
-            channels.put(TESLA_DATA_THROTTLE, new Rate(10, 10, TimeUnit.SECONDS));
-            channels.put(TESLA_COMMAND_THROTTLE, new Rate(20, 1, TimeUnit.MINUTES));
-
-            Rate firstRate = new Rate(20, 1, TimeUnit.MINUTES);
-            Rate secondRate = new Rate(200, 10, TimeUnit.MINUTES);
-            stateThrottler = new QueueChannelThrottler(firstRate, scheduler, channels);
-            stateThrottler.addRate(secondRate);
+            if (stateThrottler == null) {
+                throttlerAccount = (String) getConfig().get(USERNAME);
+                stateThrottler = acquireThrottler(throttlerAccount, scheduler);
+            }
 
             if (fastStateJob == null || fastStateJob.isCancelled()) {
                 fastStateJob = scheduler.scheduleWithFixedDelay(fastStateRunnable, 0, FAST_STATUS_REFRESH_INTERVAL,
@@ -198,10 +217,18 @@ public class TeslaHandler extends BaseThingHandler {
                 eventJob = null;
             }
 
+            stopEventStream();
+
             if (connectJob != null && !connectJob.isCancelled()) {
                 connectJob.cancel(true);
                 connectJob = null;
             }
+
+            if (stateThrottler != null) {
+                logger.debug("Releasing the request throttler of the vehicle : {}", stateThrottler);
+                releaseThrottler(throttlerAccount);
+                stateThrottler = null;
+            }
         } finally {
             lock.unlock();
         }
@@ -215,9 +242,11 @@ public class TeslaHandler extends BaseThingHandler {
         TeslaChannelSelector selector = TeslaChannelSelector.getValueSelectorFromChannelID(channelID);
 
         if (command instanceof RefreshType) {
+            // make sure the next response gets through to the framework
+            channelStates.remove(channelID);
             if (isAwake()) {
                 // Request the state of all known variables. This is sub-optimal, but the requests get scheduled and
-                // throttled so we are safe not to break the Tesla SLA
+                // throttled so we are safe not to break the Tesla SLA, and requests still pending are not repeated
                 requestData(TESLA_DRIVE_STATE);
                 requestData(TESLA_VEHICLE_STATE);
                 requestData(TESLA_CHARGE_STATE);
@@ -356,36 +385,75 @@ public class TeslaHandler extends BaseThingHandler {
         }
     }
 
-    public void sendCommand(String command, String payLoad, WebTarget target) {
-        Request request = new Request(command, payLoad, target);
-        if (stateThrottler != null) {
-            stateThrottler.submit(TESLA_COMMAND_THROTTLE, request);
+    protected static synchronized QueueChannelThrottler acquireThrottler(String account,
+            ScheduledExecutorService scheduler) {
+        QueueChannelThrottler throttler = throttlers.get(account);
+        if (throttler == null) {
+            Map<Object, Rate> channels = new HashMap<Object, Rate>();
+            channels.put(TESLA_DATA_THROTTLE, new Rate(10, 10, TimeUnit.SECONDS));
+            channels.put(TESLA_COMMAND_THROTTLE, new Rate(20, 1, TimeUnit.MINUTES));
+
+            Rate firstRate = new Rate(20, 1, TimeUnit.MINUTES);
+            Rate secondRate = new Rate(200, 10, TimeUnit.MINUTES);
+            throttler = new QueueChannelThrottler(firstRate, scheduler, channels);
+            throttler.addRate(secondRate);
+            throttlers.put(account, throttler);
+        }
+
+        Integer users = throttlerUsers.get(account);
+        throttlerUsers.put(account, users == null ? 1 : users + 1);
+
+        return throttler;
+    }
+
+    protected static synchronized void releaseThrottler(String account) {
+        Integer users = throttlerUsers.get(account);
+        if (users == null || users <= 1) {
+            throttlers.remove(account);
+            throttlerUsers.remove(account);
+        } else {
+            throttlerUsers.put(account, users - 1);
         }
     }
 
+    /**
+     * Submits a request to the throttler. A data or wake up request that is identical to one that
+     * is still pending is not queued again, as the pending one will deliver the same result. Other
+     * commands change the state of the vehicle, so they are always executed in the order they
+     * were sent.
+     */
+    protected void submitRequest(Object throttle, String command, String payLoad, WebTarget target) {
+        QueueChannelThrottler throttler = stateThrottler;
+        if (throttler != null) {
+            Request request = new Request(command, payLoad, target);
+            String requestKey = null;
+            if (!TESLA_COMMAND_THROTTLE.equals(throttle) || TESLA_COMMAND_WAKE_UP.equals(command)) {
+                requestKey = getThing().getUID() + "/" + throttle + "/" + command + "/" + payLoad;
+            }
+            if (throttler.submit(throttle, requestKey, request) == null) {
+                logger.debug("The request '{}' could not be scheduled : {}", command, throttler);
+            }
+        }
+    }
+
+    public void sendCommand(String command, String payLoad, WebTarget target) {
+        submitRequest(TESLA_COMMAND_THROTTLE, command, payLoad, target);
+    }
+
     public void sendCommand(String command) {
         sendCommand(command, "{}");
     }
 
     public void sendCommand(String command, String payLoad) {
-        Request request = new Request(command, payLoad, commandTarget);
-        if (stateThrottler != null) {
-            stateThrottler.submit(TESLA_COMMAND_THROTTLE, request);
-        }
+        submitRequest(TESLA_COMMAND_THROTTLE, command, payLoad, commandTarget);
     }
 
     public void sendCommand(String command, WebTarget target) {
-        Request request = new Request(command, "{}", target);
-        if (stateThrottler != null) {
-            stateThrottler.submit(TESLA_COMMAND_THROTTLE, request);
-        }
+        submitRequest(TESLA_COMMAND_THROTTLE, command, "{}", target);
     }
 
     public void requestData(String command, String payLoad) {
-        Request request = new Request(command, payLoad, dataRequestTarget);
-        if (stateThrottler != null) {
-            stateThrottler.submit(TESLA_DATA_THROTTLE, request);
-        }
+        submitRequest(TESLA_DATA_THROTTLE, command, payLoad, dataRequestTarget);
     }
 
     public void requestData(String command) {
@@ -459,58 +527,58 @@ public class TeslaHandler extends BaseThingHandler {
 
     public void parseAndUpdate(String request, String payLoad, String result) {
 
-        JsonParser parser = new JsonParser();
         JsonObject jsonObject = null;
 
         try {
-            if (request != null && result != null && result != "null") {
-                // first, update state objects
+            if (request != null && result != null && !result.equals("null")) {
+                // first, reformat the response string to a JSON compliant
+                // object for some specific non-JSON compatible requests
+                switch (request) {
+                    case TESLA_MOBILE_ENABLED_STATE: {
+                        jsonObject = new JsonObject();
+                        jsonObject.addProperty(TESLA_MOBILE_ENABLED_STATE, result);
+                        break;
+                    }
+                    default: {
+                        jsonObject = parser.parse(result).getAsJsonObject();
+                        break;
+                    }
+                }
+
+                // secondly, update state objects from the parsed response,
+                // so that the response string is only parsed once
                 switch (request) {
                     case TESLA_DRIVE_STATE: {
-                        driveState = gson.fromJson(result, DriveState.class);
+                        driveState = gson.fromJson(jsonObject, DriveState.class);
                         break;
                     }
                     case TESLA_GUI_STATE: {
-                        guiState = gson.fromJson(result, GUIState.class);
+                        guiState = gson.fromJson(jsonObject, GUIState.class);
                         break;
                     }
                     case TESLA_VEHICLE_STATE: {
-                        vehicleState = gson.fromJson(result, VehicleState.class);
+                        vehicleState = gson.fromJson(jsonObject, VehicleState.class);
                         break;
                     }
                     case TESLA_CHARGE_STATE: {
-                        chargeState = gson.fromJson(result, ChargeState.class);
+                        chargeState = gson.fromJson(jsonObject, ChargeState.class);
                         if (chargeState.charging_state != null && chargeState.charging_state.equals("Charging")) {
-                            updateState(CHANNEL_CHARGE, OnOffType.ON);
+                            updateStateIfChanged(CHANNEL_CHARGE, OnOffType.ON);
                         } else {
-                            updateState(CHANNEL_CHARGE, OnOffType.OFF);
+                            updateStateIfChanged(CHANNEL_CHARGE, OnOffType.OFF);
                         }
 
                         break;
                     }
                     case TESLA_CLIMATE_STATE: {
-                        climateState = gson.fromJson(result, ClimateState.class);
-                        break;
-                    }
-                }
-
-                // secondly, reformat the response string to a JSON compliant
-                // object for some specific non-JSON compatible requests
-                switch (request) {
-                    case TESLA_MOBILE_ENABLED_STATE: {
-                        jsonObject = new JsonObject();
-                        jsonObject.addProperty(TESLA_MOBILE_ENABLED_STATE, result);
-                        break;
-                    }
-                    default: {
-                        jsonObject = parser.parse(result).getAsJsonObject();
+                        climateState = gson.fromJson(jsonObject, ClimateState.class);
                         break;
                     }
                 }
             }
 
             // process the result
-            if (jsonObject != null && result != null && !result.equals("null")) {
+            if (jsonObject != null) {
                 // deal with responses for "set" commands, which get confirmed
                 // positively, or negatively, in which case a reason for failure
                 // is provided
@@ -519,23 +587,35 @@ public class TeslaHandler extends BaseThingHandler {
                     logger.debug("The request ({}) execution was {}, and reported '{}'", new Object[] { request,
                             requestResult ? "successful" : "not successful", jsonObject.get("reason").getAsString() });
                 } else {
-                    Set<Map.Entry<String, JsonElement>> entrySet = jsonObject.entrySet();
-                    for (Map.Entry<String, JsonElement> entry : entrySet) {
+                    // all properties of the response are collected and updated at once
+                    Map<String, String> properties = editProperties();
+                    boolean propertiesChanged = false;
+
+                    for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+                        TeslaChannelSelector selector = TeslaChannelSelector
+                                .findValueSelectorFromRESTID(entry.getKey());
+                        if (selector == null) {
+                            continue;
+                        }
+
                         try {
-                            TeslaChannelSelector selector = TeslaChannelSelector
-                                    .getValueSelectorFromRESTID(entry.getKey());
+                            JsonElement value = entry.getValue();
                             if (!selector.isProperty()) {
-                                if (!entry.getValue().isJsonNull()) {
-                                    updateState(selector.getChannelID(), teslaChannelSelectorProxy
-                                            .getState(entry.getValue().getAsString(), selector, editProperties()));
+                                if (!value.isJsonNull()) {
+                                    State newState = teslaChannelSelectorProxy.getState(value.getAsString(), selector,
+                                            properties);
+                                    updateStateIfChanged(selector.getChannelID(),
+                                            newState != null ? newState : UnDefType.UNDEF);
                                 } else {
-                                    updateState(selector.getChannelID(), UnDefType.UNDEF);
+                                    updateStateIfChanged(selector.getChannelID(), UnDefType.UNDEF);
                                 }
                             } else {
-                                if (!entry.getValue().isJsonNull()) {
-                                    Map<String, String> properties = editProperties();
-                                    properties.put(selector.getChannelID(), entry.getValue().getAsString());
-                                    updateProperties(properties);
+                                if (!value.isJsonNull()) {
+                                    String newValue = value.getAsString();
+                                    if (!newValue.equals(properties.get(selector.getChannelID()))) {
+                                        properties.put(selector.getChannelID(), newValue);
+                                        propertiesChanged = true;
+                                    }
                                 }
                             }
                         } catch (Exception e) {
@@ -543,6 +623,10 @@ public class TeslaHandler extends BaseThingHandler {
                                     entry.getValue());
                         }
                     }
+
+                    if (propertiesChanged) {
+                        updateProperties(properties);
+                    }
                 }
             }
         } catch (Exception p) {
@@ -550,11 +634,26 @@ public class TeslaHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Updates the state of a channel, unless it still holds the state last sent to the framework.
+     */
+    protected void updateStateIfChanged(String channelID, State state) {
+        State previousState = channelStates.put(channelID, state);
+        if (!state.equals(previousState)) {
+            updateState(channelID, state);
+        }
+    }
+
     protected boolean isAwake() {
         return (vehicle != null) ? (vehicle.state != "asleep" && vehicle.vehicle_id != null) : false;
     }
 
     protected boolean isInMotion() {
+        StreamEvent event = lastEvent;
+        if (event != null && event.isMoving()) {
+            return true;
+        }
+
         if (driveState != null) {
             if (driveState.speed != null && driveState.shift_state != null) {
                 return !driveState.speed.equals("Undefined")
@@ -795,137 +894,40 @@ public class TeslaHandler extends BaseThingHandler {
 
     protected Runnable eventRunnable = new Runnable() {
 
-        boolean isEstablished = false;
-        long emptyLineCounter = 0;
-        long lastEventSystemTime = 0;
-        long lastEventStreamEstablishedTime = 0;
-        String lastEventTimeStamp = "";
-        Response eventResponse;
-        BufferedReader eventBufferedReader;
-        InputStreamReader eventInputStreamReader;
-
-        protected void establishEventStream() {
-            try {
-                eventBufferedReader = null;
-
-                if (eventResponse != null) {
-                    eventResponse.close();
-                }
-
-                eventClient = ClientBuilder.newClient().property(ClientProperties.CONNECT_TIMEOUT, 3000)
-                        .property(ClientProperties.READ_TIMEOUT, 1000)
-                        .register(new Authenticator((String) getConfig().get(USERNAME), vehicle.tokens[0]));
-                eventTarget = eventClient.target(TESLA_EVENT_URI).path(vehicle.vehicle_id + "/").queryParam("values",
-                        StringUtils.join(EventKeys.values(), ',', 1, EventKeys.values().length));
-                eventResponse = eventTarget.request(MediaType.TEXT_PLAIN_TYPE).get();
-
-                logger.debug("Event Stream : Establishing the event stream : Response : {}:{}",
-                        eventResponse.getStatus(), eventResponse.getStatusInfo());
-
-                if (eventResponse.getStatus() == 200) {
-                    InputStream dummy = (InputStream) eventResponse.getEntity();
-                    eventInputStreamReader = new InputStreamReader(dummy);
-                    eventBufferedReader = new BufferedReader(eventInputStreamReader);
-                    isEstablished = true;
-                    lastEventStreamEstablishedTime = System.currentTimeMillis();
-                    lastEventSystemTime = lastEventStreamEstablishedTime;
-                } else {
-                    isEstablished = false;
-                }
-            } catch (Exception e) {
-                logger.error(
-                        "Event Stream : An exception occurred while establishing the event stream for the vehicle: '{}'",
-                        e.getMessage());
-                isEstablished = false;
-            }
-        }
-
         @Override
         public void run() {
             try {
                 if (getThing().getStatus() == ThingStatus.ONLINE) {
                     if (isAwake()) {
-                        if (!isEstablished
-                                && (System.currentTimeMillis() - lastEventSystemTime > EVENT_RETRY_INTERVAL)) {
-                            establishEventStream();
+                        if (eventStream == null) {
+                            startEventStream();
                         }
 
-                        if (!isEstablished && lastEventStreamEstablishedTime != 0 && (System.currentTimeMillis()
-                                - lastEventStreamEstablishedTime > EVENT_RECOVERY_INTERVAL)) {
-                            logger.warn(
-                                    "Event Stream : Resetting the vehicle connection because of a failing event stream");
-                            updateStatus(ThingStatus.OFFLINE);
-                        }
+                        long now = System.currentTimeMillis();
 
-                        if (isEstablished && lastEventSystemTime != 0 && !(isInMotion()) && (System.currentTimeMillis()
-                                - lastEventSystemTime > EVENT_MISSING_WHILE_STATIONARY_INTERVAL)) {
-                            logger.debug(
-                                    "Event Stream : Mmh... we are not getting any events anymore while being stationary");
-                            isEstablished = false;
-                        }
-
-                        if (isEstablished && lastEventSystemTime != 0 && isInMotion() && (System.currentTimeMillis()
-                                - lastEventSystemTime > EVENT_MISSING_WHILE_MOVING_INTERVAL)) {
-                            logger.debug("Event Stream : Mmh... we are not getting any events anymore while moving");
-                            isEstablished = false;
+                        if (!eventStream.isEstablished()
+                                && now - eventStream.getLastEstablishedTime() > EVENT_RECOVERY_INTERVAL) {
+                            logger.warn("Event Stream : Resetting the vehicle connection, the event stream is failing");
+                            stopEventStream();
+                            updateStatus(ThingStatus.OFFLINE);
+                            return;
                         }
 
-                        try {
-                            if (isEstablished) {
-                                String line = null;
-                                try {
-                                    line = eventBufferedReader.readLine();
-                                } catch (SocketTimeoutException s) {
-                                    // Nothing to do here - we move on
-                                } catch (Exception e) {
-                                    logger.error("An exception occurred while reading events : '{}'", e.getMessage());
-                                    isEstablished = false;
-                                }
-                                if (line != null) {
-                                    emptyLineCounter = 0;
-                                    lastEventSystemTime = System.currentTimeMillis();
-                                    logger.debug("Event Stream : Received an event: '{}'", line);
-                                    String vals[] = line.split(",");
-                                    if (!vals[0].equals(lastEventTimeStamp)) {
-                                        lastEventTimeStamp = vals[0];
-                                        for (int i = 0; i < EventKeys.values().length; i++) {
-                                            try {
-                                                TeslaChannelSelector selector = TeslaChannelSelector
-                                                        .getValueSelectorFromRESTID((EventKeys.values()[i]).toString());
-                                                if (!selector.isProperty()) {
-                                                    State newState = teslaChannelSelectorProxy.getState(vals[i],
-                                                            selector, editProperties());
-                                                    if (newState != null && !vals[i].equals("")) {
-                                                        updateState(selector.getChannelID(), newState);
-                                                    } else {
-                                                        updateState(selector.getChannelID(), UnDefType.UNDEF);
-
-                                                    }
-                                                } else {
-                                                    Map<String, String> properties = editProperties();
-                                                    properties.put(selector.getChannelID(),
-                                                            (selector.getState(vals[i])).toString());
-                                                    updateProperties(properties);
-                                                }
-                                            } catch (Exception e) {
-                                                logger.warn(
-                                                        "Event Stream : An exception occurred while processing an event received from the vehicle; '{}'",
-                                                        e.getMessage());
-                                            }
-                                        }
-                                    }
-                                } else {
-                                    emptyLineCounter++;
-                                    logger.trace("Event Stream : Empty Line # {}", emptyLineCounter);
-                                }
+                        // the stream sends data, even if only empty lines, as heartbeat
+                        if (eventStream.isEstablished()) {
+                            long silence = now - eventStream.getLastDataTime();
+                            boolean moving = isInMotion();
+                            if (silence > (moving ? EVENT_MISSING_WHILE_MOVING_INTERVAL
+                                    : EVENT_MISSING_WHILE_STATIONARY_INTERVAL)) {
+                                logger.debug("Event Stream : No data received for {} ms while {}, reconnecting",
+                                        silence, moving ? "moving" : "stationary");
+                                eventStream.reconnect();
                             }
-                        } catch (Exception e) {
-                            logger.error(
-                                    "Event Stream : An exception occurred while reading event inputs from vehicle '{}' : {}",
-                                    vehicle.vin, e.getMessage());
-                            isEstablished = false;
                         }
+
+                        publishPendingEvent();
                     } else {
+                        stopEventStream();
                         logger.debug("Event stream : The vehicle is not awake");
                         if (vehicle != null) {
                             // wake up the vehicle until streaming token <> 0
@@ -937,15 +939,157 @@ public class TeslaHandler extends BaseThingHandler {
                         }
                     }
                 } else {
-                    isEstablished = false;
+                    stopEventStream();
                 }
             } catch (Exception t) {
                 logger.error("Event Stream : An exception ocurred in the event stream thread: '{}'", t.getMessage());
-                isEstablished = false;
             }
         }
     };
 
+    protected TeslaEventStream.EventListener eventListener = new TeslaEventStream.EventListener() {
+
+        @Override
+        public void onEvent(StreamEvent event) {
+            lastEvent = event;
+            pendingEvent = event;
+            publishPendingEvent();
+        }
+    };
+
+    protected synchronized void startEventStream() {
+        if (eventStream == null) {
+            eventClient = ClientBuilder.newClient().property(ClientProperties.CONNECT_TIMEOUT, 3000)
+                    .property(ClientProperties.READ_TIMEOUT, EVENT_STREAM_READ_TIMEOUT)
+                    .register(new Authenticator((String) getConfig().get(USERNAME), vehicle.tokens[0]));
+            eventTarget = eventClient.target(TESLA_EVENT_URI).path(vehicle.vehicle_id + "/").queryParam("values",
+                    StringUtils.join(EventKeys.values(), ',', 1, EventKeys.values().length));
+
+            eventStream = new TeslaEventStream(eventTarget, eventListener, EVENT_RETRY_INTERVAL);
+            eventStream.start();
+        }
+    }
+
+    protected synchronized void stopEventStream() {
+        if (eventStream != null) {
+            eventStream.stop();
+            eventStream = null;
+        }
+
+        if (eventClient != null) {
+            eventClient.close();
+            eventClient = null;
+        }
+    }
+
+    /**
+     * Publishes the last event received, unless the previous one was published less than the
+     * configured stream update interval ago. Events received in between replace each other, the
+     * event runnable publishes the last of them once the interval has passed.
+     */
+    protected void publishPendingEvent() {
+        synchronized (eventLock) {
+            StreamEvent event = pendingEvent;
+            long now = System.currentTimeMillis();
+            if (event == null || now - lastPublishTime < streamUpdateInterval) {
+                return;
+            }
+
+            pendingEvent = null;
+            lastPublishTime = now;
+
+            try {
+                publishEvent(event, publishedEvent);
+            } catch (Exception e) {
+                logger.warn("Event Stream : An exception occurred while processing an event : '{}'", e.getMessage());
+            }
+            publishedEvent = event;
+        }
+    }
+
+    protected void publishEvent(StreamEvent event, StreamEvent previous) {
+        Map<String, String> properties = getThing().getProperties();
+
+        updateEventState(TeslaChannelSelector.TIMESTAMP, event.timestamp, previous != null ? previous.timestamp : 0,
+                properties);
+
+        if (previous == null || !sameValue(event.odometer, previous.odometer)) {
+            updateEventState(TeslaChannelSelector.ODOMETER, event.odometer, properties);
+        }
+        if (previous == null || !sameValue(event.speed, previous.speed)) {
+            updateEventState(TeslaChannelSelector.SPEED, event.speed, properties);
+        }
+        if (previous == null || !sameValue(event.soc, previous.soc)) {
+            updateEventState(TeslaChannelSelector.SOC, event.soc, properties);
+        }
+        if (previous == null || !sameValue(event.est_heading, previous.est_heading)) {
+            updateEventState(TeslaChannelSelector.EST_HEADING, event.est_heading, properties);
+        }
+        if (previous == null || !sameValue(event.power, previous.power)) {
+            updateEventState(TeslaChannelSelector.POWER, event.power, properties);
+        }
+        if (previous == null || !sameValue(event.range, previous.range)) {
+            updateEventState(TeslaChannelSelector.RANGE, event.range, properties);
+        }
+        if (previous == null || !sameValue(event.est_range, previous.est_range)) {
+            updateEventState(TeslaChannelSelector.EST_RANGE, event.est_range, properties);
+        }
+        if (previous == null || !sameValue(event.heading, previous.heading)) {
+            updateEventState(TeslaChannelSelector.HEADING, event.heading, properties);
+        }
+
+        if (event.shift_state != null) {
+            updateStateIfChanged(TeslaChannelSelector.SHIFTSTATE.getChannelID(), new StringType(event.shift_state));
+        } else {
+            updateStateIfChanged(TeslaChannelSelector.SHIFTSTATE.getChannelID(), UnDefType.UNDEF);
+        }
+
+        // latitude, longitude and elevation make up a single location
+        if (previous == null || !sameValue(event.est_lat, previous.est_lat)
+                || !sameValue(event.est_lng, previous.est_lng) || !sameValue(event.elevation, previous.elevation)) {
+            if (!Double.isNaN(event.est_lat) && !Double.isNaN(event.est_lng)) {
+                teslaChannelSelectorProxy.getState(formatEventValue(event.est_lat),
+                        TeslaChannelSelector.LATITUDE_EVENT, properties);
+                teslaChannelSelectorProxy.getState(formatEventValue(event.est_lng),
+                        TeslaChannelSelector.LONGITUDE_EVENT, properties);
+                State location = teslaChannelSelectorProxy.getState(
+                        Double.isNaN(event.elevation) ? "0" : formatEventValue(event.elevation),
+                        TeslaChannelSelector.ELEVATION, properties);
+                updateStateIfChanged(TeslaChannelSelector.ELEVATION.getChannelID(), location);
+            } else {
+                updateStateIfChanged(TeslaChannelSelector.ELEVATION.getChannelID(), UnDefType.UNDEF);
+            }
+        }
+    }
+
+    private void updateEventState(TeslaChannelSelector selector, long value, long previous,
+            Map<String, String> properties) {
+        if (value != previous) {
+            State newState = teslaChannelSelectorProxy.getState(Long.toString(value), selector, properties);
+            updateStateIfChanged(selector.getChannelID(), newState != null ? newState : UnDefType.UNDEF);
+        }
+    }
+
+    private void updateEventState(TeslaChannelSelector selector, double value, Map<String, String> properties) {
+        if (Double.isNaN(value)) {
+            updateStateIfChanged(selector.getChannelID(), UnDefType.UNDEF);
+        } else {
+            State newState = teslaChannelSelectorProxy.getState(formatEventValue(value), selector, properties);
+            updateStateIfChanged(selector.getChannelID(), newState != null ? newState : UnDefType.UNDEF);
+        }
+    }
+
+    private static boolean sameValue(double a, double b) {
+        return Double.compare(a, b) == 0;
+    }
+
+    private static String formatEventValue(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
     protected class Request implements Runnable {
 
         private String request;
@@ -12,6 +12,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -935,6 +936,21 @@ public class TeslaChannelSelectorProxy {
         },
         WHEEL_TYPE("wheel_type", "wheeltype", StringType.class, true);
 
+        private static final Map<String, TeslaChannelSelector> RESTIDS = new HashMap<String, TeslaChannelSelector>();
+        private static final Map<String, TeslaChannelSelector> CHANNELIDS = new HashMap<String, TeslaChannelSelector>();
+
+        static {
+            // Several selectors can share a channel, the first one declared wins as before
+            for (TeslaChannelSelector c : TeslaChannelSelector.values()) {
+                if (c.RESTID != null && !RESTIDS.containsKey(c.RESTID)) {
+                    RESTIDS.put(c.RESTID, c);
+                }
+                if (!CHANNELIDS.containsKey(c.channelID)) {
+                    CHANNELIDS.put(c.channelID, c);
+                }
+            }
+        }
+
         private final String RESTID;
         private final String channelID;
         private Class<? extends Type> typeClass;
@@ -988,10 +1004,9 @@ public class TeslaChannelSelectorProxy {
         public static TeslaChannelSelector getValueSelectorFromChannelID(String valueSelectorText)
                 throws IllegalArgumentException {
 
-            for (TeslaChannelSelector c : TeslaChannelSelector.values()) {
-                if (c.channelID.equals(valueSelectorText)) {
-                    return c;
-                }
+            TeslaChannelSelector c = CHANNELIDS.get(valueSelectorText);
+            if (c != null) {
+                return c;
             }
 
             throw new IllegalArgumentException("Not valid value selector");
@@ -1000,14 +1015,21 @@ public class TeslaChannelSelectorProxy {
         public static TeslaChannelSelector getValueSelectorFromRESTID(String valueSelectorText)
                 throws IllegalArgumentException {
 
-            for (TeslaChannelSelector c : TeslaChannelSelector.values()) {
-                if (c.RESTID != null && c.RESTID.equals(valueSelectorText)) {
-                    return c;
-                }
+            TeslaChannelSelector c = findValueSelectorFromRESTID(valueSelectorText);
+            if (c != null) {
+                return c;
             }
 
             throw new IllegalArgumentException("Not valid value selector");
         }
+
+        /**
+         * Same as {@link #getValueSelectorFromRESTID(String)}, but returns null instead of throwing for the many
+         * variables in a response that are not mapped to a channel or property.
+         */
+        public static TeslaChannelSelector findValueSelectorFromRESTID(String valueSelectorText) {
+            return valueSelectorText != null ? RESTIDS.get(valueSelectorText) : null;
+        }
     }
 
     public String latitude = "0";
@@ -0,0 +1,344 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tesla.internal;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.openhab.binding.tesla.internal.protocol.StreamEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TeslaEventStream} reads the event stream of a vehicle on a
+ * dedicated thread, for as long as the vehicle session lasts. The stream
+ * is re-established whenever it ends or fails. Stalls are not detected
+ * through read timeouts, but by the owner looking at the time data was
+ * last received, see {@link #getLastDataTime()} and {@link #reconnect()}
+ *
+ * @author agent - Initial contribution
+ */
+public class TeslaEventStream implements Runnable {
+
+    /**
+     * Receives the events read from the stream, on the thread of the stream
+     */
+    public interface EventListener {
+        void onEvent(StreamEvent event);
+    }
+
+    private static final double[] POWERS_OF_TEN = new double[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private Logger logger = LoggerFactory.getLogger(TeslaEventStream.class);
+
+    private final WebTarget eventTarget;
+    private final EventListener listener;
+    private final long retryInterval;
+
+    private Thread thread;
+    private volatile boolean running = false;
+    private volatile boolean isEstablished = false;
+    private volatile Response eventResponse;
+    private volatile long lastDataTime = 0;
+    private volatile long lastEstablishedTime = 0;
+    private long lastEventTimeStamp = 0;
+
+    /**
+     * @param eventTarget target of the stream of the vehicle, with authentication and timeouts configured
+     * @param listener receives the events
+     * @param retryInterval time in milliseconds to wait before re-establishing the stream after a failure
+     */
+    public TeslaEventStream(WebTarget eventTarget, EventListener listener, long retryInterval) {
+        this.eventTarget = eventTarget;
+        this.listener = listener;
+        this.retryInterval = retryInterval;
+    }
+
+    public synchronized void start() {
+        if (thread == null) {
+            running = true;
+            lastEstablishedTime = System.currentTimeMillis();
+            thread = new Thread(this, "ESH-tesla-event-stream");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    public synchronized void stop() {
+        running = false;
+        closeResponse();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    /**
+     * Drops the current connection, which is re-established by the stream thread
+     */
+    public void reconnect() {
+        closeResponse();
+    }
+
+    public boolean isEstablished() {
+        return isEstablished;
+    }
+
+    /**
+     * @return the time data, including empty keep-alive lines, was last received
+     */
+    public long getLastDataTime() {
+        return lastDataTime;
+    }
+
+    /**
+     * @return the time the stream was last established, or started when it never was
+     */
+    public long getLastEstablishedTime() {
+        return lastEstablishedTime;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                establish();
+                if (isEstablished) {
+                    read();
+                }
+            } catch (Exception e) {
+                if (running) {
+                    logger.debug("Event Stream : An exception occurred while reading events : '{}'", e.getMessage());
+                }
+            } finally {
+                isEstablished = false;
+                closeResponse();
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(retryInterval);
+                } catch (InterruptedException e) {
+                    // stop() will have cleared running
+                }
+            }
+        }
+    }
+
+    protected void establish() {
+        Response response = eventTarget.request(MediaType.TEXT_PLAIN_TYPE).get();
+        eventResponse = response;
+
+        logger.debug("Event Stream : Establishing the event stream : Response : {}:{}", response.getStatus(),
+                response.getStatusInfo());
+
+        if (response.getStatus() == 200) {
+            isEstablished = true;
+            lastEstablishedTime = System.currentTimeMillis();
+            lastDataTime = lastEstablishedTime;
+        }
+    }
+
+    protected void read() throws Exception {
+        InputStream stream = eventResponse.readEntity(InputStream.class);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+
+        String line;
+        while (running && (line = reader.readLine()) != null) {
+            lastDataTime = System.currentTimeMillis();
+
+            if (line.isEmpty()) {
+                logger.trace("Event Stream : Empty Line");
+                continue;
+            }
+
+            logger.trace("Event Stream : Received an event: '{}'", line);
+            StreamEvent event = parse(line);
+            if (event != null && event.timestamp != lastEventTimeStamp) {
+                lastEventTimeStamp = event.timestamp;
+                listener.onEvent(event);
+            }
+        }
+
+        logger.debug("Event Stream : The event stream was closed");
+    }
+
+    private void closeResponse() {
+        Response response = eventResponse;
+        if (response != null) {
+            try {
+                response.close();
+            } catch (Exception e) {
+                // the connection is gone already
+            }
+        }
+    }
+
+    /**
+     * Parses an event line, which holds the values of the event keys separated by commas. The
+     * values are read in place, without splitting the line.
+     *
+     * @return the event, or null if the line does not start with a valid timestamp
+     */
+    public static StreamEvent parse(String line) {
+        StreamEvent event = new StreamEvent();
+
+        int start = 0;
+        int field = 0;
+        while (start <= line.length()) {
+            int end = line.indexOf(',', start);
+            if (end < 0) {
+                end = line.length();
+            }
+
+            switch (field) {
+                case 0:
+                    double timestamp = parseDouble(line, start, end);
+                    if (Double.isNaN(timestamp)) {
+                        return null;
+                    }
+                    event.timestamp = (long) timestamp;
+                    break;
+                case 1:
+                    event.odometer = parseDouble(line, start, end);
+                    break;
+                case 2:
+                    event.speed = parseDouble(line, start, end);
+                    break;
+                case 3:
+                    event.soc = parseDouble(line, start, end);
+                    break;
+                case 4:
+                    event.elevation = parseDouble(line, start, end);
+                    break;
+                case 5:
+                    event.est_heading = parseDouble(line, start, end);
+                    break;
+                case 6:
+                    event.est_lat = parseDouble(line, start, end);
+                    break;
+                case 7:
+                    event.est_lng = parseDouble(line, start, end);
+                    break;
+                case 8:
+                    event.power = parseDouble(line, start, end);
+                    break;
+                case 9:
+                    event.shift_state = parseShiftState(line, start, end);
+                    break;
+                case 10:
+                    event.range = parseDouble(line, start, end);
+                    break;
+                case 11:
+                    event.est_range = parseDouble(line, start, end);
+                    break;
+                case 12:
+                    event.heading = parseDouble(line, start, end);
+                    break;
+                default:
+                    break;
+            }
+
+            field++;
+            start = end + 1;
+        }
+
+        return event;
+    }
+
+    /**
+     * Parses a plain decimal number between start and end, e.g. -12.345
+     *
+     * @return the number, or NaN if the value is empty or not a number
+     */
+    static double parseDouble(String s, int start, int end) {
+        if (start >= end) {
+            return Double.NaN;
+        }
+
+        boolean negative = false;
+        int i = start;
+        if (s.charAt(i) == '-') {
+            negative = true;
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9' && digits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                // exponents, overly long values, ...
+                return parseDoubleSlow(s, start, end);
+            }
+        }
+
+        if (digits == 0) {
+            return Double.NaN;
+        }
+
+        double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+
+        return negative ? -value : value;
+    }
+
+    private static double parseDoubleSlow(String s, int start, int end) {
+        try {
+            return Double.parseDouble(s.substring(start, end));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String parseShiftState(String s, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+
+        if (end - start == 1) {
+            // avoid a new string for the usual single letter states
+            switch (s.charAt(start)) {
+                case 'P':
+                    return "P";
+                case 'D':
+                    return "D";
+                case 'R':
+                    return "R";
+                case 'N':
+                    return "N";
+                default:
+                    break;
+            }
+        }
+
+        return s.substring(start, end);
+    }
+}
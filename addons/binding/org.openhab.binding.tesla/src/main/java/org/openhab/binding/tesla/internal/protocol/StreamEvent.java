@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tesla.internal.protocol;
+
+/**
+ * The {@link StreamEvent} is a datastructure to capture
+ * the values of an event received through the event stream of
+ * the Tesla Vehicle, in the order of the event keys. Values that
+ * were not part of the event are NaN, respectively null
+ *
+ * @author agent - Initial contribution
+ */
+public class StreamEvent {
+
+    public long timestamp;
+    public double odometer = Double.NaN;
+    public double speed = Double.NaN;
+    public double soc = Double.NaN;
+    public double elevation = Double.NaN;
+    public double est_heading = Double.NaN;
+    public double est_lat = Double.NaN;
+    public double est_lng = Double.NaN;
+    public double power = Double.NaN;
+    public String shift_state;
+    public double range = Double.NaN;
+    public double est_range = Double.NaN;
+    public double heading = Double.NaN;
+
+    public boolean isMoving() {
+        return (!Double.isNaN(speed) && speed > 0)
+                || (shift_state != null && !shift_state.equals("P") && !shift_state.equals(""));
+    }
+
+}
@@ -1,116 +1,238 @@
-/**
- * Copyright (c) 2010-2017 by the respective copyright holders.
- *
- * All rights reserved. This program and the accompanying materials
- * are made available under the terms of the Eclipse Public License v1.0
- * which accompanies this distribution, and is available at
- * http://www.eclipse.org/legal/epl-v10.html
- */
-package org.openhab.binding.tesla.internal.throttler;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-/**
- * The {@link QueueChannelThrottler} implements a throttler that maintains
- * multiple execution rates, and maintains the order of calls
- * 
- * @author Karel Goderis - Initial contribution
- */
-public final class QueueChannelThrottler extends
-		AbstractMultiRateChannelThrottler {
-
-	private Logger logger = LoggerFactory
-			.getLogger(QueueChannelThrottler.class);
-
-	private final static int MAX_QUEUE_LENGTH = 150;
-	private BlockingQueue<FutureTask<?>> tasks;
-	private final Rate overallRate;
-
-	private final Runnable processQueueTask = new Runnable() {
-		@Override
-		public void run() {
-			FutureTask<?> task = tasks.poll();
-			if (task != null && !task.isCancelled()) {
-				task.run();
-			}
-		}
-	};
-
-	public QueueChannelThrottler(Rate someRate) {
-		this(someRate, (ScheduledThreadPoolExecutor) Executors
-				.newScheduledThreadPool(1), new HashMap<Object, Rate>(),
-				TimeProvider.SYSTEM_PROVIDER, MAX_QUEUE_LENGTH);
-	}
-
-	public QueueChannelThrottler(Rate someRate,
-			ScheduledExecutorService scheduler) {
-		this(someRate, scheduler, new HashMap<Object, Rate>(),
-				TimeProvider.SYSTEM_PROVIDER, MAX_QUEUE_LENGTH);
-	}
-
-	public QueueChannelThrottler(Rate someRate,
-			ScheduledExecutorService scheduler, Map<Object, Rate> channels) {
-		this(someRate, scheduler, channels, TimeProvider.SYSTEM_PROVIDER,
-				MAX_QUEUE_LENGTH);
-	}
-
-	public QueueChannelThrottler(Rate someRate, Map<Object, Rate> channels,
-			int queueLength) {
-		this(someRate, (ScheduledThreadPoolExecutor) Executors
-				.newScheduledThreadPool(1), channels,
-				TimeProvider.SYSTEM_PROVIDER, queueLength);
-	}
-
-	public QueueChannelThrottler(Rate someRate,
-			ScheduledExecutorService scheduler, Map<Object, Rate> channels,
-			TimeProvider timeProvider, int queueLength) {
-		super(someRate, scheduler, channels, timeProvider);
-		overallRate = someRate;
-		tasks = new LinkedBlockingQueue<FutureTask<?>>(queueLength);
-
-	}
-
-	@Override
-	public Future<?> submit(Runnable task) {
-		return submit(null, task);
-	}
-
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	@Override
-	public Future<?> submit(Object channelKey, Runnable task) {
-		FutureTask runTask = new FutureTask(task, null);
-		try {
-			if (tasks.offer(runTask, overallRate.timeInMillis(),
-					TimeUnit.MILLISECONDS)) {
-				long throttledTime = channelKey == null ? callTime(null)
-						: callTime(channels.get(channelKey));
-				long now = timeProvider.getCurrentTimeInMillis();
-				scheduler.schedule(processQueueTask, throttledTime < now ? 0
-						: throttledTime - now, TimeUnit.MILLISECONDS);
-				return runTask;
-			} else {
-				logger.warn(
-						"The QueueThrottler can not take the task '{}' at this point in time",
-						runTask.toString());
-			}
-		} catch (InterruptedException e) {
-			logger.error(
-					"An exception occurred while scheduling a new taks: '{}'",
-					e.getMessage());
-		}
-
-		return null;
-	}
-}
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tesla.internal.throttler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link QueueChannelThrottler} implements a throttler that maintains
+ * multiple execution rates, and maintains the order of calls. Each channel has
+ * its own queue, so a task only runs in a time slot of its own channel. Tasks
+ * submitted with a request key are coalesced with a pending task with the same
+ * key, which then executes only once
+ * 
+ * @author Karel Goderis - Initial contribution
+ */
+public final class QueueChannelThrottler extends
+		AbstractMultiRateChannelThrottler {
+
+	private Logger logger = LoggerFactory
+			.getLogger(QueueChannelThrottler.class);
+
+	private final static int MAX_QUEUE_LENGTH = 150;
+	private final int queueLength;
+	private final Map<Object, BlockingQueue<ThrottledTask>> channelTasks = new HashMap<Object, BlockingQueue<ThrottledTask>>();
+	private final Map<Object, ThrottledTask> pendingTasks = new HashMap<Object, ThrottledTask>();
+	private final Rate overallRate;
+	private final AtomicLong rejectedTasks = new AtomicLong();
+	private final AtomicLong coalescedTasks = new AtomicLong();
+
+	/**
+	 * Executes the next task of a channel, it is scheduled in a time slot of
+	 * that channel
+	 */
+	private class ProcessQueueTask implements Runnable {
+
+		private final BlockingQueue<ThrottledTask> tasks;
+
+		ProcessQueueTask(BlockingQueue<ThrottledTask> tasks) {
+			this.tasks = tasks;
+		}
+
+		@Override
+		public void run() {
+			ThrottledTask task = tasks.poll();
+			if (task != null) {
+				release(task);
+				if (!task.isCancelled()) {
+					task.run();
+				}
+			}
+		}
+	}
+
+	private static class ThrottledTask extends FutureTask<Object> {
+
+		private final Object requestKey;
+
+		ThrottledTask(Runnable task, Object requestKey) {
+			super(task, null);
+			this.requestKey = requestKey;
+		}
+	}
+
+	public QueueChannelThrottler(Rate someRate) {
+		this(someRate, (ScheduledThreadPoolExecutor) Executors
+				.newScheduledThreadPool(1), new HashMap<Object, Rate>(),
+				TimeProvider.SYSTEM_PROVIDER, MAX_QUEUE_LENGTH);
+	}
+
+	public QueueChannelThrottler(Rate someRate,
+			ScheduledExecutorService scheduler) {
+		this(someRate, scheduler, new HashMap<Object, Rate>(),
+				TimeProvider.SYSTEM_PROVIDER, MAX_QUEUE_LENGTH);
+	}
+
+	public QueueChannelThrottler(Rate someRate,
+			ScheduledExecutorService scheduler, Map<Object, Rate> channels) {
+		this(someRate, scheduler, channels, TimeProvider.SYSTEM_PROVIDER,
+				MAX_QUEUE_LENGTH);
+	}
+
+	public QueueChannelThrottler(Rate someRate, Map<Object, Rate> channels,
+			int queueLength) {
+		this(someRate, (ScheduledThreadPoolExecutor) Executors
+				.newScheduledThreadPool(1), channels,
+				TimeProvider.SYSTEM_PROVIDER, queueLength);
+	}
+
+	public QueueChannelThrottler(Rate someRate,
+			ScheduledExecutorService scheduler, Map<Object, Rate> channels,
+			TimeProvider timeProvider, int queueLength) {
+		super(someRate, scheduler, channels, timeProvider);
+		overallRate = someRate;
+		this.queueLength = queueLength;
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		return submit(null, task);
+	}
+
+	@Override
+	public Future<?> submit(Object channelKey, Runnable task) {
+		return submit(channelKey, null, task);
+	}
+
+	/**
+	 * Submits a task to be executed as soon as the rates allow
+	 * 
+	 * @param channelKey
+	 *            key of the channel rate that applies to the task, or null
+	 * @param requestKey
+	 *            key identifying the request performed by the task. While a
+	 *            task with the same key is pending, that task is returned
+	 *            instead of queueing a new one. Null if the task must always
+	 *            be queued. Only requests whose repeated execution has no
+	 *            other effect than the first one may be coalesced
+	 * @param task
+	 *            the task to execute
+	 * @return the future of the task, or null if the queue is full
+	 */
+	public Future<?> submit(Object channelKey, Object requestKey, Runnable task) {
+		ThrottledTask runTask;
+		BlockingQueue<ThrottledTask> queue;
+		synchronized (pendingTasks) {
+			if (requestKey != null) {
+				ThrottledTask pendingTask = pendingTasks.get(requestKey);
+				if (pendingTask != null) {
+					coalescedTasks.incrementAndGet();
+					return pendingTask;
+				}
+			}
+
+			runTask = new ThrottledTask(task, requestKey);
+			if (requestKey != null) {
+				pendingTasks.put(requestKey, runTask);
+			}
+
+			queue = channelTasks.get(channelKey);
+			if (queue == null) {
+				queue = new LinkedBlockingQueue<ThrottledTask>(queueLength);
+				channelTasks.put(channelKey, queue);
+			}
+		}
+
+		try {
+			if (queue.offer(runTask, overallRate.timeInMillis(),
+					TimeUnit.MILLISECONDS)) {
+				long throttledTime = channelKey == null ? callTime(null)
+						: callTime(channels.get(channelKey));
+				long now = timeProvider.getCurrentTimeInMillis();
+				scheduler.schedule(new ProcessQueueTask(queue),
+						throttledTime < now ? 0 : throttledTime - now,
+						TimeUnit.MILLISECONDS);
+				return runTask;
+			} else {
+				rejectedTasks.incrementAndGet();
+				logger.warn(
+						"The QueueThrottler can not take the task '{}' at this point in time",
+						runTask.toString());
+			}
+		} catch (InterruptedException e) {
+			logger.error(
+					"An exception occurred while scheduling a new taks: '{}'",
+					e.getMessage());
+		}
+
+		// tasks coalesced with this one in the mean time will not execute either
+		release(runTask);
+		runTask.cancel(false);
+
+		return null;
+	}
+
+	private void release(ThrottledTask task) {
+		if (task.requestKey != null) {
+			synchronized (pendingTasks) {
+				if (pendingTasks.get(task.requestKey) == task) {
+					pendingTasks.remove(task.requestKey);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of tasks waiting to be executed
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		synchronized (pendingTasks) {
+			for (BlockingQueue<ThrottledTask> tasks : channelTasks.values()) {
+				depth += tasks.size();
+			}
+		}
+		return depth;
+	}
+
+	/**
+	 * @return the number of tasks that were not accepted because the queue was
+	 *         full
+	 */
+	public long getRejectedCount() {
+		return rejectedTasks.get();
+	}
+
+	/**
+	 * @return the number of tasks that were coalesced with a pending task
+	 */
+	public long getCoalescedCount() {
+		return coalescedTasks.get();
+	}
+
+	@Override
+	public String toString() {
+		return "QueueChannelThrottler [queued=" + getQueueDepth()
+				+ ", rejected=" + getRejectedCount() + ", coalesced="
+				+ getCoalescedCount() + "]";
+	}
+}
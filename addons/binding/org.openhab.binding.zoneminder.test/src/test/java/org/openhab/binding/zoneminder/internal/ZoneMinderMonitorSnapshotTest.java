@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zoneminder.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+
+import name.eskildsen.zoneminder.IZoneMinderMonitorData;
+import name.eskildsen.zoneminder.api.monitor.ZoneMinderMonitorData;
+import name.eskildsen.zoneminder.common.ZoneMinderMonitorFunctionEnum;
+
+/**
+ * Test for {@link ZoneMinderMonitorSnapshot}
+ *
+ * @author agent
+ */
+public class ZoneMinderMonitorSnapshotTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testMonitorsAreIndexedById() {
+        ZoneMinderMonitorSnapshot snapshot = new ZoneMinderMonitorSnapshot(
+                createMonitors(createMonitor("1", "Modect", "1"), createMonitor("2", "Monitor", "0")));
+
+        assertEquals(2, snapshot.size());
+        assertEquals("1", snapshot.getMonitorData("1").getId());
+        assertEquals("2", snapshot.getMonitorData("2").getId());
+        assertNull(snapshot.getMonitorData("3"));
+    }
+
+    @Test
+    public void testMonitorsHaveResponseOfSuccessfulRequest() {
+        // The list of all monitors is parsed without setting the response code of its entries
+        IZoneMinderMonitorData monitor = createMonitor("1", "Modect", "1");
+        assertEquals(0, monitor.getHttpResponseCode());
+
+        ZoneMinderMonitorSnapshot snapshot = new ZoneMinderMonitorSnapshot(createMonitors(monitor));
+
+        IZoneMinderMonitorData data = snapshot.getMonitorData("1");
+        assertEquals(200, data.getHttpResponseCode());
+        assertEquals(ZoneMinderMonitorFunctionEnum.MODECT, data.getFunction());
+        assertTrue(data.getEnabled());
+    }
+
+    @Test
+    public void testMonitorsWithoutIdAreIgnored() {
+        List<IZoneMinderMonitorData> monitors = createMonitors(createMonitor("1", "Modect", "1"));
+        monitors.add(null);
+        monitors.add(gson.fromJson(new JsonParser().parse("{\"Name\":\"Garden\"}"), ZoneMinderMonitorData.class));
+
+        assertEquals(1, new ZoneMinderMonitorSnapshot(monitors).size());
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        assertEquals(0, ZoneMinderMonitorSnapshot.EMPTY.size());
+        assertNull(ZoneMinderMonitorSnapshot.EMPTY.getMonitorData("1"));
+    }
+
+    /**
+     * Create monitor data the way the server proxy does for each entry of the list of all monitors
+     */
+    private IZoneMinderMonitorData createMonitor(String id, String function, String enabled) {
+        String json = String.format("{\"Id\":\"%s\",\"Name\":\"Monitor %s\",\"Function\":\"%s\",\"Enabled\":\"%s\"}",
+                id, id, function, enabled);
+        return gson.fromJson(new JsonParser().parse(json), ZoneMinderMonitorData.class);
+    }
+
+    private List<IZoneMinderMonitorData> createMonitors(IZoneMinderMonitorData... monitors) {
+        List<IZoneMinderMonitorData> list = new ArrayList<IZoneMinderMonitorData>();
+        for (IZoneMinderMonitorData monitor : monitors) {
+            list.add(monitor);
+        }
+        return list;
+    }
+}
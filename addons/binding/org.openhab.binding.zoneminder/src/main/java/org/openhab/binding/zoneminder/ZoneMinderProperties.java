@@ -10,6 +10,7 @@ package org.openhab.binding.zoneminder;
 
 public class ZoneMinderProperties {
     public static final String PROPERTY_ID = "Id";
+    public static final String PROPERTY_POLL_INTERVAL = "Poll Interval (s)";
 
     public static final String PROPERTY_SERVER_VERSION = "Version";
     public static final String PROPERTY_SERVER_API_VERSION = "API Version";
@@ -160,7 +160,13 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
         return ch.getUID();
     }
 
-    protected abstract void onFetchData();
+    /**
+     * Fetch data of the thing.
+     *
+     * @param refreshPriority
+     *            Priority of the refresh cycle, which is running
+     */
+    protected abstract void onFetchData(DataRefreshPriorityEnum refreshPriority);
 
     /**
      * Method to Refresh Thing Handler.
@@ -183,7 +189,7 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
                 logger.debug("{}: refreshThing(): Bridge '{}' Found for Thing '{}'!", getLogIdentifier(),
                         getThing().getUID(), this.getThing().getUID());
 
-                onFetchData();
+                onFetchData(refreshPriority);
             }
         }
 
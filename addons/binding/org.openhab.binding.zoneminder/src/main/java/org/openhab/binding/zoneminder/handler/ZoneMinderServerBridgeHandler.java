@@ -16,6 +16,8 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -43,6 +45,9 @@ import org.openhab.binding.zoneminder.ZoneMinderConstants;
 import org.openhab.binding.zoneminder.ZoneMinderProperties;
 import org.openhab.binding.zoneminder.discovery.ZoneMinderDiscoveryService;
 import org.openhab.binding.zoneminder.internal.DataRefreshPriorityEnum;
+import org.openhab.binding.zoneminder.internal.ZoneMinderAdaptiveRefresh;
+import org.openhab.binding.zoneminder.internal.ZoneMinderMonitorSnapshot;
+import org.openhab.binding.zoneminder.internal.ZoneMinderRequestStatistics;
 import org.openhab.binding.zoneminder.internal.config.ZoneMinderBridgeServerConfig;
 import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
@@ -85,8 +90,6 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
     private ServiceRegistration discoveryRegistration = null;
 
     private ScheduledFuture<?> taskWatchDog = null;
-    private int refreshFrequency = 0;
-    private int refreshCycleCount = 0;
 
     /** Connection status for the bridge. */
     private boolean connected = false;
@@ -131,6 +134,31 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
     private ScheduledFuture<?> taskRefreshData = null;
     private ScheduledFuture<?> taskPriorityRefreshData = null;
 
+    /**
+     * Monitor handlers indexed by ZoneMinder Id
+     */
+    private ConcurrentMap<String, ZoneMinderThingMonitorHandler> monitorHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * Data of all monitors, fetched once per refresh cycle
+     */
+    private volatile ZoneMinderMonitorSnapshot monitorSnapshot = ZoneMinderMonitorSnapshot.EMPTY;
+
+    private ZoneMinderRequestStatistics requestStatistics = new ZoneMinderRequestStatistics();
+
+    /**
+     * Interval of the scheduled refresh, backs off while the event stream is connected. Created with the
+     * configured interval when the bridge connects.
+     */
+    private volatile ZoneMinderAdaptiveRefresh adaptiveRefresh = new ZoneMinderAdaptiveRefresh(10);
+
+    /** Guards taskRefreshData, which reschedules itself after each cycle. */
+    private final Object refreshTaskLock = new Object();
+    private boolean refreshTaskActive = false;
+
+    private long lastDiskUsageRefresh = 0;
+    private String propertyPollInterval = "";
+
     private Runnable refreshDataRunnable = new Runnable() {
         @Override
         public void run() {
@@ -141,47 +169,22 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
                     logger.debug("{}: Bridge '{}' is noit online skipping refresh", getLogIdentifier(), thing.getUID());
                 }
 
-                refreshCycleCount++;
-
-                int iMaxCycles;
-                boolean resetCount = false;
-                boolean doRefresh = false;
-
-                // Disk Usage is disabled
-                if (getBridgeConfig().getRefreshIntervalLowPriorityTask() == 0) {
-                    iMaxCycles = getBridgeConfig().getRefreshInterval();
-                    resetCount = true;
-                    doRefresh = true;
-
-                } else {
-                    iMaxCycles = getBridgeConfig().getRefreshIntervalLowPriorityTask() * 60;
-                    doRefresh = true;
-                    if ((refreshCycleCount * refreshFrequency) >= (getBridgeConfig().getRefreshIntervalLowPriorityTask()
-                            * 60)) {
-                        fetchDiskUsage = true;
-                        resetCount = true;
-
-                    }
+                // Disk Usage is fetched by time, since the interval of this task varies
+                int intervalDiskUsage = getBridgeConfig().getRefreshIntervalLowPriorityTask();
+                if ((intervalDiskUsage > 0) && ((System.currentTimeMillis() - lastDiskUsageRefresh) >= TimeUnit.MINUTES
+                        .toMillis(intervalDiskUsage))) {
+                    fetchDiskUsage = true;
                 }
 
-                logger.debug(
-                        "{}: Running Refresh data task count='{}', freq='{}', max='{}', interval='{}', intervalLow='{}'",
-                        getLogIdentifier(), refreshCycleCount, refreshFrequency, iMaxCycles,
-                        getBridgeConfig().getRefreshInterval(), getBridgeConfig().getRefreshIntervalLowPriorityTask());
-
-                if (doRefresh) {
+                logger.debug("{}: 'refreshDataRunnable()': (diskUsage='{}', {})", getLogIdentifier(), fetchDiskUsage,
+                        adaptiveRefresh);
 
-                    if (resetCount == true) {
-                        refreshCycleCount = 0;
-                    }
-
-                    logger.debug("{}: 'refreshDataRunnable()': (diskUsage='{}')", getLogIdentifier(), fetchDiskUsage);
-
-                    refreshThing(zoneMinderSession, fetchDiskUsage);
-                }
+                refreshThing(zoneMinderSession, fetchDiskUsage);
 
             } catch (Exception exception) {
                 logger.error("{}: monitorRunnable::run(): Exception: {}", getLogIdentifier(), exception);
+            } finally {
+                scheduleRefreshData(adaptiveRefresh.nextInterval(isMonitorAlarmed()));
             }
         }
     };
@@ -191,44 +194,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         @Override
         public void run() {
             try {
-
-                // Make sure priority updates is done
-                for (Thing thing : getThing().getThings()) {
-                    try {
-
-                        if (thing.getThingTypeUID().equals(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR)) {
-                            Thing thingMonitor = thing;
-
-                            ZoneMinderBaseThingHandler thingHandler = (ZoneMinderBaseThingHandler) thing.getHandler();
-                            if (thingHandler != null) {
-
-                                if (thingHandler.getRefreshPriority() == DataRefreshPriorityEnum.HIGH_PRIORITY) {
-                                    logger.debug(String.format("[MONITOR-%s]: RefreshPriority is High Priority",
-                                            thingHandler.getZoneMinderId()));
-                                    thingHandler.refreshThing(zoneMinderSession, DataRefreshPriorityEnum.HIGH_PRIORITY);
-                                }
-                            } else {
-                                logger.debug(String.format(
-                                        "[MONITOR]: refreshThing not called for monitor, since thingHandler is 'null'"));
-
-                            }
-                        }
-
-                    } catch (NullPointerException ex) {
-                        // This isn't critical (unless it comes over and over). There seems to be a bug so that a
-                        // null
-                        // pointer exception is coming every now and then.
-                        // HAve to find the reason for that. Until thenm, don't Spamm
-                        logger.error(
-                                "[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
-                                thing.getUID(), ex);
-                    } catch (Exception ex) {
-                        logger.error(
-                                "[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
-                                thing.getUID(), ex);
-                    }
-                }
-
+                refreshPriorityThings(zoneMinderSession);
             } catch (Exception exception) {
                 logger.error("[MONITOR]: monitorRunnable::run(): Exception: ", exception);
             }
@@ -290,26 +256,106 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
     }
 
     /**
-     * Method to find the lowest possible refresh rate (based on configuration)
+     * Schedule the next run of the refresh data task, unless the task has been stopped.
      *
-     * @param refreshRate
-     * @return
+     * @param interval
+     *            Seconds until the next run
+     */
+    protected void scheduleRefreshData(int interval) {
+        synchronized (refreshTaskLock) {
+            if (!refreshTaskActive) {
+                return;
+            }
+
+            taskRefreshData = scheduler.schedule(refreshDataRunnable, interval, TimeUnit.SECONDS);
+        }
+
+        logger.debug("{}: Next refresh in '{}' seconds ({})", getLogIdentifier(), interval, adaptiveRefresh);
+        updatePollIntervals();
+    }
+
+    protected void startRefreshDataTask() {
+        synchronized (refreshTaskLock) {
+            refreshTaskActive = true;
+        }
+        scheduleRefreshData(adaptiveRefresh.nextInterval(isMonitorAlarmed()));
+    }
+
+    protected void stopRefreshDataTask() {
+        synchronized (refreshTaskLock) {
+            refreshTaskActive = false;
+            if (taskRefreshData != null) {
+                taskRefreshData.cancel(true);
+                taskRefreshData = null;
+            }
+        }
+    }
+
+    /**
+     * Set the state of the subscription to monitor events (telnet triggers). While it is connected, the
+     * scheduled refresh backs off.
+     */
+    public void setEventStreamConnected(boolean connected) {
+        if (adaptiveRefresh.isEventStreamConnected() != connected) {
+            logger.info("{}: Event stream {}", getLogIdentifier(), connected ? "connected" : "disconnected");
+        }
+        adaptiveRefresh.setEventStreamConnected(connected);
+    }
+
+    /**
+     * Called by a monitor handler when an event is received. Brings a backed off refresh forward to the
+     * configured interval, the monitor itself is refreshed by the high priority task.
      */
-    protected int calculateCommonRefreshFrequency(int refreshRate) {
-        // Check if 30, 15, 10 or 5 seconds is possible
-        if ((refreshRate % 30) == 0) {
-            return 30;
-        } else if ((refreshRate % 15) == 0) {
-            return 15;
-        } else if ((refreshRate % 10) == 0) {
-            return 10;
-        } else if ((refreshRate % 5) == 0) {
-            return 5;
+    public void onMonitorEvent(ZoneMinderThingMonitorHandler handler) {
+        adaptiveRefresh.onEvent();
+
+        int interval = adaptiveRefresh.getBaseInterval();
+        synchronized (refreshTaskLock) {
+            if (!refreshTaskActive || (taskRefreshData == null)
+                    || (taskRefreshData.getDelay(TimeUnit.SECONDS) <= interval)) {
+                return;
+            }
+
+            // Don't interrupt a running refresh, it will reschedule itself
+            if (!taskRefreshData.cancel(false)) {
+                return;
+            }
         }
 
-        // Hmm, didn't find a obvious shared value. Run every second...
-        return 1;
+        logger.debug("{}: Event received from '{}', refreshing within '{}' seconds", getLogIdentifier(),
+                handler.getZoneMinderId(), interval);
+        scheduleRefreshData(interval);
+    }
 
+    protected boolean isMonitorAlarmed() {
+        for (ZoneMinderThingMonitorHandler thingHandler : monitorHandlers.values()) {
+            if (thingHandler.isAlarmed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Seconds between scheduled refreshes of the things, as currently calculated.
+     */
+    public int getRefreshInterval() {
+        return adaptiveRefresh.getCurrentInterval();
+    }
+
+    /**
+     * Expose the current poll interval as property of the bridge and its monitors.
+     */
+    protected void updatePollIntervals() {
+        String pollInterval = Integer.toString(getRefreshInterval());
+        if (!pollInterval.equals(propertyPollInterval)) {
+            propertyPollInterval = pollInterval;
+            updateProperty(ZoneMinderProperties.PROPERTY_POLL_INTERVAL, pollInterval);
+        }
+
+        for (ZoneMinderThingMonitorHandler thingHandler : monitorHandlers.values()) {
+            thingHandler.updatePollInterval(getRefreshInterval());
+        }
     }
 
     protected void startWatchDogTask() {
@@ -344,7 +390,8 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
             stopWatchDogTask();
 
             logger.info("{}: Stopping refresh data task", getLogIdentifier());
-            stopTask(taskRefreshData);
+            stopRefreshDataTask();
+            stopTask(taskPriorityRefreshData);
         } catch (Exception ex) {
         }
     }
@@ -395,6 +442,13 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
     public ZoneMinderBaseThingHandler getZoneMinderThingHandlerFromZoneMinderId(ThingTypeUID thingTypeUID,
             String zoneMinderId) {
 
+        if (thingTypeUID.equals(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR)) {
+            ZoneMinderThingMonitorHandler monitorHandler = monitorHandlers.get(zoneMinderId);
+            if (monitorHandler != null) {
+                return monitorHandler;
+            }
+        }
+
         // Inform thing handlers of connection
         List<Thing> things = getThing().getThings();
 
@@ -413,12 +467,108 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         logger.debug("{}: Update '{}' with '{}'", getLogIdentifier(), channelUID.getAsString(), command.toString());
     }
 
+    /**
+     * Register a monitor handler, so it is refreshed with the data of its monitor in each cycle.
+     */
+    public void registerMonitorHandler(String zoneMinderId, ZoneMinderThingMonitorHandler handler) {
+        if (StringUtils.isEmpty(zoneMinderId)) {
+            return;
+        }
+
+        monitorHandlers.put(zoneMinderId, handler);
+    }
+
+    public void unregisterMonitorHandler(String zoneMinderId, ZoneMinderThingMonitorHandler handler) {
+        if (StringUtils.isEmpty(zoneMinderId)) {
+            return;
+        }
+
+        monitorHandlers.remove(zoneMinderId, handler);
+    }
+
+    /**
+     * Get the data of a monitor from the snapshot of the current refresh cycle.
+     *
+     * @return Monitor data or 'null' if the monitor was not part of the snapshot
+     */
+    public IZoneMinderMonitorData getMonitorData(String zoneMinderId) {
+        return monitorSnapshot.getMonitorData(zoneMinderId);
+    }
+
+    public ZoneMinderRequestStatistics getRequestStatistics() {
+        return requestStatistics;
+    }
+
+    /**
+     * Fetch the data of all monitors with one request. Monitor handlers get their data from this snapshot,
+     * instead of requesting it one by one.
+     */
+    protected void refreshMonitorSnapshot(IZoneMinderSession session) {
+        ZoneMinderMonitorSnapshot snapshot = ZoneMinderMonitorSnapshot.EMPTY;
+
+        if ((session != null) && isConnected()) {
+            IZoneMinderServer serverProxy = ZoneMinderFactory.getServerProxy(session);
+            long startTime = System.nanoTime();
+            try {
+                ArrayList<IZoneMinderMonitorData> monitors = serverProxy.getMonitors();
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        serverProxy.getHttpUrl(), serverProxy.getHttpResponseCode(),
+                        serverProxy.getHttpResponseMessage());
+
+                if (monitors != null) {
+                    snapshot = new ZoneMinderMonitorSnapshot(monitors);
+                }
+            } catch (Exception ex) {
+                logger.error("{}: Exception thrown when fetching monitors ('{}')", getLogIdentifier(), ex.getMessage());
+            } finally {
+                requestStatistics.recordRequest(startTime);
+            }
+        }
+
+        monitorSnapshot = snapshot;
+    }
+
+    /**
+     * Refresh the monitors in high priority mode (runs every second).
+     */
+    protected synchronized void refreshPriorityThings(IZoneMinderSession session) {
+        List<ZoneMinderThingMonitorHandler> priorityHandlers = new ArrayList<ZoneMinderThingMonitorHandler>();
+        for (ZoneMinderThingMonitorHandler thingHandler : monitorHandlers.values()) {
+            if (thingHandler.getRefreshPriority() == DataRefreshPriorityEnum.HIGH_PRIORITY) {
+                priorityHandlers.add(thingHandler);
+            }
+        }
+
+        // Nothing is alarmed, don't bother the server
+        if (priorityHandlers.isEmpty()) {
+            return;
+        }
+
+        requestStatistics.startCycle();
+        refreshMonitorSnapshot(session);
+
+        for (ZoneMinderThingMonitorHandler thingHandler : priorityHandlers) {
+            try {
+                logger.debug("[MONITOR-{}]: RefreshPriority is High Priority", thingHandler.getZoneMinderId());
+                thingHandler.refreshThing(session, DataRefreshPriorityEnum.HIGH_PRIORITY);
+            } catch (Exception ex) {
+                logger.error("[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
+                        thingHandler.getThing().getUID(), ex);
+            }
+        }
+
+        requestStatistics.endCycle();
+        logger.debug("{}: High priority refresh cycle of {} monitor(s): {}", getLogIdentifier(),
+                priorityHandlers.size(), requestStatistics);
+    }
+
     protected synchronized void refreshThing(IZoneMinderSession session, boolean fetchDiskUsage) {
 
         logger.debug("{}: 'refreshThing()': Thing='{}'!", getLogIdentifier(), this.getThing().getUID());
 
         List<Channel> channels = getThing().getChannels();
-        List<Thing> things = getThing().getThings();
+
+        requestStatistics.startCycle();
 
         IZoneMinderServer zoneMinderServerProxy = ZoneMinderFactory.getServerProxy(session);
         if (zoneMinderServerProxy == null) {
@@ -433,6 +583,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
              * Fetch data for Bridge
              */
             IZoneMinderHostLoad hostLoad = null;
+            long startTime = System.nanoTime();
             try {
                 hostLoad = zoneMinderServerProxy.getHostCpuLoad();
                 logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
@@ -441,6 +592,8 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
 
             } catch (FailedLoginException | ZoneMinderUrlNotFoundException | IOException ex) {
                 logger.error("{}: Exception thrown in call to ZoneMinderHostLoad ('{}')", getLogIdentifier(), ex);
+            } finally {
+                requestStatistics.recordRequest(startTime);
             }
 
             if (hostLoad == null) {
@@ -457,6 +610,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
 
             if (fetchDiskUsage) {
                 IZoneMinderDiskUsage diskUsage = null;
+                startTime = System.nanoTime();
                 try {
                     diskUsage = zoneMinderServerProxy.getHostDiskUsage();
                     logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
@@ -464,6 +618,8 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
                             zoneMinderServerProxy.getHttpResponseMessage());
                 } catch (Exception ex) {
                     logger.error("{}: Exception thrown in call to ZoneMinderDiskUsage ('{}')", getLogIdentifier(), ex);
+                } finally {
+                    requestStatistics.recordRequest(startTime);
                 }
 
                 if (diskUsage == null) {
@@ -476,6 +632,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
 
                 } else {
                     channelDiskUsage = diskUsage.getDiskUsage();
+                    lastDiskUsageRefresh = System.currentTimeMillis();
                 }
             }
 
@@ -494,17 +651,14 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         }
 
         /*
-         * Request Things attached to Bridge to refresh
+         * Request Things attached to Bridge to refresh, using the data of one shared request
          */
-        for (Thing thing : things) {
-            try {
+        refreshMonitorSnapshot(session);
 
-                if (thing.getThingTypeUID().equals(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR)) {
-                    Thing thingMonitor = thing;
-                    ZoneMinderBaseThingHandler thingHandler = (ZoneMinderBaseThingHandler) thing.getHandler();
-
-                    thingHandler.refreshThing(session, DataRefreshPriorityEnum.SCHEDULED);
-                }
+        for (ZoneMinderThingMonitorHandler thingHandler : monitorHandlers.values()) {
+            Thing thing = thingHandler.getThing();
+            try {
+                thingHandler.refreshThing(session, DataRefreshPriorityEnum.SCHEDULED);
 
             } catch (NullPointerException ex) {
                 // This isn't critical (unless it comes over and over). There seems to be a bug so that a null
@@ -520,6 +674,9 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
             }
         }
 
+        requestStatistics.endCycle();
+        logger.debug("{}: Refresh cycle of {} monitor(s): {}", getLogIdentifier(), monitorHandlers.size(),
+                requestStatistics);
     }
 
     /**
@@ -1031,30 +1188,23 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
             boolean updateDiskUsage = (getBridgeConfig().getRefreshIntervalLowPriorityTask() > 0) ? true : false;
             refreshThing(zoneMinderSession, updateDiskUsage);
 
-            if (getBridgeConfig().getRefreshIntervalLowPriorityTask() != 0) {
-                refreshFrequency = calculateCommonRefreshFrequency(getBridgeConfig().getRefreshInterval());
-            } else {
-                refreshFrequency = getBridgeConfig().getRefreshInterval();
-            }
-            logger.info("BRIDGE [{}]: Calculated refresh inetrval to '{}'", getThingId(), refreshFrequency);
-
-            if (taskRefreshData != null) {
-                taskRefreshData.cancel(true);
-                taskRefreshData = null;
-            }
+            boolean eventStreamConnected = adaptiveRefresh.isEventStreamConnected();
+            adaptiveRefresh = new ZoneMinderAdaptiveRefresh(getBridgeConfig().getRefreshInterval());
+            adaptiveRefresh.setEventStreamConnected(eventStreamConnected);
+            logger.info("BRIDGE [{}]: Refresh interval '{}' seconds, backing off to '{}' seconds with events",
+                    getThingId(), adaptiveRefresh.getBaseInterval(),
+                    adaptiveRefresh.getBaseInterval() * ZoneMinderAdaptiveRefresh.MAX_BACKOFF_FACTOR);
 
             // Start job to handle next updates
-            taskRefreshData = startTask(refreshDataRunnable, refreshFrequency, refreshFrequency, TimeUnit.SECONDS);
+            startRefreshDataTask();
 
             if (taskPriorityRefreshData != null) {
                 taskPriorityRefreshData.cancel(true);
                 taskPriorityRefreshData = null;
             }
 
-            // Only start if it is not running and Priority Frequency is higher than ordinary
-            if ((taskPriorityRefreshData == null) && (refreshFrequency > 1)) {
-                taskPriorityRefreshData = startTask(refreshPriorityDataRunnable, 0, 1, TimeUnit.SECONDS);
-            }
+            // Only sends requests while a monitor is alarmed
+            taskPriorityRefreshData = startTask(refreshPriorityDataRunnable, 0, 1, TimeUnit.SECONDS);
         }
 
         // Update properties
@@ -1069,11 +1219,11 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         discoveryService.deactivate();
 
         // Stopping refresh thread while OFFLINE
-        if (taskRefreshData != null) {
-            taskRefreshData.cancel(true);
-            taskRefreshData = null;
-            logger.debug("{}: Stopping DataRefresh task", getLogIdentifier());
-        }
+        stopRefreshDataTask();
+        logger.debug("{}: Stopping DataRefresh task", getLogIdentifier());
+
+        // The event stream is subscribed again when the bridge reconnects
+        setEventStreamConnected(false);
 
         // Stopping High priority thread while OFFLINE
         if (taskPriorityRefreshData != null) {
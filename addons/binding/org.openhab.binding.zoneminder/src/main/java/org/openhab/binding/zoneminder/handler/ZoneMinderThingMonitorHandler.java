@@ -33,6 +33,7 @@ import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.zoneminder.ZoneMinderConstants;
 import org.openhab.binding.zoneminder.ZoneMinderProperties;
 import org.openhab.binding.zoneminder.internal.DataRefreshPriorityEnum;
+import org.openhab.binding.zoneminder.internal.ZoneMinderRequestStatistics;
 import org.openhab.binding.zoneminder.internal.config.ZoneMinderThingMonitorConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,6 +96,8 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
     private int forceAlarmManualState = -1;
 
+    private volatile String propertyPollInterval = "";
+
     public ZoneMinderThingMonitorHandler(Thing thing) {
         super(thing);
 
@@ -103,6 +106,10 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
     @Override
     public void dispose() {
+        ZoneMinderServerBridgeHandler bridge = getZoneMinderBridgeHandler();
+        if ((bridge != null) && (config != null)) {
+            bridge.unregisterMonitorHandler(getZoneMinderId(), this);
+        }
     }
 
     @Override
@@ -124,7 +131,18 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
             logger.info("{}: Bridge '{}' connected", getLogIdentifier(), bridge.getThing().getUID().getAsString());
             super.onBridgeConnected(bridge, connection);
 
-            ZoneMinderFactory.SubscribeMonitorEvents(connection, config.getZoneMinderId(), this);
+            bridge.registerMonitorHandler(config.getZoneMinderId(), this);
+
+            try {
+                ZoneMinderFactory.SubscribeMonitorEvents(connection, config.getZoneMinderId(), this);
+                bridge.setEventStreamConnected(true);
+            } catch (IllegalArgumentException | GeneralSecurityException | IOException
+                    | ZoneMinderUrlNotFoundException ex) {
+                logger.warn("{}: Subscribing to Monitor Events failed, polling instead. Exception='{}'",
+                        getLogIdentifier(), ex.getMessage());
+                bridge.setEventStreamConnected(false);
+            }
+
             IZoneMinderSession session = aquireSession();
             IZoneMinderMonitor monitor = ZoneMinderFactory.getMonitorProxy(session, config.getZoneMinderId());
             IZoneMinderMonitorData monitorData = monitor.getMonitorData();
@@ -321,6 +339,12 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
         try {
             super.initialize();
             this.config = getMonitorConfig();
+
+            ZoneMinderServerBridgeHandler bridge = getZoneMinderBridgeHandler();
+            if (bridge != null) {
+                bridge.registerMonitorHandler(config.getZoneMinderId(), this);
+            }
+
             logger.info("{}: ZoneMinder Monitor Handler Initialized", getLogIdentifier());
             logger.debug("{}:    Monitor Id:         {}", getLogIdentifier(), config.getZoneMinderId());
         } catch (Exception ex) {
@@ -343,6 +367,12 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
             } else {
                 curEvent = null;
             }
+
+            ZoneMinderServerBridgeHandler bridge = getZoneMinderBridgeHandler();
+            if (bridge != null) {
+                bridge.onMonitorEvent(this);
+                updatePollInterval(bridge.getRefreshInterval());
+            }
         } catch (Exception ex) {
             logger.error("{}: Exception occurred inTrippedForceAlarm() Exception='{}'", getLogIdentifier(),
                     ex.getMessage());
@@ -722,7 +752,10 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
     }
 
     @Override
-    protected void onFetchData() {
+    protected void onFetchData(DataRefreshPriorityEnum refreshPriority) {
+
+        ZoneMinderServerBridgeHandler bridge = getZoneMinderBridgeHandler();
+        ZoneMinderRequestStatistics statistics = bridge.getRequestStatistics();
 
         IZoneMinderSession session = null;
 
@@ -730,89 +763,117 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
         try {
             IZoneMinderMonitor monitorProxy = ZoneMinderFactory.getMonitorProxy(session, getZoneMinderId());
 
-            IZoneMinderMonitorData data = null;
-            IZoneMinderDaemonStatus captureDaemon = null;
-            IZoneMinderDaemonStatus analysisDaemon = null;
-            IZoneMinderDaemonStatus frameDaemon = null;
-
-            data = monitorProxy.getMonitorData();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
-
-            captureDaemon = monitorProxy.getCaptureDaemonStatus();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
-
-            analysisDaemon = monitorProxy.getAnalysisDaemonStatus();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
-
-            frameDaemon = monitorProxy.getFrameDaemonStatus();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
+            // Monitor data is fetched by the bridge for all monitors at once
+            IZoneMinderMonitorData data = bridge.getMonitorData(getZoneMinderId());
+            boolean dataChanged = false;
+            long startTime;
+
+            if (data == null) {
+                startTime = System.nanoTime();
+                data = monitorProxy.getMonitorData();
+                statistics.recordRequest(startTime);
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
+                        monitorProxy.getHttpResponseMessage());
+                dataChanged = true;
+            }
 
-            if ((data.getHttpResponseCode() != 200) || (captureDaemon.getHttpResponseCode() != 200)
-                    || (analysisDaemon.getHttpResponseCode() != 200) || (frameDaemon.getHttpResponseCode() != 200)) {
+            // Daemons are only checked in the scheduled refresh, not every second while alarmed
+            if (refreshPriority != DataRefreshPriorityEnum.HIGH_PRIORITY) {
+                IZoneMinderDaemonStatus captureDaemon = null;
+                IZoneMinderDaemonStatus analysisDaemon = null;
+                IZoneMinderDaemonStatus frameDaemon = null;
 
-                if (data.getHttpResponseCode() != 200) {
-                    logger.warn("{}: HTTP Response MonitorData: Code='{}', Message'{}'", getLogIdentifier(),
-                            data.getHttpResponseCode(), data.getHttpResponseMessage());
+                startTime = System.nanoTime();
+                captureDaemon = monitorProxy.getCaptureDaemonStatus();
+                statistics.recordRequest(startTime);
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
+                        monitorProxy.getHttpResponseMessage());
+
+                startTime = System.nanoTime();
+                analysisDaemon = monitorProxy.getAnalysisDaemonStatus();
+                statistics.recordRequest(startTime);
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
+                        monitorProxy.getHttpResponseMessage());
+
+                startTime = System.nanoTime();
+                frameDaemon = monitorProxy.getFrameDaemonStatus();
+                statistics.recordRequest(startTime);
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
+                        monitorProxy.getHttpResponseMessage());
 
-                    channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
-                    channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
-                    channelEnabled = false;
-                    channelEventCause = "";
-                }
                 if (captureDaemon.getHttpResponseCode() != 200) {
                     channelDaemonCapture = false;
                     logger.warn("{}: HTTP Response CaptureDaemon: Code='{}', Message'{}'", getLogIdentifier(),
                             captureDaemon.getHttpResponseCode(), captureDaemon.getHttpResponseMessage());
-
+                } else {
+                    channelDaemonCapture = captureDaemon.getStatus();
                 }
+
                 if (analysisDaemon.getHttpResponseCode() != 200) {
                     channelDaemonAnalysis = false;
-
                     logger.warn("{}: HTTP Response AnalysisDaemon: Code='{}', Message='{}'", getLogIdentifier(),
                             analysisDaemon.getHttpResponseCode(), analysisDaemon.getHttpResponseMessage());
+                } else {
+                    channelDaemonAnalysis = analysisDaemon.getStatus();
                 }
+
                 if (frameDaemon.getHttpResponseCode() != 200) {
                     channelDaemonFrame = false;
                     logger.warn("{}: HTTP Response MonitorData: Code='{}', Message'{}'", getLogIdentifier(),
                             frameDaemon.getHttpResponseCode(), frameDaemon.getHttpResponseMessage());
+                } else {
+                    channelDaemonFrame = frameDaemon.getStatus();
                 }
+            }
 
-            } else {
-                if (isConnected()) {
-                    channelMonitorStatus = monitorProxy.getMonitorDetailedStatus();
-                    logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                            monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                            monitorProxy.getHttpResponseMessage());
-
-                    channelFunction = data.getFunction();
-                    channelEnabled = data.getEnabled();
+            if (data.getHttpResponseCode() != 200) {
+                logger.warn("{}: HTTP Response MonitorData: Code='{}', Message'{}'", getLogIdentifier(),
+                        data.getHttpResponseCode(), data.getHttpResponseMessage());
+
+                channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
+                channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
+                channelEnabled = false;
+                channelEventCause = "";
+
+            } else if (isConnected()) {
+                ZoneMinderMonitorStatusEnum previousMonitorStatus = channelMonitorStatus;
+
+                startTime = System.nanoTime();
+                channelMonitorStatus = monitorProxy.getMonitorDetailedStatus();
+                statistics.recordRequest(startTime);
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
+                        monitorProxy.getHttpResponseMessage());
+
+                // Compare with the state published by this monitor, the bridge refreshes its snapshot in the
+                // alarm cycle as well as in the normal refresh
+                dataChanged |= (data.getFunction() != channelFunction) || (data.getEnabled() != channelEnabled);
+                channelFunction = data.getFunction();
+                channelEnabled = data.getEnabled();
+
+                // Only look up the last event, when the state of the monitor changed
+                if (dataChanged || (channelMonitorStatus != previousMonitorStatus)) {
+                    startTime = System.nanoTime();
                     IZoneMinderEventData event = monitorProxy.getLastEvent();
+                    statistics.recordRequest(startTime);
                     if (event != null) {
                         channelEventCause = event.getCause();
                     } else {
                         channelEventCause = "";
                     }
-
-                    channelDaemonCapture = captureDaemon.getStatus();
-                    channelDaemonAnalysis = analysisDaemon.getStatus();
-                    channelDaemonFrame = frameDaemon.getStatus();
-                } else {
-                    channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
-                    channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
-                    channelEnabled = false;
-                    channelEventCause = "";
-                    channelDaemonCapture = false;
-                    channelDaemonAnalysis = false;
-                    channelDaemonFrame = false;
                 }
+            } else {
+                channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
+                channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
+                channelEnabled = false;
+                channelEventCause = "";
+                channelDaemonCapture = false;
+                channelDaemonAnalysis = false;
+                channelDaemonFrame = false;
             }
         } finally {
             releaseSession();
@@ -825,6 +886,31 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
             stopPriorityRefresh();
         }
 
+        updatePollInterval(bridge.getRefreshInterval());
+    }
+
+    /**
+     * @return true if the monitor is alarmed or Force Alarm is active
+     */
+    public boolean isAlarmed() {
+        return channelAlarmedState || channelForceAlarm;
+    }
+
+    /**
+     * Expose the interval this monitor is polled with as property. It is polled every second while in high
+     * priority mode, else with the interval of the bridge.
+     *
+     * @param scheduledInterval
+     *            Current interval in seconds of the scheduled refresh of the bridge
+     */
+    public void updatePollInterval(int scheduledInterval) {
+        int interval = (getRefreshPriority() == DataRefreshPriorityEnum.HIGH_PRIORITY) ? 1 : scheduledInterval;
+        String pollInterval = Integer.toString(interval);
+
+        if (!pollInterval.equals(propertyPollInterval)) {
+            propertyPollInterval = pollInterval;
+            updateProperty(ZoneMinderProperties.PROPERTY_POLL_INTERVAL, pollInterval);
+        }
     }
 
     protected State getDetailedStatus() {
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zoneminder.internal;
+
+/**
+ * Calculates the interval of the scheduled refresh of the ZoneMinder Server.
+ *
+ * While the event stream (telnet triggers) is subscribed, changes are pushed by ZoneMinder, so the interval
+ * is doubled for each quiet cycle up to {@link #MAX_BACKOFF_FACTOR} times the configured interval. The
+ * configured interval is used again as soon as an event is received, a monitor is alarmed or the event
+ * stream is lost.
+ *
+ * @author agent
+ */
+public class ZoneMinderAdaptiveRefresh {
+
+    public static final int MAX_BACKOFF_FACTOR = 8;
+
+    private final int baseInterval;
+    private final int maxInterval;
+
+    private int currentInterval;
+    private int quietCycles = 0;
+    private boolean eventStreamConnected = false;
+    private long lastEventTime = 0;
+
+    /**
+     * @param baseInterval
+     *            Configured refresh interval in seconds
+     */
+    public ZoneMinderAdaptiveRefresh(int baseInterval) {
+        this.baseInterval = Math.max(baseInterval, 1);
+        this.maxInterval = this.baseInterval * MAX_BACKOFF_FACTOR;
+        this.currentInterval = this.baseInterval;
+    }
+
+    public int getBaseInterval() {
+        return baseInterval;
+    }
+
+    public synchronized int getCurrentInterval() {
+        return currentInterval;
+    }
+
+    public synchronized boolean isEventStreamConnected() {
+        return eventStreamConnected;
+    }
+
+    /**
+     * Set the state of the event stream. Losing the stream resets the interval to the configured value.
+     */
+    public synchronized void setEventStreamConnected(boolean connected) {
+        if (!connected) {
+            quietCycles = 0;
+        }
+        eventStreamConnected = connected;
+    }
+
+    /**
+     * Register an event received from the event stream. Receiving it proves the stream is alive.
+     */
+    public synchronized void onEvent() {
+        lastEventTime = System.currentTimeMillis();
+        eventStreamConnected = true;
+        quietCycles = 0;
+    }
+
+    /**
+     * @return Time in milliseconds of the last received event, or 0 if none has been received
+     */
+    public synchronized long getLastEventTime() {
+        return lastEventTime;
+    }
+
+    /**
+     * Calculate the interval until the next scheduled refresh.
+     *
+     * @param alarmed
+     *            true if one or more monitors are alarmed
+     * @return Interval in seconds
+     */
+    public synchronized int nextInterval(boolean alarmed) {
+        if (!eventStreamConnected || alarmed) {
+            quietCycles = 0;
+        }
+
+        currentInterval = Math.min(baseInterval << quietCycles, maxInterval);
+        if (currentInterval < maxInterval) {
+            quietCycles++;
+        }
+        return currentInterval;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("interval='%ds' (base='%ds', max='%ds', eventStream='%s')", currentInterval, baseInterval,
+                maxInterval, eventStreamConnected ? "connected" : "disconnected");
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zoneminder.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import name.eskildsen.zoneminder.IZoneMinderMonitorData;
+import name.eskildsen.zoneminder.api.ZoneMinderData;
+
+/**
+ * Data of all monitors fetched with a single request in one refresh cycle, indexed by ZoneMinder Id.
+ * The list of all monitors doesn't set the HTTP response of its entries, so they get the response of the
+ * successful request, like the data of a single monitor has it.
+ *
+ * @author agent
+ */
+public class ZoneMinderMonitorSnapshot {
+
+    public static final ZoneMinderMonitorSnapshot EMPTY = new ZoneMinderMonitorSnapshot(
+            Collections.<IZoneMinderMonitorData> emptyList());
+
+    private static final int HTTP_OK = 200;
+
+    private final Map<String, IZoneMinderMonitorData> monitors = new HashMap<String, IZoneMinderMonitorData>();
+
+    public ZoneMinderMonitorSnapshot(List<IZoneMinderMonitorData> monitorList) {
+        for (IZoneMinderMonitorData monitor : monitorList) {
+            if ((monitor != null) && (monitor.getId() != null)) {
+                if (monitor instanceof ZoneMinderData) {
+                    ((ZoneMinderData) monitor).setHttpResponseCode(HTTP_OK);
+                }
+                monitors.put(monitor.getId(), monitor);
+            }
+        }
+    }
+
+    /**
+     * Get data of a monitor.
+     *
+     * @param zoneMinderId
+     *            Id of the monitor in ZoneMinder
+     * @return Monitor data or 'null' if the monitor was not part of the snapshot
+     */
+    public IZoneMinderMonitorData getMonitorData(String zoneMinderId) {
+        return monitors.get(zoneMinderId);
+    }
+
+    public Set<String> getMonitorIds() {
+        return Collections.unmodifiableSet(monitors.keySet());
+    }
+
+    public int size() {
+        return monitors.size();
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zoneminder.internal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the requests sent to the ZoneMinder Server and their latency, per refresh cycle and in total.
+ *
+ * @author agent
+ */
+public class ZoneMinderRequestStatistics {
+
+    private int cycleRequests = 0;
+    private long cycleLatency = 0;
+
+    private int lastCycleRequests = 0;
+    private long lastCycleLatency = 0;
+
+    private long totalCycles = 0;
+    private long totalRequests = 0;
+    private long totalLatency = 0;
+
+    /**
+     * Start counting requests for a new refresh cycle.
+     */
+    public synchronized void startCycle() {
+        cycleRequests = 0;
+        cycleLatency = 0;
+    }
+
+    /**
+     * Record a finished request.
+     *
+     * @param startTime
+     *            Value of System.nanoTime() when the request was sent
+     */
+    public synchronized void recordRequest(long startTime) {
+        long latency = System.nanoTime() - startTime;
+
+        cycleRequests++;
+        cycleLatency += latency;
+        totalRequests++;
+        totalLatency += latency;
+    }
+
+    /**
+     * Finish the current refresh cycle.
+     */
+    public synchronized void endCycle() {
+        lastCycleRequests = cycleRequests;
+        lastCycleLatency = cycleLatency;
+        totalCycles++;
+    }
+
+    public synchronized int getLastCycleRequests() {
+        return lastCycleRequests;
+    }
+
+    /**
+     * @return Summed latency in milliseconds of all requests in the last cycle
+     */
+    public synchronized long getLastCycleLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(lastCycleLatency);
+    }
+
+    /**
+     * @return Average latency in milliseconds of all requests
+     */
+    public synchronized long getAverageLatency() {
+        return (totalRequests == 0) ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency / totalRequests);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("requests='%d', latency='%dms' (cycles='%d', requests='%d', average latency='%dms')",
+                lastCycleRequests, getLastCycleLatency(), totalCycles, totalRequests, getAverageLatency());
+    }
+}
@@ -35,6 +35,9 @@ public class ZWayBindingConstants {
     // List of ignored devices for Discovery
     public final static Set<String> DISCOVERY_IGNORED_DEVICES = ImmutableSet.of("BatteryPolling");
 
+    // Time in milliseconds the device list loaded from the Z-Way server is shared by the device handlers
+    public final static long DEVICE_LIST_MAX_AGE = 5000;
+
     // List of all Channel IDs
     public final static String BATTERY_CHANNEL = "battery";
     public final static String DOORLOCK_CHANNEL = "doorlock";
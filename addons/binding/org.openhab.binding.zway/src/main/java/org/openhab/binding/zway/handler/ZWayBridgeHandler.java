@@ -10,7 +10,11 @@ package org.openhab.binding.zway.handler;
 
 import static org.openhab.binding.zway.ZWayBindingConstants.*;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -32,6 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import de.fh_zwickau.informatik.sensor.IZWayApi;
 import de.fh_zwickau.informatik.sensor.IZWayApiCallbacks;
+import de.fh_zwickau.informatik.sensor.IZWayCallback;
 import de.fh_zwickau.informatik.sensor.ZWayApiHttp;
 import de.fh_zwickau.informatik.sensor.model.devicehistory.DeviceHistory;
 import de.fh_zwickau.informatik.sensor.model.devicehistory.DeviceHistoryList;
@@ -85,6 +90,17 @@ public class ZWayBridgeHandler extends BaseBridgeHandler implements IZWayApiCall
     private ZWayBridgeConfiguration mConfig = null;
     private IZWayApi mZWayApi = null;
 
+    // Device list of the Z-Way server, shared by all device handlers
+    private DeviceList mDeviceList = null;
+    private long mDeviceListTime = 0;
+    private final Object mDeviceListLock = new Object();
+
+    // openHAB items registered as observers in openHAB Connector, by Z-Way device id and by item name
+    private final Map<String, Set<String>> mObservers = new HashMap<String, Set<String>>();
+    private final Map<String, String> mObservedItems = new HashMap<String, String>();
+    // Registrations sent but not yet confirmed, by item name
+    private final Map<String, RegistrationCallback> mPendingRegistrations = new HashMap<String, RegistrationCallback>();
+
     /**
      * Initializer authenticate the Z-Way API instance with bridge configuration.
      *
@@ -304,9 +320,23 @@ public class ZWayBridgeHandler extends BaseBridgeHandler implements IZWayApiCall
             resetInclusionExclusionJob = null;
         }
 
+        invalidateDevices();
+        clearObservers();
+
         super.dispose();
     }
 
+    @Override
+    protected void updateStatus(ThingStatus status, ThingStatusDetail statusDetail, String description) {
+        // openHAB Connector may have lost registrations while the bridge wasn't ONLINE, the device handlers register
+        // their items again when the bridge comes back
+        if (status != ThingStatus.ONLINE) {
+            clearObservers();
+        }
+
+        super.updateStatus(status, statusDetail, description);
+    }
+
     @Override
     public void handleConfigurationUpdate(Map<String, Object> configurationParameters) {
         logger.debug("Handle Z-Way bridge configuration update ...");
@@ -326,6 +356,7 @@ public class ZWayBridgeHandler extends BaseBridgeHandler implements IZWayApiCall
 
             if (observerMechanismEnabledOld == true && observerMechanismEnabledNew == false) {
                 updateOpenHabConnector(true);
+                clearObservers();
             } else if (observerMechanismEnabledOld == false && observerMechanismEnabledNew == true) {
                 updateOpenHabConnector(false);
             }
@@ -570,6 +601,188 @@ public class ZWayBridgeHandler extends BaseBridgeHandler implements IZWayApiCall
         return mZWayApi;
     }
 
+    /**
+     * Device handlers refresh their channels one by one, and each of them needs the device list of the Z-Way
+     * server. Instead of loading the whole list for every channel, the list is loaded once and shared until it
+     * is older than DEVICE_LIST_MAX_AGE. Concurrent requests for an outdated list
+     * wait for a single load.
+     *
+     * @return device list or null if the devices couldn't be loaded
+     */
+    public DeviceList getDevices() {
+        synchronized (mDeviceListLock) {
+            if (mDeviceList == null || System.currentTimeMillis() - mDeviceListTime > DEVICE_LIST_MAX_AGE) {
+                IZWayApi zwayApi = mZWayApi;
+                if (zwayApi == null) {
+                    return null;
+                }
+
+                DeviceList deviceList = zwayApi.getDevices();
+                if (deviceList == null) {
+                    return null;
+                }
+
+                logger.debug("Z-Way device list loaded ({} virtual devices)", deviceList.getDevices().size());
+                mDeviceList = deviceList;
+                mDeviceListTime = System.currentTimeMillis();
+            }
+            return mDeviceList;
+        }
+    }
+
+    /**
+     * Discard the shared device list, the next request will load it again (e.g. after a command has changed
+     * the state of a device).
+     */
+    public void invalidateDevices() {
+        synchronized (mDeviceListLock) {
+            mDeviceList = null;
+        }
+    }
+
+    /**
+     * Register openHAB items as observers in openHAB Connector. Device handlers hand over the items of all their
+     * channels at once. Items already registered for the same Z-Way device are skipped and the commands for the
+     * remaining items are sent without waiting for each response, so that the registration of many channels
+     * doesn't add up the round trips to the Z-Way server.
+     *
+     * @param items Z-Way device id by openHAB item name
+     */
+    public void registerObservers(Map<String, String> items) {
+        IZWayApi zwayApi = mZWayApi;
+        if (zwayApi == null || !getThing().getStatus().equals(ThingStatus.ONLINE)) {
+            logger.debug("Z-Way bridge not initialized or not ONLINE.");
+            return;
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+
+        int count = 0;
+        for (Map.Entry<String, String> entry : items.entrySet()) {
+            String itemName = entry.getKey();
+            String deviceId = entry.getValue();
+
+            // A newer registration replaces a pending one, the callback of the older one is ignored
+            RegistrationCallback callback = new RegistrationCallback(itemName, deviceId);
+            synchronized (mObservers) {
+                if (deviceId.equals(mObservedItems.get(itemName))) {
+                    continue;
+                }
+                mPendingRegistrations.put(itemName, callback);
+            }
+
+            Map<String, String> params = new HashMap<String, String>();
+            params.put("openHabAlias", mConfig.getOpenHabAlias());
+            params.put("openHabItemName", itemName);
+            params.put("vDevName", deviceId);
+            DeviceCommand command = new DeviceCommand("OpenHabConnector", "registerOpenHabItem", params);
+
+            // Failed requests are reported through apiError and the item stays unregistered
+            zwayApi.getDeviceCommand(command, callback);
+            count++;
+        }
+        logger.debug("Registration of {} openHAB items started", count);
+    }
+
+    /**
+     * Remove openHAB items from the observers in openHAB Connector. The commands are sent without waiting for
+     * each response. Items unknown to the bridge are removed as well, because openHAB Connector keeps its
+     * observers across restarts of openHAB.
+     *
+     * @param itemNames names of the openHAB items
+     */
+    public void unregisterObservers(Collection<String> itemNames) {
+        IZWayApi zwayApi = mZWayApi;
+        if (zwayApi == null || !getThing().getStatus().equals(ThingStatus.ONLINE)) {
+            logger.debug("Z-Way bridge not initialized or not ONLINE.");
+            return;
+        }
+        if (itemNames.isEmpty()) {
+            return;
+        }
+
+        for (String itemName : itemNames) {
+            removeObserver(itemName);
+
+            Map<String, String> params = new HashMap<String, String>();
+            params.put("openHabAlias", mConfig.getOpenHabAlias());
+            params.put("openHabItemName", itemName);
+            DeviceCommand command = new DeviceCommand("OpenHabConnector", "removeOpenHabItem", params);
+
+            zwayApi.getDeviceCommand(command, new IZWayCallback<String>() {
+                @Override
+                public void onSuccess(String message) {
+                    logger.debug("Device unsubscribing finished successfully: {}", message);
+                }
+            });
+        }
+        logger.debug("Unsubscribing of {} openHAB items started", itemNames.size());
+    }
+
+    private void addObserver(String itemName, String deviceId) {
+        synchronized (mObservers) {
+            removeObserver(itemName);
+
+            Set<String> itemNames = mObservers.get(deviceId);
+            if (itemNames == null) {
+                itemNames = new HashSet<String>();
+                mObservers.put(deviceId, itemNames);
+            }
+            itemNames.add(itemName);
+            mObservedItems.put(itemName, deviceId);
+        }
+    }
+
+    private void removeObserver(String itemName) {
+        synchronized (mObservers) {
+            mPendingRegistrations.remove(itemName);
+            String deviceId = mObservedItems.remove(itemName);
+            if (deviceId != null) {
+                Set<String> itemNames = mObservers.get(deviceId);
+                itemNames.remove(itemName);
+                if (itemNames.isEmpty()) {
+                    mObservers.remove(deviceId);
+                }
+            }
+        }
+    }
+
+    private void clearObservers() {
+        synchronized (mObservers) {
+            mObservers.clear();
+            mObservedItems.clear();
+            mPendingRegistrations.clear();
+        }
+    }
+
+    /**
+     * Records the item as observer, when openHAB Connector confirms the registration. The confirmation is ignored,
+     * if the item has been unregistered or registered again in the meantime.
+     */
+    private class RegistrationCallback implements IZWayCallback<String> {
+        private final String itemName;
+        private final String deviceId;
+
+        RegistrationCallback(String itemName, String deviceId) {
+            this.itemName = itemName;
+            this.deviceId = deviceId;
+        }
+
+        @Override
+        public void onSuccess(String message) {
+            synchronized (mObservers) {
+                if (mPendingRegistrations.get(itemName) != this) {
+                    logger.debug("Ignoring outdated registration of openHAB item: {}", itemName);
+                    return;
+                }
+                mPendingRegistrations.remove(itemName);
+                addObserver(itemName, deviceId);
+            }
+            logger.debug("Device registration finished successfully: {}", message);
+        }
+    }
+
     /********************************
      ****** Z-Way API callback ******
      *******************************/
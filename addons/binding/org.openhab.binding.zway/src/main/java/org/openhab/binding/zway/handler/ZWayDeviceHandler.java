@@ -13,6 +13,7 @@ import static org.openhab.binding.zway.ZWayBindingConstants.*;
 
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,7 +48,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.fh_zwickau.informatik.sensor.model.devices.Device;
-import de.fh_zwickau.informatik.sensor.model.devices.DeviceCommand;
 import de.fh_zwickau.informatik.sensor.model.devices.DeviceList;
 import de.fh_zwickau.informatik.sensor.model.devices.types.Battery;
 import de.fh_zwickau.informatik.sensor.model.devices.types.Doorlock;
@@ -75,6 +75,9 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
     private ScheduledFuture<?> pollingJob;
     protected Calendar lastUpdate;
 
+    // openHAB items this handler registered as observers, by channel id
+    private final Map<String, Set<String>> registeredItems = new HashMap<String, Set<String>>();
+
     protected abstract void refreshLastUpdate();
 
     /**
@@ -109,20 +112,14 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
 
                 // Register all linked items on server start
                 if (zwayBridgeHandler.getZWayBridgeConfiguration().getObserverMechanismEnabled()) {
+                    Map<String, String> items = new HashMap<String, String>();
                     for (Channel channel : getThing().getChannels()) {
                         if (isLinked(channel.getUID().getId())) {
-                            String deviceId = channel.getProperties().get("deviceId");
-                            if (deviceId != null) {
-                                Set<Item> items = linkRegistry.getLinkedItems(channel.getUID());
-                                for (Item item : items) {
-                                    logger.debug("Linked item found - starting register command for openHAB item: {}",
-                                            item);
-                                    zwayRegisterOpenHabItem(item, deviceId);
-                                }
-                            } // else - no channel for virtual device, channels for command classes can't register as
-                              // observer
+                            items.putAll(getRegisteredLinkedItems(channel));
                         }
                     }
+                    logger.debug("Linked items found - starting register command for {} openHAB items", items.size());
+                    zwayBridgeHandler.registerObservers(items);
                 }
             } catch (Throwable t) {
                 if (t instanceof Exception) {
@@ -160,15 +157,22 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
 
             // Remove all linked items in Z-Way server
             if (zwayBridgeHandler.getZWayBridgeConfiguration().getObserverMechanismEnabled()) {
+                Set<String> itemNames = new HashSet<String>();
                 for (Channel channel : getThing().getChannels()) {
                     if (isLinked(channel.getUID().getId())) {
-                        Set<Item> items = linkRegistry.getLinkedItems(channel.getUID());
-                        for (Item item : items) {
-                            logger.debug("Linked item found - starting remove command for openHAB item: {}", item);
-                            zwayUnsubscribeOpenHabItem(item);
+                        for (Item item : linkRegistry.getLinkedItems(channel.getUID())) {
+                            itemNames.add(item.getName());
                         }
                     }
                 }
+                synchronized (registeredItems) {
+                    for (Set<String> channelItems : registeredItems.values()) {
+                        itemNames.addAll(channelItems);
+                    }
+                    registeredItems.clear();
+                }
+                logger.debug("Linked items found - starting remove command for {} openHAB items", itemNames.size());
+                zwayBridgeHandler.unregisterObservers(itemNames);
             }
 
             // status update will remove finally
@@ -314,9 +318,9 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
         String deviceId = channel.getProperties().get("deviceId");
         if (deviceId != null) {
             // Load and check device from Z-Way server
-            DeviceList deviceList = zwayBridgeHandler.getZWayApi().getDevices();
+            DeviceList deviceList = zwayBridgeHandler.getDevices();
             if (deviceList != null) {
-                // 1.) Load only the current value from Z-Way server
+                // 1.) Load only the current value from the device list shared by all device handlers
                 Device device = deviceList.getDeviceById(deviceId);
                 if (device == null) {
                     logger.debug("ZAutomation device not found.");
@@ -375,17 +379,10 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
         // Method called when channel linked and not when server started!!!
 
         if (zwayBridgeHandler.getZWayBridgeConfiguration().getObserverMechanismEnabled()) {
-            // Load device id from channel's properties for the compatibility of ZAutomation and ZWave devices
             Channel channel = thing.getChannel(channelUID.getId());
-            String deviceId = channel.getProperties().get("deviceId");
-
-            if (deviceId != null) {
-                Set<Item> items = linkRegistry.getLinkedItems(channelUID);
-                for (Item item : items) {
-                    logger.debug("Linked item found - starting register command for openHAB item: {}", item);
-                    zwayRegisterOpenHabItem(item, deviceId);
-                }
-            } // else - no channel for virtual device, channels for command classes can't register as observer
+            Map<String, String> items = getRegisteredLinkedItems(channel);
+            logger.debug("Linked items found - starting register command for {} openHAB items", items.size());
+            zwayBridgeHandler.registerObservers(items);
         }
 
         super.channelLinked(channelUID); // performs a refresh command
@@ -407,60 +404,64 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
             String deviceId = channel.getProperties().get("deviceId");
 
             if (deviceId != null) {
-                // TODO no items for this channel available at this point!
-                // before method called by system the item removed
-                Set<Item> items = linkRegistry.getLinkedItems(channelUID);
-                for (Item item : items) {
-                    logger.debug("Linked item found - starting remove command for openHAB item: {}", item);
-                    zwayUnsubscribeOpenHabItem(item);
+                // The unlinked item is already removed from the link registry, remove the items registered for
+                // this channel which aren't linked anymore. Channels of other things may observe the same device.
+                Set<String> linkedItemNames = getLinkedItems(channel).keySet();
+                Set<String> itemNames = new HashSet<String>();
+                synchronized (registeredItems) {
+                    Set<String> channelItems = registeredItems.get(channel.getUID().getId());
+                    if (channelItems != null) {
+                        itemNames.addAll(channelItems);
+                        itemNames.removeAll(linkedItemNames);
+                        channelItems.removeAll(itemNames);
+                    }
                 }
+                logger.debug("Unlinked items found - starting remove command for openHAB items: {}", itemNames);
+                zwayBridgeHandler.unregisterObservers(itemNames);
             } // else - no channel for virtual device, channels for command classes can't register as observer
         }
 
         super.channelUnlinked(channelUID);
     }
 
-    private void zwayRegisterOpenHabItem(Item openHABItem, String deviceId) {
-        ZWayBridgeHandler zwayBridgeHandler = getZWayBridgeHandler();
-        if (zwayBridgeHandler == null || !zwayBridgeHandler.getThing().getStatus().equals(ThingStatus.ONLINE)) {
-            logger.debug("Z-Way bridge handler not found or not ONLINE.");
-            return;
-        }
-
-        // Preconditions are OK, starting registration ...
-        Map<String, String> params = new HashMap<String, String>();
-        params.put("openHabAlias", zwayBridgeHandler.getZWayBridgeConfiguration().getOpenHabAlias());
-        params.put("openHabItemName", openHABItem.getName());
-        params.put("vDevName", deviceId);
-        DeviceCommand command = new DeviceCommand("OpenHabConnector", "registerOpenHabItem", params);
-
-        String message = zwayBridgeHandler.getZWayApi().getDeviceCommand(command);
-        if (message != null) {
-            logger.debug("Device registration finished successfully: {}", message);
-        } else {
-            logger.warn("Device registration failed");
+    /**
+     * Load the items linked to a channel. Channels of command classes have no device id and can't register as
+     * observer.
+     *
+     * @return Z-Way device id of the channel by openHAB item name
+     */
+    /**
+     * Load the items linked to a channel and remember them as registered by this handler.
+     *
+     * @return Z-Way device id of the channel by openHAB item name
+     */
+    private Map<String, String> getRegisteredLinkedItems(Channel channel) {
+        Map<String, String> items = getLinkedItems(channel);
+        if (!items.isEmpty()) {
+            synchronized (registeredItems) {
+                Set<String> channelItems = registeredItems.get(channel.getUID().getId());
+                if (channelItems == null) {
+                    channelItems = new HashSet<String>();
+                    registeredItems.put(channel.getUID().getId(), channelItems);
+                }
+                channelItems.addAll(items.keySet());
+            }
         }
+        return items;
     }
 
-    private void zwayUnsubscribeOpenHabItem(Item openHABItem) {
-        ZWayBridgeHandler zwayBridgeHandler = getZWayBridgeHandler();
-        if (zwayBridgeHandler == null || !zwayBridgeHandler.getThing().getStatus().equals(ThingStatus.ONLINE)) {
-            logger.debug("Z-Way bridge handler not found or not ONLINE.");
-            return;
-        }
+    private Map<String, String> getLinkedItems(Channel channel) {
+        Map<String, String> items = new HashMap<String, String>();
 
-        // Preconditions are OK, starting unsubscribing ...
-        Map<String, String> params = new HashMap<String, String>();
-        params.put("openHabAlias", zwayBridgeHandler.getZWayBridgeConfiguration().getOpenHabAlias());
-        params.put("openHabItemName", openHABItem.getName());
-        DeviceCommand command = new DeviceCommand("OpenHabConnector", "removeOpenHabItem", params);
+        // Load device id from channel's properties for the compatibility of ZAutomation and ZWave devices
+        String deviceId = channel.getProperties().get("deviceId");
+        if (deviceId != null) {
+            for (Item item : linkRegistry.getLinkedItems(channel.getUID())) {
+                items.put(item.getName(), deviceId);
+            }
+        } // else - no channel for virtual device, channels for command classes can't register as observer
 
-        String message = zwayBridgeHandler.getZWayApi().getDeviceCommand(command);
-        if (message != null) {
-            logger.debug("Device unsubscribing finished successfully: {}", message);
-        } else {
-            logger.warn("Device unsubscribing failed");
-        }
+        return items;
     }
 
     @Override
@@ -487,7 +488,7 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
         final String deviceId = channel.getProperties().get("deviceId");
 
         if (deviceId != null) {
-            DeviceList deviceList = zwayBridgeHandler.getZWayApi().getDevices();
+            DeviceList deviceList = zwayBridgeHandler.getDevices();
             if (deviceList != null) {
                 Device device = deviceList.getDeviceById(deviceId);
                 if (device == null) {
@@ -612,6 +613,11 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
                 } catch (UnsupportedOperationException e) {
                     logger.warn("Unknown command: {}", e.getMessage());
                 }
+
+                // the next refresh must not rely on the device list from before the command
+                if (!(command instanceof RefreshType)) {
+                    zwayBridgeHandler.invalidateDevices();
+                }
             } else {
                 logger.warn("Devices not loaded");
             }
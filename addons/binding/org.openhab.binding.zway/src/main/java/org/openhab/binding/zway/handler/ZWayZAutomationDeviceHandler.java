@@ -55,7 +55,7 @@ public class ZWayZAutomationDeviceHandler extends ZWayDeviceHandler {
                 updateStatus(statusInfo.getStatus(), statusInfo.getStatusDetail(), statusInfo.getDescription());
 
                 // Add all available channels
-                DeviceList deviceList = getZWayBridgeHandler().getZWayApi().getDevices();
+                DeviceList deviceList = getZWayBridgeHandler().getDevices();
                 if (deviceList != null) {
                     logger.debug("Z-Way devices loaded ({} virtual devices)", deviceList.getDevices().size());
 
@@ -169,7 +169,7 @@ public class ZWayZAutomationDeviceHandler extends ZWayDeviceHandler {
         }
 
         // Load and check device from Z-Way server
-        DeviceList deviceList = zwayBridgeHandler.getZWayApi().getDevices();
+        DeviceList deviceList = zwayBridgeHandler.getDevices();
         if (deviceList != null) {
             Device device = deviceList.getDeviceById(mConfig.getDeviceId());
             if (device == null) {
@@ -57,7 +57,7 @@ public class ZWayZWaveDeviceHandler extends ZWayDeviceHandler {
 
                 // Add all available channels
                 logger.debug("Add all available channels");
-                DeviceList deviceList = getZWayBridgeHandler().getZWayApi().getDevices();
+                DeviceList deviceList = getZWayBridgeHandler().getDevices();
                 if (deviceList != null) {
                     logger.debug("Z-Way devices loaded ({} physical devices)",
                             deviceList.getDevicesGroupByNodeId().size());